@@ -4,6 +4,7 @@ import static java.util.Objects.requireNonNull;
 
 import io.github.rosestack.i18n.util.I18nUtils;
 import java.util.*;
+import java.util.function.Function;
 import org.apache.commons.lang3.ObjectUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -81,6 +82,55 @@ public abstract class AbstractMessageSource implements HierarchicalMessageSource
         return msg;
     }
 
+    @Override
+    public Map<String, String> getMessages(
+            Collection<String> codes, Locale locale, @Nullable Function<String, Object[]> argsResolver) {
+        List<String> distinctCodes =
+                codes.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctCodes.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        // 一次批量查询缓存
+        Map<String, String> cachedMessages = messageCacheLoader != null
+                ? messageCacheLoader.getFromCache(distinctCodes.toArray(new String[0]), locale)
+                : Collections.emptyMap();
+
+        List<String> missedCodes = new ArrayList<>();
+        for (String code : distinctCodes) {
+            if (!cachedMessages.containsKey(code)) {
+                missedCodes.add(code);
+            }
+        }
+
+        Map<String, String> resolvedMessages = new HashMap<>();
+        if (!missedCodes.isEmpty()) {
+            resolvedMessages.putAll(this.getMessagesInternal(missedCodes, locale, argsResolver));
+            for (String code : missedCodes) {
+                if (!resolvedMessages.containsKey(code)) {
+                    String msg = getMessageFromParent(code, locale, I18nMessageSource.resolveArgs(code, argsResolver));
+                    if (msg != null) {
+                        resolvedMessages.put(code, msg);
+                    }
+                }
+            }
+        }
+
+        // 将未命中的消息一次批量放入缓存
+        if (!resolvedMessages.isEmpty() && messageCacheLoader != null) {
+            messageCacheLoader.putToCache(resolvedMessages, locale);
+        }
+
+        Map<String, String> messages = new LinkedHashMap<>(distinctCodes.size());
+        for (String code : distinctCodes) {
+            String msg = cachedMessages.containsKey(code) ? cachedMessages.get(code) : resolvedMessages.get(code);
+            if (msg != null) {
+                messages.put(code, msg);
+            }
+        }
+        return messages;
+    }
+
     @Nullable @Override
     public Map<String, String> getMessages(Locale locale) {
         // 首先尝试从缓存获取所有消息
@@ -101,6 +151,26 @@ public abstract class AbstractMessageSource implements HierarchicalMessageSource
 
     protected abstract Map<String, String> getMessagesInternal(Locale locale);
 
+    /**
+     * 批量解析当前消息源中的消息，不查询缓存和父消息源
+     *
+     * @param codes        消息代码列表
+     * @param locale       语言环境
+     * @param argsResolver 消息参数解析器，可以为 null
+     * @return 消息代码到消息的映射，不包含未找到的消息代码
+     */
+    protected Map<String, String> getMessagesInternal(
+            List<String> codes, Locale locale, @Nullable Function<String, Object[]> argsResolver) {
+        Map<String, String> messages = new HashMap<>(codes.size());
+        for (String code : codes) {
+            String msg = getMessageInternal(code, locale, I18nMessageSource.resolveArgs(code, argsResolver));
+            if (msg != null) {
+                messages.put(code, msg);
+            }
+        }
+        return messages;
+    }
+
     @Nullable protected abstract String getMessageInternal(
             @Nullable String code, @Nullable Locale locale, @Nullable Object... args);
 
@@ -182,6 +252,10 @@ public abstract class AbstractMessageSource implements HierarchicalMessageSource
         return source;
     }
 
+    @Nullable protected MessageCacheLoader getMessageCacheLoader() {
+        return messageCacheLoader;
+    }
+
     public void setMessageCacheLoader(MessageCacheLoader messageCacheLoader) {
         this.messageCacheLoader = messageCacheLoader;
     }
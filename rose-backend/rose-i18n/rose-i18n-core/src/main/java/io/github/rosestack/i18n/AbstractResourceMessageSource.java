@@ -5,9 +5,14 @@ import static java.util.Objects.requireNonNull;
 
 import io.github.rosestack.i18n.render.DefaultMessageRenderer;
 import io.github.rosestack.i18n.render.MessageRenderer;
+import io.github.rosestack.i18n.spi.MessageBundleIndex;
 import io.github.rosestack.i18n.util.I18nUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
@@ -20,7 +25,10 @@ public abstract class AbstractResourceMessageSource extends AbstractMessageSourc
     protected String location;
     protected String basename;
     protected MessageRenderer messageRenderer;
-    private volatile Map<String, Map<String, String>> localizedResourceMessages = new ConcurrentHashMap<>();
+    /**
+     * 不可变的资源消息快照，重新加载时整体替换
+     */
+    private volatile Map<String, Map<String, String>> localizedResourceMessages = Collections.emptyMap();
 
     public AbstractResourceMessageSource(String source) {
         super(source);
@@ -36,7 +44,7 @@ public abstract class AbstractResourceMessageSource extends AbstractMessageSourc
 
     @Override
     public void destroy() {
-        localizedResourceMessages.clear();
+        localizedResourceMessages = Collections.emptyMap();
     }
 
     @Override
@@ -51,6 +59,33 @@ public abstract class AbstractResourceMessageSource extends AbstractMessageSourc
         return null;
     }
 
+    @Override
+    protected Map<String, String> getMessagesInternal(
+            List<String> codes, Locale locale, @Nullable Function<String, Object[]> argsResolver) {
+        // Resolve the fallback resources once against a single snapshot
+        Map<String, Map<String, String>> snapshot = this.localizedResourceMessages;
+        Map<Locale, Map<String, String>> fallbackMessages = new LinkedHashMap<>();
+        for (Locale candidate : I18nUtils.getFallbackLocales(locale)) {
+            Map<String, String> messages = snapshot.get(getResource(candidate));
+            if (messages != null) {
+                fallbackMessages.put(candidate, messages);
+            }
+        }
+
+        Map<String, String> resolvedMessages = new HashMap<>(codes.size());
+        for (String code : codes) {
+            for (Map.Entry<Locale, Map<String, String>> entry : fallbackMessages.entrySet()) {
+                String template = entry.getValue().get(code);
+                if (template != null) {
+                    Object[] args = I18nMessageSource.resolveArgs(code, argsResolver);
+                    resolvedMessages.put(code, messageRenderer.render(template, entry.getKey(), args));
+                    break;
+                }
+            }
+        }
+        return resolvedMessages;
+    }
+
     @Override
     protected Map<String, String> getMessagesInternal(Locale locale) {
         return localizedResourceMessages.get(getResource(locale));
@@ -69,7 +104,7 @@ public abstract class AbstractResourceMessageSource extends AbstractMessageSourc
             initializeResource(resource, localizedResourceMessages);
         }
         // Exchange the field
-        this.localizedResourceMessages = localizedResourceMessages;
+        this.localizedResourceMessages = Collections.unmodifiableMap(localizedResourceMessages);
         log.debug(
                 "Source '{}' Initialization is completed , localizedResourceMessages : {}",
                 source,
@@ -83,15 +118,48 @@ public abstract class AbstractResourceMessageSource extends AbstractMessageSourc
 
     @Override
     public void initializeResources(Iterable<String> resources) {
+        long start = System.nanoTime();
+
+        // Load outside the lock, only the diff and the snapshot exchange are synchronized
+        Map<String, Map<String, String>> loadedResourceMessages = new LinkedHashMap<>();
+        for (String resource : resources) {
+            Map<String, String> messages = loadMessages(resource);
+            log.debug("Source '{}' loads the resource['{}'] messages : {}", source, resource, messages);
+            // A removed resource loads nothing, its stale messages are removed and evicted by the diff
+            loadedResourceMessages.put(resource, messages == null ? Map.of() : immutableMessages(messages));
+        }
+
+        Map<String, ResourceMessagesDiff> resourceDiffs = new LinkedHashMap<>();
         synchronized (this) {
-            // Copy the current messages and initialized resources
-            Map<String, Map<String, String>> localizedResourceMessages = new HashMap<>(this.localizedResourceMessages);
-            for (String resource : resources) {
-                initializeResource(resource, localizedResourceMessages);
+            Map<String, Map<String, String>> currentResourceMessages = this.localizedResourceMessages;
+            Map<String, Map<String, String>> snapshot = null;
+            for (Map.Entry<String, Map<String, String>> entry : loadedResourceMessages.entrySet()) {
+                String resource = entry.getKey();
+                ResourceMessagesDiff diff =
+                        ResourceMessagesDiff.of(currentResourceMessages.get(resource), entry.getValue());
+                if (diff.isEmpty()
+                        && (currentResourceMessages.containsKey(resource)
+                                || entry.getValue().isEmpty())) {
+                    continue;
+                }
+                if (snapshot == null) {
+                    snapshot = new HashMap<>(currentResourceMessages);
+                }
+                if (entry.getValue().isEmpty()) {
+                    snapshot.remove(resource);
+                } else {
+                    snapshot.put(resource, entry.getValue());
+                }
+                resourceDiffs.put(resource, diff);
+            }
+            if (snapshot != null) {
+                // Exchange the field
+                this.localizedResourceMessages = Collections.unmodifiableMap(snapshot);
             }
-            // Exchange the field
-            this.localizedResourceMessages = localizedResourceMessages;
         }
+
+        evictChangedMessages(resourceDiffs);
+        recordReload(resourceDiffs, System.nanoTime() - start);
     }
 
     @Override
@@ -135,11 +203,93 @@ public abstract class AbstractResourceMessageSource extends AbstractMessageSourc
         }
 
         // Override the localized message if present
-        localizedResourceMessages.put(resource, messages);
+        localizedResourceMessages.put(resource, immutableMessages(messages));
+    }
+
+    /**
+     * 快照中的消息交换后不可再变化，复制为不可变 Map；{@link MessageBundleIndex} 的消息视图本身只读且按需解码，不复制
+     */
+    private static Map<String, String> immutableMessages(Map<String, String> messages) {
+        return MessageBundleIndex.isIndexedMessages(messages) ? messages : Map.copyOf(messages);
     }
 
     public Map<String, Map<String, String>> getLocalizedResourceMessages() {
-        return Collections.unmodifiableMap(this.localizedResourceMessages);
+        return this.localizedResourceMessages;
+    }
+
+    /**
+     * 仅清除变更消息的缓存，资源对应语言环境及以其为回退语言环境的缓存都会被清除
+     *
+     * @param resourceDiffs 资源到消息差异的映射
+     */
+    private void evictChangedMessages(Map<String, ResourceMessagesDiff> resourceDiffs) {
+        MessageCacheLoader messageCacheLoader = getMessageCacheLoader();
+        if (messageCacheLoader == null || resourceDiffs.isEmpty()) {
+            return;
+        }
+
+        List<Locale> supportedLocales = getSupportedLocales();
+        resourceDiffs.forEach((resource, diff) -> {
+            Locale resourceLocale = resolveResourceLocale(resource, supportedLocales);
+            if (resourceLocale == null) {
+                log.debug(
+                        "Source '{}' can't resolve the locale of resource['{}'], skip cache eviction",
+                        source,
+                        resource);
+                return;
+            }
+
+            Set<String> affectedCodes = diff.getAffectedCodes();
+            for (Locale locale : supportedLocales) {
+                if (I18nUtils.getFallbackLocales(locale).contains(resourceLocale)) {
+                    messageCacheLoader.evictCache(affectedCodes, locale);
+                }
+            }
+        });
+    }
+
+    private Locale resolveResourceLocale(String resource, List<Locale> supportedLocales) {
+        for (Locale locale : supportedLocales) {
+            if (resource.equals(getResource(locale))) {
+                return locale;
+            }
+        }
+        return null;
+    }
+
+    private void recordReload(Map<String, ResourceMessagesDiff> resourceDiffs, long durationNanos) {
+        Timer.builder("i18n.reload.time")
+                .description("资源重新加载耗时")
+                .tag("source", source)
+                .register(Metrics.globalRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        int added = 0;
+        int changed = 0;
+        int removed = 0;
+        for (ResourceMessagesDiff diff : resourceDiffs.values()) {
+            added += diff.getAddedCodes().size();
+            changed += diff.getChangedCodes().size();
+            removed += diff.getRemovedCodes().size();
+        }
+        recordDiffSize("added", added);
+        recordDiffSize("changed", changed);
+        recordDiffSize("removed", removed);
+
+        log.debug(
+                "Source '{}' reloads resources in {} ms, diffs : {}",
+                source,
+                TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                resourceDiffs);
+    }
+
+    private void recordDiffSize(String type, int size) {
+        DistributionSummary.builder("i18n.reload.diff.size")
+                .description("资源重新加载的消息差异数量")
+                .tag("source", source)
+                .tag("type", type)
+                .register(Metrics.globalRegistry)
+                .record(size);
     }
 
     protected abstract String getResourceSuffix();
@@ -3,6 +3,7 @@ package io.github.rosestack.i18n;
 import java.nio.charset.Charset;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.ObjectUtils;
 import org.slf4j.Logger;
@@ -54,6 +55,32 @@ public class CompositeMessageSource implements I18nMessageSource, ReloadedResour
         return message;
     }
 
+    @Override
+    public Map<String, String> getMessages(
+            Collection<String> codes, Locale locale, @Nullable Function<String, Object[]> argsResolver) {
+        Map<String, String> resolvedMessages = new HashMap<>();
+        List<String> remainingCodes =
+                codes.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        for (I18nMessageSource i18nMessageSource : i18nMessageSources) {
+            if (remainingCodes.isEmpty()) {
+                break;
+            }
+            if (i18nMessageSource != null) {
+                resolvedMessages.putAll(i18nMessageSource.getMessages(remainingCodes, locale, argsResolver));
+                remainingCodes.removeIf(resolvedMessages::containsKey);
+            }
+        }
+
+        Map<String, String> messages = new LinkedHashMap<>(resolvedMessages.size());
+        for (String code : codes) {
+            String message = code == null ? null : resolvedMessages.get(code);
+            if (message != null) {
+                messages.put(code, message);
+            }
+        }
+        return messages;
+    }
+
     @Nullable @Override
     public Map<String, String> getMessages(Locale locale) {
         for (I18nMessageSource i18nMessageSource : i18nMessageSources) {
@@ -2,6 +2,7 @@ package io.github.rosestack.i18n;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
@@ -21,9 +22,25 @@ public interface I18nMessageSource extends Lifecycle {
      * 批量获取消息
      */
     default Map<String, String> getMessages(Set<String> codes, Locale locale) {
-        Map<String, String> result = new HashMap<>();
+        return getMessages(codes, locale, null);
+    }
+
+    /**
+     * 批量获取消息，实现类应尽量以一次批量缓存查询完成解析
+     *
+     * @param codes        消息代码列表
+     * @param locale       语言环境
+     * @param argsResolver 根据消息代码解析消息参数，可以为 null
+     * @return 消息代码到消息的映射，按 codes 的顺序排列，不包含未找到的消息代码
+     */
+    default Map<String, String> getMessages(
+            Collection<String> codes, Locale locale, @Nullable Function<String, Object[]> argsResolver) {
+        Map<String, String> result = new LinkedHashMap<>();
         for (String code : codes) {
-            String message = getMessage(code, locale);
+            if (code == null || result.containsKey(code)) {
+                continue;
+            }
+            String message = getMessage(code, locale, resolveArgs(code, argsResolver));
             if (message != null) {
                 result.put(code, message);
             }
@@ -77,6 +94,18 @@ public interface I18nMessageSource extends Lifecycle {
         return List.of(getDefaultLocale(), Locale.ENGLISH);
     }
 
+    /**
+     * 解析消息参数
+     *
+     * @param code         消息代码
+     * @param argsResolver 消息参数解析器，可以为 null
+     * @return 消息参数，不会为 null
+     */
+    static Object[] resolveArgs(String code, @Nullable Function<String, Object[]> argsResolver) {
+        Object[] args = argsResolver == null ? null : argsResolver.apply(code);
+        return args == null ? new Object[0] : args;
+    }
+
     /**
      * Message service source
      *
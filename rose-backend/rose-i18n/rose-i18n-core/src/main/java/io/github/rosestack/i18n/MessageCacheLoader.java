@@ -1,6 +1,8 @@
 package io.github.rosestack.i18n;
 
 import io.github.rosestack.i18n.util.I18nUtils;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
 import org.springframework.util.StringUtils;
@@ -55,6 +57,18 @@ public interface MessageCacheLoader {
      */
     void evictCache(Locale locale);
 
+    /**
+     * 清除指定语言环境下部分消息代码的缓存
+     *
+     * <p>默认清除整个语言环境的缓存，支持按键删除的实现应覆盖此方法
+     *
+     * @param codes  消息代码列表
+     * @param locale 语言环境
+     */
+    default void evictCache(Collection<String> codes, Locale locale) {
+        evictCache(locale);
+    }
+
     default void evictCache(String resource) {
         if (!StringUtils.hasText(resource)) {
             return;
@@ -84,4 +98,13 @@ public interface MessageCacheLoader {
     default double getHitRate() {
         return 0.0;
     }
+
+    /**
+     * 获取各缓存层的命中率
+     *
+     * @return 缓存层名称到命中率（0.0 - 1.0）的映射，按访问顺序排列
+     */
+    default Map<String, Double> getLayerHitRates() {
+        return Collections.singletonMap(getClass().getSimpleName(), getHitRate());
+    }
 }
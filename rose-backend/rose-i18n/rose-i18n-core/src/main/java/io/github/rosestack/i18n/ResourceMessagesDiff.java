@@ -0,0 +1,100 @@
+package io.github.rosestack.i18n;
+
+import java.util.*;
+
+/**
+ * 资源消息的差异，记录一次重新加载中新增、变更、删除的消息代码
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul<a/>
+ * @since 1.0.0
+ */
+public final class ResourceMessagesDiff {
+
+    private final Set<String> addedCodes;
+
+    private final Set<String> changedCodes;
+
+    private final Set<String> removedCodes;
+
+    private ResourceMessagesDiff(Set<String> addedCodes, Set<String> changedCodes, Set<String> removedCodes) {
+        this.addedCodes = Collections.unmodifiableSet(addedCodes);
+        this.changedCodes = Collections.unmodifiableSet(changedCodes);
+        this.removedCodes = Collections.unmodifiableSet(removedCodes);
+    }
+
+    /**
+     * 计算新旧消息之间的差异
+     *
+     * @param oldMessages 旧的消息，可以为 null
+     * @param newMessages 新的消息，可以为 null
+     * @return 消息差异
+     */
+    public static ResourceMessagesDiff of(Map<String, String> oldMessages, Map<String, String> newMessages) {
+        Map<String, String> previous = oldMessages == null ? Collections.emptyMap() : oldMessages;
+        Map<String, String> current = newMessages == null ? Collections.emptyMap() : newMessages;
+
+        Set<String> addedCodes = new LinkedHashSet<>();
+        Set<String> changedCodes = new LinkedHashSet<>();
+        Set<String> removedCodes = new LinkedHashSet<>();
+
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            String code = entry.getKey();
+            if (!previous.containsKey(code)) {
+                addedCodes.add(code);
+            } else if (!Objects.equals(previous.get(code), entry.getValue())) {
+                changedCodes.add(code);
+            }
+        }
+        for (String code : previous.keySet()) {
+            if (!current.containsKey(code)) {
+                removedCodes.add(code);
+            }
+        }
+        return new ResourceMessagesDiff(addedCodes, changedCodes, removedCodes);
+    }
+
+    public Set<String> getAddedCodes() {
+        return addedCodes;
+    }
+
+    public Set<String> getChangedCodes() {
+        return changedCodes;
+    }
+
+    public Set<String> getRemovedCodes() {
+        return removedCodes;
+    }
+
+    /**
+     * 获取所有受影响的消息代码，即需要从缓存中清除的代码
+     *
+     * @return 新增、变更、删除的消息代码
+     */
+    public Set<String> getAffectedCodes() {
+        Set<String> affectedCodes = new LinkedHashSet<>(size());
+        affectedCodes.addAll(addedCodes);
+        affectedCodes.addAll(changedCodes);
+        affectedCodes.addAll(removedCodes);
+        return affectedCodes;
+    }
+
+    public int size() {
+        return addedCodes.size() + changedCodes.size() + removedCodes.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceMessagesDiff{"
+                + "added="
+                + addedCodes.size()
+                + ", changed="
+                + changedCodes.size()
+                + ", removed="
+                + removedCodes.size()
+                + '}';
+    }
+}
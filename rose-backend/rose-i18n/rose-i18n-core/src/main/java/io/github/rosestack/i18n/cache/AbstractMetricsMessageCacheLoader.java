@@ -5,6 +5,8 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -184,6 +186,19 @@ public abstract class AbstractMetricsMessageCacheLoader implements MessageCacheL
         }
     }
 
+    @Override
+    public final void evictCache(Collection<String> codes, Locale locale) {
+        if (codes == null || codes.isEmpty()) {
+            return;
+        }
+        String[] cacheKeys = buildCacheKeys(codes.toArray(new String[0]), locale, getCacheKeyPrefix());
+        long evictedCount = doEvictCache(cacheKeys);
+        if (evictedCount > 0) {
+            evictionCounter.increment(evictedCount);
+            cacheSize.addAndGet(-evictedCount);
+        }
+    }
+
     @Override
     public final void clearCache() {
         String keyPattern = buildCacheKeyPattern(null, getCacheKeyPrefix());
@@ -243,6 +258,14 @@ public abstract class AbstractMetricsMessageCacheLoader implements MessageCacheL
      */
     protected abstract long doEvictCache(String keyPattern);
 
+    /**
+     * 实际的按键清除缓存实现
+     *
+     * @param cacheKeys 已组装的缓存键列表
+     * @return 清除的缓存条目数量
+     */
+    protected abstract long doEvictCache(String[] cacheKeys);
+
     /**
      * 实际的缓存全部清除实现
      *
@@ -351,6 +374,16 @@ public abstract class AbstractMetricsMessageCacheLoader implements MessageCacheL
         return total > 0 ? hits / total : 0.0;
     }
 
+    /**
+     * 获取各缓存层的命中率，以缓存类型作为层名称
+     *
+     * @return 缓存层名称到命中率的映射
+     */
+    @Override
+    public Map<String, Double> getLayerHitRates() {
+        return Collections.singletonMap(cacheProperties.getType().name().toLowerCase(Locale.ROOT), getHitRate());
+    }
+
     /**
      * 获取缓存统计信息摘要
      *
@@ -38,6 +38,37 @@ public class CacheProperties {
 
     private String keyPrefix = "i18n:";
 
+    /**
+     * 本地近缓存配置（仅在 REDIS 缓存类型下生效）
+     */
+    private NearCache near = new NearCache();
+
+    /**
+     * 本地近缓存配置
+     */
+    @Data
+    public static class NearCache {
+        /**
+         * 是否启用本地近缓存
+         */
+        private boolean enabled = false;
+
+        /**
+         * 本地近缓存最大条目数
+         */
+        private int maxSize = 10000;
+
+        /**
+         * 本地近缓存过期时间，作为丢失失效通知时的兜底
+         */
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        /**
+         * 缓存失效通知使用的 Redis 频道
+         */
+        private String channel = "i18n:cache:invalidation";
+    }
+
     /**
      * 缓存类型枚举
      */
@@ -182,6 +182,23 @@ public class InMemoryMessageCacheLoader extends AbstractMetricsMessageCacheLoade
         return removedCount;
     }
 
+    @Override
+    protected long doEvictCache(String[] cacheKeys) {
+        if (!cacheEnabled() || cacheKeys == null) {
+            return 0;
+        }
+
+        int removedCount = 0;
+        for (String cacheKey : cacheKeys) {
+            if (cache.remove(cacheKey) != null) {
+                removedCount++;
+            }
+        }
+
+        logger.debug("按键清除缓存，共清除 {} 条记录", removedCount);
+        return removedCount;
+    }
+
     @Override
     protected long doClearCache(String keyPattern) {
         if (!cacheEnabled()) {
@@ -2,7 +2,6 @@ package io.github.rosestack.i18n.evaluator;
 
 import jakarta.el.*;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -13,14 +12,20 @@ import java.util.function.Function;
  *
  * <p>基于Jakarta EL API的表达式评估器实现，支持完整的EL表达式语法。 包含缓存机制和自定义函数支持。
  *
+ * <p>表达式只解析一次并缓存，解析器链在所有调用间共享，每次求值仅创建一个持有变量引用的轻量级上下文。
+ *
  * @author chensoul
  * @since 1.0.0
  */
 public class JakartaElExpressionEvaluator implements ExpressionEvaluator {
 
+    private static final int MAX_CACHE_SIZE = 1024;
+
     private final ExpressionFactory expressionFactory;
     private final Map<String, ValueExpression> expressionCache = new ConcurrentHashMap<>();
     private final Map<String, Function<Object[], Object>> customFunctions = new ConcurrentHashMap<>();
+    private final ELResolver elResolver = createResolver();
+    private final FunctionMapper functionMapper = new CustomFunctionMapper(customFunctions);
 
     private boolean cacheEnabled = true;
     private boolean available = false;
@@ -52,40 +57,8 @@ public class JakartaElExpressionEvaluator implements ExpressionEvaluator {
         }
 
         try {
-            String trimmedExpression = expression.trim();
-
-            // 检查缓存
-            if (cacheEnabled) {
-                ValueExpression cachedExpression = expressionCache.get(trimmedExpression);
-                if (cachedExpression != null) {
-                    return evaluateCachedExpression(cachedExpression, variables, locale);
-                }
-            }
-
-            // 创建可变的参数映射
-            Map<String, Object> mutableArgs = new HashMap<>();
-            if (variables != null) {
-                mutableArgs.putAll(variables);
-            }
-
-            // 添加locale参数
-            if (locale != null && !mutableArgs.containsKey("locale")) {
-                mutableArgs.put("locale", locale);
-            }
-
-            // 创建EL上下文
-            ELContext elContext = createELContext(mutableArgs);
-
-            // 评估表达式
-            ValueExpression valueExpression = getValueExpression(trimmedExpression, elContext);
-            Object result = valueExpression.getValue(elContext);
-
-            // 缓存表达式
-            if (cacheEnabled) {
-                expressionCache.put(trimmedExpression, valueExpression);
-            }
-
-            return result;
+            ValueExpression valueExpression = getValueExpression(expression.trim());
+            return valueExpression.getValue(new BindingELContext(elResolver, functionMapper, variables, locale));
         } catch (Exception e) {
             return null;
         }
@@ -107,67 +80,75 @@ public class JakartaElExpressionEvaluator implements ExpressionEvaluator {
     }
 
     /**
-     * 评估缓存的表达式
+     * 获取预编译的值表达式
+     *
+     * <p>解析时不绑定任何变量，变量在求值时由 {@link VariableELResolver} 解析，因此缓存的表达式可被任意调用复用。
      */
-    private Object evaluateCachedExpression(ValueExpression expression, Map<String, Object> variables, Locale locale) {
-        try {
-            Map<String, Object> mutableArgs = new HashMap<>(variables);
-            if (locale != null && !mutableArgs.containsKey("locale")) {
-                mutableArgs.put("locale", locale);
+    private ValueExpression getValueExpression(String expression) {
+        if (!cacheEnabled) {
+            return parseExpression(expression);
+        }
+        ValueExpression valueExpression = expressionCache.get(expression);
+        if (valueExpression == null) {
+            if (expressionCache.size() >= MAX_CACHE_SIZE) {
+                expressionCache.clear();
             }
-
-            ELContext elContext = createELContext(mutableArgs);
-            return expression.getValue(elContext);
-        } catch (Exception e) {
-            return null;
+            valueExpression = expressionCache.computeIfAbsent(expression, this::parseExpression);
         }
+        return valueExpression;
     }
 
-    /**
-     * 创建EL上下文
-     */
-    private ELContext createELContext(Map<String, Object> variables) {
-        return new OptimizedELContext(expressionFactory, variables, customFunctions);
+    private ValueExpression parseExpression(String expression) {
+        ELContext parseContext = new BindingELContext(elResolver, functionMapper, null, null);
+        return expressionFactory.createValueExpression(parseContext, "${" + expression + "}", Object.class);
     }
 
     /**
-     * 获取值表达式
+     * 创建共享的解析器链，按性能顺序添加解析器
      */
-    private ValueExpression getValueExpression(String expression, ELContext elContext) {
-        String fullExpression = "${" + expression + "}";
-        return expressionFactory.createValueExpression(elContext, fullExpression, Object.class);
+    private static ELResolver createResolver() {
+        CompositeELResolver resolver = new CompositeELResolver();
+        resolver.add(new VariableELResolver());
+        resolver.add(new ArrayELResolver());
+        resolver.add(new ListELResolver());
+        resolver.add(new MapELResolver());
+        resolver.add(new ResourceBundleELResolver());
+        resolver.add(new BeanELResolver());
+        return resolver;
     }
 
     /**
-     * 优化的EL上下文实现
+     * 轻量级的EL上下文实现，仅持有本次调用的变量，解析器链在所有调用间共享
      */
-    private static class OptimizedELContext extends ELContext {
-        private final ExpressionFactory expressionFactory;
-        private final VariableMapper variableMapper;
-        private final FunctionMapper functionMapper;
+    private static class BindingELContext extends ELContext {
         private final ELResolver elResolver;
-
-        public OptimizedELContext(
-                ExpressionFactory expressionFactory,
-                Map<String, Object> variables,
-                Map<String, Function<Object[], Object>> customFunctions) {
-            this.expressionFactory = expressionFactory;
-            this.variableMapper = new OptimizedVariableMapper(variables, expressionFactory);
-            this.functionMapper = new CustomFunctionMapper(customFunctions);
-            this.elResolver = createOptimizedResolver();
+        private final FunctionMapper functionMapper;
+        private final Map<String, Object> variables;
+        private final Locale locale;
+
+        BindingELContext(
+                ELResolver elResolver, FunctionMapper functionMapper, Map<String, Object> variables, Locale locale) {
+            this.elResolver = elResolver;
+            this.functionMapper = functionMapper;
+            this.variables = variables;
+            this.locale = locale;
+            // 表达式实现可能会包装上下文，解析器通过 getContext 获取本次调用的变量
+            putContext(BindingELContext.class, this);
         }
 
-        private ELResolver createOptimizedResolver() {
-            CompositeELResolver resolver = new CompositeELResolver();
+        static BindingELContext of(ELContext context) {
+            return (BindingELContext) context.getContext(BindingELContext.class);
+        }
 
-            // 按性能顺序添加解析器
-            resolver.add(new ArrayELResolver());
-            resolver.add(new ListELResolver());
-            resolver.add(new MapELResolver());
-            resolver.add(new ResourceBundleELResolver());
-            resolver.add(new BeanELResolver());
+        boolean hasVariable(String name) {
+            return (variables != null && variables.containsKey(name)) || (locale != null && "locale".equals(name));
+        }
 
-            return resolver;
+        Object getVariable(String name) {
+            if (variables != null && variables.containsKey(name)) {
+                return variables.get(name);
+            }
+            return locale;
         }
 
         @Override
@@ -182,31 +163,82 @@ public class JakartaElExpressionEvaluator implements ExpressionEvaluator {
 
         @Override
         public VariableMapper getVariableMapper() {
-            return variableMapper;
+            return EmptyVariableMapper.INSTANCE;
         }
     }
 
     /**
-     * 优化的变量映射器
+     * 从 {@link BindingELContext} 中解析顶层变量的解析器
      */
-    private static class OptimizedVariableMapper extends VariableMapper {
-        private final Map<String, ValueExpression> variables = new HashMap<>();
+    private static class VariableELResolver extends ELResolver {
+
+        @Override
+        public Object getValue(ELContext context, Object base, Object property) {
+            if (base == null && property instanceof String name) {
+                BindingELContext binding = BindingELContext.of(context);
+                if (binding != null && binding.hasVariable(name)) {
+                    context.setPropertyResolved(null, property);
+                    return binding.getVariable(name);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Class<?> getType(ELContext context, Object base, Object property) {
+            if (base == null && property instanceof String name) {
+                BindingELContext binding = BindingELContext.of(context);
+                if (binding != null && binding.hasVariable(name)) {
+                    context.setPropertyResolved(null, property);
+                    Object value = binding.getVariable(name);
+                    return value != null ? value.getClass() : Object.class;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void setValue(ELContext context, Object base, Object property, Object value) {
+            if (base == null && property instanceof String name) {
+                BindingELContext binding = BindingELContext.of(context);
+                if (binding != null && binding.hasVariable(name)) {
+                    throw new PropertyNotWritableException("Variable is read-only: " + name);
+                }
+            }
+        }
 
-        public OptimizedVariableMapper(Map<String, Object> variables, ExpressionFactory factory) {
-            for (Map.Entry<String, Object> entry : variables.entrySet()) {
-                ValueExpression valueExpression = factory.createValueExpression(entry.getValue(), Object.class);
-                this.variables.put(entry.getKey(), valueExpression);
+        @Override
+        public boolean isReadOnly(ELContext context, Object base, Object property) {
+            if (base == null && property instanceof String name) {
+                BindingELContext binding = BindingELContext.of(context);
+                if (binding != null && binding.hasVariable(name)) {
+                    context.setPropertyResolved(null, property);
+                    return true;
+                }
             }
+            return false;
+        }
+
+        @Override
+        public Class<?> getCommonPropertyType(ELContext context, Object base) {
+            return base == null ? String.class : null;
         }
+    }
+
+    /**
+     * 空的变量映射器，保证表达式解析时不会捕获任何变量
+     */
+    private static class EmptyVariableMapper extends VariableMapper {
+        private static final EmptyVariableMapper INSTANCE = new EmptyVariableMapper();
 
         @Override
         public ValueExpression resolveVariable(String variable) {
-            return variables.get(variable);
+            return null;
         }
 
         @Override
         public ValueExpression setVariable(String variable, ValueExpression expression) {
-            return variables.put(variable, expression);
+            return null;
         }
     }
 
@@ -1,11 +1,12 @@
 package io.github.rosestack.i18n.evaluator;
 
-import java.util.Locale;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.*;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
@@ -14,14 +15,22 @@ import org.springframework.expression.spel.support.StandardEvaluationContext;
  *
  * <p>基于Spring的SpEL引擎，提供强大的表达式评估能力。
  *
+ * <p>表达式解析后缓存并以 {@link SpelCompilerMode#MIXED} 模式编译为字节码；解析器、类型转换器等在所有调用间共享，
+ * 每次求值仅创建一个持有变量引用的轻量级上下文。
+ *
  * @author rose
  * @since 1.0.0
  */
 @Slf4j
 public class SpelExpressionEvaluator implements ExpressionEvaluator {
 
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    private final ExpressionParser parser = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, SpelExpressionEvaluator.class.getClassLoader()));
     private final Pattern SPEL_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+    private final StandardEvaluationContext sharedContext = createSharedContext();
 
     @Override
     public Object evaluate(String expression, Map<String, Object> variables, Locale locale) {
@@ -30,31 +39,8 @@ public class SpelExpressionEvaluator implements ExpressionEvaluator {
         }
 
         try {
-            StandardEvaluationContext context = new StandardEvaluationContext();
-
-            // 设置变量
-            if (variables != null) {
-                for (Map.Entry<String, Object> entry : variables.entrySet()) {
-                    context.setVariable(entry.getKey(), entry.getValue());
-                }
-            }
-
-            // 注入locale
-            if (locale != null) {
-                context.setVariable("locale", locale);
-                context.setVariable("language", locale.getLanguage());
-                context.setVariable("country", locale.getCountry());
-                context.setVariable("displayLanguage", locale.getDisplayLanguage(locale));
-                context.setVariable("displayCountry", locale.getDisplayCountry(locale));
-            }
-
-            // 注入一些常用的工具类
-            context.setVariable("T", java.lang.Math.class);
-            context.setVariable("Arrays", java.util.Arrays.class);
-            context.setVariable("Collections", java.util.Collections.class);
-
-            Expression exp = parser.parseExpression(expression);
-            Object result = exp.getValue(context);
+            Expression exp = getExpression(expression);
+            Object result = exp.getValue(new BindingEvaluationContext(sharedContext, variables, locale));
 
             if (log.isDebugEnabled()) {
                 log.debug("SpEL evaluation: {} -> {}", expression, result);
@@ -72,4 +58,138 @@ public class SpelExpressionEvaluator implements ExpressionEvaluator {
     public boolean supports(String template) {
         return template != null && SPEL_PATTERN.matcher(template).find();
     }
+
+    /**
+     * 获取预编译的表达式
+     */
+    private Expression getExpression(String expression) {
+        Expression exp = expressionCache.get(expression);
+        if (exp == null) {
+            if (expressionCache.size() >= MAX_CACHE_SIZE) {
+                expressionCache.clear();
+            }
+            exp = expressionCache.computeIfAbsent(expression, parser::parseExpression);
+        }
+        return exp;
+    }
+
+    /**
+     * 创建共享的评估上下文，提前初始化解析器链以保证并发读取安全
+     */
+    private static StandardEvaluationContext createSharedContext() {
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.getPropertyAccessors();
+        context.getConstructorResolvers();
+        context.getMethodResolvers();
+        context.getIndexAccessors();
+        return context;
+    }
+
+    /**
+     * 轻量级的评估上下文，仅持有本次调用的变量，其余组件委托给共享上下文
+     */
+    private static class BindingEvaluationContext implements EvaluationContext {
+        private final StandardEvaluationContext delegate;
+        private final Map<String, Object> variables;
+        private final Locale locale;
+        private Map<String, Object> assignedVariables;
+
+        BindingEvaluationContext(StandardEvaluationContext delegate, Map<String, Object> variables, Locale locale) {
+            this.delegate = delegate;
+            this.variables = variables;
+            this.locale = locale;
+        }
+
+        @Override
+        public Object lookupVariable(String name) {
+            if (assignedVariables != null && assignedVariables.containsKey(name)) {
+                return assignedVariables.get(name);
+            }
+            // 与变量同名时，语言环境及工具类变量优先
+            if (locale != null) {
+                switch (name) {
+                    case "locale":
+                        return locale;
+                    case "language":
+                        return locale.getLanguage();
+                    case "country":
+                        return locale.getCountry();
+                    case "displayLanguage":
+                        return locale.getDisplayLanguage(locale);
+                    case "displayCountry":
+                        return locale.getDisplayCountry(locale);
+                    default:
+                        break;
+                }
+            }
+            switch (name) {
+                case "T":
+                    return Math.class;
+                case "Arrays":
+                    return Arrays.class;
+                case "Collections":
+                    return Collections.class;
+                default:
+                    return variables != null ? variables.get(name) : null;
+            }
+        }
+
+        @Override
+        public void setVariable(String name, Object value) {
+            if (assignedVariables == null) {
+                assignedVariables = new HashMap<>();
+            }
+            assignedVariables.put(name, value);
+        }
+
+        @Override
+        public TypedValue getRootObject() {
+            return delegate.getRootObject();
+        }
+
+        @Override
+        public List<PropertyAccessor> getPropertyAccessors() {
+            return delegate.getPropertyAccessors();
+        }
+
+        @Override
+        public List<IndexAccessor> getIndexAccessors() {
+            return delegate.getIndexAccessors();
+        }
+
+        @Override
+        public List<ConstructorResolver> getConstructorResolvers() {
+            return delegate.getConstructorResolvers();
+        }
+
+        @Override
+        public List<MethodResolver> getMethodResolvers() {
+            return delegate.getMethodResolvers();
+        }
+
+        @Override
+        public BeanResolver getBeanResolver() {
+            return delegate.getBeanResolver();
+        }
+
+        @Override
+        public TypeLocator getTypeLocator() {
+            return delegate.getTypeLocator();
+        }
+
+        @Override
+        public TypeConverter getTypeConverter() {
+            return delegate.getTypeConverter();
+        }
+
+        @Override
+        public TypeComparator getTypeComparator() {
+            return delegate.getTypeComparator();
+        }
+
+        @Override
+        public OperatorOverloader getOperatorOverloader() {
+            return delegate.getOperatorOverloader();
+        }
+    }
 }
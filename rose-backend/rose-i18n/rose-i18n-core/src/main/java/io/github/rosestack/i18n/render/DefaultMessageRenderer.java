@@ -4,8 +4,11 @@ import io.github.rosestack.core.util.FormatUtils;
 import io.github.rosestack.i18n.evaluator.ExpressionEvaluator;
 import io.github.rosestack.i18n.evaluator.SpelExpressionEvaluator;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -13,8 +16,10 @@ public class DefaultMessageRenderer implements MessageRenderer {
     private static final Pattern MESSAGE_FORMAT_PATTERN = Pattern.compile("\\{\\d+\\}");
     private static final Pattern NAMED_PARAMETER_PATTERN = Pattern.compile("\\{([a-zA-Z_][a-zA-Z0-9_]*)\\}");
     private static final Pattern EXPRESSION_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
+    private static final int MAX_TEMPLATE_CACHE_SIZE = 1024;
 
     private final ExpressionEvaluator expressionEvaluator;
+    private final Map<String, ExpressionTemplate> templateCache = new ConcurrentHashMap<>();
 
     public DefaultMessageRenderer() {
         this(new SpelExpressionEvaluator());
@@ -39,8 +44,11 @@ public class DefaultMessageRenderer implements MessageRenderer {
             @SuppressWarnings("unchecked")
             Map<String, Object> mapArgs = (Map<String, Object>) args;
 
-            if (EXPRESSION_PATTERN.matcher(message).find()) {
-                return processExpressions(message, mapArgs, locale);
+            if (message.contains("${")) {
+                ExpressionTemplate template = getExpressionTemplate(message);
+                if (template.expressions.length > 0) {
+                    return processExpressions(message, template, mapArgs, locale);
+                }
             }
 
             // 处理 {name} 命名参数
@@ -79,32 +87,72 @@ public class DefaultMessageRenderer implements MessageRenderer {
     /**
      * 处理 ${expression} 表达式
      */
-    private String processExpressions(String message, Map<String, Object> arg, Locale locale) {
-        Matcher matcher = EXPRESSION_PATTERN.matcher(message);
-        StringBuffer result = new StringBuffer();
+    private String processExpressions(
+            String message, ExpressionTemplate template, Map<String, Object> arg, Locale locale) {
+        if (!template.supported) {
+            return message;
+        }
 
-        while (matcher.find()) {
-            String expression = matcher.group(1);
+        StringBuilder result = new StringBuilder(message.length() + 16);
+        for (int i = 0; i < template.expressions.length; i++) {
+            result.append(template.literals[i]);
             String replacement;
+            try {
+                Object value = expressionEvaluator.evaluate(template.expressions[i], arg, locale);
+                replacement = value != null ? value.toString() : "null";
+            } catch (Exception e) {
+                replacement = "${" + template.expressions[i] + "}"; // 保持原样
+            }
+            result.append(replacement);
+        }
+        result.append(template.literals[template.expressions.length]);
+        return result.toString();
+    }
 
-            if (!expressionEvaluator.supports(expression)) {
-                return message;
-            } else {
-                try {
-                    Object value = expressionEvaluator.evaluate(expression, arg, locale);
-                    if (value != null) {
-                        replacement = value.toString();
-                    } else {
-                        replacement = "null";
-                    }
-                } catch (Exception e) {
-                    replacement = matcher.group(0); // 保持原样
-                }
+    /**
+     * 获取预先切分好的表达式模板，避免每次渲染都进行正则匹配
+     */
+    private ExpressionTemplate getExpressionTemplate(String message) {
+        ExpressionTemplate template = templateCache.get(message);
+        if (template == null) {
+            if (templateCache.size() >= MAX_TEMPLATE_CACHE_SIZE) {
+                templateCache.clear();
             }
-            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+            template = templateCache.computeIfAbsent(message, this::compileTemplate);
         }
+        return template;
+    }
 
-        matcher.appendTail(result);
-        return result.toString();
+    private ExpressionTemplate compileTemplate(String message) {
+        List<String> literals = new ArrayList<>();
+        List<String> expressions = new ArrayList<>();
+        boolean supported = true;
+
+        Matcher matcher = EXPRESSION_PATTERN.matcher(message);
+        int last = 0;
+        while (matcher.find()) {
+            String expression = matcher.group(1);
+            supported &= expressionEvaluator.supports(expression);
+            literals.add(message.substring(last, matcher.start()));
+            expressions.add(expression);
+            last = matcher.end();
+        }
+        literals.add(message.substring(last));
+        return new ExpressionTemplate(literals.toArray(new String[0]), expressions.toArray(new String[0]), supported);
+    }
+
+    /**
+     * 切分后的表达式模板，literals 比 expressions 多一个元素
+     */
+    private static final class ExpressionTemplate {
+        private final String[] literals;
+        private final String[] expressions;
+        private final boolean supported;
+
+        private ExpressionTemplate(String[] literals, String[] expressions, boolean supported) {
+            this.literals = literals;
+            this.expressions = expressions;
+            this.supported = supported;
+        }
     }
 }
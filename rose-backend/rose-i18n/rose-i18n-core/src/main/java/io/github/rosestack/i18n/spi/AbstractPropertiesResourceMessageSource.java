@@ -6,13 +6,43 @@ import static java.util.Collections.unmodifiableMap;
 import io.github.rosestack.core.util.FormatUtils;
 import io.github.rosestack.i18n.AbstractResourceMessageSource;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.jar.JarEntry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 
 @Slf4j
 public abstract class AbstractPropertiesResourceMessageSource extends AbstractResourceMessageSource {
+
+    /**
+     * 是否优先使用预编译的 {@link MessageBundleIndex}
+     */
+    private boolean indexEnabled = true;
+
+    /**
+     * 重新加载过资源后不再使用索引
+     */
+    private volatile boolean indexBypassed;
+
+    private volatile boolean indexLoaded;
+
+    private MessageBundleIndex messageBundleIndex;
+
+    /**
+     * 运行时生成的索引文件目录
+     */
+    private Path indexDirectory;
+
     public AbstractPropertiesResourceMessageSource(String source) {
         super(source);
     }
@@ -25,6 +55,11 @@ public abstract class AbstractPropertiesResourceMessageSource extends AbstractRe
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     protected final Map<String, String> loadMessages(String resource) {
+        Map<String, String> indexedMessages = loadIndexedMessages(resource);
+        if (indexedMessages != null) {
+            return indexedMessages;
+        }
+
         Map<String, String> messages = null;
         try {
             Properties properties = loadAllProperties(resource);
@@ -62,5 +97,219 @@ public abstract class AbstractPropertiesResourceMessageSource extends AbstractRe
         return properties;
     }
 
+    /**
+     * 重新加载的资源可能已被修改，此后不再使用索引，直接解析 Properties 资源
+     */
+    @Override
+    public void initializeResources(Iterable<String> resources) {
+        indexBypassed = true;
+        super.initializeResources(resources);
+    }
+
+    /**
+     * 将所有支持的语言环境的 Properties 资源编译为 {@link MessageBundleIndex}。索引记录源资源指纹，加载时指纹不一致则视为过期
+     *
+     * @param outputStream 输出流，调用方负责关闭
+     * @throws IOException 读取或写入失败，或资源不支持计算指纹
+     */
+    public void compileIndex(OutputStream outputStream) throws IOException {
+        String fingerprint = computeSourceFingerprint();
+        if (fingerprint == null) {
+            throw new IOException("Source '" + source + "' does not support message bundle index");
+        }
+        compileIndex(outputStream, fingerprint);
+    }
+
+    public void setIndexEnabled(boolean indexEnabled) {
+        this.indexEnabled = indexEnabled;
+    }
+
+    /**
+     * 设置索引文件目录，没有可用索引时首次加载编译并写入该目录，之后启动直接使用。为 null 时不写入
+     */
+    public void setIndexDirectory(Path indexDirectory) {
+        this.indexDirectory = indexDirectory;
+    }
+
+    /**
+     * 获取索引文件名
+     *
+     * @return 默认为 {@code basename + ".idx"}
+     */
+    protected String getIndexName() {
+        return basename + MessageBundleIndex.INDEX_SUFFIX;
+    }
+
+    /**
+     * 获取预编译的索引资源
+     *
+     * @param indexName 索引文件名
+     * @return 索引资源，不存在时返回 null
+     * @throws IOException 查找失败
+     */
+    protected URL getIndexResource(String indexName) throws IOException {
+        return null;
+    }
+
+    /**
+     * 获取 Properties 资源的 URL，用于计算源资源指纹
+     *
+     * @param resource 资源路径
+     * @return 资源 URL，不支持时返回 null，此时不使用索引
+     * @throws IOException 查找失败
+     */
+    protected List<URL> getPropertiesResourceUrls(String resource) throws IOException {
+        return null;
+    }
+
+    /**
+     * 计算所有支持语言环境的 Properties 资源指纹，只读取元数据，不读取资源内容：jar 内资源取条目的 CRC 和大小，
+     * 文件取修改时间和大小
+     *
+     * @return 源资源指纹，不支持时返回 null
+     * @throws IOException 读取失败
+     */
+    protected String computeSourceFingerprint() throws IOException {
+        StringJoiner fingerprint = new StringJoiner("\n");
+        for (Locale locale : getSupportedLocales()) {
+            String resource = getResource(locale);
+            List<URL> urls = getPropertiesResourceUrls(resource);
+            if (urls == null) {
+                return null;
+            }
+            fingerprint.add(resource);
+            for (URL url : urls) {
+                fingerprint.add(fingerprint(url));
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    private static String fingerprint(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        if (connection instanceof JarURLConnection jarConnection) {
+            JarEntry entry = jarConnection.getJarEntry();
+            return "crc:" + entry.getCrc() + ":" + entry.getSize();
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                Path path = Paths.get(url.toURI());
+                return "file:" + Files.getLastModifiedTime(path).toMillis() + ":" + Files.size(path);
+            } catch (URISyntaxException e) {
+                // 回退为连接元数据
+            }
+        }
+        return "url:" + connection.getLastModified() + ":" + connection.getContentLengthLong();
+    }
+
+    private void compileIndex(OutputStream outputStream, String fingerprint) throws IOException {
+        Map<String, Map<String, String>> resourceMessages = new LinkedHashMap<>();
+        for (Locale locale : getSupportedLocales()) {
+            Properties properties = loadAllProperties(locale);
+            if (!ObjectUtils.isEmpty(properties)) {
+                Map<String, String> messages = new HashMap<>(properties.size());
+                properties.forEach((key, value) -> messages.put(key.toString(), value.toString()));
+                resourceMessages.put(buildResourceName(locale), messages);
+            }
+        }
+        MessageBundleIndex.write(resourceMessages, fingerprint, outputStream);
+        log.debug("Source '{}' compiles {} resources into the message bundle index", source, resourceMessages.size());
+    }
+
+    private Map<String, String> loadIndexedMessages(String resource) {
+        if (!indexEnabled || indexBypassed) {
+            return null;
+        }
+        MessageBundleIndex index = getMessageBundleIndex();
+        if (index == null) {
+            return null;
+        }
+        String resourceName = resource.substring(resource.lastIndexOf('/') + 1);
+        return index.getMessages(resourceName);
+    }
+
+    private MessageBundleIndex getMessageBundleIndex() {
+        if (!indexLoaded) {
+            synchronized (this) {
+                if (!indexLoaded) {
+                    messageBundleIndex = loadMessageBundleIndex();
+                    indexLoaded = true;
+                }
+            }
+        }
+        return messageBundleIndex;
+    }
+
+    /**
+     * 依次使用随资源发布的索引和索引目录中的索引，都不可用时编译并写入索引目录
+     */
+    private MessageBundleIndex loadMessageBundleIndex() {
+        String indexName = getIndexName();
+        try {
+            String fingerprint = computeSourceFingerprint();
+            if (fingerprint == null) {
+                return null;
+            }
+            URL url = getIndexResource(indexName);
+            if (url != null) {
+                MessageBundleIndex index = loadIfFresh(url, fingerprint);
+                if (index != null) {
+                    return index;
+                }
+            }
+            if (indexDirectory == null) {
+                log.debug(
+                        "Source '{}' has no usable message bundle index['{}'], fallback to Properties",
+                        source,
+                        indexName);
+                return null;
+            }
+            Path indexFile = indexDirectory.resolve(getResource(indexName).replaceAll("//", "/"));
+            if (Files.exists(indexFile)) {
+                MessageBundleIndex index = loadIfFresh(indexFile.toUri().toURL(), fingerprint);
+                if (index != null) {
+                    return index;
+                }
+            }
+            writeIndex(indexFile, fingerprint);
+            return MessageBundleIndex.load(indexFile);
+        } catch (IOException | RuntimeException e) {
+            log.warn(
+                    "Source '{}' failed to load the message bundle index['{}'], fallback to Properties",
+                    source,
+                    indexName,
+                    e);
+            return null;
+        }
+    }
+
+    private MessageBundleIndex loadIfFresh(URL url, String fingerprint) throws IOException {
+        MessageBundleIndex index = MessageBundleIndex.load(url);
+        if (!index.getSourceFingerprint().equals(fingerprint)) {
+            log.info("Source '{}' message bundle index : {} is stale", source, url);
+            return null;
+        }
+        log.debug("Source '{}' loads the message bundle index : {}", source, url);
+        return index;
+    }
+
+    /**
+     * 先写入临时文件再原子替换，并发启动的进程不会读到写了一半的索引
+     */
+    private void writeIndex(Path indexFile, String fingerprint) throws IOException {
+        Files.createDirectories(indexFile.getParent());
+        Path tempFile = Files.createTempFile(
+                indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                compileIndex(outputStream, fingerprint);
+            }
+            Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Source '{}' writes the message bundle index : {}", source, indexFile);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
     protected abstract List<Reader> loadAllPropertiesResources(String resource) throws IOException;
 }
@@ -4,7 +4,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URL;
-import java.util.Enumeration;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -16,13 +16,20 @@ public class ClassPathPropertiesResourceMessageSource extends AbstractProperties
 
     @Override
     protected List<Reader> loadAllPropertiesResources(String resource) throws IOException {
-        ClassLoader classLoader = getClass().getClassLoader();
-        Enumeration<URL> resources = classLoader.getResources(resource);
         List<Reader> propertiesResources = new LinkedList<>();
-        while (resources.hasMoreElements()) {
-            URL url = resources.nextElement();
+        for (URL url : getPropertiesResourceUrls(resource)) {
             propertiesResources.add(new InputStreamReader(url.openStream(), getEncoding()));
         }
         return propertiesResources;
     }
+
+    @Override
+    protected List<URL> getPropertiesResourceUrls(String resource) throws IOException {
+        return Collections.list(getClass().getClassLoader().getResources(resource));
+    }
+
+    @Override
+    protected URL getIndexResource(String indexName) {
+        return getClass().getClassLoader().getResource(getResource(indexName).replaceAll("//", "/"));
+    }
 }
@@ -0,0 +1,329 @@
+package io.github.rosestack.i18n.spi;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * 预编译的消息资源包二进制索引
+ *
+ * <p>将多个语言环境的资源包编译为紧凑的二进制格式：所有键和值去重后存入字符串表，键按字典序排序且在所有语言环境间共享，
+ * 每个资源仅保存一个值编号数组。加载时只解析键，值在访问时才从（可内存映射的）缓冲区中解码。
+ *
+ * <p>
+ *
+ * <h3>文件格式：</h3>
+ *
+ * <pre>
+ * int    magic            "RI18"
+ * int    version
+ * int    fingerprint      源资源指纹，int 字节长度 + UTF-8 字节，用于判断索引是否过期
+ * int    stringCount      字符串表，每项为 int 字节长度 + UTF-8 字节
+ * int    keyCount         排序后的键，每项为字符串编号
+ * int    resourceCount    资源段，每项为资源名字符串编号 + keyCount 个值字符串编号（-1 表示缺失）
+ * </pre>
+ *
+ * @author chensoul
+ * @since 1.0.0
+ */
+public final class MessageBundleIndex {
+
+    /**
+     * 默认的索引文件后缀
+     */
+    public static final String INDEX_SUFFIX = ".idx";
+
+    private static final int MAGIC = 0x52493138;
+
+    private static final int VERSION = 2;
+
+    private static final int ABSENT = -1;
+
+    private final ByteBuffer buffer;
+
+    private final String sourceFingerprint;
+
+    private final int[] stringOffsets;
+
+    private final String[] keys;
+
+    private final Map<String, Integer> resourcePositions;
+
+    private MessageBundleIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        int position = 0;
+        if (buffer.getInt(position) != MAGIC) {
+            throw new IllegalArgumentException("Not a message bundle index");
+        }
+        position += Integer.BYTES;
+        int version = buffer.getInt(position);
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported message bundle index version : " + version);
+        }
+        position += Integer.BYTES;
+
+        int fingerprintLength = buffer.getInt(position);
+        byte[] fingerprintBytes = new byte[fingerprintLength];
+        buffer.get(position + Integer.BYTES, fingerprintBytes);
+        this.sourceFingerprint = new String(fingerprintBytes, StandardCharsets.UTF_8);
+        position += Integer.BYTES + fingerprintLength;
+
+        int stringCount = buffer.getInt(position);
+        position += Integer.BYTES;
+        this.stringOffsets = new int[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            stringOffsets[i] = position;
+            position += Integer.BYTES + buffer.getInt(position);
+        }
+
+        int keyCount = buffer.getInt(position);
+        position += Integer.BYTES;
+        this.keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = readString(buffer.getInt(position));
+            position += Integer.BYTES;
+        }
+
+        int resourceCount = buffer.getInt(position);
+        position += Integer.BYTES;
+        this.resourcePositions = new HashMap<>(resourceCount * 2);
+        for (int i = 0; i < resourceCount; i++) {
+            String resourceName = readString(buffer.getInt(position));
+            position += Integer.BYTES;
+            resourcePositions.put(resourceName, position);
+            position += keyCount * Integer.BYTES;
+        }
+    }
+
+    /**
+     * 从文件加载索引，文件以只读方式内存映射
+     *
+     * @param path 索引文件
+     * @return 消息资源包索引
+     * @throws IOException 读取失败
+     */
+    public static MessageBundleIndex load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MessageBundleIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * 从 URL 加载索引，本地文件使用内存映射，其他（如 jar 内资源）读入堆内存
+     *
+     * @param url 索引资源
+     * @return 消息资源包索引
+     * @throws IOException 读取失败
+     */
+    public static MessageBundleIndex load(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return load(Paths.get(url.toURI()));
+            } catch (java.net.URISyntaxException e) {
+                // 回退为流式读取
+            }
+        }
+        try (InputStream inputStream = url.openStream()) {
+            return new MessageBundleIndex(ByteBuffer.wrap(inputStream.readAllBytes()));
+        }
+    }
+
+    /**
+     * 将多个资源的消息编译为索引
+     * @param resourceMessages  资源名到消息的映射
+     * @param resourceMessages 资源名到消息的映射
+     * @param outputStream      输出流，调用方负责关闭
+     * @param outputStream     输出流，调用方负责关闭
+     * @throws IOException 写入失败
+     */
+    public static void write(
+            Map<String, Map<String, String>> resourceMessages, String sourceFingerprint, OutputStream outputStream)
+            throws IOException {
+        SortedSet<String> sortedKeys = new TreeSet<>();
+        resourceMessages.values().forEach(messages -> sortedKeys.addAll(messages.keySet()));
+
+        // 驻留字符串表，相同的键、值及资源名只保存一份
+        Map<String, Integer> stringIds = new LinkedHashMap<>();
+        sortedKeys.forEach(key -> stringIds.putIfAbsent(key, stringIds.size()));
+        resourceMessages.forEach((resourceName, messages) -> {
+            stringIds.putIfAbsent(resourceName, stringIds.size());
+            messages.values().forEach(value -> stringIds.putIfAbsent(value, stringIds.size()));
+        });
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        byte[] fingerprintBytes = sourceFingerprint.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(fingerprintBytes.length);
+        out.write(fingerprintBytes);
+
+        out.writeInt(stringIds.size());
+        for (String string : stringIds.keySet()) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeInt(sortedKeys.size());
+        for (String key : sortedKeys) {
+            out.writeInt(stringIds.get(key));
+        }
+
+        out.writeInt(resourceMessages.size());
+        for (Map.Entry<String, Map<String, String>> entry : resourceMessages.entrySet()) {
+            out.writeInt(stringIds.get(entry.getKey()));
+            Map<String, String> messages = entry.getValue();
+            for (String key : sortedKeys) {
+                String value = messages.get(key);
+                out.writeInt(value == null ? ABSENT : stringIds.get(value));
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * 获取编译索引时的源资源指纹
+     *
+     * @return 源资源指纹
+     */
+    public String getSourceFingerprint() {
+        return sourceFingerprint;
+    }
+
+    /**
+     * 获取资源的消息视图，消息值在访问时才解码
+     *
+     * @param resourceName 资源名，如 {@code i18n_messages_zh_CN.properties}
+     * @return 只读的消息视图，资源不存在时返回 null
+     */
+    public Map<String, String> getMessages(String resourceName) {
+        Integer position = resourcePositions.get(resourceName);
+        return position == null ? null : new IndexedMessages(position);
+    }
+
+    /**
+     * 获取索引中包含的资源名
+     *
+     * @return 资源名集合
+     */
+    public Set<String> getResourceNames() {
+        return Collections.unmodifiableSet(resourcePositions.keySet());
+    }
+
+    /**
+     * 判断消息是否为索引的只读视图
+     *
+     * @param messages 消息
+     * @return 是否为 {@link #getMessages(String)} 返回的视图
+     */
+    public static boolean isIndexedMessages(Map<?, ?> messages) {
+        return messages instanceof IndexedMessages;
+    }
+
+    private String readString(int stringId) {
+        int offset = stringOffsets[stringId];
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        buffer.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 基于排序键二分查找的只读消息视图
+     */
+    private final class IndexedMessages extends AbstractMap<String, String> {
+
+        private final int position;
+
+        private int size = -1;
+
+        private IndexedMessages(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public String get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return null;
+            }
+            int stringId = valueId(index);
+            return stringId == ABSENT ? null : readString(stringId);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 && valueId(index) != ABSENT;
+        }
+
+        @Override
+        public int size() {
+            if (size < 0) {
+                int count = 0;
+                for (int i = 0; i < keys.length; i++) {
+                    if (valueId(i) != ABSENT) {
+                        count++;
+                    }
+                }
+                size = count;
+            }
+            return size;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int next = advance(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keys.length;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int index = next;
+                            next = advance(index + 1);
+                            return new SimpleImmutableEntry<>(keys[index], readString(valueId(index)));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return IndexedMessages.this.size();
+                }
+            };
+        }
+
+        private int advance(int from) {
+            int index = from;
+            while (index < keys.length && valueId(index) == ABSENT) {
+                index++;
+            }
+            return index;
+        }
+
+        private int valueId(int index) {
+            return buffer.getInt(position + index * Integer.BYTES);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.rosestack.i18n;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.rosestack.i18n.cache.CacheProperties;
+import io.github.rosestack.i18n.cache.InMemoryMessageCacheLoader;
+import java.util.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AbstractResourceMessageSourceTest {
+
+    private final Map<String, Map<String, String>> resources = new HashMap<>();
+
+    private InMemoryMessageCacheLoader messageCacheLoader;
+
+    private TestResourceMessageSource messageSource;
+
+    @BeforeEach
+    void setUp() {
+        messageSource = new TestResourceMessageSource("test");
+        messageSource.setSupportedLocales(List.of(Locale.SIMPLIFIED_CHINESE, Locale.ENGLISH));
+        resources.put(messageSource.getResource(Locale.CHINESE), Map.of("a", "啊", "b", "波"));
+        resources.put(messageSource.getResource(Locale.ENGLISH), Map.of("a", "a", "b", "b"));
+
+        messageCacheLoader = new InMemoryMessageCacheLoader(new CacheProperties());
+        messageSource.setMessageCacheLoader(messageCacheLoader);
+        messageSource.init();
+    }
+
+    @Test
+    void shouldOnlyEvictChangedMessagesOnReload() {
+        assertEquals("啊", messageSource.getMessage("a", Locale.SIMPLIFIED_CHINESE));
+        assertEquals("波", messageSource.getMessage("b", Locale.SIMPLIFIED_CHINESE));
+        assertEquals("a", messageSource.getMessage("a", Locale.ENGLISH));
+
+        String resource = messageSource.getResource(Locale.CHINESE);
+        resources.put(resource, Map.of("a", "阿", "b", "波", "c", "次"));
+        messageSource.reload(resource);
+
+        // zh_CN falls back to zh, so its cached "a" must be evicted while "b" stays cached
+        assertNull(messageCacheLoader.getFromCache("a", Locale.SIMPLIFIED_CHINESE));
+        assertEquals("波", messageCacheLoader.getFromCache("b", Locale.SIMPLIFIED_CHINESE));
+        assertEquals("a", messageCacheLoader.getFromCache("a", Locale.ENGLISH));
+
+        assertEquals("阿", messageSource.getMessage("a", Locale.SIMPLIFIED_CHINESE));
+        assertEquals("次", messageSource.getMessage("c", Locale.CHINESE));
+    }
+
+    @Test
+    void shouldResolveMessagesInBatchAndWriteBackToCache() {
+        messageSource.getMessage("a", Locale.SIMPLIFIED_CHINESE);
+
+        Map<String, String> messages =
+                messageSource.getMessages(List.of("b", "a", "missing", "b"), Locale.SIMPLIFIED_CHINESE, null);
+
+        assertEquals(List.of("b", "a"), List.copyOf(messages.keySet()));
+        assertEquals("啊", messages.get("a"));
+        assertEquals("波", messages.get("b"));
+        assertEquals("波", messageCacheLoader.getFromCache("b", Locale.SIMPLIFIED_CHINESE));
+    }
+
+    @Test
+    void shouldResolveMessagesInBatchAcrossCompositeSources() {
+        TestResourceMessageSource secondSource = new TestResourceMessageSource("second");
+        secondSource.setSupportedLocales(List.of(Locale.ENGLISH));
+        resources.put(secondSource.getResource(Locale.ENGLISH), Map.of("c", "c"));
+        secondSource.init();
+
+        CompositeMessageSource compositeMessageSource =
+                new CompositeMessageSource(List.of(messageSource, secondSource));
+        Map<String, String> messages = compositeMessageSource.getMessages(List.of("a", "c"), Locale.ENGLISH, null);
+
+        assertEquals(Map.of("a", "a", "c", "c"), messages);
+    }
+
+    @Test
+    void shouldKeepSnapshotWhenNothingChanged() {
+        Map<String, Map<String, String>> snapshot = messageSource.getLocalizedResourceMessages();
+
+        messageSource.reload(messageSource.getResource(Locale.ENGLISH));
+
+        assertSame(snapshot, messageSource.getLocalizedResourceMessages());
+        assertThrows(UnsupportedOperationException.class, snapshot::clear);
+    }
+
+    @Test
+    void shouldRemoveAndEvictMessagesOfDeletedResource() {
+        assertEquals("a", messageSource.getMessage("a", Locale.ENGLISH));
+
+        String resource = messageSource.getResource(Locale.ENGLISH);
+        resources.remove(resource);
+        messageSource.reload(resource);
+
+        assertNull(messageCacheLoader.getFromCache("a", Locale.ENGLISH));
+        assertFalse(messageSource.getLocalizedResourceMessages().containsKey(resource));
+    }
+
+    @Test
+    void shouldCopyLoadedMessagesIntoSnapshot() {
+        String resource = messageSource.getResource(Locale.ENGLISH);
+        Map<String, String> loaded = new HashMap<>(Map.of("a", "A"));
+        resources.put(resource, loaded);
+        messageSource.reload(resource);
+
+        loaded.put("a", "changed");
+
+        assertEquals(
+                "A", messageSource.getLocalizedResourceMessages().get(resource).get("a"));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> messageSource.getLocalizedResourceMessages().get(resource).clear());
+    }
+
+    @Test
+    void shouldComputeResourceMessagesDiff() {
+        ResourceMessagesDiff diff = ResourceMessagesDiff.of(Map.of("a", "1", "b", "2"), Map.of("b", "3", "c", "4"));
+
+        assertEquals(Set.of("c"), diff.getAddedCodes());
+        assertEquals(Set.of("b"), diff.getChangedCodes());
+        assertEquals(Set.of("a"), diff.getRemovedCodes());
+        assertEquals(Set.of("a", "b", "c"), diff.getAffectedCodes());
+        assertEquals(3, diff.size());
+    }
+
+    private class TestResourceMessageSource extends AbstractResourceMessageSource {
+
+        TestResourceMessageSource(String source) {
+            super(source);
+        }
+
+        @Override
+        protected String getResourceSuffix() {
+            return ".properties";
+        }
+
+        @Override
+        protected Map<String, String> loadMessages(String resource) {
+            return resources.get(resource);
+        }
+    }
+}
@@ -266,6 +266,16 @@ public class JakartaElExpressionEvaluatorTest {
         assertTrue(endTime - startTime < 5000, "Performance test should complete within 5 seconds");
     }
 
+    @Test
+    void testCachedExpression_ShouldUseCurrentVariables() {
+        for (int i = 0; i < 200; i++) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("x", i);
+            variables.put("y", 1);
+            assertEquals((long) i + 1, ((Number) evaluator.evaluate("x + y", variables, Locale.ENGLISH)).longValue());
+        }
+    }
+
     // ==================== 辅助类 ====================
 
     public static class TestUser {
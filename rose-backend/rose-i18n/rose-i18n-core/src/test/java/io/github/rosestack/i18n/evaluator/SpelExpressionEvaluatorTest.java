@@ -366,6 +366,17 @@ public class SpelExpressionEvaluatorTest {
         assertTrue(endTime - startTime < 5000, "Performance test should complete within 5 seconds");
     }
 
+    @Test
+    void testCachedExpression_ShouldUseCurrentVariables() {
+        // 超过 MIXED 模式的编译阈值，确保编译后的表达式同样读取每次调用的变量
+        for (int i = 0; i < 200; i++) {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("x", i);
+            variables.put("y", 1);
+            assertEquals((long) i + 1, ((Number) evaluator.evaluate("#x + #y", variables, Locale.ENGLISH)).longValue());
+        }
+    }
+
     // ==================== 复杂表达式测试 ====================
 
     @Test
@@ -0,0 +1,89 @@
+package io.github.rosestack.i18n.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.rosestack.i18n.evaluator.ExpressionEvaluator;
+import io.github.rosestack.i18n.evaluator.JakartaElExpressionEvaluator;
+import io.github.rosestack.i18n.evaluator.SpelExpressionEvaluator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ${...} 表达式消息渲染性能基准测试
+ */
+@Slf4j
+@DisplayName("表达式消息渲染性能基准测试")
+@Disabled("性能测试，仅在需要时手动运行")
+class ExpressionRenderPerformanceTest {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    @DisplayName("SpEL 表达式评估性能")
+    void testSpelEvaluationPerformance() {
+        benchmarkEvaluator("SpEL", new SpelExpressionEvaluator(), "#name + ' has ' + (#count + 1)");
+    }
+
+    @Test
+    @DisplayName("Jakarta EL 表达式评估性能")
+    void testJakartaElEvaluationPerformance() {
+        benchmarkEvaluator("Jakarta EL", new JakartaElExpressionEvaluator(), "name += ' has ' += (count + 1)");
+    }
+
+    @Test
+    @DisplayName("Jakarta EL ${...} 消息渲染性能")
+    void testJakartaElRenderPerformance() {
+        DefaultMessageRenderer renderer = new DefaultMessageRenderer(new JakartaElExpressionEvaluator());
+        String message = "Hello ${name}, you have ${count + 1} messages";
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            renderer.render(message, Locale.ENGLISH, variables(i));
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            renderer.render(message, Locale.ENGLISH, variables(i));
+        }
+        report("Jakarta EL 渲染", System.nanoTime() - startTime);
+
+        assertEquals("Hello user-7, you have 8 messages", renderer.render(message, Locale.ENGLISH, variables(7)));
+    }
+
+    private void benchmarkEvaluator(String label, ExpressionEvaluator evaluator, String expression) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            evaluator.evaluate(expression, variables(i), Locale.ENGLISH);
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            evaluator.evaluate(expression, variables(i), Locale.ENGLISH);
+        }
+        report(label, System.nanoTime() - startTime);
+
+        assertEquals("user-3 has 4", evaluator.evaluate(expression, variables(3), Locale.ENGLISH));
+    }
+
+    private static Map<String, Object> variables(int i) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", "user-" + i);
+        variables.put("count", i);
+        return variables;
+    }
+
+    private static void report(String label, long durationNanos) {
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        log.info(
+                "{}性能测试结果：{}次操作耗时{}ms，平均{}ns/次",
+                label,
+                ITERATIONS,
+                durationMs,
+                Math.round((double) durationNanos / ITERATIONS));
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.rosestack.i18n.spi;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MessageBundleIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldCompileAndLoadIndex() throws IOException {
+        Map<String, Map<String, String>> resourceMessages = new LinkedHashMap<>();
+        resourceMessages.put("i18n_messages_en.properties", Map.of("a", "A", "b", "B"));
+        resourceMessages.put("i18n_messages_zh_CN.properties", Map.of("a", "啊", "c", "A"));
+
+        Path indexFile = tempDir.resolve("i18n_messages.idx");
+        try (OutputStream outputStream = Files.newOutputStream(indexFile)) {
+            MessageBundleIndex.write(resourceMessages, "hash", outputStream);
+        }
+        MessageBundleIndex index = MessageBundleIndex.load(indexFile);
+
+        assertEquals(resourceMessages.keySet(), index.getResourceNames());
+        Map<String, String> english = index.getMessages("i18n_messages_en.properties");
+        assertEquals(Map.of("a", "A", "b", "B"), english);
+        assertTrue(english.containsKey("b"));
+        assertFalse(english.containsKey("c"));
+        assertNull(english.get("c"));
+        assertEquals(Map.of("a", "啊", "c", "A"), index.getMessages("i18n_messages_zh_CN.properties"));
+        assertNull(index.getMessages("i18n_messages_fr.properties"));
+    }
+
+    @Test
+    void shouldLoadMessagesFromIndexWhenPresent() throws IOException {
+        ClassPathPropertiesResourceMessageSource compiler = new ClassPathPropertiesResourceMessageSource("properties");
+        compiler.setSupportedLocales(List.of(Locale.ENGLISH, Locale.SIMPLIFIED_CHINESE));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        compiler.compileIndex(outputStream);
+        Path indexFile = Files.write(tempDir.resolve("i18n_messages.idx"), outputStream.toByteArray());
+
+        IndexedMessageSource messageSource =
+                new IndexedMessageSource(indexFile.toUri().toURL());
+        messageSource.init();
+
+        assertEquals("你好", messageSource.getMessage("test.message", Locale.SIMPLIFIED_CHINESE));
+        assertEquals("Hello, rose", messageSource.getMessage("test.param", Locale.ENGLISH, "rose"));
+        assertTrue(messageSource.indexLoaded);
+    }
+
+    @Test
+    void shouldFallbackToPropertiesWhenIndexAbsent() {
+        IndexedMessageSource messageSource = new IndexedMessageSource(null);
+        messageSource.init();
+
+        assertEquals("你好", messageSource.getMessage("test.message", Locale.SIMPLIFIED_CHINESE));
+        assertFalse(messageSource.indexLoaded);
+    }
+
+    @Test
+    void shouldFallbackToPropertiesWhenIndexStale() throws IOException {
+        IndexedMessageSource messageSource = new IndexedMessageSource(writeIndex("stale"));
+        messageSource.init();
+
+        assertEquals("你好", messageSource.getMessage("test.message", Locale.SIMPLIFIED_CHINESE));
+        assertTrue(messageSource.indexLoaded);
+    }
+
+    @Test
+    void shouldBypassIndexOnReload() throws IOException {
+        IndexedMessageSource messageSource = new IndexedMessageSource(null);
+        URL indexResource = writeIndex(messageSource.computeSourceFingerprint());
+        messageSource = new IndexedMessageSource(indexResource);
+        messageSource.init();
+        assertEquals("索引", messageSource.getMessage("test.message", Locale.SIMPLIFIED_CHINESE));
+
+        messageSource.reload(messageSource.getResource(Locale.SIMPLIFIED_CHINESE));
+
+        assertEquals("你好", messageSource.getMessage("test.message", Locale.SIMPLIFIED_CHINESE));
+    }
+
+    @Test
+    void shouldWriteIndexOnFirstLoad() throws IOException {
+        IndexedMessageSource first = new IndexedMessageSource(null);
+        first.setIndexDirectory(tempDir);
+        first.init();
+        Path indexFile = tempDir.resolve("i18n/properties/i18n_messages.idx");
+
+        assertEquals("你好", first.getMessage("test.message", Locale.SIMPLIFIED_CHINESE));
+        assertEquals(
+                first.computeSourceFingerprint(),
+                MessageBundleIndex.load(indexFile).getSourceFingerprint());
+
+        // 替换为内容不同但指纹一致的索引，验证之后的启动直接使用索引目录中的文件
+        writeIndex(first.computeSourceFingerprint());
+        Files.copy(tempDir.resolve("i18n_messages.idx"), indexFile, StandardCopyOption.REPLACE_EXISTING);
+        IndexedMessageSource second = new IndexedMessageSource(null);
+        second.setIndexDirectory(tempDir);
+        second.init();
+
+        assertEquals("索引", second.getMessage("test.message", Locale.SIMPLIFIED_CHINESE));
+    }
+
+    @Test
+    void shouldRewriteStaleIndexInDirectory() throws IOException {
+        Path indexFile =
+                Files.createDirectories(tempDir.resolve("i18n/properties")).resolve("i18n_messages.idx");
+        writeIndex("stale");
+        Files.copy(tempDir.resolve("i18n_messages.idx"), indexFile, StandardCopyOption.REPLACE_EXISTING);
+        IndexedMessageSource messageSource = new IndexedMessageSource(null);
+        messageSource.setIndexDirectory(tempDir);
+        messageSource.init();
+
+        assertEquals("你好", messageSource.getMessage("test.message", Locale.SIMPLIFIED_CHINESE));
+        assertEquals(
+                messageSource.computeSourceFingerprint(),
+                MessageBundleIndex.load(indexFile).getSourceFingerprint());
+    }
+
+    @Test
+    void shouldFingerprintWithoutReadingContent() throws IOException {
+        IndexedMessageSource messageSource = new IndexedMessageSource(null);
+
+        String fingerprint = messageSource.computeSourceFingerprint();
+
+        assertTrue(fingerprint.contains("i18n/properties/i18n_messages_zh_CN.properties"));
+        assertEquals(fingerprint, messageSource.computeSourceFingerprint());
+    }
+
+    /**
+     * 写入内容与 Properties 不同的索引，用于区分消息来源
+     */
+    private URL writeIndex(String fingerprint) throws IOException {
+        Map<String, Map<String, String>> resourceMessages = new LinkedHashMap<>();
+        resourceMessages.put("i18n_messages_zh_CN.properties", Map.of("test.message", "索引"));
+        Path indexFile = tempDir.resolve("i18n_messages.idx");
+        try (OutputStream outputStream = Files.newOutputStream(indexFile)) {
+            MessageBundleIndex.write(resourceMessages, fingerprint, outputStream);
+        }
+        return indexFile.toUri().toURL();
+    }
+
+    private static class IndexedMessageSource extends ClassPathPropertiesResourceMessageSource {
+
+        private final URL indexResource;
+
+        private boolean indexLoaded;
+
+        IndexedMessageSource(URL indexResource) {
+            super("properties");
+            this.indexResource = indexResource;
+            setSupportedLocales(List.of(Locale.ENGLISH, Locale.SIMPLIFIED_CHINESE));
+        }
+
+        @Override
+        protected URL getIndexResource(String indexName) {
+            indexLoaded = indexResource != null;
+            return indexResource;
+        }
+    }
+}
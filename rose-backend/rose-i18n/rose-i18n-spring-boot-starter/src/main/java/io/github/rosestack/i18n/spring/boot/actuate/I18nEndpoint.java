@@ -6,6 +6,7 @@ import static org.springframework.util.StringUtils.hasText;
 
 import io.github.rosestack.i18n.AbstractResourceMessageSource;
 import io.github.rosestack.i18n.I18nMessageSource;
+import io.github.rosestack.i18n.MessageCacheLoader;
 import io.github.rosestack.i18n.spring.DelegatingI18nMessageSource;
 import io.github.rosestack.i18n.spring.I18nConstants;
 import io.github.rosestack.i18n.spring.PropertySourceResourceI18nMessageSource;
@@ -55,8 +56,12 @@ import org.springframework.core.env.MutablePropertySources;
 public class I18nEndpoint {
     public static final String PROPERTY_SOURCE_NAME = "i18nEndpointPropertySource";
 
+    public static final String ALL_CACHE_LAYERS = "all";
+
     private List<I18nMessageSource> i18nMessageSources;
 
+    private MessageCacheLoader messageCacheLoader;
+
     @Autowired
     private ConfigurableEnvironment environment;
 
@@ -66,6 +71,7 @@ public class I18nEndpoint {
         I18nMessageSource i18nMessageSource =
                 context.getBean(I18nConstants.I18N_MESSAGE_SOURCE_BEAN_NAME, I18nMessageSource.class);
         initMessageSources(i18nMessageSource);
+        this.messageCacheLoader = context.getBeanProvider(MessageCacheLoader.class).getIfAvailable();
     }
 
     private void initMessageSources(I18nMessageSource serviceMessageSource) {
@@ -107,6 +113,29 @@ public class I18nEndpoint {
         return allLocalizedResourceMessages;
     }
 
+    /**
+     * 查询缓存各层的命中率，如 {@code /actuator/i18n/all} 或 {@code /actuator/i18n/near}
+     *
+     * @param layer 缓存层名称，{@value #ALL_CACHE_LAYERS} 表示全部
+     * @return 缓存层统计信息
+     */
+    @ReadOperation
+    public Map<String, Object> getCacheStatistics(@Selector String layer) {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        if (messageCacheLoader == null) {
+            return statistics;
+        }
+
+        Map<String, Double> layerHitRates = messageCacheLoader.getLayerHitRates();
+        if (ALL_CACHE_LAYERS.equals(layer)) {
+            statistics.put("hitRates", layerHitRates);
+            statistics.put("summary", messageCacheLoader.getStatisticsSummary());
+        } else if (layerHitRates.containsKey(layer)) {
+            statistics.put("hitRates", Collections.singletonMap(layer, layerHitRates.get(layer)));
+        }
+        return statistics;
+    }
+
     public Object getMessage(@Selector String code) {
         return getMessage(code, null);
     }
@@ -0,0 +1,40 @@
+package io.github.rosestack.i18n.spring.boot.actuate;
+
+import io.github.rosestack.i18n.I18nMessageSource;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * I18n 批量消息解析 Actuator Endpoint
+ *
+ * <p>一次请求解析多个消息代码，例如 {@code GET /actuator/i18nmessages?codes=a,b,c&locale=zh_CN}
+ *
+ * <pre>
+ * {
+ * "a": "测试-a",
+ * "b": "测试-b"
+ * }
+ * </pre>
+ *
+ * @see I18nMessageSource#getMessages(java.util.Collection, Locale, java.util.function.Function)
+ * @since 1.0.0
+ */
+@Endpoint(id = "i18nmessages")
+public class I18nMessagesEndpoint {
+
+    private final I18nMessageSource i18nMessageSource;
+
+    public I18nMessagesEndpoint(I18nMessageSource i18nMessageSource) {
+        this.i18nMessageSource = i18nMessageSource;
+    }
+
+    @ReadOperation
+    public Map<String, String> getMessages(List<String> codes, @Nullable Locale locale) {
+        Locale resolvedLocale = locale != null ? locale : i18nMessageSource.getLocale();
+        return i18nMessageSource.getMessages(codes, resolvedLocale, null);
+    }
+}
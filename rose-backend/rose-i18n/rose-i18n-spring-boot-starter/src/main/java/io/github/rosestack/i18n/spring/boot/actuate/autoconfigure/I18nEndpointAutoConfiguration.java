@@ -1,8 +1,10 @@
 package io.github.rosestack.i18n.spring.boot.actuate.autoconfigure;
 
+import io.github.rosestack.i18n.I18nMessageSource;
 import io.github.rosestack.i18n.spring.boot.actuate.I18nEndpoint;
-import io.github.rosestack.i18n.spring.boot.config.I18nAutoConfig;
+import io.github.rosestack.i18n.spring.boot.actuate.I18nMessagesEndpoint;
 import io.github.rosestack.i18n.spring.boot.condition.ConditionalOnI18nEnabled;
+import io.github.rosestack.i18n.spring.boot.config.I18nAutoConfig;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -13,6 +15,7 @@ import org.springframework.context.annotation.Bean;
  * I18n Spring Boot Actuator Endpoint Auto-Configuration
  *
  * @see I18nEndpoint
+ * @see I18nMessagesEndpoint
  * @since 1.0.0
  */
 @ConditionalOnClass(
@@ -20,13 +23,20 @@ import org.springframework.context.annotation.Bean;
             "org.springframework.boot.actuate.endpoint.annotation.Endpoint", // spring-boot-actuator-autoconfigure
         })
 @ConditionalOnI18nEnabled
-@ConditionalOnAvailableEndpoint(endpoint = I18nEndpoint.class)
 @AutoConfigureAfter(I18nAutoConfig.class)
 public class I18nEndpointAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint(endpoint = I18nEndpoint.class)
     public I18nEndpoint i18nEndpoint() {
         return new I18nEndpoint();
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint(endpoint = I18nMessagesEndpoint.class)
+    public I18nMessagesEndpoint i18nMessagesEndpoint(I18nMessageSource i18nMessageSource) {
+        return new I18nMessagesEndpoint(i18nMessageSource);
+    }
 }
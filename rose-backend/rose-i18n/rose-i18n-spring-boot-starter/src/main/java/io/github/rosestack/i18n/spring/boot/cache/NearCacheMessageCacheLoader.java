@@ -0,0 +1,253 @@
+package io.github.rosestack.i18n.spring.boot.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.rosestack.i18n.MessageCacheLoader;
+import io.github.rosestack.i18n.cache.CacheProperties;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * 带本地近缓存的消息缓存加载器
+ *
+ * <p>在远程缓存（通常为 {@link RedisMessageCacheLoader}）之上叠加一层进程内 Caffeine 缓存，命中时无需访问网络。
+ * 资源重新加载时通过 Redis 发布/订阅广播失效通知，集群内各节点收到后清除本地近缓存。
+ *
+ * <p>
+ *
+ * <h3>失效通知：</h3>
+ *
+ * <ul>
+ *   <li>{@link #evictCache(Locale)} 发布语言环境标识，如 {@code zh_CN}
+ *   <li>{@link #evictCache(Collection, Locale)} 发布语言环境标识及消息代码，以换行分隔，如 {@code zh_CN\na\nb}
+ *   <li>{@link #clearCache()} 发布 {@value #CLEAR_ALL}
+ * </ul>
+ *
+ * @author chensoul
+ * @since 1.0.0
+ */
+public class NearCacheMessageCacheLoader implements MessageCacheLoader, MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(NearCacheMessageCacheLoader.class);
+
+    /**
+     * 清除全部本地缓存的通知内容
+     */
+    public static final String CLEAR_ALL = "*";
+
+    /**
+     * 失效通知中语言环境与消息代码的分隔符
+     */
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * 本地近缓存层名称
+     */
+    public static final String NEAR_LAYER = "near";
+
+    private final MessageCacheLoader remoteCacheLoader;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final String channel;
+
+    private final Cache<String, String> localCache;
+
+    /**
+     * 构造函数
+     *
+     * @param cacheProperties   缓存配置属性
+     * @param remoteCacheLoader 远程缓存加载器
+     * @param redisTemplate     用于发布失效通知的 Redis 操作模板
+     */
+    public NearCacheMessageCacheLoader(
+            CacheProperties cacheProperties,
+            MessageCacheLoader remoteCacheLoader,
+            RedisTemplate<String, Object> redisTemplate) {
+        CacheProperties.NearCache near = cacheProperties.getNear();
+        this.remoteCacheLoader = remoteCacheLoader;
+        this.redisTemplate = redisTemplate;
+        this.channel = near.getChannel();
+
+        Caffeine<Object, Object> builder =
+                Caffeine.newBuilder().maximumSize(near.getMaxSize()).recordStats();
+        if (near.getExpireAfterWrite() != null && !near.getExpireAfterWrite().isZero()) {
+            builder.expireAfterWrite(near.getExpireAfterWrite());
+        }
+        this.localCache = builder.build();
+
+        logger.debug("NearCacheMessageCacheLoader 初始化完成，配置: {}", near);
+    }
+
+    @Override
+    public String getFromCache(String code, Locale locale) {
+        String localKey = buildLocalKey(code, locale);
+        String message = localCache.getIfPresent(localKey);
+        if (message != null) {
+            return message;
+        }
+
+        message = remoteCacheLoader.getFromCache(code, locale);
+        if (message != null) {
+            localCache.put(localKey, message);
+        }
+        return message;
+    }
+
+    @Override
+    public void putToCache(String code, Locale locale, String message) {
+        remoteCacheLoader.putToCache(code, locale, message);
+        if (message != null) {
+            localCache.put(buildLocalKey(code, locale), message);
+        }
+    }
+
+    @Override
+    public Map<String, String> getFromCache(String[] codes, Locale locale) {
+        Map<String, String> result = new HashMap<>(codes.length);
+        List<String> missedCodes = new ArrayList<>();
+        for (String code : codes) {
+            String message = localCache.getIfPresent(buildLocalKey(code, locale));
+            if (message != null) {
+                result.put(code, message);
+            } else {
+                missedCodes.add(code);
+            }
+        }
+
+        if (!missedCodes.isEmpty()) {
+            Map<String, String> remoteMessages =
+                    remoteCacheLoader.getFromCache(missedCodes.toArray(new String[0]), locale);
+            remoteMessages.forEach((code, message) -> localCache.put(buildLocalKey(code, locale), message));
+            result.putAll(remoteMessages);
+        }
+        return result;
+    }
+
+    @Override
+    public void putToCache(Map<String, String> messages, Locale locale) {
+        remoteCacheLoader.putToCache(messages, locale);
+        messages.forEach((code, message) -> {
+            if (message != null) {
+                localCache.put(buildLocalKey(code, locale), message);
+            }
+        });
+    }
+
+    @Override
+    public void evictCache(Locale locale) {
+        remoteCacheLoader.evictCache(locale);
+        evictLocalCache(locale.toString());
+        publishInvalidation(locale.toString());
+    }
+
+    @Override
+    public void evictCache(Collection<String> codes, Locale locale) {
+        if (codes == null || codes.isEmpty()) {
+            return;
+        }
+        remoteCacheLoader.evictCache(codes, locale);
+        evictLocalCache(locale.toString(), codes);
+        publishInvalidation(locale + SEPARATOR + String.join(SEPARATOR, codes));
+    }
+
+    @Override
+    public void clearCache() {
+        remoteCacheLoader.clearCache();
+        evictLocalCache(CLEAR_ALL);
+        publishInvalidation(CLEAR_ALL);
+    }
+
+    /**
+     * 接收其他节点发布的失效通知，仅清除本地近缓存
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        String target = body != null ? body.toString() : new String(message.getBody(), StandardCharsets.UTF_8);
+        logger.debug("收到 i18n 缓存失效通知: channel={}, target={}", channel, target);
+        if (target.contains(SEPARATOR)) {
+            String[] parts = target.split(SEPARATOR);
+            evictLocalCache(parts[0], Arrays.asList(parts).subList(1, parts.length));
+        } else {
+            evictLocalCache(target);
+        }
+    }
+
+    @Override
+    public double getHitRate() {
+        return localCache.stats().hitRate();
+    }
+
+    @Override
+    public Map<String, Double> getLayerHitRates() {
+        Map<String, Double> hitRates = new LinkedHashMap<>();
+        hitRates.put(NEAR_LAYER, localCache.stats().hitRate());
+        hitRates.putAll(remoteCacheLoader.getLayerHitRates());
+        return hitRates;
+    }
+
+    @Override
+    public String getStatisticsSummary() {
+        return String.format(
+                "NearCache - Hits: %d, Misses: %d, Evictions: %d, Size: %d, HitRate: %.2f%%; %s",
+                localCache.stats().hitCount(),
+                localCache.stats().missCount(),
+                localCache.stats().evictionCount(),
+                localCache.estimatedSize(),
+                getHitRate() * 100,
+                remoteCacheLoader.getStatisticsSummary());
+    }
+
+    /**
+     * 获取失效通知频道
+     *
+     * @return Redis 频道名称
+     */
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * 获取远程缓存加载器
+     *
+     * @return 远程缓存加载器
+     */
+    public MessageCacheLoader getRemoteCacheLoader() {
+        return remoteCacheLoader;
+    }
+
+    private void evictLocalCache(String target) {
+        if (CLEAR_ALL.equals(target)) {
+            localCache.invalidateAll();
+            return;
+        }
+        String prefix = target + ":";
+        localCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private void evictLocalCache(String locale, Collection<String> codes) {
+        List<String> localKeys = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            localKeys.add(locale + ":" + code);
+        }
+        localCache.invalidateAll(localKeys);
+    }
+
+    private void publishInvalidation(String target) {
+        try {
+            redisTemplate.convertAndSend(channel, target);
+        } catch (Exception e) {
+            logger.error("发布 i18n 缓存失效通知失败: channel={}, target={}", channel, target, e);
+        }
+    }
+
+    private String buildLocalKey(String code, Locale locale) {
+        return locale + ":" + code;
+    }
+}
@@ -10,7 +10,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.util.StringUtils;
 
@@ -176,14 +178,22 @@ public class RedisMessageCacheLoader extends AbstractMetricsMessageCacheLoader {
         try {
             Duration expireTime = cacheProperties.getExpireAfterWrite();
 
-            // 批量设置缓存
-            redisTemplate.opsForValue().multiSet(cacheMap);
-
-            // 如果设置了过期时间，需要逐个设置过期时间（Redis 的 mset 不支持过期时间）
             if (expireTime != null && !expireTime.isZero()) {
-                for (String key : cacheMap.keySet()) {
-                    redisTemplate.expire(key, expireTime.toMillis(), TimeUnit.MILLISECONDS);
-                }
+                // Redis 的 mset 不支持过期时间，使用管道在一次往返中写入带过期时间的键
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, Object> redisOperations = (RedisOperations<String, Object>) operations;
+                        cacheMap.forEach((key, message) -> redisOperations
+                                .opsForValue()
+                                .set(key, message, expireTime.toMillis(), TimeUnit.MILLISECONDS));
+                        return null;
+                    }
+                });
+            } else {
+                // 批量设置缓存
+                redisTemplate.opsForValue().multiSet(cacheMap);
             }
 
             // 更新缓存大小计数器
@@ -214,6 +224,24 @@ public class RedisMessageCacheLoader extends AbstractMetricsMessageCacheLoader {
         }
     }
 
+    @Override
+    protected long doEvictCache(String[] cacheKeys) {
+        if (!cacheEnabled() || cacheKeys == null || cacheKeys.length == 0) {
+            return 0;
+        }
+
+        try {
+            Long deletedCount = redisTemplate.delete(Arrays.asList(cacheKeys));
+
+            logger.debug("按键清除 Redis 缓存: 请求数量={}, 删除数量={}", cacheKeys.length, deletedCount);
+            return deletedCount != null ? deletedCount : 0;
+
+        } catch (Exception e) {
+            logger.error("按键清除 Redis 缓存失败: keys={}", Arrays.toString(cacheKeys), e);
+            return 0;
+        }
+    }
+
     @Override
     protected long doClearCache(String cacheKeyPattern) {
         if (!cacheEnabled() || !StringUtils.hasText(cacheKeyPattern)) {
@@ -1,21 +1,29 @@
 package io.github.rosestack.i18n.spring.boot.config;
 
 import io.github.rosestack.i18n.MessageCacheLoader;
+import io.github.rosestack.i18n.cache.CacheProperties;
 import io.github.rosestack.i18n.cache.InMemoryMessageCacheLoader;
 import io.github.rosestack.i18n.spring.I18nMessageSourceFactoryBean;
 import io.github.rosestack.i18n.spring.annotation.EnableI18n;
+import io.github.rosestack.i18n.spring.boot.cache.NearCacheMessageCacheLoader;
 import io.github.rosestack.i18n.spring.boot.cache.RedisMessageCacheLoader;
 import io.github.rosestack.i18n.spring.boot.condition.ConditionalOnI18nEnabled;
+import java.nio.file.Paths;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.util.StringUtils;
 
 /**
  * I18n Auto-Configuration
@@ -36,7 +44,14 @@ public class I18nAutoConfig {
     @ConditionalOnProperty(name = "spring.application.name")
     public I18nMessageSourceFactoryBean applicationMessageSource(
             @Value("${spring.application.name}") String applicationName, MessageCacheLoader messageCacheLoader) {
-        return new I18nMessageSourceFactoryBean(applicationName, messageCacheLoader);
+        I18nMessageSourceFactoryBean factoryBean =
+                new I18nMessageSourceFactoryBean(applicationName, messageCacheLoader);
+        I18nProperties.Index index = i18nProperties.getIndex();
+        factoryBean.setIndexEnabled(index.isEnabled());
+        if (StringUtils.hasText(index.getDirectory())) {
+            factoryBean.setIndexDirectory(Paths.get(index.getDirectory()));
+        }
+        return factoryBean;
     }
 
     public class MessageCacheLoaderConfiguration {
@@ -50,9 +65,36 @@ public class I18nAutoConfig {
         @Bean
         @ConditionalOnClass(RedisTemplate.class)
         @ConditionalOnProperty(name = "rose.i18n.cache.type", havingValue = "REDIS")
+        @ConditionalOnProperty(name = "rose.i18n.cache.near.enabled", havingValue = "false", matchIfMissing = true)
         @ConditionalOnMissingBean
         public MessageCacheLoader redisMessageCacheLoader(RedisTemplate<String, Object> redisTemplate) {
             return new RedisMessageCacheLoader(i18nProperties.getCache(), redisTemplate);
         }
+
+        @Bean
+        @ConditionalOnClass(RedisTemplate.class)
+        @ConditionalOnProperty(name = "rose.i18n.cache.type", havingValue = "REDIS")
+        @ConditionalOnProperty(name = "rose.i18n.cache.near.enabled", havingValue = "true")
+        @ConditionalOnMissingBean(MessageCacheLoader.class)
+        public NearCacheMessageCacheLoader nearCacheMessageCacheLoader(RedisTemplate<String, Object> redisTemplate) {
+            CacheProperties cacheProperties = i18nProperties.getCache();
+            return new NearCacheMessageCacheLoader(
+                    cacheProperties, new RedisMessageCacheLoader(cacheProperties, redisTemplate), redisTemplate);
+        }
+
+        /**
+         * 仅在使用 Redis 近缓存时创建，订阅其失效通知
+         */
+        @Bean
+        @ConditionalOnBean(NearCacheMessageCacheLoader.class)
+        public RedisMessageListenerContainer i18nCacheInvalidationListenerContainer(
+                RedisConnectionFactory redisConnectionFactory,
+                NearCacheMessageCacheLoader nearCacheMessageCacheLoader) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(redisConnectionFactory);
+            container.addMessageListener(
+                    nearCacheMessageCacheLoader, new ChannelTopic(nearCacheMessageCacheLoader.getChannel()));
+            return container;
+        }
     }
 }
@@ -1,6 +1,7 @@
 package io.github.rosestack.i18n.spring.boot.config;
 
 import io.github.rosestack.i18n.cache.CacheProperties;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Locale;
 import lombok.Data;
@@ -36,4 +37,23 @@ public class I18nProperties {
      * 缓存配置
      */
     private CacheProperties cache = new CacheProperties();
+
+    /**
+     * Properties 消息资源索引配置
+     */
+    private Index index = new Index();
+
+    @Data
+    public static class Index {
+        /**
+         * 是否使用预编译的二进制索引（默认 true）
+         */
+        private boolean enabled = true;
+
+        /**
+         * 索引文件目录，没有可用索引时首次加载编译写入，之后启动直接使用；为空时不写入（默认 ${java.io.tmpdir}/rose-i18n）
+         */
+        private String directory =
+                Paths.get(System.getProperty("java.io.tmpdir"), "rose-i18n").toString();
+    }
 }
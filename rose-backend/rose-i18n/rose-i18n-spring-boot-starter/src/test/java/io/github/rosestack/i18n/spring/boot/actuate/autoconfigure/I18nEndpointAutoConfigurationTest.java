@@ -3,6 +3,7 @@ package io.github.rosestack.i18n.spring.boot.actuate.autoconfigure;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 import io.github.rosestack.i18n.spring.boot.actuate.I18nEndpoint;
+import io.github.rosestack.i18n.spring.boot.actuate.I18nMessagesEndpoint;
 import io.github.rosestack.i18n.spring.boot.config.I18nAutoConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,8 +17,7 @@ class I18nEndpointAutoConfigurationTest {
     @BeforeEach
     void setup() {
         applicationContextRunner = new ApplicationContextRunner()
-                .withConfiguration(
-                        AutoConfigurations.of(I18nAutoConfig.class, I18nEndpointAutoConfiguration.class));
+                .withConfiguration(AutoConfigurations.of(I18nAutoConfig.class, I18nEndpointAutoConfiguration.class));
     }
 
     @Test
@@ -27,6 +27,15 @@ class I18nEndpointAutoConfigurationTest {
                 .run(context -> assertThat(context).hasSingleBean(I18nEndpoint.class));
     }
 
+    @Test
+    void shouldHaveMessagesEndpointBean() {
+        applicationContextRunner
+                .withPropertyValues("management.endpoints.web.exposure.include=i18nmessages")
+                .run(context -> assertThat(context)
+                        .hasSingleBean(I18nMessagesEndpoint.class)
+                        .doesNotHaveBean(I18nEndpoint.class));
+    }
+
     @Test
     void shouldNotHaveEndpointBean() {
         applicationContextRunner.run(context -> assertThat(context).doesNotHaveBean(I18nEndpoint.class));
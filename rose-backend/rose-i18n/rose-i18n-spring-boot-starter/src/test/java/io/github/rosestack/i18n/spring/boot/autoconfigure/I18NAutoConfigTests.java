@@ -1,7 +1,9 @@
 package io.github.rosestack.i18n.spring.boot.autoconfigure;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+import static org.mockito.Mockito.mock;
 
+import io.github.rosestack.i18n.cache.InMemoryMessageCacheLoader;
 import io.github.rosestack.i18n.spring.DelegatingI18nMessageSource;
 import io.github.rosestack.i18n.spring.I18nBeanPostProcessor;
 import io.github.rosestack.i18n.spring.I18nMessageSourceBeanLifecyclePostProcessor;
@@ -14,6 +16,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 class I18NAutoConfigTests {
 
@@ -49,4 +53,17 @@ class I18NAutoConfigTests {
                             .hasSingleBean(I18nMessageSourceBeanLifecyclePostProcessor.class);
                 });
     }
+
+    @Test
+    void shouldNotCreateListenerContainerWithoutRedisNearCache() {
+        applicationContextRunner
+                .withPropertyValues(
+                        "spring.application.name=I18nAutoConfigurationTests", "rose.i18n.cache.near.enabled=true")
+                .withBean(RedisConnectionFactory.class, () -> mock(RedisConnectionFactory.class))
+                .withConfiguration(
+                        AutoConfigurations.of(I18nAutoConfig.class, PropertyPlaceholderAutoConfiguration.class))
+                .run(context -> assertThat(context)
+                        .hasSingleBean(InMemoryMessageCacheLoader.class)
+                        .doesNotHaveBean(RedisMessageListenerContainer.class));
+    }
 }
@@ -0,0 +1,85 @@
+package io.github.rosestack.i18n.spring.boot.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import io.github.rosestack.i18n.cache.CacheProperties;
+import io.github.rosestack.i18n.cache.InMemoryMessageCacheLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+class NearCacheMessageCacheLoaderTest {
+
+    private InMemoryMessageCacheLoader remoteCacheLoader;
+
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private NearCacheMessageCacheLoader nearCacheLoader;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        CacheProperties cacheProperties = new CacheProperties();
+        cacheProperties.getNear().setEnabled(true);
+        remoteCacheLoader = spy(new InMemoryMessageCacheLoader(cacheProperties));
+        redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.getValueSerializer())
+                .thenReturn((org.springframework.data.redis.serializer.RedisSerializer) StringRedisSerializer.UTF_8);
+        nearCacheLoader = new NearCacheMessageCacheLoader(cacheProperties, remoteCacheLoader, redisTemplate);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromNearCache() {
+        nearCacheLoader.putToCache("hello", Locale.CHINA, "你好");
+
+        assertThat(nearCacheLoader.getFromCache("hello", Locale.CHINA)).isEqualTo("你好");
+        assertThat(nearCacheLoader.getFromCache("hello", Locale.CHINA)).isEqualTo("你好");
+
+        verify(remoteCacheLoader, never()).getFromCache(eq("hello"), any(Locale.class));
+        assertThat(nearCacheLoader.getLayerHitRates()).containsKeys(NearCacheMessageCacheLoader.NEAR_LAYER, "memory");
+    }
+
+    @Test
+    void shouldFillNearCacheFromRemoteBatch() {
+        remoteCacheLoader.putToCache(Map.of("a", "A", "b", "B"), Locale.ENGLISH);
+
+        Map<String, String> messages = nearCacheLoader.getFromCache(new String[] {"a", "b", "c"}, Locale.ENGLISH);
+
+        assertThat(messages).containsEntry("a", "A").containsEntry("b", "B").doesNotContainKey("c");
+        remoteCacheLoader.clearCache();
+        assertThat(nearCacheLoader.getFromCache("a", Locale.ENGLISH)).isEqualTo("A");
+    }
+
+    @Test
+    void shouldPublishInvalidationOnEvict() {
+        nearCacheLoader.putToCache("hello", Locale.CHINA, "你好");
+        nearCacheLoader.putToCache("hello", Locale.ENGLISH, "Hello");
+
+        nearCacheLoader.evictCache(Locale.CHINA);
+
+        verify(redisTemplate).convertAndSend(nearCacheLoader.getChannel(), "zh_CN");
+        assertThat(nearCacheLoader.getFromCache("hello", Locale.CHINA)).isNull();
+        assertThat(nearCacheLoader.getFromCache("hello", Locale.ENGLISH)).isEqualTo("Hello");
+    }
+
+    @Test
+    void shouldInvalidateLocalCacheOnRemoteNotification() {
+        nearCacheLoader.putToCache("hello", Locale.ENGLISH, "Hello");
+        remoteCacheLoader.clearCache();
+
+        byte[] channel = nearCacheLoader.getChannel().getBytes(StandardCharsets.UTF_8);
+        nearCacheLoader.onMessage(
+                new DefaultMessage(channel, NearCacheMessageCacheLoader.CLEAR_ALL.getBytes(StandardCharsets.UTF_8)),
+                null);
+
+        assertThat(nearCacheLoader.getFromCache("hello", Locale.ENGLISH)).isNull();
+    }
+}
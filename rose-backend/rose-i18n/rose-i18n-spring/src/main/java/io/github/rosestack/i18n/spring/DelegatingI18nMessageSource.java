@@ -7,6 +7,7 @@ import io.github.rosestack.i18n.I18nMessageSource;
 import io.github.rosestack.i18n.ReloadedResourceMessageSource;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
@@ -47,6 +48,12 @@ public class DelegatingI18nMessageSource implements ReloadedResourceMessageSourc
         return this.delegate.getMessage(code, locale, args);
     }
 
+    @Override
+    public Map<String, String> getMessages(
+            Collection<String> codes, Locale locale, @Nullable Function<String, Object[]> argsResolver) {
+        return this.delegate.getMessages(codes, locale, argsResolver);
+    }
+
     @Nullable @Override
     public Map<String, String> getMessages(Locale locale) {
         return delegate.getMessages(locale);
@@ -11,9 +11,11 @@ import static org.springframework.util.StringUtils.hasText;
 import static org.springframework.util.StringUtils.parseLocale;
 
 import io.github.rosestack.i18n.*;
+import io.github.rosestack.i18n.spi.AbstractPropertiesResourceMessageSource;
 import io.github.rosestack.i18n.spring.context.ResourceMessageSourceChangedEvent;
 import io.github.rosestack.spring.util.SpringContextUtils;
 import java.lang.reflect.Constructor;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -64,6 +66,8 @@ public final class I18nMessageSourceFactoryBean extends CompositeMessageSource
     private Locale defaultLocale;
     private List<Locale> supportedLocales;
     private MessageCacheLoader messageCacheLoader;
+    private boolean indexEnabled = true;
+    private Path indexDirectory;
 
     public I18nMessageSourceFactoryBean(String source) {
         this(source, Ordered.LOWEST_PRECEDENCE);
@@ -154,6 +158,10 @@ public final class I18nMessageSourceFactoryBean extends CompositeMessageSource
             messageSource.setDefaultLocale(resolvedDefaultLocale);
             messageSource.setSupportedLocales(resolvedSupportedLocales);
             messageSource.setMessageCacheLoader(messageCacheLoader);
+            if (messageSource instanceof AbstractPropertiesResourceMessageSource propertiesMessageSource) {
+                propertiesMessageSource.setIndexEnabled(indexEnabled);
+                propertiesMessageSource.setIndexDirectory(indexDirectory);
+            }
 
             messageSource.init();
         }
@@ -222,12 +230,9 @@ public final class I18nMessageSourceFactoryBean extends CompositeMessageSource
                         (ReloadedResourceMessageSource) i18nMessageSource;
 
                 if (reloadableResourceServiceMessageSource.canReload(changedResources)) {
+                    // Message sources evict the cache entries of changed messages themselves
                     reloadableResourceServiceMessageSource.reload(changedResources);
 
-                    if (messageCacheLoader != null) {
-                        changedResources.forEach(resource -> messageCacheLoader.evictCache(resource));
-                    }
-
                     logger.debug(
                             "change resource [{}] activate {} reloaded",
                             changedResources,
@@ -237,6 +242,10 @@ public final class I18nMessageSourceFactoryBean extends CompositeMessageSource
         }
     }
 
+    public MessageCacheLoader getMessageCacheLoader() {
+        return messageCacheLoader;
+    }
+
     public List<I18nMessageSource> getAllI18nMessageSources() {
         return findAllMessageSources(this);
     }
@@ -248,4 +257,18 @@ public final class I18nMessageSourceFactoryBean extends CompositeMessageSource
     public void setSupportedLocales(List<Locale> supportedLocales) {
         this.supportedLocales = supportedLocales;
     }
+
+    /**
+     * 是否使用 Properties 消息资源的二进制索引，默认 true
+     */
+    public void setIndexEnabled(boolean indexEnabled) {
+        this.indexEnabled = indexEnabled;
+    }
+
+    /**
+     * 设置运行时生成的索引文件目录，为 null 时只使用随资源发布的索引
+     */
+    public void setIndexDirectory(Path indexDirectory) {
+        this.indexDirectory = indexDirectory;
+    }
 }
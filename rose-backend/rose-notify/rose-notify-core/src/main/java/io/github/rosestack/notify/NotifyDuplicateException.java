@@ -0,0 +1,10 @@
+package io.github.rosestack.notify;
+
+/**
+ * 重复请求异常，requestId 已发送或正在发送。
+ */
+public class NotifyDuplicateException extends NotifyException {
+    public NotifyDuplicateException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,8 @@ package io.github.rosestack.notify;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -13,6 +15,8 @@ public final class NotifyMetrics {
     private final Counter sendSuccess;
     private final Counter sendFailure;
     private final Timer sendTimer;
+    private final Map<String, Counter> templateCacheHits = new ConcurrentHashMap<>();
+    private final Map<String, Timer> templateCompileTimers = new ConcurrentHashMap<>();
 
     public NotifyMetrics(MeterRegistry registry) {
         this.registry = registry;
@@ -36,4 +40,28 @@ public final class NotifyMetrics {
         sendFailure.increment();
         sendTimer.record(nanos, TimeUnit.NANOSECONDS);
     }
+
+    /**
+     * 记录模板缓存命中
+     */
+    public void recordTemplateCacheHit(String render) {
+        templateCacheHits
+                .computeIfAbsent(render, r -> Counter.builder("notice.template.cache.hit")
+                        .description("notice template cache hit")
+                        .tag("render", r)
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * 记录模板编译（即缓存未命中）及其耗时
+     */
+    public void recordTemplateCompile(String render, long nanos) {
+        templateCompileTimers
+                .computeIfAbsent(render, r -> Timer.builder("notice.template.compile")
+                        .description("notice template compile duration")
+                        .tag("render", r)
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
 }
@@ -1,5 +1,7 @@
 package io.github.rosestack.notify;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.rosestack.notify.render.TemplateContentRenderFactory;
 import io.github.rosestack.notify.sender.RetryableSender;
 import io.github.rosestack.notify.sender.SenderFactory;
@@ -9,13 +11,13 @@ import io.github.rosestack.notify.spi.NoticeSendInterceptor;
 import io.github.rosestack.notify.spi.Sender;
 import io.github.rosestack.notify.support.NoopBlacklistChecker;
 import io.github.rosestack.notify.support.NoopIdempotencyStore;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.ServiceLoader;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +26,10 @@ import org.slf4j.LoggerFactory;
  */
 public class NotifyService {
     private static final Logger log = LoggerFactory.getLogger(NotifyService.class);
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_BATCH_CONCURRENCY = 4;
+    private static final int MAX_PROVIDER_LANES = 1000;
+    private static final Duration PROVIDER_LANE_EXPIRE = Duration.ofMinutes(30);
 
     private final List<NoticeSendInterceptor> interceptors = new ArrayList<>();
 
@@ -33,6 +39,16 @@ public class NotifyService {
     private boolean retryable = false;
     private NotifyMetrics metrics;
     private boolean executorManagedExternally = false;
+    private int channelMaxConcurrency;
+
+    /**
+     * 每个渠道实例一个发送通道（限流、熔断、重试及分片并发），与 {@link SenderFactory} 使用相同的 key。
+     * 渠道实例被工厂淘汰重建后，旧通道在下次使用时替换，长期不用的通道过期清除
+     */
+    private final Cache<String, ProviderLane> providerLanes = Caffeine.newBuilder()
+            .maximumSize(MAX_PROVIDER_LANES)
+            .expireAfterAccess(PROVIDER_LANE_EXPIRE)
+            .build();
 
     public NotifyService() {
         ServiceLoader.load(NoticeSendInterceptor.class).forEach(interceptors::add);
@@ -60,12 +76,27 @@ public class NotifyService {
     }
 
     public void setExecutor(ExecutorService executor) {
+        if (!executorManagedExternally && this.executor != null) {
+            // 关闭默认创建的线程池
+            this.executor.shutdown();
+        }
         this.executor = executor;
         this.executorManagedExternally = true;
     }
 
+    /**
+     * 每个渠道实例同时调用服务商的最大请求数，小于等于 0 表示不限制，可被渠道配置 {@code send.concurrency} 覆盖。
+     *
+     * <p>使用虚拟线程执行器时在途请求数不再受线程数约束，应通过该值保护服务商配额。
+     */
+    public void setChannelMaxConcurrency(int channelMaxConcurrency) {
+        this.channelMaxConcurrency = channelMaxConcurrency;
+        providerLanes.invalidateAll();
+    }
+
     public void setRetryable(boolean retryable) {
         this.retryable = retryable;
+        providerLanes.invalidateAll();
     }
 
     /**
@@ -79,62 +110,72 @@ public class NotifyService {
         validate(request);
         try {
             preCheck(request);
-
+        } catch (Exception e) {
+            return onSendError(request, e);
+        }
+        boolean sent = false;
+        try {
             renderTemplate(request, config.getTemplateType());
 
             long start = System.nanoTime();
             SendResult result = doSend(request, config);
+            sent = true;
             if (metrics != null) {
                 metrics.recordSuccess(System.nanoTime() - start);
             }
 
             postProcess(request, result);
             return result;
-        } catch (NotifyException e) {
-            if (metrics != null) {
-                metrics.recordFailure(0);
-            }
-            for (NoticeSendInterceptor interceptor : interceptors) {
-                interceptor.onError(request, e);
-            }
-            log.error("通知异常: {}", e.getMessage());
-            return SendResult.fail(e.getMessage(), request.getRequestId());
         } catch (Exception e) {
-            if (metrics != null) {
-                metrics.recordFailure(0);
-            }
-            for (NoticeSendInterceptor interceptor : interceptors) {
-                interceptor.onError(request, e);
+            if (!sent) {
+                // 释放占用，允许失败的请求再次发送
+                idempotencyStore.release(request.getRequestId());
             }
-            log.error("通知异常", e);
-            return SendResult.fail(e.getMessage(), request.getRequestId());
+            return onSendError(request, e);
         }
     }
 
     private SendResult doSend(SendRequest request, SenderConfiguration config) {
-        Sender baseSender = SenderFactory.getSender(config.getChannelType(), config);
-        Sender sender = baseSender;
-        if (retryable) {
-            sender = new RetryableSender(baseSender);
-            // 让重试包装器读取重试相关配置
-            sender.configure(config);
-        }
-
+        Sender sender = resolveSender(config);
         String receiptId = sender.send(request);
         return SendResult.success(request.getRequestId(), receiptId);
     }
 
-    private void preCheck(SendRequest request) {
-        if (idempotencyStore.exists(request.getRequestId())) {
-            log.warn("命中幂等: requestId={}", request.getRequestId());
-            throw new NotifyException("重复请求，已处理: " + request.getRequestId());
+    private SendResult onSendError(SendRequest request, Throwable e) {
+        if (metrics != null) {
+            metrics.recordFailure(0);
+        }
+        Exception ex = e instanceof Exception exception ? exception : new NotifyException(e.getMessage(), e);
+        for (NoticeSendInterceptor interceptor : interceptors) {
+            interceptor.onError(request, ex);
         }
+        if (e instanceof NotifyException) {
+            log.error("通知异常: {}", e.getMessage());
+        } else {
+            log.error("通知异常", e);
+        }
+        return SendResult.failed(request.getRequestId(), ex);
+    }
+
+    /**
+     * 黑名单检查后原子占用 requestId，占用成功后的任何失败都需要释放占用
+     */
+    private void preCheck(SendRequest request) {
         if (blacklistChecker.isBlacklisted(request)) {
             log.warn("命中黑名单: target={}", request.getTarget());
             throw new NotifyException("命中黑名单: " + request.getTarget());
         }
-        for (NoticeSendInterceptor interceptor : interceptors) {
-            interceptor.beforeSend(request);
+        if (!idempotencyStore.tryClaim(request.getRequestId())) {
+            log.warn("命中幂等: requestId={}", request.getRequestId());
+            throw new NotifyDuplicateException("重复请求，已处理: " + request.getRequestId());
+        }
+        try {
+            for (NoticeSendInterceptor interceptor : interceptors) {
+                interceptor.beforeSend(request);
+            }
+        } catch (RuntimeException e) {
+            idempotencyStore.release(request.getRequestId());
+            throw e;
         }
     }
 
@@ -152,45 +193,288 @@ public class NotifyService {
         log.info("通知发送结果: {}", result);
     }
 
+    /**
+     * 异步发送，限流等待与重试退避由定时器调度，不占用线程池线程
+     */
     public CompletableFuture<SendResult> sendAsync(SendRequest request, SenderConfiguration channelConfig) {
-        return CompletableFuture.supplyAsync(() -> send(request, channelConfig), executor);
+        // 已占用 requestId 且尚未发送成功，失败时需要释放占用
+        AtomicBoolean claimed = new AtomicBoolean();
+        return CompletableFuture.supplyAsync(
+                        () -> {
+                            validate(request);
+                            preCheck(request);
+                            claimed.set(true);
+                            renderTemplate(request, channelConfig.getTemplateType());
+                            return resolveSender(channelConfig);
+                        },
+                        executor)
+                .thenCompose(sender -> {
+                    long start = System.nanoTime();
+                    return sender.sendAsync(request, executor).thenApply(receiptId -> {
+                        claimed.set(false);
+                        if (metrics != null) {
+                            metrics.recordSuccess(System.nanoTime() - start);
+                        }
+                        SendResult result = SendResult.success(request.getRequestId(), receiptId);
+                        postProcess(request, result);
+                        return result;
+                    });
+                })
+                .exceptionally(e -> {
+                    if (claimed.get()) {
+                        idempotencyStore.release(request.getRequestId());
+                    }
+                    return onSendError(
+                            request, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                });
     }
 
+    /**
+     * 批量发送，结果与请求一一对应。
+     *
+     * <p>流水线：批量校验、幂等与黑名单检查 → 渲染（编译后的模板共享缓存）→ 按 {@code batch.size} 分片调用渠道的批量接口。
+     * 同一渠道实例的分片并发数受 {@code batch.concurrency} 限制。
+     */
     public List<SendResult> sendBatch(List<SendRequest> requests, SenderConfiguration channelConfig) {
-        if (requests == null || requests.isEmpty()) return Collections.emptyList();
-        List<CompletableFuture<SendResult>> futures = new ArrayList<>(requests.size());
-        for (SendRequest req : requests) {
-            futures.add(sendAsync(req, channelConfig));
-        }
-        List<SendResult> results = new ArrayList<>(requests.size());
-        for (int i = 0; i < futures.size(); i++) {
-            CompletableFuture<SendResult> f = futures.get(i);
-            SendRequest req = requests.get(i);
-            try {
-                results.add(f.join());
-            } catch (Exception ex) {
-                String msg = ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage();
-                results.add(SendResult.fail(msg, req.getRequestId()));
-            }
-        }
-        return results;
+        return sendBatchAsync(requests, channelConfig).join();
     }
 
     public CompletableFuture<List<SendResult>> sendBatchAsync(
             List<SendRequest> requests, SenderConfiguration channelConfig) {
         if (requests == null || requests.isEmpty()) return CompletableFuture.completedFuture(Collections.emptyList());
-        List<CompletableFuture<SendResult>> futures = new ArrayList<>();
-        for (SendRequest req : requests) {
-            futures.add(sendAsync(req, channelConfig));
+
+        SendResult[] results = new SendResult[requests.size()];
+        List<Integer> pending = prepareBatch(requests, channelConfig, results);
+        if (pending.isEmpty()) {
+            return CompletableFuture.completedFuture(Arrays.asList(results));
+        }
+
+        ProviderLane lane;
+        try {
+            lane = resolveLane(channelConfig);
+        } catch (Exception e) {
+            List<String> claimedIds = new ArrayList<>(pending.size());
+            for (Integer index : pending) {
+                claimedIds.add(requests.get(index).getRequestId());
+                results[index] = fail(requests.get(index), e);
+            }
+            idempotencyStore.releaseAll(claimedIds);
+            return CompletableFuture.completedFuture(Arrays.asList(results));
+        }
+
+        int batchSize = getIntConfig(channelConfig, "batch.size", DEFAULT_BATCH_SIZE);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Integer> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            futures.add(lane.submit(() -> sendChunk(lane.sender, requests, chunk, results), executor));
         }
         return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                .thenApply(v -> {
-                    List<SendResult> results = new ArrayList<>();
-                    for (CompletableFuture<SendResult> f : futures) {
-                        results.add(f.join());
-                    }
-                    return results;
-                });
+                .thenApply(v -> Arrays.asList(results));
+    }
+
+    /**
+     * 批量前置处理，返回通过检查待发送的请求下标，未通过的请求直接写入失败结果
+     */
+    private List<Integer> prepareBatch(List<SendRequest> requests, SenderConfiguration config, SendResult[] results) {
+        List<Integer> valid = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            SendRequest request = requests.get(i);
+            try {
+                validate(request);
+                valid.add(i);
+            } catch (NotifyException e) {
+                results[i] = request != null && request.getRequestId() != null
+                        ? fail(request, e)
+                        : SendResult.fail(e.getMessage(), "batch-" + i);
+            }
+        }
+
+        List<SendRequest> validRequests = new ArrayList<>(valid.size());
+        for (Integer index : valid) {
+            validRequests.add(requests.get(index));
+        }
+        // 先批量检查黑名单，再批量原子占用其余 requestId，同一批次内重复的 requestId 只有第一个占用成功
+        Set<String> blacklisted = blacklistChecker.findBlacklisted(validRequests);
+        List<String> requestIds = new ArrayList<>(valid.size());
+        for (SendRequest request : validRequests) {
+            if (!blacklisted.contains(request.getRequestId())) {
+                requestIds.add(request.getRequestId());
+            }
+        }
+        Set<String> claimed = new HashSet<>(requestIds.isEmpty() ? Set.of() : idempotencyStore.tryClaimAll(requestIds));
+
+        String templateType = config.getTemplateType();
+        Map<String, String> renderedWithoutVariables = new HashMap<>();
+        List<Integer> pending = new ArrayList<>(valid.size());
+        for (Integer index : valid) {
+            SendRequest request = requests.get(index);
+            boolean owner = false;
+            try {
+                if (blacklisted.contains(request.getRequestId())) {
+                    log.warn("命中黑名单: target={}", request.getTarget());
+                    throw new NotifyException("命中黑名单: " + request.getTarget());
+                }
+                owner = claimed.remove(request.getRequestId());
+                if (!owner) {
+                    log.warn("命中幂等: requestId={}", request.getRequestId());
+                    throw new NotifyDuplicateException("重复请求，已处理: " + request.getRequestId());
+                }
+                for (NoticeSendInterceptor interceptor : interceptors) {
+                    interceptor.beforeSend(request);
+                }
+                if (request.getVariables() == null || request.getVariables().isEmpty()) {
+                    // 无变量的模板只渲染一次
+                    request.setTemplateContent(renderedWithoutVariables.computeIfAbsent(
+                            request.getTemplateContent(),
+                            content -> TemplateContentRenderFactory.getRender(templateType)
+                                    .render(content, request.getVariables())));
+                } else {
+                    renderTemplate(request, templateType);
+                }
+                pending.add(index);
+            } catch (Exception e) {
+                if (owner) {
+                    idempotencyStore.release(request.getRequestId());
+                }
+                results[index] = fail(request, e);
+            }
+        }
+        return pending;
+    }
+
+    private CompletableFuture<Void> sendChunk(
+            RetryableSender sender, List<SendRequest> requests, List<Integer> chunk, SendResult[] results) {
+        List<SendRequest> chunkRequests = new ArrayList<>(chunk.size());
+        for (Integer index : chunk) {
+            chunkRequests.add(requests.get(index));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<List<SendResult>> future;
+        try {
+            future = sender.sendBatchAsync(chunkRequests, executor);
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.handle((chunkResults, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                idempotencyStore.releaseAll(
+                        chunkRequests.stream().map(SendRequest::getRequestId).toList());
+                for (Integer index : chunk) {
+                    results[index] = fail(
+                            requests.get(index),
+                            cause instanceof Exception ex ? ex : new NotifyException(cause.getMessage(), cause));
+                }
+            } else {
+                completeChunk(sender, chunkRequests, chunkResults, chunk, results, start);
+            }
+            return null;
+        });
+    }
+
+    private void completeChunk(
+            Sender sender,
+            List<SendRequest> chunkRequests,
+            List<SendResult> chunkResults,
+            List<Integer> chunk,
+            SendResult[] results,
+            long start) {
+        long nanosPerRequest = (System.nanoTime() - start) / chunk.size();
+
+        List<String> succeeded = new ArrayList<>(chunk.size());
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            SendRequest request = chunkRequests.get(i);
+            SendResult result = i < chunkResults.size() ? chunkResults.get(i) : null;
+            if (result == null) {
+                result = SendResult.fail("渠道未返回发送结果", request.getRequestId());
+            }
+            results[chunk.get(i)] = result;
+            if (result.isSuccess()) {
+                succeeded.add(request.getRequestId());
+                if (metrics != null) {
+                    metrics.recordSuccess(nanosPerRequest);
+                }
+                for (NoticeSendInterceptor interceptor : interceptors) {
+                    interceptor.afterSend(request, result);
+                }
+            } else {
+                failed.add(request.getRequestId());
+                if (metrics != null) {
+                    metrics.recordFailure(nanosPerRequest);
+                }
+                NotifyException ex = result.isRetryable()
+                        ? new NotifyRetryableException(result.getMessage())
+                        : new NotifyException(result.getMessage());
+                for (NoticeSendInterceptor interceptor : interceptors) {
+                    interceptor.onError(request, ex);
+                }
+            }
+        }
+        idempotencyStore.putAll(succeeded);
+        if (!failed.isEmpty()) {
+            // 释放失败请求的占用，允许再次发送
+            idempotencyStore.releaseAll(failed);
+        }
+        log.info("批量通知发送结果: channel={}, total={}, success={}", sender.getChannelType(), chunk.size(), succeeded.size());
+    }
+
+    private SendResult fail(SendRequest request, Exception e) {
+        if (metrics != null) {
+            metrics.recordFailure(0);
+        }
+        for (NoticeSendInterceptor interceptor : interceptors) {
+            interceptor.onError(request, e);
+        }
+        log.error("通知异常: requestId={}, {}", request.getRequestId(), e.getMessage());
+        return SendResult.failed(request.getRequestId(), e);
+    }
+
+    private RetryableSender resolveSender(SenderConfiguration config) {
+        return resolveLane(config).sender;
+    }
+
+    private ProviderLane resolveLane(SenderConfiguration config) {
+        Sender sender = SenderFactory.getSender(config.getChannelType(), config);
+        String key = SenderFactory.buildConfigKey(config.getChannelType(), config);
+        ProviderLane lane = providerLanes.getIfPresent(key);
+        if (lane != null && lane.delegate == sender) {
+            return lane;
+        }
+        return providerLanes
+                .asMap()
+                .compute(
+                        key,
+                        (k, current) ->
+                                current != null && current.delegate == sender ? current : newLane(sender, config));
+    }
+
+    private ProviderLane newLane(Sender sender, SenderConfiguration config) {
+        // 让包装器读取重试、限流及熔断相关配置
+        RetryableSender retryableSender = new RetryableSender(sender, retryable);
+        retryableSender.configure(config);
+        // 小于等于 0 表示不限制，不能按 getIntConfig 修正为 1
+        retryableSender.setMaxConcurrency(parseInt(
+                config.getConfig() != null ? config.getConfig().get("send.concurrency") : null, channelMaxConcurrency));
+        return new ProviderLane(
+                sender, retryableSender, getIntConfig(config, "batch.concurrency", DEFAULT_BATCH_CONCURRENCY));
+    }
+
+    private static int getIntConfig(SenderConfiguration config, String key, int defaultValue) {
+        Object value = config.getConfig() != null ? config.getConfig().get(key) : null;
+        return value == null ? defaultValue : Math.max(1, parseInt(value, defaultValue));
+    }
+
+    private static int parseInt(Object value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(String.valueOf(value));
+        } catch (Exception ignored) {
+            return defaultValue;
+        }
     }
 
     private void validate(SendRequest request) {
@@ -216,4 +500,74 @@ public class NotifyService {
         SenderFactory.destroy();
         io.github.rosestack.notify.sender.sms.SmsProviderFactory.destroy();
     }
+
+    /**
+     * 单个渠道实例的发送通道：持有该渠道的限流、熔断与重试包装器，并限制并发分片数。
+     * 超出并发的分片排队，由完成的分片继续调度，不占用线程等待
+     */
+    private static final class ProviderLane {
+        private final Sender delegate;
+        private final RetryableSender sender;
+        private final int maxConcurrency;
+        private final Queue<Consumer<Runnable>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger active = new AtomicInteger();
+
+        private ProviderLane(Sender delegate, RetryableSender sender, int maxConcurrency) {
+            this.delegate = delegate;
+            this.sender = sender;
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        /**
+         * 提交异步分片任务，任务返回的 future 完成后才释放并发名额
+         */
+        private CompletableFuture<Void> submit(Supplier<CompletableFuture<Void>> task, Executor executor) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            queue.add(release -> {
+                CompletableFuture<Void> running;
+                try {
+                    running = task.get();
+                } catch (Throwable e) {
+                    running = CompletableFuture.failedFuture(e);
+                }
+                running.whenComplete((v, e) -> {
+                    release.run();
+                    if (e != null) {
+                        future.completeExceptionally(e);
+                    } else {
+                        future.complete(null);
+                    }
+                });
+            });
+            drain(executor);
+            return future;
+        }
+
+        private void drain(Executor executor) {
+            for (; ; ) {
+                int current = active.get();
+                if (current >= maxConcurrency || queue.isEmpty()) {
+                    return;
+                }
+                if (!active.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                Consumer<Runnable> next = queue.poll();
+                if (next == null) {
+                    active.decrementAndGet();
+                    continue;
+                }
+                Runnable command = () -> next.accept(() -> {
+                    active.decrementAndGet();
+                    drain(executor);
+                });
+                try {
+                    executor.execute(command);
+                } catch (RejectedExecutionException e) {
+                    // 线程池拒绝时在调用线程执行
+                    command.run();
+                }
+            }
+        }
+    }
 }
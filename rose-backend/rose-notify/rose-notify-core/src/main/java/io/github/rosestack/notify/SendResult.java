@@ -5,6 +5,8 @@ public class SendResult {
     private String message;
     private String requestId;
     private String receiptId; // 服务商返回的消息ID
+    private boolean retryable; // 失败是否可重试
+    private boolean duplicate; // 是否因 requestId 重复而未发送
 
     /**
      * 构造方法，requestId 不能为空，否则抛出异常。
@@ -37,6 +39,16 @@ public class SendResult {
         return new SendResult(false, message, requestId, null);
     }
 
+    /**
+     * 由异常构造失败结果，{@link NotifyRetryableException} 标记为可重试，{@link NotifyDuplicateException} 标记为重复请求
+     */
+    public static SendResult failed(String requestId, Exception e) {
+        SendResult result = new SendResult(false, e.getMessage(), requestId, null);
+        result.retryable = e instanceof NotifyRetryableException;
+        result.duplicate = e instanceof NotifyDuplicateException;
+        return result;
+    }
+
     public boolean isSuccess() {
         return success;
     }
@@ -52,4 +64,12 @@ public class SendResult {
     public String getReceiptId() {
         return receiptId;
     }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    public boolean isDuplicate() {
+        return duplicate;
+    }
 }
@@ -1,18 +1,40 @@
 package io.github.rosestack.notify;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
 import lombok.ToString;
 
+/**
+ * 渠道配置
+ *
+ * <p>config 在构建和 setter 中复制为只读 Map：渠道实例以配置内容为 key 缓存，key 在首次使用时计算并随配置对象缓存，
+ * 复用同一配置对象发送时不再重复排序和拼接配置项。需要修改配置时请构建新的配置对象，或通过 setter 整体替换。
+ */
 @Data
 @ToString
-@Builder
 public class SenderConfiguration {
     private String templateType;
     private String channelType;
     private Map<String, Object> config;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Setter(AccessLevel.NONE)
+    private volatile String configKey;
+
+    @Builder
+    public SenderConfiguration(String templateType, String channelType, Map<String, Object> config) {
+        this.templateType = templateType;
+        this.channelType = channelType;
+        this.config = copyOf(config);
+    }
+
     public String getTemplateType() {
         return templateType;
     }
@@ -24,4 +46,35 @@ public class SenderConfiguration {
     public Map<String, Object> getConfig() {
         return config;
     }
+
+    public void setConfig(Map<String, Object> config) {
+        this.config = copyOf(config);
+        this.configKey = null;
+    }
+
+    /**
+     * 复制后修改原 Map 不会使缓存的 configKey 过期，配置值允许为 null，不能使用 {@link Map#copyOf(Map)}
+     */
+    private static Map<String, Object> copyOf(Map<String, Object> config) {
+        return config == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(config));
+    }
+
+    /**
+     * 配置内容的规范化 key，配置项按名称排序，用于识别相同配置的渠道实例
+     */
+    public String getConfigKey() {
+        String key = configKey;
+        if (key == null) {
+            StringBuilder sb = new StringBuilder();
+            if (config != null) {
+                config.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(e -> sb.append(e.getKey())
+                        .append('=')
+                        .append(String.valueOf(e.getValue()))
+                        .append('&'));
+            }
+            key = sb.toString();
+            configKey = key;
+        }
+        return key;
+    }
 }
@@ -2,6 +2,7 @@ package io.github.rosestack.notify.render;
 
 import io.github.rosestack.notify.spi.TemplateContentRender;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * TODO Comment
@@ -10,12 +11,33 @@ import java.util.Map;
  * @since TODO
  */
 public abstract class AbstractTemplateContentRender implements TemplateContentRender {
+    private volatile CompiledTemplateCache templateCache =
+            new CompiledTemplateCache(CompiledTemplateCache.DEFAULT_MAXIMUM_SIZE);
+
     @Override
     public String render(String templateContent, Map<String, Object> variables) {
         validate(templateContent, variables);
         return doRender(templateContent, variables);
     }
 
+    /**
+     * 替换编译后模板的缓存，默认每个渲染器实例一个不记录指标的缓存
+     */
+    public void setTemplateCache(CompiledTemplateCache templateCache) {
+        this.templateCache = templateCache;
+    }
+
+    /**
+     * 从模板缓存中获取编译后的模板，未命中时编译并缓存
+     *
+     * @param templateContent 模板内容
+     * @param compiler        编译函数
+     * @return 编译后的模板
+     */
+    protected <T> T compile(String templateContent, Function<String, T> compiler) {
+        return templateCache.get(getClass().getName(), templateContent, compiler);
+    }
+
     public abstract void validate(String templateContent, Map<String, Object> variables);
 
     public abstract String doRender(String templateContent, Map<String, Object> variables);
@@ -0,0 +1,108 @@
+package io.github.rosestack.notify.render;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.rosestack.notify.NotifyMetrics;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 编译后模板的缓存，由 {@link AbstractTemplateContentRender} 使用，可通过 {@link TemplateContentRenderFactory#setTemplateCache}
+ * 让所有渲染器共用一个实例。
+ *
+ * <p>缓存键由渲染器类型与模板内容组成，按内容哈希定位并以内容比较确认，相同模板只编译一次。缓存有容量上限，
+ * 批量发送时不会因为重复编译而占满 CPU 与 Metaspace。
+ */
+public final class CompiledTemplateCache {
+    /**
+     * 默认最大缓存模板数
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private final Cache<TemplateKey, Object> cache;
+
+    private final NotifyMetrics metrics;
+
+    public CompiledTemplateCache(long maximumSize) {
+        this(maximumSize, null);
+    }
+
+    /**
+     * @param maximumSize 最大缓存模板数
+     * @param metrics     记录编译耗时及命中情况，可为 null
+     */
+    public CompiledTemplateCache(long maximumSize, NotifyMetrics metrics) {
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.metrics = metrics;
+    }
+
+    /**
+     * 获取编译后的模板，未命中时使用 compiler 编译并缓存
+     *
+     * @param renderType      渲染器类型，用于区分不同渲染器对同一内容的编译结果
+     * @param templateContent 模板内容
+     * @param compiler        编译函数
+     * @return 编译后的模板
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String renderType, String templateContent, Function<String, T> compiler) {
+        TemplateKey key = new TemplateKey(renderType, templateContent);
+        Object compiled = cache.getIfPresent(key);
+        if (compiled != null) {
+            if (metrics != null) {
+                metrics.recordTemplateCacheHit(renderType);
+            }
+            return (T) compiled;
+        }
+        return (T) cache.get(key, k -> {
+            long start = System.nanoTime();
+            T template = compiler.apply(k.content);
+            if (metrics != null) {
+                metrics.recordTemplateCompile(renderType, System.nanoTime() - start);
+            }
+            return template;
+        });
+    }
+
+    /**
+     * 清除全部缓存的模板
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static final class TemplateKey {
+        private final String renderType;
+        private final String content;
+        private final int hash;
+
+        private TemplateKey(String renderType, String content) {
+            this.renderType = renderType;
+            this.content = content;
+            this.hash = 31 * renderType.hashCode() + content.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TemplateKey)) {
+                return false;
+            }
+            TemplateKey other = (TemplateKey) o;
+            return hash == other.hash
+                    && Objects.equals(renderType, other.renderType)
+                    && Objects.equals(content, other.content);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -7,6 +7,8 @@ import java.util.Map;
 
 /**
  * 基于 Groovy 的动态模板渲染实现，支持复杂表达式。 需引入 groovy 依赖。
+ *
+ * <p>编译后的模板缓存于 {@link CompiledTemplateCache}，相同模板只生成一次 Groovy 类。
  */
 public class GroovyTemplateContentRender extends AbstractTemplateContentRender implements TemplateContentRender {
     private final SimpleTemplateEngine engine = new SimpleTemplateEngine();
@@ -14,20 +16,30 @@ public class GroovyTemplateContentRender extends AbstractTemplateContentRender i
     @Override
     public String doRender(String templateContent, Map<String, Object> variables) {
         try {
-            Template template = engine.createTemplate(templateContent);
+            Template template = compile(templateContent, this::createTemplate);
             return template.make(variables).toString();
         } catch (Exception e) {
             throw new RuntimeException("Groovy 模板渲染失败", e);
         }
     }
 
+    /**
+     * 仅校验模板能否编译，变量缺失等运行期错误在渲染时抛出，避免每次发送都执行两遍模板
+     */
     @Override
     public void validate(String templateContent, Map<String, Object> variables) {
         try {
-            Template template = engine.createTemplate(templateContent);
-            template.make(variables).toString();
+            compile(templateContent, this::createTemplate);
         } catch (Exception e) {
             throw new RuntimeException("Groovy 模板校验失败: " + e.getMessage(), e);
         }
     }
+
+    private Template createTemplate(String templateContent) {
+        try {
+            return engine.createTemplate(templateContent);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
 }
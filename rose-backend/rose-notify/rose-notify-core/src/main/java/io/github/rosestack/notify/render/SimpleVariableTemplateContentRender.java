@@ -1,43 +1,79 @@
 package io.github.rosestack.notify.render;
 
 import io.github.rosestack.notify.NotifyException;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * 简单变量替换渲染，支持 {@code ${name}} 形式的占位符。
+ *
+ * <p>模板预先切分为文本与变量片段并缓存于 {@link CompiledTemplateCache}，渲染时单次拼接完成。
+ */
 public class SimpleVariableTemplateContentRender extends AbstractTemplateContentRender {
+    // 变量名为 ${ 与 } 之间的任意字符，包括中文与空格
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
+
     @Override
     public String doRender(String content, Map<String, Object> variables) {
         if (variables == null || variables.isEmpty()) {
             return content;
         }
-        // 简单变量替换，实际可用模板引擎
-        for (Map.Entry<String, Object> entry : variables.entrySet()) {
-            content = content.replace("${" + entry.getKey() + "}", String.valueOf(entry.getValue()));
-        }
-        return content;
+        return compile(content, CompiledTemplate::new).render(variables);
     }
 
     @Override
     public void validate(String content, Map<String, Object> variables) {
-        Set<String> requiredVars = extractTemplateVariables(content);
-        Set<String> providedVars = variables != null ? variables.keySet() : new HashSet<>();
+        Set<String> requiredVars = compile(content, CompiledTemplate::new).variableNames;
+        Set<String> providedVars = variables != null ? variables.keySet() : Collections.emptySet();
+        if (providedVars.containsAll(requiredVars)) {
+            return;
+        }
         Set<String> missing = new HashSet<>(requiredVars);
         missing.removeAll(providedVars);
-        if (!missing.isEmpty()) {
-            throw new NotifyException("通知模版缺少变量: " + missing);
-        }
+        throw new NotifyException("通知模版缺少变量: " + missing);
     }
 
-    private Set<String> extractTemplateVariables(String content) {
-        Set<String> vars = new HashSet<>();
-        // 支持字母、数字、下划线、点、连字符
-        Matcher matcher = Pattern.compile("\\$\\{([\\w.\\-]+)}").matcher(content);
-        while (matcher.find()) {
-            vars.add(matcher.group(1));
+    /**
+     * 切分后的模板，literals 比 variables 多一个元素
+     */
+    private static final class CompiledTemplate {
+        private final String[] literals;
+        private final String[] variables;
+        private final Set<String> variableNames;
+        private final int literalLength;
+
+        private CompiledTemplate(String content) {
+            List<String> literalList = new ArrayList<>();
+            List<String> variableList = new ArrayList<>();
+            Matcher matcher = VARIABLE_PATTERN.matcher(content);
+            int last = 0;
+            while (matcher.find()) {
+                literalList.add(content.substring(last, matcher.start()));
+                variableList.add(matcher.group(1));
+                last = matcher.end();
+            }
+            literalList.add(content.substring(last));
+
+            this.literals = literalList.toArray(new String[0]);
+            this.variables = variableList.toArray(new String[0]);
+            this.variableNames = Collections.unmodifiableSet(new HashSet<>(variableList));
+            this.literalLength = content.length();
+        }
+
+        private String render(Map<String, Object> values) {
+            StringBuilder builder = new StringBuilder(literalLength + 16 * variables.length);
+            for (int i = 0; i < variables.length; i++) {
+                builder.append(literals[i]);
+                String name = variables[i];
+                if (values.containsKey(name)) {
+                    builder.append(values.get(name));
+                } else {
+                    // 未提供的变量保持原样
+                    builder.append("${").append(name).append('}');
+                }
+            }
+            return builder.append(literals[variables.length]).toString();
         }
-        return vars;
     }
 }
@@ -11,6 +11,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class TemplateContentRenderFactory {
     private static final NoopTemplateContentRender DEFAULT_TEMPLATE_RENDER = new NoopTemplateContentRender();
     private static final Map<String, TemplateContentRender> RENDERS = new ConcurrentHashMap<>();
+    private static volatile CompiledTemplateCache templateCache;
 
     static {
         ServiceLoader.load(TemplateContentRender.class)
@@ -29,6 +30,23 @@ public class TemplateContentRenderFactory {
         if (key == null || render == null) {
             return;
         }
+        applyTemplateCache(render);
         RENDERS.put(key.toLowerCase(), render);
     }
+
+    /**
+     * 让已注册及之后注册的渲染器共用同一个编译后模板缓存，由配置按应用的 MeterRegistry 创建
+     */
+    public static void setTemplateCache(CompiledTemplateCache cache) {
+        templateCache = cache;
+        applyTemplateCache(DEFAULT_TEMPLATE_RENDER);
+        RENDERS.values().forEach(TemplateContentRenderFactory::applyTemplateCache);
+    }
+
+    private static void applyTemplateCache(TemplateContentRender render) {
+        CompiledTemplateCache cache = templateCache;
+        if (cache != null && render instanceof AbstractTemplateContentRender templateRender) {
+            templateRender.setTemplateCache(cache);
+        }
+    }
 }
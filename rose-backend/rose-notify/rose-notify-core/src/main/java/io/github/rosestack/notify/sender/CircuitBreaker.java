@@ -0,0 +1,94 @@
+package io.github.rosestack.notify.sender;
+
+import io.github.rosestack.notify.NotifyRetryableException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 渠道服务商熔断器。
+ *
+ * <ul>
+ *   <li>连续出现 failureThreshold 次可重试失败（限流、超时等）后打开，打开期间请求快速失败
+ *   <li>打开 openMillis 后进入半开状态，只放行一个探测请求，成功则关闭，失败则重新打开
+ *   <li>探测请求可能在到达服务商前被拒绝或中断而不回报结果，超过 openMillis 未回报时放行新的探测请求
+ *   <li>不可重试的失败（如参数错误）与服务商健康无关，不计入失败次数
+ * </ul>
+ */
+public class CircuitBreaker {
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    /**
+     * 打开时间，0 表示关闭
+     */
+    private final AtomicLong openedAt = new AtomicLong();
+
+    /**
+     * 探测请求放行时间，0 表示没有探测请求
+     */
+    private final AtomicLong probeStartedAt = new AtomicLong();
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, openMillis));
+    }
+
+    /**
+     * 申请发送
+     *
+     * @return 0 表示允许发送，否则为距离可以再次尝试的纳秒数
+     */
+    public long tryAcquire() {
+        long opened = openedAt.get();
+        if (opened == 0) {
+            return 0L;
+        }
+        long now = System.nanoTime();
+        long remaining = opened + openNanos - now;
+        if (remaining > 0) {
+            return remaining;
+        }
+        // 半开：只放行一个探测请求，其余请求等待探测结果
+        long probe = probeStartedAt.get();
+        if ((probe == 0 || now - probe >= openNanos) && probeStartedAt.compareAndSet(probe, now | 1L)) {
+            return 0L;
+        }
+        return Math.max(1L, openNanos / 10);
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (openedAt.get() != 0) {
+            openedAt.set(0);
+            probeStartedAt.set(0);
+        }
+    }
+
+    public void onFailure(Throwable ex) {
+        if (!(ex instanceof NotifyRetryableException)) {
+            // 探测请求以非限流原因失败，说明服务商可用
+            onSuccess();
+            return;
+        }
+        int failures = consecutiveFailures.incrementAndGet();
+        if (probeStartedAt.get() != 0 || (failures >= failureThreshold && openedAt.get() == 0)) {
+            // 打开时间不能为 0
+            openedAt.set(System.nanoTime() | 1L);
+            probeStartedAt.set(0);
+        }
+    }
+
+    /**
+     * 距离半开的纳秒数，不改变熔断状态
+     */
+    public long remainingNanos() {
+        long opened = openedAt.get();
+        return opened == 0 ? 0L : Math.max(0L, opened + openNanos - System.nanoTime());
+    }
+
+    public boolean isOpen() {
+        return openedAt.get() != 0;
+    }
+}
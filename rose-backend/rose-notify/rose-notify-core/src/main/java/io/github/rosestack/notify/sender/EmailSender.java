@@ -4,6 +4,7 @@ import io.github.rosestack.core.util.StringPool;
 import io.github.rosestack.notify.NotifyException;
 import io.github.rosestack.notify.NotifyRetryableException;
 import io.github.rosestack.notify.SendRequest;
+import io.github.rosestack.notify.SendResult;
 import io.github.rosestack.notify.SenderConfiguration;
 import io.github.rosestack.notify.spi.AbstractConfigure;
 import io.github.rosestack.notify.spi.Sender;
@@ -12,17 +13,23 @@ import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
 /**
  * 邮件发送渠道实现，支持 HTML、抄送、附件。 channelConfig 需包含 mail.smtp.host/username/password/port/from。
+ *
+ * <p>SMTP 连接通过 {@link SmtpTransportPool} 复用，可选配置：mail.smtp.pool.maxSize（默认 4）、
+ * mail.smtp.pool.maxIdleMillis（默认 60000）、mail.smtp.pool.maxMessagesPerConnection（默认 100）、
+ * mail.smtp.pool.borrowTimeoutMillis（默认 5000）。
  */
 public class EmailSender extends AbstractConfigure implements Sender {
     private volatile Session session;
+    private volatile SmtpTransportPool pool;
 
-    private static void doSend(SendRequest request, Session session, Map<String, Object> config)
+    private static MimeMessage buildMessage(SendRequest request, Session session, Map<String, Object> config)
             throws MessagingException {
         MimeMessage message = new MimeMessage(session);
         Object fromObj = config.get("mail.smtp.from");
@@ -45,7 +52,7 @@ public class EmailSender extends AbstractConfigure implements Sender {
         textPart.setContent(request.getTemplateContent(), "text/html; charset=utf-8");
         multipart.addBodyPart(textPart);
         message.setContent(multipart);
-        Transport.send(message);
+        return message;
     }
 
     @Override
@@ -81,12 +88,34 @@ public class EmailSender extends AbstractConfigure implements Sender {
                 return new PasswordAuthentication(username, password);
             }
         });
+        SmtpTransportPool previous = pool;
+        SmtpTransportPool current = new SmtpTransportPool(
+                session,
+                username,
+                password,
+                getIntConfig(config, "mail.smtp.pool.maxSize", 4),
+                getIntConfig(config, "mail.smtp.pool.maxIdleMillis", 60_000),
+                getIntConfig(config, "mail.smtp.pool.maxMessagesPerConnection", 100),
+                getIntConfig(config, "mail.smtp.pool.borrowTimeoutMillis", 5_000));
+        pool = current;
+        if (previous != null) {
+            // 重新配置时关闭旧连接池，释放连接并注销其指标，再为新连接池注册同名指标
+            previous.close();
+        }
+        current.bindMetrics(host + StringPool.COLON + port, username);
+    }
+
+    private static int getIntConfig(SenderConfiguration config, String key, int defaultValue) {
+        Object value = config.getConfig().get(key);
+        return value != null ? Integer.parseInt(String.valueOf(value)) : defaultValue;
     }
 
     @Override
     public String send(SendRequest request) {
         try {
-            doSend(request, session, config.getConfig());
+            MimeMessage message = buildMessage(request, session, config.getConfig());
+            message.saveChanges();
+            sendPooled(message);
         } catch (MessagingException e) {
             throw new NotifyRetryableException("邮件发送失败", e);
         }
@@ -94,6 +123,77 @@ public class EmailSender extends AbstractConfigure implements Sender {
         return request.getRequestId();
     }
 
+    /**
+     * 使用池化连接发送，复用的连接已被服务端断开时重连后重试一次
+     */
+    private void sendPooled(MimeMessage message) throws MessagingException {
+        for (int attempt = 1; ; attempt++) {
+            SmtpTransportPool.PooledTransport pooled = pool.borrow();
+            boolean broken = false;
+            try {
+                pooled.sendMessage(message);
+                return;
+            } catch (MessagingException e) {
+                broken = !pooled.isConnected();
+                if (!broken || attempt > 1 || e instanceof SendFailedException) {
+                    throw e;
+                }
+            } finally {
+                pool.release(pooled, broken);
+            }
+        }
+    }
+
+    /**
+     * 批量发送时整批占用同一个池化连接，连接断开时归还并重新借出
+     */
     @Override
-    public void destroy() {}
+    public List<SendResult> sendBatch(List<SendRequest> requests) {
+        List<SendResult> results = new ArrayList<>(requests.size());
+        SmtpTransportPool.PooledTransport pooled = null;
+        try {
+            for (SendRequest request : requests) {
+                if (pooled == null) {
+                    pooled = pool.borrow();
+                }
+                try {
+                    MimeMessage message = buildMessage(request, session, config.getConfig());
+                    message.saveChanges();
+                    pooled.sendMessage(message);
+                    results.add(SendResult.success(request.getRequestId(), request.getRequestId()));
+                } catch (MessagingException e) {
+                    results.add(SendResult.failed(request.getRequestId(), new NotifyRetryableException("邮件发送失败", e)));
+                    if (!pooled.isConnected()) {
+                        pool.release(pooled, true);
+                        pooled = null;
+                        continue;
+                    }
+                }
+                if (pooled.getMessageCount() >= pool.getMaxMessagesPerConnection()) {
+                    pool.release(pooled, false);
+                    pooled = null;
+                }
+            }
+        } catch (MessagingException | NotifyRetryableException e) {
+            NotifyRetryableException ex = e instanceof NotifyRetryableException retryable
+                    ? retryable
+                    : new NotifyRetryableException("邮件发送失败", e);
+            for (int i = results.size(); i < requests.size(); i++) {
+                results.add(SendResult.failed(requests.get(i).getRequestId(), ex));
+            }
+        } finally {
+            if (pooled != null) {
+                pool.release(pooled, false);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        SmtpTransportPool current = pool;
+        if (current != null) {
+            current.close();
+        }
+    }
 }
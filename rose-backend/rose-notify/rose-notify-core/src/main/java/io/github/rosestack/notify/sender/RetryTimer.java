@@ -0,0 +1,138 @@
+package io.github.rosestack.notify.sender;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 时间轮定时器，用于调度重试与限流延后的发送，避免在工作线程中休眠等待。
+ *
+ * <p>单个守护线程按 tick 推进时间轮，到期任务在该线程上执行，因此任务只应做投递（如提交到线程池、完成 future）等轻量操作。
+ * 没有待执行任务时线程挂起，不会空转。
+ */
+@Slf4j
+public final class RetryTimer {
+    private static final RetryTimer SHARED = new RetryTimer(10, 512);
+
+    private final long tickNanos;
+    private final int mask;
+    private final Queue<Timeout>[] wheel;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+
+    /**
+     * 时间轮中的任务数，仅由 worker 线程访问
+     */
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public RetryTimer(long tickMillis, int ticksPerWheel) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, tickMillis));
+        int buckets = Integer.highestOneBit(Math.max(2, ticksPerWheel - 1)) << 1;
+        this.mask = buckets - 1;
+        this.wheel = new Queue[buckets];
+        for (int i = 0; i < buckets; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.worker =
+                Thread.ofPlatform().name("rose-notify-retry-timer").daemon().unstarted(this::run);
+        this.worker.start();
+    }
+
+    /**
+     * 获取全局共享的定时器
+     */
+    public static RetryTimer shared() {
+        return SHARED;
+    }
+
+    /**
+     * 延迟执行任务
+     *
+     * @param delayNanos 延迟纳秒数
+     * @param task       到期后执行的轻量任务
+     */
+    public void schedule(long delayNanos, Runnable task) {
+        pending.add(new Timeout(System.nanoTime() + Math.max(0L, delayNanos), task));
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * 返回在指定延迟后完成的 future
+     */
+    public CompletableFuture<Void> delay(long delayNanos) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (delayNanos <= 0) {
+            future.complete(null);
+        } else {
+            schedule(delayNanos, () -> future.complete(null));
+        }
+        return future;
+    }
+
+    private void run() {
+        long startTime = System.nanoTime();
+        long tick = 0;
+        for (; ; ) {
+            if (size == 0 && pending.isEmpty()) {
+                LockSupport.park(this);
+                // 时间轮为空，从当前时间重新计数
+                startTime = System.nanoTime();
+                tick = 0;
+                continue;
+            }
+            long sleepNanos = startTime + (tick + 1) * tickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                continue;
+            }
+            transferPending(startTime, tick);
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferPending(long startTime, long tick) {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            long ticks = Math.max(tick, (timeout.deadline - startTime) / tickNanos);
+            timeout.rounds = (ticks - tick) / wheel.length;
+            wheel[(int) (ticks & mask)].add(timeout);
+            size++;
+        }
+    }
+
+    private void expire(Queue<Timeout> bucket) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                continue;
+            }
+            iterator.remove();
+            size--;
+            try {
+                timeout.task.run();
+            } catch (Throwable e) {
+                log.warn("重试定时任务执行失败", e);
+            }
+        }
+    }
+
+    private static final class Timeout {
+        private final long deadline;
+        private final Runnable task;
+        private long rounds;
+
+        private Timeout(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+    }
+}
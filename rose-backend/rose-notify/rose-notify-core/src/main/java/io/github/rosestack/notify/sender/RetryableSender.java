@@ -1,21 +1,63 @@
 package io.github.rosestack.notify.sender;
 
+import io.github.rosestack.notify.NotifyException;
+import io.github.rosestack.notify.NotifyRetryableException;
 import io.github.rosestack.notify.SendRequest;
+import io.github.rosestack.notify.SendResult;
 import io.github.rosestack.notify.SenderConfiguration;
 import io.github.rosestack.notify.spi.AbstractConfigure;
 import io.github.rosestack.notify.spi.Sender;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.LockSupport;
 
 /**
- * Sender 委托类，内置可配置重试策略。
+ * Sender 委托类，按渠道服务商实例进行限流整形、熔断与重试。
+ *
+ * <ul>
+ *   <li>rate.permitsPerSecond / rate.burst：令牌桶限流，默认不限流
+ *   <li>circuit.failureThreshold / circuit.openMillis：连续可重试失败达到阈值后熔断，默认 20 次 / 30000ms，阈值为 0 时关闭熔断
+ *   <li>retry.maxAttempts / retry.initialDelayMillis / retry.jitterMillis：指数退避重试
+ * </ul>
+ *
+ * 限流等待与重试退避由 {@link RetryTimer} 调度：异步发送在等待期间不占用任何线程，同步发送只阻塞调用线程。
  */
 public class RetryableSender extends AbstractConfigure implements Sender {
     private final Sender delegate;
+    private final boolean retryEnabled;
+    private final RetryTimer timer;
     private volatile RetryPolicy retryPolicy;
+    private volatile TokenBucket tokenBucket;
+    private volatile CircuitBreaker circuitBreaker;
+    private volatile Semaphore concurrencyLimit;
 
     public RetryableSender(Sender delegate) {
+        this(delegate, true);
+    }
+
+    /**
+     * @param delegate     实际发送的渠道
+     * @param retryEnabled 是否重试，不重试时仍然进行限流整形与熔断
+     */
+    public RetryableSender(Sender delegate, boolean retryEnabled) {
         this.delegate = delegate;
+        this.retryEnabled = retryEnabled;
+        this.timer = RetryTimer.shared();
+    }
+
+    /**
+     * 限制同时调用渠道服务商的请求数，小于等于 0 表示不限制。
+     *
+     * <p>超出上限的调用阻塞等待，适合配合虚拟线程执行器使用。
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.concurrencyLimit = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
     }
 
     @Override
@@ -25,54 +67,351 @@ public class RetryableSender extends AbstractConfigure implements Sender {
 
     @Override
     public String send(SendRequest request) {
-        int attempt = 1;
+        return sendWithRetry(request, 1);
+    }
+
+    /**
+     * 异步发送，限流等待及重试退避期间不占用线程，每次尝试在 executor 中执行
+     */
+    public CompletableFuture<String> sendAsync(SendRequest request, Executor executor) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        attemptAsync(request, 1, executor, future);
+        return future;
+    }
+
+    /**
+     * 先走委托的批量发送，可重试的失败请求再逐条按重试策略重发，批量发送计为第一次尝试
+     */
+    @Override
+    public List<SendResult> sendBatch(List<SendRequest> requests) {
+        List<SendResult> results = new ArrayList<>(requests.size());
+        try {
+            awaitPermits(requests.size());
+            results.addAll(sendBatchOnce(requests));
+        } catch (RuntimeException ex) {
+            requests.forEach(request -> results.add(SendResult.failed(request.getRequestId(), ex)));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            SendResult result = results.get(i);
+            long delay = retryDelay(result, 1);
+            if (delay < 0) {
+                continue;
+            }
+            SendRequest request = requests.get(i);
+            try {
+                await(delay);
+                results.set(i, SendResult.success(request.getRequestId(), sendWithRetry(request, 2)));
+            } catch (RuntimeException ex) {
+                results.set(i, SendResult.failed(request.getRequestId(), ex));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 异步批量发送，语义同 {@link #sendBatch(List)}
+     */
+    public CompletableFuture<List<SendResult>> sendBatchAsync(List<SendRequest> requests, Executor executor) {
+        CompletableFuture<List<SendResult>> batch = new CompletableFuture<>();
+        long open = openRemainingNanos();
+        if (open > 0) {
+            List<SendResult> results = new ArrayList<>(requests.size());
+            CircuitOpenException ex = circuitOpen();
+            requests.forEach(request -> results.add(SendResult.failed(request.getRequestId(), ex)));
+            batch.complete(results);
+        } else {
+            long wait = reserve(requests.size());
+            Runnable task = () -> {
+                List<SendResult> results = new ArrayList<>(requests.size());
+                try {
+                    results.addAll(sendBatchOnce(requests));
+                } catch (RuntimeException ex) {
+                    requests.forEach(request -> results.add(SendResult.failed(request.getRequestId(), ex)));
+                }
+                batch.complete(results);
+            };
+            if (wait > 0) {
+                timer.schedule(wait, () -> execute(executor, task, batch));
+            } else {
+                task.run();
+            }
+        }
+
+        return batch.thenCompose(firstResults -> {
+            List<CompletableFuture<SendResult>> futures = new ArrayList<>(firstResults.size());
+            for (int i = 0; i < firstResults.size(); i++) {
+                SendResult result = firstResults.get(i);
+                long delay = retryDelay(result, 1);
+                if (delay < 0) {
+                    futures.add(CompletableFuture.completedFuture(result));
+                    continue;
+                }
+                SendRequest request = requests.get(i);
+                CompletableFuture<String> retry = new CompletableFuture<>();
+                timer.schedule(delay, () -> execute(executor, () -> attemptAsync(request, 2, executor, retry), retry));
+                futures.add(retry.handle((receiptId, e) -> e == null
+                        ? SendResult.success(request.getRequestId(), receiptId)
+                        : SendResult.failed(request.getRequestId(), unwrap(e))));
+            }
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .thenApply(
+                            v -> futures.stream().map(CompletableFuture::join).toList());
+        });
+    }
+
+    private String sendWithRetry(SendRequest request, int firstAttempt) {
+        int attempt = firstAttempt;
         for (; ; ) {
             try {
-                return delegate.send(request);
+                awaitPermits(1);
+                return invoke(request);
             } catch (RuntimeException ex) {
-                RetryPolicy policy = this.retryPolicy;
-                if (policy == null || !policy.shouldRetry(attempt, ex)) {
+                long delay = retryDelay(attempt, ex);
+                if (delay < 0) {
                     throw ex;
                 }
-                long delayMillis = Math.max(0L, policy.nextDelayMillis(attempt));
-                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(delayMillis));
+                await(delay);
                 attempt++;
             }
         }
     }
 
+    private void attemptAsync(SendRequest request, int attempt, Executor executor, CompletableFuture<String> future) {
+        try {
+            if (openRemainingNanos() > 0) {
+                throw circuitOpen();
+            }
+            long wait = reserve(1);
+            if (wait > 0) {
+                // 限流延后不计入重试次数
+                timer.schedule(
+                        wait, () -> execute(executor, () -> invokeAsync(request, attempt, executor, future), future));
+                return;
+            }
+        } catch (RuntimeException ex) {
+            retryAsync(request, attempt, ex, executor, future);
+            return;
+        }
+        invokeAsync(request, attempt, executor, future);
+    }
+
+    private void invokeAsync(SendRequest request, int attempt, Executor executor, CompletableFuture<String> future) {
+        try {
+            future.complete(invoke(request));
+        } catch (RuntimeException ex) {
+            retryAsync(request, attempt, ex, executor, future);
+        }
+    }
+
+    private void retryAsync(
+            SendRequest request,
+            int attempt,
+            RuntimeException ex,
+            Executor executor,
+            CompletableFuture<String> future) {
+        long delay = retryDelay(attempt, ex);
+        if (delay < 0) {
+            future.completeExceptionally(ex);
+            return;
+        }
+        timer.schedule(
+                delay, () -> execute(executor, () -> attemptAsync(request, attempt + 1, executor, future), future));
+    }
+
+    private String invoke(SendRequest request) {
+        Semaphore limit = acquire();
+        try {
+            String receiptId = delegate.send(request);
+            onSuccess();
+            return receiptId;
+        } catch (RuntimeException ex) {
+            onFailure(ex);
+            throw ex;
+        } finally {
+            release(limit);
+        }
+    }
+
+    private List<SendResult> sendBatchOnce(List<SendRequest> requests) {
+        List<SendResult> results;
+        Semaphore limit = acquire();
+        try {
+            results = delegate.sendBatch(requests);
+        } catch (RuntimeException ex) {
+            onFailure(ex);
+            throw ex;
+        } finally {
+            release(limit);
+        }
+        for (SendResult result : results) {
+            if (result.isSuccess()) {
+                onSuccess();
+            } else {
+                onFailure(
+                        result.isRetryable()
+                                ? new NotifyRetryableException(result.getMessage())
+                                : new NotifyException(result.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private Semaphore acquire() {
+        Semaphore limit = this.concurrencyLimit;
+        if (limit == null) {
+            return null;
+        }
+        try {
+            limit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NotifyRetryableException("等待发送名额被中断", e);
+        }
+        return limit;
+    }
+
+    private static void release(Semaphore limit) {
+        if (limit != null) {
+            limit.release();
+        }
+    }
+
+    /**
+     * 同步等待熔断恢复及令牌，熔断打开时直接失败，由重试策略决定是否等待
+     */
+    private void awaitPermits(int permits) {
+        if (openRemainingNanos() > 0) {
+            throw circuitOpen();
+        }
+        await(reserve(permits));
+    }
+
+    private void await(long delayNanos) {
+        if (delayNanos <= 0) {
+            return;
+        }
+        try {
+            timer.delay(delayNanos).join();
+        } catch (CompletionException e) {
+            throw new NotifyRetryableException("等待重试失败", e.getCause());
+        }
+    }
+
+    private long reserve(int permits) {
+        TokenBucket bucket = this.tokenBucket;
+        return bucket == null ? 0L : bucket.reserve(permits);
+    }
+
+    private long openRemainingNanos() {
+        CircuitBreaker breaker = this.circuitBreaker;
+        return breaker == null ? 0L : breaker.tryAcquire();
+    }
+
+    private void onSuccess() {
+        CircuitBreaker breaker = this.circuitBreaker;
+        if (breaker != null) {
+            breaker.onSuccess();
+        }
+    }
+
+    private void onFailure(RuntimeException ex) {
+        CircuitBreaker breaker = this.circuitBreaker;
+        if (breaker != null) {
+            breaker.onFailure(ex);
+        }
+    }
+
+    private CircuitOpenException circuitOpen() {
+        return new CircuitOpenException("渠道已熔断: " + getChannelType());
+    }
+
+    /**
+     * 计算下次重试的延迟纳秒数，不重试时返回 -1
+     */
+    private long retryDelay(int attempt, Throwable ex) {
+        RetryPolicy policy = this.retryPolicy;
+        if (policy == null || !policy.shouldRetry(attempt, ex)) {
+            return -1L;
+        }
+        long delay = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, policy.nextDelayMillis(attempt)));
+        CircuitBreaker breaker = this.circuitBreaker;
+        if (breaker != null && ex instanceof CircuitOpenException) {
+            // 熔断期间的重试推迟到半开之后
+            delay = Math.max(delay, breaker.remainingNanos());
+        }
+        return delay;
+    }
+
+    private long retryDelay(SendResult result, int attempt) {
+        if (result.isSuccess() || !result.isRetryable()) {
+            return -1L;
+        }
+        CircuitBreaker breaker = this.circuitBreaker;
+        return retryDelay(
+                attempt,
+                breaker != null && breaker.isOpen()
+                        ? new CircuitOpenException(result.getMessage())
+                        : new NotifyRetryableException(result.getMessage()));
+    }
+
+    private static void execute(Executor executor, Runnable task, CompletableFuture<?> future) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new NotifyRetryableException("发送线程池已拒绝任务", e));
+        }
+    }
+
+    private static Exception unwrap(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof Exception ex ? ex : new NotifyException(cause.getMessage(), cause);
+    }
+
     @Override
     public void destroy() {}
 
+    /**
+     * 熔断打开时的快速失败
+     */
+    private static final class CircuitOpenException extends NotifyRetryableException {
+        private CircuitOpenException(String message) {
+            super(message);
+        }
+    }
+
     @Override
     public void doConfigure(SenderConfiguration config) throws Exception {
         // 允许通过配置覆盖默认策略
-        int maxAttempts = 3;
-        long initialDelay = 200L;
-        long jitter = 100L;
-        if (config != null && config.getConfig() != null) {
-            Object attempts = config.getConfig().get("retry.maxAttempts");
-            Object delay = config.getConfig().get("retry.initialDelayMillis");
-            Object jitterCfg = config.getConfig().get("retry.jitterMillis");
-            if (attempts != null) {
-                try {
-                    maxAttempts = Math.max(1, Integer.parseInt(String.valueOf(attempts)));
-                } catch (Exception ignored) {
-                }
-            }
-            if (delay != null) {
-                try {
-                    initialDelay = Math.max(0L, Long.parseLong(String.valueOf(delay)));
-                } catch (Exception ignored) {
-                }
-            }
-            if (jitterCfg != null) {
-                try {
-                    jitter = Math.max(0L, Long.parseLong(String.valueOf(jitterCfg)));
-                } catch (Exception ignored) {
-                }
-            }
+        Map<String, Object> cfg = config != null && config.getConfig() != null ? config.getConfig() : Map.of();
+        if (retryEnabled) {
+            int maxAttempts = (int) Math.max(1L, getLong(cfg, "retry.maxAttempts", 3L));
+            long initialDelay = getLong(cfg, "retry.initialDelayMillis", 200L);
+            long jitter = getLong(cfg, "retry.jitterMillis", 100L);
+            this.retryPolicy = new ExponentialBackoffRetryPolicy(maxAttempts, initialDelay, jitter);
+        }
+
+        long permitsPerSecond = getLong(cfg, "rate.permitsPerSecond", 0L);
+        if (permitsPerSecond > 0) {
+            this.tokenBucket =
+                    new TokenBucket(permitsPerSecond, (int) Math.max(1L, getLong(cfg, "rate.burst", permitsPerSecond)));
+        }
+
+        long failureThreshold = getLong(cfg, "circuit.failureThreshold", 20L);
+        if (failureThreshold > 0) {
+            this.circuitBreaker =
+                    new CircuitBreaker((int) failureThreshold, getLong(cfg, "circuit.openMillis", 30_000L));
+        }
+    }
+
+    private static long getLong(Map<String, Object> config, String key, long defaultValue) {
+        Object value = config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0L, Long.parseLong(String.valueOf(value)));
+        } catch (Exception ignored) {
+            return defaultValue;
         }
-        this.retryPolicy = new ExponentialBackoffRetryPolicy(maxAttempts, initialDelay, jitter);
     }
 }
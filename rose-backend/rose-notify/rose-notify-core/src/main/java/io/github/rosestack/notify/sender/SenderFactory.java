@@ -48,7 +48,7 @@ public class SenderFactory {
         if (clazz == null) {
             throw new NotifyException("不支持的通知渠道: " + channel);
         }
-        String cfgKey = buildConfigKey(key, config);
+        String cfgKey = buildConfigKey(channel, config);
         return SENDER_CACHE.get(cfgKey, k -> {
             try {
                 java.lang.reflect.Constructor<? extends Sender> ctor = clazz.getDeclaredConstructor();
@@ -79,18 +79,13 @@ public class SenderFactory {
         SENDER_CLASSES.put(channel.toLowerCase(), sender.getClass());
     }
 
-    private static String buildConfigKey(String channel, SenderConfiguration config) {
-        StringBuilder sb = new StringBuilder(channel.toLowerCase());
-        sb.append("|");
-        if (config != null && config.getConfig() != null) {
-            config.getConfig().entrySet().stream()
-                    .sorted(Map.Entry.comparingByKey())
-                    .forEach(e -> sb.append(e.getKey())
-                            .append('=')
-                            .append(String.valueOf(e.getValue()))
-                            .append('&'));
-        }
-        return sb.toString();
+    /**
+     * 渠道实例的缓存 key，由渠道类型与规范化的配置内容组成
+     */
+    public static String buildConfigKey(String channel, SenderConfiguration config) {
+        // 配置项的规范化结果缓存在配置对象中
+        String key = channel == null ? null : channel.toLowerCase();
+        return config == null ? key + "|" : key + "|" + config.getConfigKey();
     }
 
     private static long getMaxCacheSize() {
@@ -6,11 +6,13 @@ package io.github.rosestack.notify.sender;
 import io.github.rosestack.notify.NotifyException;
 import io.github.rosestack.notify.NotifyRetryableException;
 import io.github.rosestack.notify.SendRequest;
+import io.github.rosestack.notify.SendResult;
 import io.github.rosestack.notify.SenderConfiguration;
 import io.github.rosestack.notify.sender.sms.SmsProvider;
 import io.github.rosestack.notify.sender.sms.SmsProviderFactory;
 import io.github.rosestack.notify.spi.AbstractConfigure;
 import io.github.rosestack.notify.spi.Sender;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -42,6 +44,11 @@ public class SmsSender extends AbstractConfigure implements Sender {
         }
     }
 
+    @Override
+    public List<SendResult> sendBatch(List<SendRequest> requests) {
+        return smsProvider.sendBatch(requests);
+    }
+
     @Override
     public void destroy() {
         SmsProviderFactory.destroy();
@@ -0,0 +1,274 @@
+package io.github.rosestack.notify.sender;
+
+import io.github.rosestack.notify.NotifyRetryableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 已连接 SMTP {@link Transport} 的连接池，避免每封邮件都重新进行 TCP、TLS 及认证握手。
+ *
+ * <ul>
+ *   <li>借出时做健康检查（{@link Transport#isConnected()} 会发送 NOOP），失效连接直接丢弃
+ *   <li>空闲超过 maxIdleMillis 的连接被回收
+ *   <li>单个连接发送 maxMessagesPerConnection 封后关闭重建，避免服务端限制
+ *   <li>连接池满时最多等待 borrowTimeoutMillis，超时抛出 {@link NotifyRetryableException}
+ * </ul>
+ *
+ * 利用率指标以 {@code notice.smtp.pool.*} 注册到 {@link Metrics#globalRegistry}。
+ */
+@Slf4j
+public class SmtpTransportPool implements AutoCloseable {
+    private final Session session;
+    private final String username;
+    private final String password;
+    private final int maxSize;
+    private final long maxIdleNanos;
+    private final int maxMessagesPerConnection;
+    private final long borrowTimeoutMillis;
+
+    /**
+     * 空闲连接，头部为最近归还的连接
+     */
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong created = new AtomicLong();
+    private final List<Meter> meters = new ArrayList<>();
+    private MeterRegistry registry;
+    private volatile boolean closed;
+
+    public SmtpTransportPool(
+            Session session,
+            String username,
+            String password,
+            int maxSize,
+            long maxIdleMillis,
+            int maxMessagesPerConnection,
+            long borrowTimeoutMillis) {
+        this.session = session;
+        this.username = username;
+        this.password = password;
+        this.maxSize = Math.max(1, maxSize);
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, maxIdleMillis));
+        this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+        this.borrowTimeoutMillis = Math.max(0L, borrowTimeoutMillis);
+    }
+
+    /**
+     * 借出一个已连接的 Transport，使用后必须调用 {@link #release(PooledTransport, boolean)}
+     */
+    public PooledTransport borrow() throws MessagingException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+        for (; ; ) {
+            if (closed) {
+                throw new NotifyRetryableException("SMTP 连接池已关闭");
+            }
+            PooledTransport pooled = idle.pollFirst();
+            if (pooled != null) {
+                if (isExpired(pooled) || !pooled.transport.isConnected()) {
+                    discard(pooled);
+                    continue;
+                }
+                active.incrementAndGet();
+                return pooled;
+            }
+
+            int current = total.get();
+            if (current < maxSize) {
+                if (total.compareAndSet(current, current + 1)) {
+                    return connect();
+                }
+                continue;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new NotifyRetryableException("获取 SMTP 连接超时");
+            }
+            try {
+                pooled = idle.pollFirst(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NotifyRetryableException("获取 SMTP 连接被中断");
+            }
+            if (pooled != null) {
+                // 放回头部，交给下一轮做健康检查
+                idle.offerFirst(pooled);
+            }
+        }
+    }
+
+    /**
+     * 归还连接
+     *
+     * @param pooled 借出的连接
+     * @param broken 连接是否已不可用，不可用的连接直接关闭
+     */
+    public void release(PooledTransport pooled, boolean broken) {
+        active.decrementAndGet();
+        if (closed || broken || pooled.messages >= maxMessagesPerConnection) {
+            discard(pooled);
+            return;
+        }
+        pooled.lastUsedNanos = System.nanoTime();
+        idle.offerFirst(pooled);
+        evictIdle();
+    }
+
+    /**
+     * 回收空闲超时的连接，最久未使用的连接位于尾部
+     */
+    public void evictIdle() {
+        Iterator<PooledTransport> iterator = idle.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledTransport pooled = iterator.next();
+            if (!isExpired(pooled)) {
+                return;
+            }
+            if (idle.removeLastOccurrence(pooled)) {
+                discard(pooled);
+            }
+        }
+    }
+
+    /**
+     * 将连接池利用率注册为指标。同一主机可能配置多个账号，以主机和用户名共同区分连接池
+     *
+     * @param host     SMTP 主机，作为指标标签
+     * @param username SMTP 用户名，作为指标标签
+     */
+    public void bindMetrics(String host, String username) {
+        bindMetrics(Metrics.globalRegistry, host, username);
+    }
+
+    public void bindMetrics(MeterRegistry registry, String host, String username) {
+        this.registry = registry;
+        Tags tags = Tags.of("host", host, "username", username);
+        meters.add(Gauge.builder("notice.smtp.pool.active", active, AtomicInteger::get)
+                .description("borrowed smtp connections")
+                .tags(tags)
+                .register(registry));
+        meters.add(Gauge.builder("notice.smtp.pool.idle", idle, LinkedBlockingDeque::size)
+                .description("idle smtp connections")
+                .tags(tags)
+                .register(registry));
+        meters.add(Gauge.builder("notice.smtp.pool.utilization", this, SmtpTransportPool::getUtilization)
+                .description("borrowed smtp connections / max pool size")
+                .tags(tags)
+                .register(registry));
+        meters.add(Gauge.builder("notice.smtp.pool.created", created, AtomicLong::get)
+                .description("smtp connections created")
+                .tags(tags)
+                .register(registry));
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    public int getMaxMessagesPerConnection() {
+        return maxMessagesPerConnection;
+    }
+
+    public double getUtilization() {
+        return (double) active.get() / maxSize;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+        if (registry != null) {
+            meters.forEach(registry::remove);
+            meters.clear();
+        }
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        try {
+            Transport transport = session.getTransport();
+            transport.connect(username, password);
+            created.incrementAndGet();
+            active.incrementAndGet();
+            return new PooledTransport(transport);
+        } catch (MessagingException | RuntimeException e) {
+            total.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean isExpired(PooledTransport pooled) {
+        return maxIdleNanos > 0 && System.nanoTime() - pooled.lastUsedNanos > maxIdleNanos;
+    }
+
+    private void discard(PooledTransport pooled) {
+        total.decrementAndGet();
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("关闭 SMTP 连接失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 池化的连接，记录已发送的邮件数及最后使用时间
+     */
+    public static final class PooledTransport {
+        private final Transport transport;
+        private int messages;
+        private long lastUsedNanos = System.nanoTime();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        public Transport getTransport() {
+            return transport;
+        }
+
+        public int getMessageCount() {
+            return messages;
+        }
+
+        /**
+         * 在该连接上发送一封邮件并计数
+         */
+        public void sendMessage(jakarta.mail.Message message) throws MessagingException {
+            messages++;
+            transport.sendMessage(message, message.getAllRecipients());
+        }
+
+        /**
+         * 连接是否仍可用，用于发送失败后判断是否需要重连
+         */
+        public boolean isConnected() {
+            return transport.isConnected();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.rosestack.notify.sender;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 令牌桶限流（GCRA 实现），用于按渠道服务商配额整形发送速率。
+ *
+ * <p>{@link #reserve(int)} 不阻塞，只返回获得令牌前需要等待的时长，由调用方决定延后调度还是等待。
+ */
+public class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    /**
+     * 理论到达时间，早于当前时间时表示桶中有可用令牌
+     */
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param permitsPerSecond 每秒令牌数
+     * @param burst            桶容量，允许的突发请求数
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond 必须大于 0");
+        }
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+    }
+
+    /**
+     * 预占令牌
+     *
+     * @param permits 令牌数
+     * @return 需要等待的纳秒数，0 表示可以立即发送
+     */
+    public long reserve(int permits) {
+        long cost = intervalNanos * Math.max(1, permits);
+        for (; ; ) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long base = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+            long next = base + cost;
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return Math.max(0L, next - burstNanos - now);
+            }
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package io.github.rosestack.notify.sender.sms;
 
 import com.aliyun.dysmsapi20170525.Client;
+import com.aliyun.dysmsapi20170525.models.SendBatchSmsRequest;
+import com.aliyun.dysmsapi20170525.models.SendBatchSmsResponse;
 import com.aliyun.dysmsapi20170525.models.SendSmsRequest;
 import com.aliyun.dysmsapi20170525.models.SendSmsResponse;
 import com.aliyun.teaopenapi.models.Config;
+import io.github.rosestack.core.util.JsonUtils;
 import io.github.rosestack.notify.NotifyException;
+import io.github.rosestack.notify.NotifyRetryableException;
 import io.github.rosestack.notify.SendRequest;
+import io.github.rosestack.notify.SendResult;
 import io.github.rosestack.notify.SenderConfiguration;
 import io.github.rosestack.notify.spi.AbstractConfigure;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -16,6 +25,8 @@ import lombok.extern.slf4j.Slf4j;
  * content 建议为 JSON 字符串。
  */
 public class AliyunSmsProvider extends AbstractConfigure implements SmsProvider {
+    private static final int MAX_PHONE_NUMBERS = 100;
+
     private volatile Client client;
 
     @Override
@@ -64,6 +75,87 @@ public class AliyunSmsProvider extends AbstractConfigure implements SmsProvider
         }
     }
 
+    /**
+     * 使用 SendBatchSms 接口批量发送，每个号码可携带各自的模板参数，单次最多 {@value #MAX_PHONE_NUMBERS} 个号码。
+     * 模板参数不是 JSON 对象的请求改为逐条发送，避免一条错误参数导致整批失败
+     */
+    @Override
+    public List<SendResult> sendBatch(List<SendRequest> requests) {
+        String signName = config.getConfig().get("aliyun.sms.signName").toString();
+        String templateCode = config.getConfig().get("aliyun.sms.templateCode").toString();
+
+        SendResult[] results = new SendResult[requests.size()];
+        List<Integer> batchable = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            SendRequest request = requests.get(i);
+            if (isJsonObject(request.getTemplateContent())) {
+                batchable.add(i);
+            } else {
+                results[i] = sendSingle(request);
+            }
+        }
+
+        for (int from = 0; from < batchable.size(); from += MAX_PHONE_NUMBERS) {
+            List<Integer> chunk = batchable.subList(from, Math.min(from + MAX_PHONE_NUMBERS, batchable.size()));
+            List<String> phoneNumbers = new ArrayList<>(chunk.size());
+            List<String> signNames = new ArrayList<>(chunk.size());
+            // 模板参数已校验为 JSON 对象，直接拼接为 JSON 数组
+            StringJoiner templateParams = new StringJoiner(",", "[", "]");
+            for (Integer index : chunk) {
+                SendRequest request = requests.get(index);
+                phoneNumbers.add(request.getTarget());
+                signNames.add(signName);
+                String templateParam = request.getTemplateContent();
+                templateParams.add(templateParam != null && !templateParam.isBlank() ? templateParam : "{}");
+            }
+
+            SendBatchSmsRequest batchRequest = new SendBatchSmsRequest()
+                    .setPhoneNumberJson(JsonUtils.toString(phoneNumbers))
+                    .setSignNameJson(JsonUtils.toString(signNames))
+                    .setTemplateCode(templateCode)
+                    .setTemplateParamJson(templateParams.toString());
+            try {
+                SendBatchSmsResponse response = client.sendBatchSms(batchRequest);
+                if ("OK".equalsIgnoreCase(response.getBody().getCode())) {
+                    String bizId = response.getBody().getBizId();
+                    chunk.forEach(index -> results[index] =
+                            SendResult.success(requests.get(index).getRequestId(), bizId));
+                } else {
+                    String message = "短信发送失败: " + response.getBody().getMessage();
+                    chunk.forEach(index -> results[index] =
+                            SendResult.fail(message, requests.get(index).getRequestId()));
+                }
+            } catch (Exception e) {
+                NotifyRetryableException ex = new NotifyRetryableException("短信发送异常", e);
+                chunk.forEach(index ->
+                        results[index] = SendResult.failed(requests.get(index).getRequestId(), ex));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private SendResult sendSingle(SendRequest request) {
+        try {
+            return SendResult.success(request.getRequestId(), send(request));
+        } catch (Exception e) {
+            return SendResult.failed(request.getRequestId(), e);
+        }
+    }
+
+    /**
+     * 空参数按 {@code {}} 处理
+     */
+    private static boolean isJsonObject(String templateParam) {
+        if (templateParam == null || templateParam.isBlank()) {
+            return true;
+        }
+        try {
+            return JsonUtils.getObjectMapper().readTree(templateParam).isObject();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
     @Override
     public void destroy() {}
 }
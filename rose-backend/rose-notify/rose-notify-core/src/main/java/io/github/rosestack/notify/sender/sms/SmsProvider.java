@@ -1,7 +1,10 @@
 package io.github.rosestack.notify.sender.sms;
 
 import io.github.rosestack.notify.SendRequest;
+import io.github.rosestack.notify.SendResult;
 import io.github.rosestack.notify.spi.Configurable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 短信服务商 SPI 扩展点，实现类需在 META-INF/services 配置 SPI 文件。 getProviderName() 用于唯一标识服务商（如 tencent/aliyun）。
@@ -33,6 +36,21 @@ public interface SmsProvider extends Configurable {
      */
     String send(SendRequest request) throws Exception;
 
+    /**
+     * 批量发送短信，返回结果与请求一一对应。默认逐条调用 {@link #send(SendRequest)}，支持批量接口的服务商可重写。
+     */
+    default List<SendResult> sendBatch(List<SendRequest> requests) {
+        List<SendResult> results = new ArrayList<>(requests.size());
+        for (SendRequest request : requests) {
+            try {
+                results.add(SendResult.success(request.getRequestId(), send(request)));
+            } catch (Exception e) {
+                results.add(SendResult.failed(request.getRequestId(), e));
+            }
+        }
+        return results;
+    }
+
     default boolean isAnyBlank(String... args) {
         for (String arg : args) {
             if (arg == null || arg.trim().isEmpty()) {
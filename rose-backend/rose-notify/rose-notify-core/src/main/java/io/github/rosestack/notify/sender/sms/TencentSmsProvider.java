@@ -5,16 +5,22 @@ import com.tencentcloudapi.common.exception.TencentCloudSDKException;
 import com.tencentcloudapi.sms.v20210111.SmsClient;
 import com.tencentcloudapi.sms.v20210111.models.SendSmsRequest;
 import com.tencentcloudapi.sms.v20210111.models.SendSmsResponse;
+import com.tencentcloudapi.sms.v20210111.models.SendStatus;
 import io.github.rosestack.core.util.StringPool;
 import io.github.rosestack.notify.NotifyException;
+import io.github.rosestack.notify.NotifyRetryableException;
 import io.github.rosestack.notify.SendRequest;
+import io.github.rosestack.notify.SendResult;
 import io.github.rosestack.notify.SenderConfiguration;
 import io.github.rosestack.notify.spi.AbstractConfigure;
+import java.util.*;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 /** 腾讯云短信服务商实现。 channelConfig 需包含 tencent.sms.secretId/secretKey/sdkAppId/signName/templateId。 */
 public class TencentSmsProvider extends AbstractConfigure implements SmsProvider {
+    private static final int MAX_PHONE_NUMBERS = 200;
+
     private volatile SmsClient client;
 
     @Override
@@ -65,6 +71,89 @@ public class TencentSmsProvider extends AbstractConfigure implements SmsProvider
         }
     }
 
+    /**
+     * 模板参数相同的请求合并为一次调用，单次最多 {@value #MAX_PHONE_NUMBERS} 个号码
+     */
+    @Override
+    public List<SendResult> sendBatch(List<SendRequest> requests) {
+        String sdkAppId = config.getConfig().get("tencent.sms.sdkAppId").toString();
+        String signName = config.getConfig().get("tencent.sms.signName").toString();
+        String templateId = config.getConfig().get("tencent.sms.templateId").toString();
+
+        SendResult[] results = new SendResult[requests.size()];
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String content = requests.get(i).getTemplateContent();
+            groups.computeIfAbsent(content != null ? content : "", k -> new ArrayList<>())
+                    .add(i);
+        }
+
+        for (Map.Entry<String, List<Integer>> group : groups.entrySet()) {
+            String[] templateParams =
+                    group.getKey().isEmpty() ? new String[] {} : group.getKey().split(StringPool.COMMA);
+            List<Integer> indexes = group.getValue();
+            for (int from = 0; from < indexes.size(); from += MAX_PHONE_NUMBERS) {
+                List<Integer> chunk = indexes.subList(from, Math.min(from + MAX_PHONE_NUMBERS, indexes.size()));
+                sendChunk(requests, chunk, sdkAppId, signName, templateId, templateParams, results);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void sendChunk(
+            List<SendRequest> requests,
+            List<Integer> chunk,
+            String sdkAppId,
+            String signName,
+            String templateId,
+            String[] templateParams,
+            SendResult[] results) {
+        String[] phoneNumbers = new String[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            phoneNumbers[i] = requests.get(chunk.get(i)).getTarget();
+        }
+
+        SendSmsRequest req = new SendSmsRequest();
+        req.setSmsSdkAppId(sdkAppId);
+        req.setSignName(signName);
+        req.setTemplateId(templateId);
+        req.setPhoneNumberSet(phoneNumbers);
+        req.setTemplateParamSet(templateParams);
+
+        try {
+            SendSmsResponse resp = client.SendSms(req);
+            SendStatus[] statuses = resp.getSendStatusSet() != null ? resp.getSendStatusSet() : new SendStatus[0];
+            for (int i = 0; i < chunk.size(); i++) {
+                SendRequest request = requests.get(chunk.get(i));
+                SendStatus status = findStatus(statuses, phoneNumbers[i], i);
+                if (status != null && "Ok".equalsIgnoreCase(status.getCode())) {
+                    results[chunk.get(i)] = SendResult.success(request.getRequestId(), status.getSerialNo());
+                } else {
+                    String msg = status != null ? status.getMessage() : "未知错误";
+                    results[chunk.get(i)] = SendResult.fail("短信发送失败: " + msg, request.getRequestId());
+                }
+            }
+        } catch (TencentCloudSDKException e) {
+            NotifyRetryableException ex = new NotifyRetryableException("短信发送异常", e);
+            for (Integer index : chunk) {
+                results[index] = SendResult.failed(requests.get(index).getRequestId(), ex);
+            }
+        }
+    }
+
+    /**
+     * 按号码匹配发送状态，服务商返回的号码带国家码（如 +86），匹配不到时按顺序对应
+     */
+    private static SendStatus findStatus(SendStatus[] statuses, String phoneNumber, int index) {
+        for (SendStatus status : statuses) {
+            String statusPhone = status.getPhoneNumber();
+            if (statusPhone != null && (statusPhone.equals(phoneNumber) || statusPhone.endsWith(phoneNumber))) {
+                return status;
+            }
+        }
+        return index < statuses.length ? statuses[index] : null;
+    }
+
     @Override
     public void destroy() {}
 }
@@ -1,6 +1,9 @@
 package io.github.rosestack.notify.spi;
 
 import io.github.rosestack.notify.SendRequest;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * 通用黑名单 SPI，可按需实现目标、渠道等黑名单。
@@ -10,4 +13,17 @@ public interface BlacklistChecker {
      * 是否在黑名单中
      */
     boolean isBlacklisted(SendRequest request);
+
+    /**
+     * 批量检查，返回命中黑名单的 requestId。默认逐个调用 {@link #isBlacklisted(SendRequest)}，可重写为批量查询
+     */
+    default Set<String> findBlacklisted(List<SendRequest> requests) {
+        Set<String> blacklisted = new HashSet<>();
+        for (SendRequest request : requests) {
+            if (isBlacklisted(request)) {
+                blacklisted.add(request.getRequestId());
+            }
+        }
+        return blacklisted;
+    }
 }
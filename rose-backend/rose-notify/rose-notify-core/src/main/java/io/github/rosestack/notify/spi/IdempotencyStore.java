@@ -1,16 +1,81 @@
 package io.github.rosestack.notify.spi;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * 幂等存储 SPI，防止重复发送。
  */
 public interface IdempotencyStore {
+    /**
+     * 默认的处理中占用时长，发送进程崩溃未能释放时，占用在此之后失效，请求可以重新发送
+     */
+    Duration DEFAULT_CLAIM_TTL = Duration.ofMinutes(5);
+
     /**
      * 检查 requestId 是否已处理，已处理返回 true 表示已处理，否则 false
      */
     boolean exists(String requestId);
 
     /**
-     * 记录本次发送 requestId
+     * 记录本次发送 requestId，已占用时将占用延长为完整的记录有效期
      */
     void put(String requestId);
+
+    /**
+     * 检查并占用 requestId，占用成功返回 true，已被处理或正在处理时返回 false。
+     *
+     * <p>发送前占用、成功后 {@link #put(String)}、失败后 {@link #release(String)}，避免并发下 exists 与 put 之间的重复发送。
+     * 占用只保留较短的处理时长（如 {@link #DEFAULT_CLAIM_TTL}），成功后由 put 延长，进程在发送中崩溃时不会长期阻塞重发。默认仅调用 {@link #exists(String)}，不具备原子性，存储应重写为原子操作（如 Redis SET NX）
+     */
+    default boolean tryClaim(String requestId) {
+        return !exists(requestId);
+    }
+
+    /**
+     * 释放发送失败的 requestId 占用，使其可以再次发送。默认无操作
+     */
+    default void release(String requestId) {}
+
+    /**
+     * 批量占用，返回占用成功的 requestId。默认逐个调用 {@link #tryClaim(String)}，存储可重写为批量操作
+     */
+    default Set<String> tryClaimAll(Collection<String> requestIds) {
+        Set<String> claimed = new HashSet<>();
+        for (String requestId : requestIds) {
+            if (!claimed.contains(requestId) && tryClaim(requestId)) {
+                claimed.add(requestId);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * 批量释放占用。默认逐个调用 {@link #release(String)}
+     */
+    default void releaseAll(Collection<String> requestIds) {
+        requestIds.forEach(this::release);
+    }
+
+    /**
+     * 批量检查，返回已处理的 requestId。默认逐个调用 {@link #exists(String)}，存储可重写为批量查询
+     */
+    default Set<String> existsAll(Collection<String> requestIds) {
+        Set<String> existing = new HashSet<>();
+        for (String requestId : requestIds) {
+            if (exists(requestId)) {
+                existing.add(requestId);
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * 批量记录 requestId。默认逐个调用 {@link #put(String)}，存储可重写为批量写入
+     */
+    default void putAll(Collection<String> requestIds) {
+        requestIds.forEach(this::put);
+    }
 }
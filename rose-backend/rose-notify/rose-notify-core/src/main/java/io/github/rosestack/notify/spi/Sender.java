@@ -1,6 +1,9 @@
 package io.github.rosestack.notify.spi;
 
 import io.github.rosestack.notify.SendRequest;
+import io.github.rosestack.notify.SendResult;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 通用通知发送渠道 SPI 扩展点。<br>
@@ -9,6 +12,7 @@ import io.github.rosestack.notify.SendRequest;
  * <ul>
  *   <li>getType() 用于唯一标识渠道（如 "email"、"sms"、"dingtalk"），支持动态注册与运行时替换。
  *   <li>send() 负责发送通知，参数为 SendRequest。
+ *   <li>sendBatch() 批量发送，默认逐条发送，支持批量接口的渠道可重写。
  *   <li>recall() 默认不支持撤回，部分渠道可重写。
  * </ul>
  *
@@ -30,5 +34,20 @@ public interface Sender extends Configurable {
 
     String send(SendRequest sendRequest);
 
+    /**
+     * 批量发送，返回结果与请求一一对应。默认逐条调用 {@link #send(SendRequest)}，支持批量接口的渠道可重写。
+     */
+    default List<SendResult> sendBatch(List<SendRequest> requests) {
+        List<SendResult> results = new ArrayList<>(requests.size());
+        for (SendRequest request : requests) {
+            try {
+                results.add(SendResult.success(request.getRequestId(), send(request)));
+            } catch (Exception e) {
+                results.add(SendResult.failed(request.getRequestId(), e));
+            }
+        }
+        return results;
+    }
+
     void destroy();
 }
@@ -2,11 +2,16 @@ package io.github.rosestack.notify.support;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.github.rosestack.notify.spi.IdempotencyStore;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
 
 /**
  * 基于 Caffeine 的幂等存储，支持 TTL 与容量上限。
+ *
+ * <p>值为 {@code false} 表示处理中的占用，按占用时长过期；{@code true} 表示已发送，按完整 TTL 过期。
  */
 public class CaffeineIdempotencyStore implements IdempotencyStore {
     private final Cache<String, Boolean> cache;
@@ -16,9 +21,32 @@ public class CaffeineIdempotencyStore implements IdempotencyStore {
     }
 
     public CaffeineIdempotencyStore(int maxSize, Duration ttl) {
+        this(maxSize, ttl, DEFAULT_CLAIM_TTL.compareTo(ttl) < 0 ? DEFAULT_CLAIM_TTL : ttl);
+    }
+
+    public CaffeineIdempotencyStore(int maxSize, Duration ttl, Duration claimTtl) {
+        long ttlNanos = ttl.toNanos();
+        long claimTtlNanos = claimTtl.toNanos();
         this.cache = Caffeine.newBuilder()
                 .maximumSize(Math.max(100, maxSize))
-                .expireAfterWrite(ttl)
+                .expireAfter(new Expiry<String, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(String requestId, Boolean sent, long currentTime) {
+                        return sent ? ttlNanos : claimTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(
+                            String requestId, Boolean sent, long currentTime, long currentDuration) {
+                        return sent ? ttlNanos : claimTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(
+                            String requestId, Boolean sent, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
                 .build();
     }
 
@@ -31,4 +59,24 @@ public class CaffeineIdempotencyStore implements IdempotencyStore {
     public void put(String requestId) {
         cache.put(requestId, Boolean.TRUE);
     }
+
+    @Override
+    public boolean tryClaim(String requestId) {
+        return cache.asMap().putIfAbsent(requestId, Boolean.FALSE) == null;
+    }
+
+    @Override
+    public void release(String requestId) {
+        cache.invalidate(requestId);
+    }
+
+    @Override
+    public Set<String> existsAll(Collection<String> requestIds) {
+        return cache.getAllPresent(requestIds).keySet();
+    }
+
+    @Override
+    public void releaseAll(Collection<String> requestIds) {
+        cache.invalidateAll(requestIds);
+    }
 }
@@ -1,22 +1,97 @@
 package io.github.rosestack.notify.support;
 
 import io.github.rosestack.notify.spi.IdempotencyStore;
-import java.util.Set;
+import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * 简单内存幂等存储实现。
+ * 简单内存幂等存储实现，记录在 TTL 后过期、处理中的占用在占用时长后过期，写入时定期清理过期记录。
  */
 public class InMemoryIdempotencyStore implements IdempotencyStore {
-    private final Set<String> store = ConcurrentHashMap.newKeySet();
+    private static final int CLEANUP_INTERVAL = 1024;
+
+    /**
+     * requestId -> 过期时间（纳秒）
+     */
+    private final Map<String, Long> store = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+    private final long claimTtlNanos;
+    private final AtomicInteger writes = new AtomicInteger();
+
+    public InMemoryIdempotencyStore() {
+        this(Duration.ofHours(1));
+    }
+
+    public InMemoryIdempotencyStore(Duration ttl) {
+        this(ttl, DEFAULT_CLAIM_TTL.compareTo(ttl) < 0 ? DEFAULT_CLAIM_TTL : ttl);
+    }
+
+    public InMemoryIdempotencyStore(Duration ttl, Duration claimTtl) {
+        this.ttlNanos = ttl.toNanos();
+        this.claimTtlNanos = claimTtl.toNanos();
+    }
 
     @Override
     public boolean exists(String requestId) {
-        return store.contains(requestId);
+        Long expiresAt = store.get(requestId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (isExpired(expiresAt, System.nanoTime())) {
+            store.remove(requestId, expiresAt);
+            return false;
+        }
+        return true;
     }
 
     @Override
     public void put(String requestId) {
-        store.add(requestId);
+        store.put(requestId, System.nanoTime() + ttlNanos);
+        afterWrite();
+    }
+
+    @Override
+    public boolean tryClaim(String requestId) {
+        long now = System.nanoTime();
+        boolean[] claimed = new boolean[1];
+        store.compute(requestId, (id, expiresAt) -> {
+            if (expiresAt != null && !isExpired(expiresAt, now)) {
+                return expiresAt;
+            }
+            claimed[0] = true;
+            return now + claimTtlNanos;
+        });
+        afterWrite();
+        return claimed[0];
+    }
+
+    @Override
+    public void release(String requestId) {
+        store.remove(requestId);
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * 清理已过期的记录
+     */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        store.entrySet().removeIf(entry -> isExpired(entry.getValue(), now));
+    }
+
+    private void afterWrite() {
+        if (writes.incrementAndGet() % CLEANUP_INTERVAL == 0) {
+            cleanUp();
+        }
+    }
+
+    private static boolean isExpired(long expiresAt, long now) {
+        return expiresAt - now <= 0;
     }
 }
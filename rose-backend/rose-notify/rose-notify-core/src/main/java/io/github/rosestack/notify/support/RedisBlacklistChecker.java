@@ -1,29 +1,85 @@
 package io.github.rosestack.notify.support;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.rosestack.notify.SendRequest;
 import io.github.rosestack.notify.spi.BlacklistChecker;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 /**
  * 基于 Redis 的黑名单检查，使用 Set 维护。
+ *
+ * <p>检查结果（包括未命中）在本地缓存 localTtl，减少每条消息一次 SISMEMBER；批量检查使用一次 SMISMEMBER。
+ * 其他实例修改黑名单后，本地缓存最多延迟 localTtl 生效。
  */
 public class RedisBlacklistChecker implements BlacklistChecker {
     private final StringRedisTemplate redis;
     private final String setKey;
+    private final Cache<String, Boolean> localCache;
 
     public RedisBlacklistChecker(StringRedisTemplate redis) {
         this(redis, "rose:notice:blacklist");
     }
 
     public RedisBlacklistChecker(StringRedisTemplate redis, String setKey) {
+        this(redis, setKey, 10_000, Duration.ofSeconds(30));
+    }
+
+    public RedisBlacklistChecker(StringRedisTemplate redis, String setKey, int localMaxSize, Duration localTtl) {
         this.redis = redis;
         this.setKey = setKey;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(Math.max(100, localMaxSize))
+                .expireAfterWrite(localTtl)
+                .build();
+    }
+
+    public void add(String target) {
+        redis.opsForSet().add(setKey, target);
+        localCache.put(target, Boolean.TRUE);
+    }
+
+    public void remove(String target) {
+        redis.opsForSet().remove(setKey, target);
+        localCache.put(target, Boolean.FALSE);
     }
 
     @Override
     public boolean isBlacklisted(SendRequest request) {
         String target = request.getTarget();
-        Boolean member = redis.opsForSet().isMember(setKey, target);
-        return Boolean.TRUE.equals(member);
+        return localCache.get(target, t -> Boolean.TRUE.equals(redis.opsForSet().isMember(setKey, t)));
+    }
+
+    @Override
+    public Set<String> findBlacklisted(List<SendRequest> requests) {
+        Set<String> targets = new LinkedHashSet<>();
+        for (SendRequest request : requests) {
+            targets.add(request.getTarget());
+        }
+        Map<String, Boolean> members = localCache.getAll(targets, this::loadMembers);
+
+        Set<String> blacklisted = new HashSet<>();
+        for (SendRequest request : requests) {
+            if (Boolean.TRUE.equals(members.get(request.getTarget()))) {
+                blacklisted.add(request.getRequestId());
+            }
+        }
+        return blacklisted;
+    }
+
+    private Map<String, Boolean> loadMembers(Set<? extends String> targets) {
+        Map<Object, Boolean> members = redis.opsForSet().isMember(setKey, targets.toArray());
+        Map<String, Boolean> loaded = new HashMap<>(targets.size() * 2);
+        for (String target : targets) {
+            loaded.put(target, members != null && Boolean.TRUE.equals(members.get(target)));
+        }
+        return loaded;
     }
 }
@@ -1,25 +1,46 @@
 package io.github.rosestack.notify.support;
 
 import io.github.rosestack.notify.spi.IdempotencyStore;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 
 /**
  * 基于 Redis 的幂等存储，采用 setIfAbsent + 过期时间。
+ *
+ * <p>发送前通过 SET NX 原子占用 requestId，占用只保留较短的处理时长，发送成功后覆盖写入并延长为完整 TTL，发送失败时删除占用；
+ * 批量操作使用 MGET、管道化的 SET 及单次 DEL。
  */
 public class RedisIdempotencyStore implements IdempotencyStore {
+    private static final byte[] VALUE = "1".getBytes(StandardCharsets.UTF_8);
+
     private final StringRedisTemplate redis;
     private final String keyPrefix;
     private final Duration ttl;
+    private final Duration claimTtl;
 
     public RedisIdempotencyStore(StringRedisTemplate redis) {
         this(redis, "rose:notice:idemp:", Duration.ofHours(1));
     }
 
     public RedisIdempotencyStore(StringRedisTemplate redis, String keyPrefix, Duration ttl) {
+        this(redis, keyPrefix, ttl, DEFAULT_CLAIM_TTL.compareTo(ttl) < 0 ? DEFAULT_CLAIM_TTL : ttl);
+    }
+
+    public RedisIdempotencyStore(StringRedisTemplate redis, String keyPrefix, Duration ttl, Duration claimTtl) {
         this.redis = redis;
         this.keyPrefix = keyPrefix;
         this.ttl = ttl;
+        this.claimTtl = claimTtl;
     }
 
     @Override
@@ -30,6 +51,81 @@ public class RedisIdempotencyStore implements IdempotencyStore {
 
     @Override
     public void put(String requestId) {
-        redis.opsForValue().setIfAbsent(keyPrefix + requestId, "1", ttl);
+        redis.opsForValue().set(keyPrefix + requestId, "1", ttl);
+    }
+
+    @Override
+    public boolean tryClaim(String requestId) {
+        return Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(keyPrefix + requestId, "1", claimTtl));
+    }
+
+    @Override
+    public void release(String requestId) {
+        redis.delete(keyPrefix + requestId);
+    }
+
+    @Override
+    public Set<String> existsAll(Collection<String> requestIds) {
+        if (requestIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<String> ids = new ArrayList<>(requestIds);
+        List<String> values = redis.opsForValue().multiGet(keys(ids));
+        Set<String> existing = new HashSet<>();
+        for (int i = 0; values != null && i < ids.size(); i++) {
+            if (values.get(i) != null) {
+                existing.add(ids.get(i));
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public Set<String> tryClaimAll(Collection<String> requestIds) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(requestIds));
+        List<Object> replies = setPipelined(ids, claimTtl, RedisStringCommands.SetOption.ifAbsent());
+        Set<String> claimed = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (Boolean.TRUE.equals(replies.get(i))) {
+                claimed.add(ids.get(i));
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public void putAll(Collection<String> requestIds) {
+        setPipelined(new ArrayList<>(requestIds), ttl, RedisStringCommands.SetOption.upsert());
+    }
+
+    @Override
+    public void releaseAll(Collection<String> requestIds) {
+        if (!requestIds.isEmpty()) {
+            redis.delete(keys(requestIds));
+        }
+    }
+
+    private List<Object> setPipelined(
+            List<String> requestIds, Duration expireAfter, RedisStringCommands.SetOption option) {
+        if (requestIds.isEmpty()) {
+            return List.of();
+        }
+        Expiration expiration = Expiration.from(expireAfter);
+        return redis.executePipelined((RedisCallback<Object>) connection -> {
+            for (String requestId : requestIds) {
+                connection
+                        .stringCommands()
+                        .set((keyPrefix + requestId).getBytes(StandardCharsets.UTF_8), VALUE, expiration, option);
+            }
+            return null;
+        });
+    }
+
+    private List<String> keys(Collection<String> requestIds) {
+        List<String> keys = new ArrayList<>(requestIds.size());
+        for (String requestId : requestIds) {
+            keys.add(keyPrefix + requestId);
+        }
+        return keys;
     }
 }
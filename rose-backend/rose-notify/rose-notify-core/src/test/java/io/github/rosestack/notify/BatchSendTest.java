@@ -1,9 +1,14 @@
 package io.github.rosestack.notify;
 
 import io.github.rosestack.notify.sender.SenderFactory;
+import io.github.rosestack.notify.spi.IdempotencyStore;
 import io.github.rosestack.notify.spi.Sender;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -49,6 +54,138 @@ class BatchSendTest {
         Assertions.assertEquals(1, failure);
     }
 
+    @Test
+    void batchShouldSendInChunksAndSkipBlacklistedAndProcessed() {
+        ChunkRecordingSender.reset();
+        SenderFactory.register("chunk", new ChunkRecordingSender());
+        NotifyService svc = new NotifyService();
+        svc.setBlacklistChecker(request -> "blocked".equals(request.getTarget()));
+        Set<String> processed = ConcurrentHashMap.newKeySet();
+        processed.add("r0");
+        svc.setIdempotencyStore(new IdempotencyStore() {
+            @Override
+            public boolean exists(String requestId) {
+                return processed.contains(requestId);
+            }
+
+            @Override
+            public void put(String requestId) {
+                processed.add(requestId);
+            }
+        });
+
+        SenderConfiguration cfg = SenderConfiguration.builder()
+                .channelType("chunk")
+                .templateType("simplevariabletemplatecontentrender")
+                .config(Map.of("batch.size", 3, "batch.concurrency", 2))
+                .build();
+        List<SendRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(SendRequest.builder()
+                    .requestId("r" + i)
+                    .target(i == 5 ? "blocked" : "t" + i)
+                    .templateContent("hi ${name}")
+                    .variables(new HashMap<>(Map.of("name", "n" + i)))
+                    .build());
+        }
+
+        List<SendResult> res = svc.sendBatch(requests, cfg);
+
+        Assertions.assertEquals(10, res.size());
+        Assertions.assertFalse(res.get(0).isSuccess());
+        Assertions.assertFalse(res.get(5).isSuccess());
+        Assertions.assertEquals(8, res.stream().filter(SendResult::isSuccess).count());
+        // 8 条待发送请求按 3 条一片分为 3 片，并发不超过 2
+        Assertions.assertEquals(
+                List.of(3, 3, 2),
+                ChunkRecordingSender.chunkSizes.stream()
+                        .sorted(Comparator.reverseOrder())
+                        .toList());
+        Assertions.assertTrue(ChunkRecordingSender.maxActive.get() <= 2);
+        Assertions.assertTrue(ChunkRecordingSender.contents.contains("hi n9"));
+        Assertions.assertTrue(processed.containsAll(List.of("r1", "r9")));
+    }
+
+    @Test
+    void nonPositiveSendConcurrencyShouldDisableChannelLimit() {
+        ChunkRecordingSender.reset();
+        SenderFactory.register("chunk", new ChunkRecordingSender());
+        NotifyService svc = new NotifyService();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        svc.setExecutor(executor);
+        svc.setChannelMaxConcurrency(1);
+
+        SenderConfiguration cfg = SenderConfiguration.builder()
+                .channelType("chunk")
+                .config(Map.of("batch.size", 1, "batch.concurrency", 4, "send.concurrency", 0))
+                .build();
+        List<SendRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            requests.add(SendRequest.builder()
+                    .requestId("c" + i)
+                    .target("t" + i)
+                    .templateContent("c")
+                    .build());
+        }
+
+        try {
+            List<SendResult> res = svc.sendBatch(requests, cfg);
+            Assertions.assertTrue(res.stream().allMatch(SendResult::isSuccess));
+            // send.concurrency=0 覆盖服务级的并发上限 1
+            Assertions.assertTrue(ChunkRecordingSender.maxActive.get() > 1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    static class ChunkRecordingSender implements Sender {
+        static final List<Integer> chunkSizes = new CopyOnWriteArrayList<>();
+        static final List<String> contents = new CopyOnWriteArrayList<>();
+        static final AtomicInteger active = new AtomicInteger();
+        static final AtomicInteger maxActive = new AtomicInteger();
+
+        static void reset() {
+            chunkSizes.clear();
+            contents.clear();
+            active.set(0);
+            maxActive.set(0);
+        }
+
+        @Override
+        public String getChannelType() {
+            return "chunk";
+        }
+
+        @Override
+        public String send(SendRequest sendRequest) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<SendResult> sendBatch(List<SendRequest> requests) {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            chunkSizes.add(requests.size());
+            List<SendResult> results = new ArrayList<>();
+            for (SendRequest request : requests) {
+                contents.add(request.getTemplateContent());
+                results.add(SendResult.success(request.getRequestId(), request.getRequestId()));
+            }
+            active.decrementAndGet();
+            return results;
+        }
+
+        @Override
+        public void destroy() {}
+
+        @Override
+        public void configure(SenderConfiguration config) {}
+    }
+
     static class FailOnceSender implements Sender {
         int called;
 
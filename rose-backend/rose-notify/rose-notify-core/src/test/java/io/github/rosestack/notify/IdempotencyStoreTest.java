@@ -0,0 +1,134 @@
+package io.github.rosestack.notify;
+
+import io.github.rosestack.notify.sender.SenderFactory;
+import io.github.rosestack.notify.spi.IdempotencyStore;
+import io.github.rosestack.notify.spi.Sender;
+import io.github.rosestack.notify.support.CaffeineIdempotencyStore;
+import io.github.rosestack.notify.support.InMemoryIdempotencyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyStoreTest {
+    @AfterEach
+    void tearDown() {
+        SenderFactory.destroy();
+    }
+
+    @Test
+    void inMemoryStoreShouldExpireEntries() throws Exception {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMillis(20));
+        store.put("r1");
+        store.put("r2");
+        Assertions.assertTrue(store.exists("r1"));
+
+        Thread.sleep(40);
+
+        Assertions.assertFalse(store.exists("r1"));
+        Assertions.assertTrue(store.tryClaim("r1"));
+        store.cleanUp();
+        Assertions.assertEquals(1, store.size());
+    }
+
+    @Test
+    void claimShouldExpireAfterClaimTtlUntilPut() throws Exception {
+        for (IdempotencyStore store : List.of(
+                new InMemoryIdempotencyStore(Duration.ofHours(1), Duration.ofMillis(20)),
+                new CaffeineIdempotencyStore(100, Duration.ofHours(1), Duration.ofMillis(20)))) {
+            Assertions.assertTrue(store.tryClaim("crashed"));
+            Assertions.assertTrue(store.tryClaim("sent"));
+            store.put("sent");
+
+            Thread.sleep(40);
+
+            // 处理中崩溃的占用自动失效，已发送的记录保留完整 TTL
+            Assertions.assertTrue(store.tryClaim("crashed"));
+            Assertions.assertFalse(store.tryClaim("sent"));
+        }
+    }
+
+    @Test
+    void claimShouldBeAtomicUnderConcurrency() throws Exception {
+        for (IdempotencyStore store : List.of(new InMemoryIdempotencyStore(), new CaffeineIdempotencyStore())) {
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> claims = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                claims.add(executor.submit(() -> {
+                    start.await();
+                    return store.tryClaim("r1");
+                }));
+            }
+            start.countDown();
+            int claimed = 0;
+            for (Future<Boolean> claim : claims) {
+                claimed += claim.get() ? 1 : 0;
+            }
+            executor.shutdown();
+            Assertions.assertEquals(1, claimed);
+
+            store.release("r1");
+            Assertions.assertEquals(Set.of("r1", "r2"), store.tryClaimAll(List.of("r1", "r2", "r2")));
+            Assertions.assertFalse(store.tryClaim("r2"));
+        }
+    }
+
+    @Test
+    void failedSendShouldReleaseClaim() {
+        SenderFactory.register("failfirst", new FailFirstSender());
+        FailFirstSender.CALLS.set(0);
+        NotifyService svc = new NotifyService();
+        svc.setIdempotencyStore(new InMemoryIdempotencyStore());
+        SenderConfiguration cfg = SenderConfiguration.builder()
+                .channelType("failfirst")
+                .config(Map.of())
+                .build();
+
+        Assertions.assertFalse(svc.send(request(), cfg).isSuccess());
+        Assertions.assertTrue(svc.send(request(), cfg).isSuccess());
+        SendResult duplicate = svc.send(request(), cfg);
+        Assertions.assertFalse(duplicate.isSuccess());
+        Assertions.assertEquals(2, FailFirstSender.CALLS.get());
+    }
+
+    private static SendRequest request() {
+        return SendRequest.builder()
+                .requestId("r1")
+                .target("t")
+                .templateContent("c")
+                .build();
+    }
+
+    public static class FailFirstSender implements Sender {
+        static final AtomicInteger CALLS = new AtomicInteger();
+
+        @Override
+        public String getChannelType() {
+            return "failfirst";
+        }
+
+        @Override
+        public String send(SendRequest sendRequest) {
+            if (CALLS.incrementAndGet() == 1) {
+                throw new NotifyException("failed");
+            }
+            return sendRequest.getRequestId();
+        }
+
+        @Override
+        public void destroy() {}
+
+        @Override
+        public void configure(SenderConfiguration config) {}
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.rosestack.notify;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.rosestack.notify.sender.SenderFactory;
+import io.github.rosestack.notify.spi.AbstractConfigure;
+import io.github.rosestack.notify.spi.Sender;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 异步发送执行模型负载测试，对比固定线程池与虚拟线程在网络 IO 为主的发送场景下的在途请求数及 p99 延迟
+ */
+@Slf4j
+@DisplayName("异步发送执行模型负载测试")
+@Disabled("性能测试，仅在需要时手动运行")
+class NotifyExecutorLoadTest {
+
+    private static final int WARMUP_REQUESTS = 200;
+    private static final int REQUESTS = 2_000;
+    private static final long SERVER_LATENCY_MILLIS = 20;
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger MAX_IN_FLIGHT = new AtomicInteger();
+
+    private HttpServer server;
+    private SenderConfiguration config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 模拟短信 HTTP 接口，每个请求固定耗时
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/send", exchange -> {
+            MAX_IN_FLIGHT.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(SERVER_LATENCY_MILLIS);
+                byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                IN_FLIGHT.decrementAndGet();
+            }
+        });
+        server.start();
+
+        SenderFactory.register("http", new HttpSender());
+        config = SenderConfiguration.builder()
+                .channelType("http")
+                .config(Map.of("url", "http://127.0.0.1:" + server.getAddress().getPort() + "/send"))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        SenderFactory.destroy();
+    }
+
+    @Test
+    @DisplayName("固定线程池")
+    void testPlatformThreadPool() {
+        runLoad("固定线程池", new NotifyService());
+    }
+
+    @Test
+    @DisplayName("虚拟线程 + 渠道并发上限")
+    void testVirtualThreads() {
+        NotifyService service = new NotifyService();
+        service.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        service.setChannelMaxConcurrency(256);
+        runLoad("虚拟线程", service);
+    }
+
+    private void runLoad(String label, NotifyService service) {
+        sendAll(service, "warmup-", WARMUP_REQUESTS);
+        MAX_IN_FLIGHT.set(0);
+
+        long startTime = System.nanoTime();
+        long[] latencies = sendAll(service, "load-", REQUESTS);
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+        Arrays.sort(latencies);
+        long p99 = latencies[(int) Math.ceil(REQUESTS * 0.99) - 1];
+        log.info(
+                "{}负载测试结果：{}次发送耗时{}ms，最大在途请求{}，p99延迟{}ms",
+                label,
+                REQUESTS,
+                durationMs,
+                MAX_IN_FLIGHT.get(),
+                TimeUnit.NANOSECONDS.toMillis(p99));
+        service.destroy();
+    }
+
+    private long[] sendAll(NotifyService service, String prefix, int count) {
+        long[] latencies = new long[count];
+        List<CompletableFuture<Void>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            SendRequest request = SendRequest.builder()
+                    .requestId(prefix + i)
+                    .target("13800000000")
+                    .templateContent("hello")
+                    .build();
+            futures.add(service.sendAsync(request, config).thenAccept(result -> {
+                latencies[index] = System.nanoTime() - submitted;
+                Assertions.assertTrue(result.isSuccess(), result.getMessage());
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return latencies;
+    }
+
+    public static class HttpSender extends AbstractConfigure implements Sender {
+        private static final HttpClient CLIENT = HttpClient.newHttpClient();
+        private volatile URI uri;
+
+        @Override
+        public String getChannelType() {
+            return "http";
+        }
+
+        @Override
+        public void doConfigure(SenderConfiguration config) {
+            uri = URI.create(String.valueOf(config.getConfig().get("url")));
+        }
+
+        @Override
+        public String send(SendRequest request) {
+            try {
+                HttpResponse<String> response = CLIENT.send(
+                        HttpRequest.newBuilder(uri)
+                                .POST(HttpRequest.BodyPublishers.ofString(request.getTemplateContent()))
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString());
+                return response.body() + "-" + request.getRequestId();
+            } catch (IOException e) {
+                throw new NotifyRetryableException("发送失败", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NotifyRetryableException("发送被中断", e);
+            }
+        }
+
+        @Override
+        public void destroy() {}
+    }
+}
@@ -1,9 +1,14 @@
 package io.github.rosestack.notify;
 
+import io.github.rosestack.notify.sender.CircuitBreaker;
 import io.github.rosestack.notify.sender.RetryableSender;
 import io.github.rosestack.notify.spi.Sender;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -28,8 +33,104 @@ class RetryableSenderTest {
         Assertions.assertEquals("ok", id);
     }
 
+    @Test
+    void asyncRetryShouldNotHoldExecutorThreadDuringBackoff() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            RetryableSender retry = new RetryableSender(new FlakySender());
+            Map<String, Object> cfg = new HashMap<>();
+            cfg.put("retry.maxAttempts", 5);
+            cfg.put("retry.initialDelayMillis", 300);
+            cfg.put("retry.jitterMillis", 0);
+            retry.configure(SenderConfiguration.builder()
+                    .channelType("test")
+                    .config(cfg)
+                    .build());
+
+            CompletableFuture<String> future = retry.sendAsync(request("r1"), executor);
+            // 退避期间唯一的工作线程仍可执行其他任务
+            long start = System.nanoTime();
+            executor.submit(() -> {}).get(1, TimeUnit.SECONDS);
+            Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 200);
+            Assertions.assertFalse(future.isDone());
+
+            Assertions.assertEquals("ok", future.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rateShouldShapeSends() {
+        RetryableSender sender = new RetryableSender(new FlakySender(0), false);
+        Map<String, Object> cfg = new HashMap<>();
+        cfg.put("rate.permitsPerSecond", 20);
+        cfg.put("rate.burst", 1);
+        sender.configure(
+                SenderConfiguration.builder().channelType("test").config(cfg).build());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertEquals("ok", sender.send(request("r" + i)));
+        }
+        // 突发 1 个，其余 4 个按 50ms 间隔发放
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 180);
+    }
+
+    @Test
+    void circuitShouldOpenAfterConsecutiveFailures() {
+        FlakySender failing = new FlakySender(Integer.MAX_VALUE);
+        RetryableSender sender = new RetryableSender(failing, false);
+        Map<String, Object> cfg = new HashMap<>();
+        cfg.put("circuit.failureThreshold", 2);
+        cfg.put("circuit.openMillis", 60_000);
+        sender.configure(
+                SenderConfiguration.builder().channelType("test").config(cfg).build());
+
+        Assertions.assertThrows(NotifyRetryableException.class, () -> sender.send(request("r1")));
+        Assertions.assertThrows(NotifyRetryableException.class, () -> sender.send(request("r2")));
+        NotifyRetryableException ex =
+                Assertions.assertThrows(NotifyRetryableException.class, () -> sender.send(request("r3")));
+        Assertions.assertTrue(ex.getMessage().contains("熔断"));
+        Assertions.assertEquals(2, failing.count);
+    }
+
+    @Test
+    void circuitShouldAllowNewProbeWhenProbeNeverReports() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, 50);
+        breaker.onFailure(new NotifyRetryableException("限流"));
+        Assertions.assertTrue(breaker.tryAcquire() > 0);
+
+        Thread.sleep(60);
+        // 探测请求被放行后未回报结果，例如提交线程池时被拒绝
+        Assertions.assertEquals(0L, breaker.tryAcquire());
+        Assertions.assertTrue(breaker.tryAcquire() > 0);
+
+        Thread.sleep(60);
+        Assertions.assertEquals(0L, breaker.tryAcquire());
+        breaker.onSuccess();
+        Assertions.assertFalse(breaker.isOpen());
+    }
+
+    private static SendRequest request(String requestId) {
+        return SendRequest.builder()
+                .requestId(requestId)
+                .target("t")
+                .templateContent("c")
+                .build();
+    }
+
     static class FlakySender implements Sender {
-        int count;
+        private final int failures;
+        volatile int count;
+
+        FlakySender() {
+            this(2);
+        }
+
+        FlakySender(int failures) {
+            this.failures = failures;
+        }
 
         @Override
         public String getChannelType() {
@@ -38,7 +139,7 @@ class RetryableSenderTest {
 
         @Override
         public String send(SendRequest sendRequest) {
-            if (++count < 3) {
+            if (++count <= failures) {
                 throw new NotifyRetryableException("temporary");
             }
             return "ok";
@@ -0,0 +1,155 @@
+package io.github.rosestack.notify;
+
+import io.github.rosestack.notify.sender.SmtpTransportPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+import jakarta.mail.internet.MimeMessage;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SmtpTransportPoolTest {
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        FakeTransport.CONNECTS.set(0);
+        FakeTransport.SENT.set(0);
+        Properties props = new Properties();
+        props.put("mail.transport.protocol", "fake");
+        session = Session.getInstance(props);
+        session.addProvider(
+                new Provider(Provider.Type.TRANSPORT, "fake", FakeTransport.class.getName(), "rose", "1.0"));
+    }
+
+    @Test
+    void shouldReuseConnectionAndRecycleAfterMaxMessages() throws Exception {
+        SmtpTransportPool pool = new SmtpTransportPool(session, "u", "p", 2, 60_000, 3, 100);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        pool.bindMetrics(registry, "fake", "u");
+
+        for (int i = 0; i < 5; i++) {
+            SmtpTransportPool.PooledTransport pooled = pool.borrow();
+            Assertions.assertEquals(
+                    1.0, registry.get("notice.smtp.pool.active").gauge().value());
+            pooled.sendMessage(message());
+            pool.release(pooled, false);
+        }
+
+        Assertions.assertEquals(5, FakeTransport.SENT.get());
+        // 第 3 封后连接被回收重建
+        Assertions.assertEquals(2, FakeTransport.CONNECTS.get());
+        Assertions.assertEquals(1, pool.getIdleCount());
+        Assertions.assertEquals(0, pool.getActiveCount());
+
+        pool.close();
+        Assertions.assertEquals(0, pool.getIdleCount());
+        Assertions.assertTrue(registry.find("notice.smtp.pool.active").meters().isEmpty());
+    }
+
+    @Test
+    void shouldKeepMetricsOfPoolsSharingHost() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SmtpTransportPool first = new SmtpTransportPool(session, "a", "p", 2, 60_000, 100, 100);
+        SmtpTransportPool second = new SmtpTransportPool(session, "b", "p", 2, 60_000, 100, 100);
+        first.bindMetrics(registry, "fake", "a");
+        second.bindMetrics(registry, "fake", "b");
+
+        SmtpTransportPool.PooledTransport pooled = second.borrow();
+        Assertions.assertEquals(
+                1.0,
+                registry.get("notice.smtp.pool.active")
+                        .tag("username", "b")
+                        .gauge()
+                        .value());
+        first.close();
+
+        Assertions.assertTrue(registry.find("notice.smtp.pool.active")
+                .tag("username", "a")
+                .meters()
+                .isEmpty());
+        Assertions.assertEquals(
+                1.0,
+                registry.get("notice.smtp.pool.active")
+                        .tag("username", "b")
+                        .gauge()
+                        .value());
+        second.release(pooled, false);
+        second.close();
+    }
+
+    @Test
+    void shouldDiscardBrokenAndDisconnectedConnections() throws Exception {
+        SmtpTransportPool pool = new SmtpTransportPool(session, "u", "p", 1, 60_000, 100, 100);
+
+        SmtpTransportPool.PooledTransport first = pool.borrow();
+        pool.release(first, true);
+        SmtpTransportPool.PooledTransport second = pool.borrow();
+        Assertions.assertNotSame(first, second);
+
+        // 空闲期间被服务端断开的连接在借出时被健康检查剔除
+        ((FakeTransport) second.getTransport()).drop();
+        pool.release(second, false);
+        SmtpTransportPool.PooledTransport third = pool.borrow();
+        Assertions.assertNotSame(second, third);
+        Assertions.assertTrue(third.isConnected());
+        Assertions.assertEquals(3, FakeTransport.CONNECTS.get());
+
+        // 连接池已满时借出超时
+        Assertions.assertThrows(NotifyRetryableException.class, pool::borrow);
+        pool.release(third, false);
+        pool.close();
+    }
+
+    @Test
+    void shouldEvictIdleConnections() throws Exception {
+        SmtpTransportPool pool = new SmtpTransportPool(session, "u", "p", 2, 1, 100, 100);
+        SmtpTransportPool.PooledTransport pooled = pool.borrow();
+        pool.release(pooled, false);
+        Thread.sleep(5);
+
+        pool.evictIdle();
+
+        Assertions.assertEquals(0, pool.getIdleCount());
+        Assertions.assertFalse(pooled.isConnected());
+    }
+
+    private MimeMessage message() throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setRecipients(Message.RecipientType.TO, "to@example.com");
+        message.setText("hello");
+        return message;
+    }
+
+    public static class FakeTransport extends Transport {
+        static final AtomicInteger CONNECTS = new AtomicInteger();
+        static final AtomicInteger SENT = new AtomicInteger();
+
+        public FakeTransport(Session session, URLName urlname) {
+            super(session, urlname);
+        }
+
+        @Override
+        protected boolean protocolConnect(String host, int port, String user, String password) {
+            CONNECTS.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public void sendMessage(Message msg, Address[] addresses) {
+            SENT.incrementAndGet();
+        }
+
+        void drop() {
+            setConnected(false);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.rosestack.notify;
+
+import groovy.text.SimpleTemplateEngine;
+import io.github.rosestack.notify.render.GroovyTemplateContentRender;
+import io.github.rosestack.notify.render.SimpleVariableTemplateContentRender;
+import io.github.rosestack.notify.spi.TemplateContentRender;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 模板渲染性能基准测试：同一模板渲染 100k 次
+ */
+@Slf4j
+@DisplayName("模板渲染性能基准测试")
+@Disabled("性能测试，仅在需要时手动运行")
+class TemplateRenderPerformanceTest {
+
+    private static final int ITERATIONS = 100_000;
+    private static final int UNCACHED_ITERATIONS = 1_000;
+    private static final String TEMPLATE = "Hi ${name}, your order ${orderId} ships on ${date}. Code: ${code}";
+
+    @Test
+    @DisplayName("Groovy 模板渲染性能")
+    void testGroovyRenderPerformance() throws Exception {
+        SimpleTemplateEngine engine = new SimpleTemplateEngine();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < UNCACHED_ITERATIONS; i++) {
+            engine.createTemplate(TEMPLATE).make(variables(i)).toString();
+        }
+        report("Groovy 每次编译", UNCACHED_ITERATIONS, System.nanoTime() - startTime);
+
+        benchmark("Groovy 缓存编译", new GroovyTemplateContentRender());
+    }
+
+    @Test
+    @DisplayName("简单变量模板渲染性能")
+    void testSimpleVariableRenderPerformance() {
+        // 基线：每次提取变量校验，再逐参数 String.replace
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            replaceEachVariable(variables(i));
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            replaceEachVariable(variables(i));
+        }
+        report("逐参数 String.replace", ITERATIONS, System.nanoTime() - startTime);
+
+        benchmark("简单变量缓存切分", new SimpleVariableTemplateContentRender());
+    }
+
+    private void benchmark(String label, TemplateContentRender render) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            render.render(TEMPLATE, variables(i));
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            render.render(TEMPLATE, variables(i));
+        }
+        report(label, ITERATIONS, System.nanoTime() - startTime);
+    }
+
+    private static String replaceEachVariable(Map<String, Object> variables) {
+        Set<String> requiredVars = new HashSet<>();
+        Matcher matcher = Pattern.compile("\\$\\{([\\w.\\-]+)}").matcher(TEMPLATE);
+        while (matcher.find()) {
+            requiredVars.add(matcher.group(1));
+        }
+        if (!variables.keySet().containsAll(requiredVars)) {
+            throw new NotifyException("通知模版缺少变量");
+        }
+        String content = TEMPLATE;
+        for (Map.Entry<String, Object> entry : variables.entrySet()) {
+            content = content.replace("${" + entry.getKey() + "}", String.valueOf(entry.getValue()));
+        }
+        return content;
+    }
+
+    private static Map<String, Object> variables(int i) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", "user-" + i);
+        variables.put("orderId", i);
+        variables.put("date", "2024-01-01");
+        variables.put("code", "X" + i);
+        return variables;
+    }
+
+    private static void report(String label, int iterations, long durationNanos) {
+        log.info(
+                "{}性能测试结果：{}次操作耗时{}ms，平均{}ns/次",
+                label,
+                iterations,
+                TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                Math.round((double) durationNanos / iterations));
+    }
+}
@@ -1,6 +1,10 @@
 package io.github.rosestack.notify;
 
+import io.github.rosestack.notify.render.CompiledTemplateCache;
+import io.github.rosestack.notify.render.GroovyTemplateContentRender;
 import io.github.rosestack.notify.render.SimpleVariableTemplateContentRender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -13,4 +17,44 @@ class TemplateRenderTest {
         String out = render.render(tpl, Map.of("name", "rose", "id-1", 10, "user.name", "u"));
         Assertions.assertEquals("hello rose, id=10, path=u", out);
     }
+
+    @Test
+    void simpleVariableRenderNonAsciiName() {
+        SimpleVariableTemplateContentRender render = new SimpleVariableTemplateContentRender();
+        String out = render.render("您好 ${用户名}，${a b}", Map.of("用户名", "张三", "a b", "ok"));
+        Assertions.assertEquals("您好 张三，ok", out);
+    }
+
+    @Test
+    void simpleVariableRenderMissingVariable() {
+        SimpleVariableTemplateContentRender render = new SimpleVariableTemplateContentRender();
+        Assertions.assertThrows(NotifyException.class, () -> render.render("hello ${name}", Map.of("id", 1)));
+    }
+
+    @Test
+    void groovyRenderCompilesTemplateOnce() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GroovyTemplateContentRender render = new GroovyTemplateContentRender();
+        render.setTemplateCache(
+                new CompiledTemplateCache(CompiledTemplateCache.DEFAULT_MAXIMUM_SIZE, new NotifyMetrics(registry)));
+        String tpl = "hello ${name}, total=${count + 1} #" + System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(
+                    "hello rose" + i + ", total=" + (i + 1) + tpl.substring(tpl.indexOf(" #")),
+                    render.render(tpl, new HashMap<>(Map.of("name", "rose" + i, "count", i))));
+        }
+
+        String renderName = GroovyTemplateContentRender.class.getName();
+        Assertions.assertEquals(
+                1,
+                registry.get("notice.template.compile")
+                        .tag("render", renderName)
+                        .timer()
+                        .count());
+        Assertions.assertTrue(registry.get("notice.template.cache.hit")
+                        .tag("render", renderName)
+                        .counter()
+                        .count()
+                >= 5);
+    }
 }
@@ -2,10 +2,13 @@ package io.github.rosestack.spring.boot.notify.config;
 
 import io.github.rosestack.notify.NotifyMetrics;
 import io.github.rosestack.notify.NotifyService;
+import io.github.rosestack.notify.render.CompiledTemplateCache;
+import io.github.rosestack.notify.render.TemplateContentRenderFactory;
 import io.github.rosestack.notify.support.CaffeineIdempotencyStore;
 import io.micrometer.core.instrument.MeterRegistry;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -29,15 +32,18 @@ public class NotifyAutoConfig {
         System.setProperty(
                 "rose.notify.sender.cache.expireAfterAccessSeconds",
                 String.valueOf(props.getSenderCacheExpireAfterAccessSeconds()));
-        System.setProperty(
-                "rose.notify.smsProvider.cache.maxSize", String.valueOf(props.getSmsProviderCacheMaxSize()));
+        System.setProperty("rose.notify.smsProvider.cache.maxSize", String.valueOf(props.getSmsProviderCacheMaxSize()));
         System.setProperty(
                 "rose.notify.smsProvider.cache.expireAfterAccessSeconds",
                 String.valueOf(props.getSmsProviderCacheExpireAfterAccessSeconds()));
-        if (props.getExecutorCoreSize() > 0) {
+        if (props.getExecutorType() == NotifyProperties.ExecutorType.VIRTUAL) {
+            // 发送以网络 IO 为主，虚拟线程下在途请求数由渠道并发上限控制
+            service.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        } else if (props.getExecutorCoreSize() > 0) {
             ExecutorService executor = Executors.newFixedThreadPool(props.getExecutorCoreSize());
             service.setExecutor(executor);
         }
+        service.setChannelMaxConcurrency(props.getChannelMaxConcurrency());
         return service;
     }
 
@@ -50,4 +56,16 @@ public class NotifyAutoConfig {
         service.setMetrics(metrics);
         return metrics;
     }
+
+    /**
+     * 所有模板渲染器共用的编译后模板缓存，存在 {@link NotifyMetrics} 时记录到应用的 MeterRegistry
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public CompiledTemplateCache compiledTemplateCache(ObjectProvider<NotifyMetrics> metrics) {
+        CompiledTemplateCache cache =
+                new CompiledTemplateCache(CompiledTemplateCache.DEFAULT_MAXIMUM_SIZE, metrics.getIfAvailable());
+        TemplateContentRenderFactory.setTemplateCache(cache);
+        return cache;
+    }
 }
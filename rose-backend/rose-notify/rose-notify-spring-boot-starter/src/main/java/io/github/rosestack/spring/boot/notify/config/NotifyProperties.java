@@ -10,10 +10,20 @@ public class NotifyProperties {
     private boolean retryable = false;
 
     /**
-     * 线程池大小（用于 sendAsync / 批量）
+     * 执行模型：platform 为固定大小线程池，virtual 为每个任务一个虚拟线程
+     */
+    private ExecutorType executorType = ExecutorType.PLATFORM;
+
+    /**
+     * 线程池大小（用于 sendAsync / 批量），仅 platform 执行模型有效
      */
     private int executorCoreSize = Runtime.getRuntime().availableProcessors();
 
+    /**
+     * 每个渠道同时调用服务商的最大请求数，小于等于 0 表示不限制
+     */
+    private int channelMaxConcurrency = 64;
+
     /**
      * 发送器缓存最大容量
      */
@@ -42,6 +52,22 @@ public class NotifyProperties {
         this.retryable = retryable;
     }
 
+    public ExecutorType getExecutorType() {
+        return executorType;
+    }
+
+    public void setExecutorType(ExecutorType executorType) {
+        this.executorType = executorType;
+    }
+
+    public int getChannelMaxConcurrency() {
+        return channelMaxConcurrency;
+    }
+
+    public void setChannelMaxConcurrency(int channelMaxConcurrency) {
+        this.channelMaxConcurrency = channelMaxConcurrency;
+    }
+
     public int getExecutorCoreSize() {
         return executorCoreSize;
     }
@@ -81,4 +107,9 @@ public class NotifyProperties {
     public void setSmsProviderCacheExpireAfterAccessSeconds(long smsProviderCacheExpireAfterAccessSeconds) {
         this.smsProviderCacheExpireAfterAccessSeconds = smsProviderCacheExpireAfterAccessSeconds;
     }
+
+    public enum ExecutorType {
+        PLATFORM,
+        VIRTUAL
+    }
 }
@@ -1,6 +1,9 @@
 package io.github.rosestack.spring.boot.notify.config;
 
 import io.github.rosestack.notify.NotifyService;
+import io.github.rosestack.notify.render.CompiledTemplateCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -24,4 +27,33 @@ class NotifyAutoConfigTest {
             Assertions.assertNotNull(svc);
         });
     }
+
+    @Test
+    void autoConfigSupportsVirtualThreadExecutor() {
+        contextRunner
+                .withPropertyValues("rose.notify.executor-type=virtual", "rose.notify.channel-max-concurrency=16")
+                .run(ctx -> {
+                    Assertions.assertEquals(
+                            NotifyProperties.ExecutorType.VIRTUAL,
+                            ctx.getBean(NotifyProperties.class).getExecutorType());
+                    Assertions.assertNotNull(ctx.getBean(NotifyService.class));
+                });
+    }
+
+    @Test
+    void autoConfigRecordsTemplateMetricsIntoApplicationRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        contextRunner.withBean(MeterRegistry.class, () -> registry).run(ctx -> {
+            CompiledTemplateCache cache = ctx.getBean(CompiledTemplateCache.class);
+            cache.get("render", "hello", content -> content);
+            cache.get("render", "hello", content -> content);
+
+            Assertions.assertEquals(
+                    1,
+                    registry.get("notice.template.cache.hit")
+                            .tag("render", "render")
+                            .counter()
+                            .count());
+        });
+    }
 }
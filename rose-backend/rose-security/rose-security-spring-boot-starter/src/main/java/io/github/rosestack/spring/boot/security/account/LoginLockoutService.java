@@ -1,17 +1,24 @@
 package io.github.rosestack.spring.boot.security.account;
 
 import io.github.rosestack.spring.boot.security.config.SecurityProperties;
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class LoginLockoutService {
 
     private final SecurityProperties.Account.LoginLock props;
-    private final Map<String, State> stateByUser = new ConcurrentHashMap<>();
+    private final LoginLockoutStore store;
 
     public LoginLockoutService(SecurityProperties properties) {
+        this(
+                properties,
+                new MemoryLoginLockoutStore(
+                        properties.getAccount().getLoginLock().getMaxFailures(),
+                        properties.getAccount().getLoginLock().getCooldown(),
+                        properties.getAccount().getLoginLock().getMaxSize()));
+    }
+
+    public LoginLockoutService(SecurityProperties properties, LoginLockoutStore store) {
         this.props = properties.getAccount().getLoginLock();
+        this.store = store;
     }
 
     public boolean isEnabled() {
@@ -19,45 +26,20 @@ public class LoginLockoutService {
     }
 
     public boolean isLocked(String username) {
-        State s = stateByUser.get(username);
-        if (s == null || s.lockUntil == null) return false;
-        if (Instant.now().isAfter(s.lockUntil)) {
-            // auto unlock
-            s.lockUntil = null;
-            s.failures = 0;
-            return false;
-        }
-        return true;
+        return store.isLocked(username);
     }
 
     public void onFailure(String username) {
         if (!isEnabled()) {
             return;
         }
-        State s = stateByUser.computeIfAbsent(username, k -> new State());
-        if (s.lockUntil != null && Instant.now().isBefore(s.lockUntil)) {
-            return; // still locked
-        }
-        s.failures++;
-        if (s.failures >= props.getMaxFailures()) {
-            s.lockUntil = Instant.now().plus(props.getCooldown());
-            s.failures = 0;
-        }
+        store.recordFailure(username);
     }
 
     public void onSuccess(String username) {
         if (!isEnabled()) {
             return;
         }
-        State s = stateByUser.get(username);
-        if (s != null) {
-            s.failures = 0;
-            s.lockUntil = null;
-        }
-    }
-
-    private static final class State {
-        int failures;
-        Instant lockUntil; // null if not locked
+        store.reset(username);
     }
 }
@@ -0,0 +1,26 @@
+package io.github.rosestack.spring.boot.security.account;
+
+/**
+ * 登录失败计数存储
+ *
+ * <p>失败次数达到上限后锁定，锁定期间不再累加；计数在最后一次失败后经过冷却时间过期，锁定同样在冷却时间后解除。
+ */
+public interface LoginLockoutStore {
+
+    /**
+     * 是否处于锁定状态
+     */
+    boolean isLocked(String username);
+
+    /**
+     * 原子地记录一次登录失败
+     *
+     * @return 记录后处于锁定状态时返回 true
+     */
+    boolean recordFailure(String username);
+
+    /**
+     * 清除失败计数并解除锁定
+     */
+    void reset(String username);
+}
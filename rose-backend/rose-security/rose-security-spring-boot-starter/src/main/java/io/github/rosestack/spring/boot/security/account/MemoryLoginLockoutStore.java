@@ -0,0 +1,96 @@
+package io.github.rosestack.spring.boot.security.account;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.time.Duration;
+
+/**
+ * 进程内登录失败计数，仅在单个节点内生效
+ *
+ * <p>计数缓存有最大容量并按冷却时间过期，大量不同用户名的失败登录不会使内存无限增长；超出容量时按访问频率淘汰，
+ * 频繁失败的用户名优先保留。
+ */
+public class MemoryLoginLockoutStore implements LoginLockoutStore {
+
+    private final int maxFailures;
+    private final long cooldownNanos;
+    private final Ticker ticker;
+    private final Cache<String, State> states;
+
+    public MemoryLoginLockoutStore(int maxFailures, Duration cooldown, long maxSize) {
+        this(maxFailures, cooldown, maxSize, Ticker.systemTicker());
+    }
+
+    MemoryLoginLockoutStore(int maxFailures, Duration cooldown, long maxSize, Ticker ticker) {
+        this.maxFailures = maxFailures;
+        this.cooldownNanos = cooldown.toNanos();
+        this.ticker = ticker;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .expireAfter(new StateExpiry())
+                .build();
+    }
+
+    @Override
+    public boolean isLocked(String username) {
+        State state = states.getIfPresent(username);
+        return state != null && state.failures >= maxFailures;
+    }
+
+    @Override
+    public boolean recordFailure(String username) {
+        State state = states.asMap().compute(username, (k, current) -> {
+            if (current != null && current.failures >= maxFailures) {
+                // 锁定期间不累加，也不延长锁定
+                return current;
+            }
+            int failures = current == null ? 1 : current.failures + 1;
+            return new State(failures, ticker.read() + cooldownNanos);
+        });
+        return state.failures >= maxFailures;
+    }
+
+    @Override
+    public void reset(String username) {
+        states.invalidate(username);
+    }
+
+    /**
+     * 当前记录的用户名数量
+     */
+    long size() {
+        states.cleanUp();
+        return states.estimatedSize();
+    }
+
+    private static final class State {
+        private final int failures;
+        private final long expiresAt;
+
+        private State(int failures, long expiresAt) {
+            this.failures = failures;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class StateExpiry implements Expiry<String, State> {
+
+        @Override
+        public long expireAfterCreate(String key, State value, long currentTime) {
+            return value.expiresAt - currentTime;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, State value, long currentTime, long currentDuration) {
+            return value.expiresAt - currentTime;
+        }
+
+        @Override
+        public long expireAfterRead(String key, State value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.rosestack.spring.boot.security.account;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Redis 登录失败计数，集群内各节点共享
+ *
+ * <p>每个用户名一个计数键 {@code {prefix}{username}}，计数达到上限即为锁定，累加与设置过期时间在一次 Lua 调用中原子完成。
+ */
+public class RedisLoginLockoutStore implements LoginLockoutStore {
+
+    /**
+     * KEYS[1] 计数键；ARGV[1] 最大失败次数，ARGV[2] 冷却毫秒数。返回记录后的失败次数
+     */
+    private static final RedisScript<Long> FAILURE_SCRIPT = new DefaultRedisScript<>(
+            """
+            local max = tonumber(ARGV[1])
+            local failures = tonumber(redis.call('GET', KEYS[1]) or '0')
+            if failures >= max then
+                return failures
+            end
+            failures = redis.call('INCR', KEYS[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return failures
+            """,
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final int maxFailures;
+    private final Duration cooldown;
+
+    public RedisLoginLockoutStore(
+            StringRedisTemplate redisTemplate, String keyPrefix, int maxFailures, Duration cooldown) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.maxFailures = maxFailures;
+        this.cooldown = cooldown;
+    }
+
+    @Override
+    public boolean isLocked(String username) {
+        String failures = redisTemplate.opsForValue().get(keyPrefix + username);
+        return failures != null && Long.parseLong(failures) >= maxFailures;
+    }
+
+    @Override
+    public boolean recordFailure(String username) {
+        Long failures = redisTemplate.execute(
+                FAILURE_SCRIPT,
+                List.of(keyPrefix + username),
+                String.valueOf(maxFailures),
+                String.valueOf(cooldown.toMillis()));
+        return failures != null && failures >= maxFailures;
+    }
+
+    @Override
+    public void reset(String username) {
+        redisTemplate.delete(keyPrefix + username);
+    }
+}
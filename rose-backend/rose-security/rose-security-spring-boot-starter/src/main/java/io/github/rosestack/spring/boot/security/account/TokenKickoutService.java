@@ -3,7 +3,9 @@ package io.github.rosestack.spring.boot.security.account;
 import io.github.rosestack.spring.boot.security.config.SecurityProperties;
 import io.github.rosestack.spring.boot.security.core.event.TokenRevokedEvent;
 import io.github.rosestack.spring.boot.security.core.token.TokenService;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import org.springframework.context.ApplicationEventPublisher;
 
@@ -51,10 +53,13 @@ public class TokenKickoutService {
         if (!isEnabled()) {
             return false;
         }
-        tokenService.findUserTokens(username).keySet().forEach(t -> {
-            tokenService.revoke(t);
-            if (publisher != null) publisher.publishEvent(new TokenRevokedEvent(username, t, true));
-        });
+        List<String> tokens =
+                new ArrayList<>(tokenService.findUserTokens(username).keySet());
+        // 递增用户代数，一次撤销全部令牌
+        tokenService.revokeAllForUser(username);
+        if (publisher != null) {
+            tokens.forEach(t -> publisher.publishEvent(new TokenRevokedEvent(username, t, true)));
+        }
         return true;
     }
 
@@ -77,13 +82,15 @@ public class TokenKickoutService {
                 .max(Comparator.comparingLong(Map.Entry::getValue))
                 .map(Map.Entry::getKey)
                 .orElse(currentToken);
-        String keep = currentToken != null ? currentToken : newest;
+        String keep = currentToken != null ? tokenService.tokenId(currentToken) : newest;
         int before = tokens.size();
-        // revoke others and publish
-        tokens.keySet().stream().filter(t -> !t.equals(keep)).forEach(t -> {
-            tokenService.revoke(t);
-            if (publisher != null) publisher.publishEvent(new TokenRevokedEvent(username, t, false));
-        });
+        // revoke others in one batch and publish
+        List<String> others =
+                tokens.keySet().stream().filter(t -> !t.equals(keep)).toList();
+        tokenService.revokeAll(others);
+        if (publisher != null) {
+            others.forEach(t -> publisher.publishEvent(new TokenRevokedEvent(username, t, false)));
+        }
         return Math.max(0, before - 1);
     }
 }
@@ -1,15 +1,23 @@
 package io.github.rosestack.spring.boot.security.config;
 
 import io.github.rosestack.spring.boot.security.account.LoginLockoutService;
+import io.github.rosestack.spring.boot.security.account.LoginLockoutStore;
+import io.github.rosestack.spring.boot.security.account.MemoryLoginLockoutStore;
+import io.github.rosestack.spring.boot.security.account.RedisLoginLockoutStore;
 import io.github.rosestack.spring.boot.security.account.TokenKickoutService;
 import io.github.rosestack.spring.boot.security.core.filter.LoginPreCheckFilter;
 import io.github.rosestack.spring.boot.security.core.token.TokenService;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 @ConditionalOnProperty(prefix = "rose.security.account", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Import(SecurityAccountConfig.RedisLoginLockoutConfiguration.class)
 public class SecurityAccountConfig {
     @Bean
     @ConditionalOnMissingBean
@@ -18,8 +26,20 @@ public class SecurityAccountConfig {
             name = "enabled",
             havingValue = "true",
             matchIfMissing = true)
-    public LoginLockoutService loginLockoutService(SecurityProperties props) {
-        return new LoginLockoutService(props);
+    public LoginLockoutService loginLockoutService(SecurityProperties props, LoginLockoutStore loginLockoutStore) {
+        return new LoginLockoutService(props, loginLockoutStore);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            prefix = "rose.security.account.login-lock",
+            name = "store",
+            havingValue = "MEMORY",
+            matchIfMissing = true)
+    public LoginLockoutStore memoryLoginLockoutStore(SecurityProperties props) {
+        SecurityProperties.Account.LoginLock loginLock = props.getAccount().getLoginLock();
+        return new MemoryLoginLockoutStore(loginLock.getMaxFailures(), loginLock.getCooldown(), loginLock.getMaxSize());
     }
 
     @Bean
@@ -30,7 +50,7 @@ public class SecurityAccountConfig {
             havingValue = "true",
             matchIfMissing = true)
     public LoginPreCheckFilter loginPreCheckFilter(
-		SecurityProperties props, ObjectProvider<LoginLockoutService> loginLockoutServiceProvider) {
+            SecurityProperties props, ObjectProvider<LoginLockoutService> loginLockoutServiceProvider) {
         return new LoginPreCheckFilter(props, loginLockoutServiceProvider);
     }
 
@@ -44,4 +64,18 @@ public class SecurityAccountConfig {
     public TokenKickoutService tokenKickoutService(TokenService tokenService, SecurityProperties props) {
         return new TokenKickoutService(tokenService, props);
     }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(StringRedisTemplate.class)
+    @ConditionalOnProperty(prefix = "rose.security.account.login-lock", name = "store", havingValue = "REDIS")
+    public static class RedisLoginLockoutConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public LoginLockoutStore redisLoginLockoutStore(SecurityProperties props, StringRedisTemplate redisTemplate) {
+            SecurityProperties.Account.LoginLock loginLock = props.getAccount().getLoginLock();
+            return new RedisLoginLockoutStore(
+                    redisTemplate, loginLock.getRedisKeyPrefix(), loginLock.getMaxFailures(), loginLock.getCooldown());
+        }
+    }
 }
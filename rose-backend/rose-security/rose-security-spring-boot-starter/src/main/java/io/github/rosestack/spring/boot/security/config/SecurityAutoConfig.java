@@ -11,11 +11,14 @@ import io.github.rosestack.spring.boot.security.core.filter.TokenAuthenticationF
 import io.github.rosestack.spring.boot.security.core.handler.LoginFailureHandler;
 import io.github.rosestack.spring.boot.security.core.handler.LoginSuccessHandler;
 import io.github.rosestack.spring.boot.security.core.handler.LogoutSuccessHandler;
+import io.github.rosestack.spring.boot.security.core.token.CachingTokenService;
 import io.github.rosestack.spring.boot.security.core.token.OpaqueTokenService;
+import io.github.rosestack.spring.boot.security.core.token.SignedTokenService;
+import io.github.rosestack.spring.boot.security.core.token.TokenGenerator;
 import io.github.rosestack.spring.boot.security.core.token.TokenService;
-import io.github.rosestack.spring.boot.security.protect.AccessListFilter;
-import io.github.rosestack.spring.boot.security.protect.RateLimitFilter;
-import io.github.rosestack.spring.boot.security.protect.ReplayFilter;
+import io.github.rosestack.spring.boot.security.core.token.TokenStore;
+import io.github.rosestack.spring.boot.security.core.token.TokenTenantResolver;
+import io.github.rosestack.spring.boot.security.protect.ProtectFilter;
 import java.io.File;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
@@ -45,7 +48,8 @@ import ua_parser.Parser;
 @Import({
     SecurityAutoConfig.RoseAuthenticationConfiguration.class,
     SecurityAccountConfig.class,
-    SecurityProtectConfig.class
+    SecurityProtectConfig.class,
+    SecurityTokenConfig.class
 })
 @ConditionalOnProperty(prefix = "rose.security", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class SecurityAutoConfig {
@@ -54,9 +58,7 @@ public class SecurityAutoConfig {
     };
 
     private final SecurityProperties props;
-    private final ObjectProvider<AccessListFilter> accessListFilterProvider;
-    private final ObjectProvider<ReplayFilter> replayFilterObjectProvider;
-    private final ObjectProvider<RateLimitFilter> rateLimitFilterObjectProvider;
+    private final ObjectProvider<ProtectFilter> protectFilterObjectProvider;
     private final ObjectProvider<LoginPreCheckFilter> loginPreCheckFilterObjectProvider;
 
     private final AuthenticationManager authenticationManager;
@@ -96,20 +98,12 @@ public class SecurityAutoConfig {
         http.addFilterBefore(loginAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(tokenAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
 
-        // Access list filter placed after TokenAuthenticationFilter to get username
-        if (accessListFilterProvider.getIfAvailable() != null) {
-            http.addFilterAfter(accessListFilterProvider.getIfAvailable(), UsernamePasswordAuthenticationFilter.class);
-        }
-
-        // Replay protection (before rate limit)
-        if (replayFilterObjectProvider.getIfAvailable() != null) {
+        // Access list, replay protection and rate limiting in one pass, after TokenAuthenticationFilter to get
+        // username.
+        // Requests outside basePath are covered by the servlet registration in SecurityProtectConfig
+        if (protectFilterObjectProvider.getIfAvailable() != null) {
             http.addFilterAfter(
-                    replayFilterObjectProvider.getIfAvailable(), UsernamePasswordAuthenticationFilter.class);
-        }
-        // Rate limiting
-        if (rateLimitFilterObjectProvider.getIfAvailable() != null) {
-            http.addFilterAfter(
-                    rateLimitFilterObjectProvider.getIfAvailable(), UsernamePasswordAuthenticationFilter.class);
+                    protectFilterObjectProvider.getIfAvailable(), UsernamePasswordAuthenticationFilter.class);
         }
 
         return http.build();
@@ -151,6 +145,7 @@ public class SecurityAutoConfig {
         private final ApplicationEventPublisher eventPublisher;
         private final ObjectProvider<LoginLockoutService> loginLockoutServiceProvider;
         private final ObjectProvider<TokenKickoutService> tokenKickoutServiceProvider;
+        private final ObjectProvider<TokenTenantResolver> tokenTenantResolverProvider;
 
         @Bean
         @ConditionalOnMissingBean
@@ -165,9 +160,14 @@ public class SecurityAutoConfig {
         }
 
         @Bean
-        public LoginSuccessHandler loginSuccessHandler(TokenService tokenService) {
+        public LoginSuccessHandler loginSuccessHandler(TokenService tokenService, SecurityProperties props) {
             return new LoginSuccessHandler(
-                    tokenService, loginLockoutServiceProvider, tokenKickoutServiceProvider, eventPublisher);
+                    tokenService,
+                    props,
+                    loginLockoutServiceProvider,
+                    tokenKickoutServiceProvider,
+                    tokenTenantResolverProvider,
+                    eventPublisher);
         }
 
         @Bean
@@ -187,8 +187,26 @@ public class SecurityAutoConfig {
                 name = "type",
                 havingValue = "LOCAL",
                 matchIfMissing = true)
-        public TokenService opaqueTokenService(SecurityProperties props) {
-            return new OpaqueTokenService(props);
+        public TokenService opaqueTokenService(
+                SecurityProperties props, TokenStore tokenStore, TokenGenerator tokenGenerator) {
+            return cached(props, new OpaqueTokenService(props, tokenStore, tokenGenerator), tokenStore);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(TokenService.class)
+        @ConditionalOnProperty(prefix = "rose.security.token", name = "type", havingValue = "SIGNED")
+        public TokenService signedTokenService(SecurityProperties props, TokenStore tokenStore) {
+            return cached(props, new SignedTokenService(props, tokenStore), tokenStore);
+        }
+
+        private static TokenService cached(SecurityProperties props, TokenService tokenService, TokenStore tokenStore) {
+            SecurityProperties.Token.AuthenticationCache cache =
+                    props.getToken().getAuthenticationCache();
+            // 共享存储未订阅撤销通知时，其他节点的撤销无法清除本地缓存
+            if (!cache.isEnabled() || !tokenStore.notifiesRevocation()) {
+                return tokenService;
+            }
+            return new CachingTokenService(tokenService, tokenStore, cache.getMaxSize(), cache.getTtl());
         }
     }
 }
@@ -51,7 +51,7 @@ public class SecurityProperties {
     @Setter
     public static class Token {
         /**
-         * Token 类型：LOCAL 或 JWT（默认 LOCAL）
+         * Token 类型：LOCAL、SIGNED 或 JWT（默认 LOCAL）
          */
         private String type = "LOCAL";
 
@@ -60,11 +60,26 @@ public class SecurityProperties {
          */
         private String header = "X-Auth-Token";
 
+        /**
+         * 登录请求中读取客户端的 Header 名称，用于按客户端索引令牌（默认 X-Client-Id）
+         */
+        private String clientHeader = "X-Client-Id";
+
+        /**
+         * 允许的客户端标识，不在列表中的客户端不建立索引（默认为空，不按客户端索引）
+         */
+        private String[] allowedClients = {};
+
         /**
          * 过期时间（默认 PT2H）
          */
         private Duration ttl = Duration.ofHours(2);
 
+        /**
+         * 不透明令牌的随机位数：128 或 256（默认 128）
+         */
+        private int randomBits = 128;
+
         /**
          * 存储方式：MEMORY 或 REDIS（默认 MEMORY）
          */
@@ -74,6 +89,78 @@ public class SecurityProperties {
          * Redis Key 前缀（默认 rose:sec:token:）
          */
         private String redisKeyPrefix = "rose:sec:token:";
+
+        /**
+         * 本地近缓存配置（仅 REDIS 存储生效）
+         */
+        private final NearCache nearCache = new NearCache();
+
+        /**
+         * 签名令牌配置（仅 SIGNED 类型生效）
+         */
+        private final Signed signed = new Signed();
+
+        /**
+         * 认证信息缓存配置
+         */
+        private final AuthenticationCache authenticationCache = new AuthenticationCache();
+
+        @Getter
+        @Setter
+        public static class NearCache {
+            /**
+             * 是否启用本地近缓存（默认 true）
+             */
+            private boolean enabled = true;
+
+            /**
+             * 本地缓存最大令牌数（默认 10000）
+             */
+            private long maxSize = 10_000;
+
+            /**
+             * 本地缓存过期时间，超过令牌有效期时按令牌有效期（默认 PT5M）
+             */
+            private Duration ttl = Duration.ofMinutes(5);
+
+            /**
+             * 撤销通知频道（默认 rose:sec:token:revoked）
+             */
+            private String channel = "rose:sec:token:revoked";
+        }
+
+        @Getter
+        @Setter
+        public static class Signed {
+            /**
+             * HMAC-SHA256 签名密钥，至少 32 字节
+             */
+            private String secret;
+
+            /**
+             * 从令牌存储重新加载撤销记录和用户代数的间隔，同时清除本地过期的撤销记录；撤销通知丢失时最迟在间隔后生效（默认 PT30S）
+             */
+            private Duration refreshInterval = Duration.ofSeconds(30);
+        }
+
+        @Getter
+        @Setter
+        public static class AuthenticationCache {
+            /**
+             * 是否缓存令牌解析出的认证信息（默认 true）。Redis 存储关闭近缓存时没有撤销通知，不缓存
+             */
+            private boolean enabled = true;
+
+            /**
+             * 最大缓存令牌数（默认 10000）
+             */
+            private long maxSize = 10_000;
+
+            /**
+             * 缓存过期时间，超过令牌有效期时按令牌有效期（默认 PT1M）
+             */
+            private Duration ttl = Duration.ofMinutes(1);
+        }
     }
 
     @Getter
@@ -95,6 +182,11 @@ public class SecurityProperties {
              */
             private String combine = "ANY";
 
+            /**
+             * 生效路径（支持通配符），为空时对所有受保护请求生效
+             */
+            private String[] paths = new String[] {};
+
             /**
              * 存储方式：MEMORY/REDIS（默认 MEMORY）
              */
@@ -141,6 +233,22 @@ public class SecurityProperties {
              * 窗口大小（默认 PT1M）
              */
             private Duration window = Duration.ofMinutes(1);
+            /**
+             * 生效路径（支持通配符），为空时对所有受保护请求生效
+             */
+            private String[] paths = new String[] {};
+            /**
+             * 计数存储：MEMORY/REDIS（默认 MEMORY），MEMORY 仅限制单个节点
+             */
+            private String store = "MEMORY";
+            /**
+             * Redis Key 前缀（默认 rose:sec:rate-limit:）
+             */
+            private String redisKeyPrefix = "rose:sec:rate-limit:";
+            /**
+             * REDIS 存储时每次预取的许可数，大于 1 时热点 key 每 prefetch 个请求访问一次 Redis（默认 1，不预取）
+             */
+            private int prefetch = 1;
         }
 
         @Getter
@@ -151,9 +259,13 @@ public class SecurityProperties {
              */
             private boolean enabled = false;
             /**
-             * 时间窗（默认 PT5M）
+             * 时间窗（默认 PT5M），请求时间戳与服务器时间相差超过时间窗即拒绝
              */
             private Duration window = Duration.ofMinutes(5);
+            /**
+             * 生效路径（支持通配符），为空时对所有受保护请求生效
+             */
+            private String[] paths = new String[] {};
             /**
              * Nonce 头名称（默认 X-Nonce）
              */
@@ -162,6 +274,14 @@ public class SecurityProperties {
              * 时间戳头名称（默认 X-Timestamp，epoch seconds）
              */
             private String timestampHeader = "X-Timestamp";
+            /**
+             * Nonce 存储：MEMORY/REDIS（默认 MEMORY），MEMORY 仅在单个节点内防重放
+             */
+            private String store = "MEMORY";
+            /**
+             * Redis Key 前缀（默认 rose:sec:nonce:）
+             */
+            private String redisKeyPrefix = "rose:sec:nonce:";
         }
     }
 
@@ -182,9 +302,21 @@ public class SecurityProperties {
              */
             private int maxFailures = 5;
             /**
-             * 冷却时间（默认 PT15M）
+             * 冷却时间（默认 PT15M），失败计数在最后一次失败后经过冷却时间清零，锁定在冷却时间后解除
              */
             private Duration cooldown = Duration.ofMinutes(15);
+            /**
+             * 计数存储：MEMORY/REDIS（默认 MEMORY），MEMORY 仅在单个节点内生效
+             */
+            private String store = "MEMORY";
+            /**
+             * Redis Key 前缀（默认 rose:sec:login-lock:）
+             */
+            private String redisKeyPrefix = "rose:sec:login-lock:";
+            /**
+             * MEMORY 存储最多记录的用户名数量（默认 100000）
+             */
+            private long maxSize = 100_000;
         }
 
         @Getter
@@ -1,12 +1,19 @@
 package io.github.rosestack.spring.boot.security.config;
 
 import io.github.rosestack.spring.boot.security.protect.*;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 @ConditionalOnProperty(prefix = "rose.security.protect", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Import({SecurityProtectConfig.RedisRateLimitConfiguration.class, SecurityProtectConfig.RedisNonceConfiguration.class})
 public class SecurityProtectConfig {
 
     @Bean
@@ -27,10 +34,9 @@ public class SecurityProtectConfig {
             name = "enabled",
             havingValue = "true",
             matchIfMissing = true)
-    AccessListFilter accessListFilter(
-		SecurityProperties props, ObjectProvider<AccessListStore> accessListStoreProvider) {
-        AccessListMatcher matcher = new AccessListMatcher(accessListStoreProvider, props);
-        return new AccessListFilter(matcher, props);
+    public AccessListMatcher accessListMatcher(
+            SecurityProperties props, ObjectProvider<AccessListStore> accessListStoreProvider) {
+        return new AccessListMatcher(accessListStoreProvider, props);
     }
 
     @Bean
@@ -40,8 +46,19 @@ public class SecurityProtectConfig {
             name = "enabled",
             havingValue = "true",
             matchIfMissing = true)
-    public ReplayFilter replayFilter(SecurityProperties props) {
-        return new ReplayFilter(new ReplayProtection(props), props);
+    public ReplayProtection replayProtection(SecurityProperties props, NonceStore nonceStore) {
+        return new ReplayProtection(props, nonceStore);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            prefix = "rose.security.protect.replay",
+            name = "store",
+            havingValue = "MEMORY",
+            matchIfMissing = true)
+    public NonceStore memoryNonceStore(SecurityProperties props) {
+        return new MemoryNonceStore(props.getProtect().getReplay().getWindow());
     }
 
     @Bean
@@ -51,7 +68,77 @@ public class SecurityProtectConfig {
             name = "enabled",
             havingValue = "true",
             matchIfMissing = true)
-    public RateLimitFilter rateLimitFilter(SecurityProperties props) {
-        return new RateLimitFilter(new RateLimiter(props), props);
+    public RateLimiter rateLimiter(SecurityProperties props, RateLimitCounter rateLimitCounter) {
+        return new RateLimiter(props, rateLimitCounter);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProtectFilter protectFilter(
+            SecurityProperties props,
+            ObjectProvider<AccessListMatcher> accessListMatcherProvider,
+            ObjectProvider<ReplayProtection> replayProtectionProvider,
+            ObjectProvider<RateLimiter> rateLimiterProvider) {
+        return new ProtectFilter(
+                props,
+                accessListMatcherProvider.getIfAvailable(),
+                replayProtectionProvider.getIfAvailable(),
+                rateLimiterProvider.getIfAvailable());
+    }
+
+    /**
+     * 防护过滤器同时注册到 Servlet 容器，排在安全过滤器链之后，覆盖 basePath 之外的请求。basePath 内的请求已在安全过滤器链中
+     * 认证之后执行过，按 {@link org.springframework.web.filter.OncePerRequestFilter} 的标记跳过
+     */
+    @Bean
+    public FilterRegistrationBean<ProtectFilter> protectFilterRegistration(ProtectFilter protectFilter) {
+        FilterRegistrationBean<ProtectFilter> registration = new FilterRegistrationBean<>(protectFilter);
+        registration.setDispatcherTypes(DispatcherType.REQUEST);
+        registration.setOrder(
+                org.springframework.boot.autoconfigure.security.SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            prefix = "rose.security.protect.rate-limit",
+            name = "store",
+            havingValue = "MEMORY",
+            matchIfMissing = true)
+    public RateLimitCounter localRateLimitCounter(SecurityProperties props) {
+        SecurityProperties.Protect.RateLimit rateLimit = props.getProtect().getRateLimit();
+        return new LocalRateLimitCounter(rateLimit.getLimit(), rateLimit.getWindow());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(StringRedisTemplate.class)
+    @ConditionalOnProperty(prefix = "rose.security.protect.rate-limit", name = "store", havingValue = "REDIS")
+    public static class RedisRateLimitConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RateLimitCounter redisRateLimitCounter(SecurityProperties props, StringRedisTemplate redisTemplate) {
+            SecurityProperties.Protect.RateLimit rateLimit = props.getProtect().getRateLimit();
+            return new RedisRateLimitCounter(
+                    redisTemplate,
+                    rateLimit.getRedisKeyPrefix(),
+                    rateLimit.getLimit(),
+                    rateLimit.getWindow(),
+                    rateLimit.getPrefetch());
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(StringRedisTemplate.class)
+    @ConditionalOnProperty(prefix = "rose.security.protect.replay", name = "store", havingValue = "REDIS")
+    public static class RedisNonceConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public NonceStore redisNonceStore(SecurityProperties props, StringRedisTemplate redisTemplate) {
+            return new RedisNonceStore(
+                    redisTemplate, props.getProtect().getReplay().getRedisKeyPrefix());
+        }
     }
 }
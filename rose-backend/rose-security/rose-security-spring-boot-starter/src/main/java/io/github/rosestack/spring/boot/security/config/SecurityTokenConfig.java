@@ -0,0 +1,87 @@
+package io.github.rosestack.spring.boot.security.config;
+
+import io.github.rosestack.spring.boot.security.core.token.MemoryTokenStore;
+import io.github.rosestack.spring.boot.security.core.token.NearCacheTokenStore;
+import io.github.rosestack.spring.boot.security.core.token.RedisTokenStore;
+import io.github.rosestack.spring.boot.security.core.token.SecureRandomTokenGenerator;
+import io.github.rosestack.spring.boot.security.core.token.TokenGenerator;
+import io.github.rosestack.spring.boot.security.core.token.TokenStore;
+import java.time.Duration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Import(SecurityTokenConfig.RedisTokenStoreConfiguration.class)
+public class SecurityTokenConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenGenerator tokenGenerator(SecurityProperties props) {
+        return new SecureRandomTokenGenerator(props.getToken().getRandomBits());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            prefix = "rose.security.token",
+            name = "store",
+            havingValue = "MEMORY",
+            matchIfMissing = true)
+    public TokenStore memoryTokenStore(SecurityProperties props) {
+        return new MemoryTokenStore(props.getToken().getTtl());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(StringRedisTemplate.class)
+    @ConditionalOnProperty(prefix = "rose.security.token", name = "store", havingValue = "REDIS")
+    public static class RedisTokenStoreConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "rose.security.token.near-cache", name = "enabled", havingValue = "false")
+        public TokenStore redisTokenStore(SecurityProperties props, StringRedisTemplate redisTemplate) {
+            SecurityProperties.Token token = props.getToken();
+            return new RedisTokenStore(redisTemplate, token.getRedisKeyPrefix(), token.getTtl());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(TokenStore.class)
+        @ConditionalOnProperty(
+                prefix = "rose.security.token.near-cache",
+                name = "enabled",
+                havingValue = "true",
+                matchIfMissing = true)
+        public NearCacheTokenStore nearCacheTokenStore(SecurityProperties props, StringRedisTemplate redisTemplate) {
+            SecurityProperties.Token token = props.getToken();
+            SecurityProperties.Token.NearCache near = token.getNearCache();
+            Duration expireAfterWrite = near.getTtl().compareTo(token.getTtl()) < 0 ? near.getTtl() : token.getTtl();
+            return new NearCacheTokenStore(
+                    new RedisTokenStore(redisTemplate, token.getRedisKeyPrefix(), token.getTtl()),
+                    redisTemplate,
+                    near.getChannel(),
+                    near.getMaxSize(),
+                    expireAfterWrite);
+        }
+
+        /**
+         * 仅在存在近缓存存储时创建，订阅其撤销通知
+         */
+        @Bean
+        @ConditionalOnBean(NearCacheTokenStore.class)
+        public RedisMessageListenerContainer tokenRevocationListenerContainer(
+                RedisConnectionFactory redisConnectionFactory, NearCacheTokenStore nearCacheTokenStore) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(redisConnectionFactory);
+            container.addMessageListener(nearCacheTokenStore, new ChannelTopic(nearCacheTokenStore.getChannel()));
+            return container;
+        }
+    }
+}
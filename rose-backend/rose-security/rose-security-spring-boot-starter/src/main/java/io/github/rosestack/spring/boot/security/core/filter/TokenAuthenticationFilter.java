@@ -7,9 +7,6 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Optional;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -29,12 +26,8 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
         String header = properties.getToken().getHeader();
         String token = request.getHeader(header);
         if (token != null && !token.isEmpty()) {
-            Optional<String> username = tokenService.resolveUsername(token);
-            if (username.isPresent()) {
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        username.get(), null, AuthorityUtils.createAuthorityList("ROLE_USER"));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+            tokenService.resolveAuthentication(token).ifPresent(authentication -> SecurityContextHolder.getContext()
+                    .setAuthentication(authentication));
         }
         filterChain.doFilter(request, response);
     }
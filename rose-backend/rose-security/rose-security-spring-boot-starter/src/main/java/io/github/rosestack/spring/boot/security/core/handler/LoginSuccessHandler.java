@@ -4,14 +4,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.rosestack.core.util.ApiResponse;
 import io.github.rosestack.spring.boot.security.account.LoginLockoutService;
 import io.github.rosestack.spring.boot.security.account.TokenKickoutService;
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
 import io.github.rosestack.spring.boot.security.core.event.TokenIssuedEvent;
 import io.github.rosestack.spring.boot.security.core.model.AuthModels.AuthResponse;
 import io.github.rosestack.spring.boot.security.core.token.TokenService;
+import io.github.rosestack.spring.boot.security.core.token.TokenTenantResolver;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Set;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
@@ -22,18 +25,26 @@ public class LoginSuccessHandler implements AuthenticationSuccessHandler {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final TokenService tokenService;
+    private final SecurityProperties props;
     private final LoginLockoutService lockoutService;
     private final TokenKickoutService tokenKickoutService;
+    private final TokenTenantResolver tokenTenantResolver;
+    private final Set<String> allowedClients;
     private final ApplicationEventPublisher publisher;
 
     public LoginSuccessHandler(
             TokenService tokenService,
+            SecurityProperties props,
             ObjectProvider<LoginLockoutService> loginLockoutServiceProvider,
             ObjectProvider<TokenKickoutService> tokenKickoutServiceProvider,
+            ObjectProvider<TokenTenantResolver> tokenTenantResolverProvider,
             ApplicationEventPublisher publisher) {
         this.tokenService = tokenService;
+        this.props = props;
         this.lockoutService = loginLockoutServiceProvider.getIfAvailable();
         this.tokenKickoutService = tokenKickoutServiceProvider.getIfAvailable();
+        this.tokenTenantResolver = tokenTenantResolverProvider.getIfAvailable();
+        this.allowedClients = Set.of(props.getToken().getAllowedClients());
         this.publisher = publisher;
     }
 
@@ -45,7 +56,11 @@ public class LoginSuccessHandler implements AuthenticationSuccessHandler {
         if (lockoutService != null) {
             lockoutService.onSuccess(username);
         }
-        String token = tokenService.issue(username);
+        String tenant = tokenTenantResolver != null ? tokenTenantResolver.resolveTenant(authentication) : null;
+        // 客户端标识来自请求头，只接受白名单中的值
+        String client = request.getHeader(props.getToken().getClientHeader());
+        String token = tokenService.issue(
+                authentication, tenant, client != null && allowedClients.contains(client) ? client : null);
         if (publisher != null) {
             publisher.publishEvent(new TokenIssuedEvent(authentication, token));
         }
@@ -0,0 +1,143 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.Authentication;
+
+/**
+ * 缓存令牌解析结果的令牌服务
+ *
+ * <p>同一令牌的后续请求直接复用已解析的认证信息，不再重复查询存储和创建认证对象。缓存以令牌标识为键，与令牌存储的撤销通知一致。撤销、踢出和登出都经由
+ * {@link TokenService} 的撤销方法，在此清除对应缓存；其他节点的撤销通过 {@link TokenStore#addRevocationListener} 和 {@link TokenStore#addRevokedListener} 清除，
+ * 其他节点的用户代数递增通过 {@link TokenStore#addGenerationListener} 按用户清除，只处理按用户索引的缓存键，不遍历整个缓存。缓存过期时间不超过令牌有效期。
+ * 令牌存储必须支持撤销通知（{@link TokenStore#notifiesRevocation()}），否则其他节点撤销后本节点仍会返回缓存的结果。
+ */
+public class CachingTokenService implements TokenService, DisposableBean {
+
+    private final TokenService delegate;
+    private final Cache<String, Authentication> authentications;
+    private final UserKeys userTokens = new UserKeys();
+
+    /**
+     * @param delegate         实际的令牌服务
+     * @param tokenStore       令牌存储，用于接收其他节点的撤销
+     * @param maxSize          最大缓存令牌数
+     * @param expireAfterWrite 缓存过期时间
+     * @throws IllegalArgumentException 令牌存储不支持撤销通知
+     */
+    public CachingTokenService(TokenService delegate, TokenStore tokenStore, long maxSize, Duration expireAfterWrite) {
+        if (!tokenStore.notifiesRevocation()) {
+            throw new IllegalArgumentException(
+                    "令牌存储不支持撤销通知，不能缓存认证信息: " + tokenStore.getClass().getName());
+        }
+        this.delegate = delegate;
+        Duration tokenTtl = Duration.ofSeconds(delegate.getExpiresInSeconds());
+        this.authentications = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite.compareTo(tokenTtl) < 0 ? expireAfterWrite : tokenTtl)
+                .executor(Runnable::run)
+                .<String, Authentication>removalListener((id, authentication, cause) ->
+                        userTokens.onRemoval(id, authentication != null ? authentication.getName() : null, cause))
+                .build();
+        tokenStore.addRevocationListener(authentications::invalidate);
+        tokenStore.addGenerationListener(this::invalidateUser);
+        tokenStore.addRevokedListener(revokedIds -> authentications.invalidateAll(revokedIds.keySet()));
+    }
+
+    @Override
+    public String issue(String username) {
+        return delegate.issue(username);
+    }
+
+    @Override
+    public String issue(Authentication authentication) {
+        return delegate.issue(authentication);
+    }
+
+    @Override
+    public String issue(Authentication authentication, String tenant, String client) {
+        return delegate.issue(authentication, tenant, client);
+    }
+
+    @Override
+    public Optional<String> resolveUsername(String token) {
+        Authentication authentication = authentications.getIfPresent(delegate.tokenId(token));
+        return authentication != null ? Optional.of(authentication.getName()) : delegate.resolveUsername(token);
+    }
+
+    @Override
+    public Optional<Authentication> resolveAuthentication(String token) {
+        // 未命中时在缓存内加载，与撤销时的清除互斥，撤销后不会再写入旧结果；解析失败不缓存
+        return Optional.ofNullable(
+                authentications.get(delegate.tokenId(token), id -> delegate.resolveAuthentication(token)
+                        .map(authentication -> {
+                            userTokens.add(authentication.getName(), id);
+                            return authentication;
+                        })
+                        .orElse(null)));
+    }
+
+    @Override
+    public boolean revoke(String token) {
+        boolean revoked = delegate.revoke(token);
+        authentications.invalidate(delegate.tokenId(token));
+        return revoked;
+    }
+
+    @Override
+    public long getExpiresInSeconds() {
+        return delegate.getExpiresInSeconds();
+    }
+
+    @Override
+    public void revokeAllForUser(String username) {
+        delegate.revokeAllForUser(username);
+        invalidateUser(username);
+    }
+
+    @Override
+    public int revokeOthers(String username, String exceptToken) {
+        List<String> tokens = new ArrayList<>(delegate.findUserTokens(username).keySet());
+        if (exceptToken != null) {
+            tokens.remove(delegate.tokenId(exceptToken));
+        }
+        int count = delegate.revokeOthers(username, exceptToken);
+        authentications.invalidateAll(tokens);
+        return count;
+    }
+
+    @Override
+    public String tokenId(String token) {
+        return delegate.tokenId(token);
+    }
+
+    @Override
+    public int revokeAll(Collection<String> tokens) {
+        int count = delegate.revokeAll(tokens);
+        authentications.invalidateAll(tokens);
+        return count;
+    }
+
+    @Override
+    public Map<String, Long> findTokens(TokenIndex index, String key) {
+        return delegate.findTokens(index, key);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
+    private void invalidateUser(String username) {
+        authentications.invalidateAll(userTokens.removeUser(username));
+    }
+}
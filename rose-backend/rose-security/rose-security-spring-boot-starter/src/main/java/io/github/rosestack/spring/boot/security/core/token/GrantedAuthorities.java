@@ -0,0 +1,34 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * 权限列表驻留池
+ *
+ * <p>同一组权限名称共享同一个不可变的权限列表，解析令牌时不再为每个请求创建权限对象。权限组合数量有限，池大小有上限以防异常输入。
+ */
+public final class GrantedAuthorities {
+
+    private static final Cache<List<String>, List<GrantedAuthority>> POOL =
+            Caffeine.newBuilder().maximumSize(1024).build();
+
+    private GrantedAuthorities() {}
+
+    /**
+     * 返回权限名称对应的共享权限列表，顺序与入参一致
+     */
+    public static List<GrantedAuthority> of(List<String> authorities) {
+        List<GrantedAuthority> shared = POOL.getIfPresent(authorities);
+        if (shared == null) {
+            // 仅在首次出现时复制作为 key，避免调用方修改入参影响驻留池
+            shared = POOL.get(List.copyOf(authorities), names -> names.stream()
+                    .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                    .toList());
+        }
+        return shared;
+    }
+}
@@ -0,0 +1,189 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程内令牌存储，仅适用于单节点部署
+ *
+ * <p>令牌过期淘汰时同步从索引中移除，租户、客户端等长期活跃的索引不会累积已过期的令牌。
+ */
+public class MemoryTokenStore implements TokenStore {
+
+    private final Duration ttl;
+    private final Cache<String, Entry> tokens;
+    private final Map<TokenIndex, Cache<String, Map<String, Long>>> indexes = new EnumMap<>(TokenIndex.class);
+    private final Cache<String, Long> generations;
+
+    /**
+     * 令牌ID → 令牌过期时间（epoch 秒）。令牌有效期不超过 TTL，撤销记录保留 TTL 即可
+     */
+    private final Cache<String, Long> revokedIds;
+
+    public MemoryTokenStore(Duration ttl) {
+        this.ttl = ttl;
+        this.tokens = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .<String, Entry>evictionListener((token, entry, cause) -> {
+                    if (token != null && entry != null) {
+                        unindex(entry, Set.of(token));
+                    }
+                })
+                .build();
+        for (TokenIndex index : TokenIndex.values()) {
+            indexes.put(index, Caffeine.newBuilder().expireAfterWrite(ttl).build());
+        }
+        // 每次签发时续期，代数保留到该用户的令牌全部过期
+        this.generations = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+        this.revokedIds = Caffeine.newBuilder().expireAfterWrite(ttl).build();
+    }
+
+    @Override
+    public void save(String token, TokenSubject subject, long issuedAt) {
+        long generation = touchGeneration(subject.username());
+        tokens.put(token, new Entry(subject, generation));
+        for (TokenIndex index : TokenIndex.values()) {
+            String key = index.keyOf(subject);
+            if (key != null) {
+                indexes.get(index).asMap().compute(key, (k, map) -> {
+                    Map<String, Long> m = (map == null ? new ConcurrentHashMap<>() : map);
+                    m.put(token, issuedAt);
+                    return m;
+                });
+            }
+        }
+    }
+
+    @Override
+    public Optional<String> findUsername(String token) {
+        Entry entry = tokens.getIfPresent(token);
+        if (entry == null || entry.generation < currentGeneration(entry.subject.username())) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.subject.username());
+    }
+
+    @Override
+    public Optional<String> remove(String token) {
+        Entry existed = tokens.asMap().remove(token);
+        if (existed == null) {
+            return Optional.empty();
+        }
+        unindex(existed, Set.of(token));
+        return Optional.of(existed.subject.username());
+    }
+
+    @Override
+    public int removeAll(Collection<String> tokens) {
+        Map<String, Entry> existed = this.tokens.getAllPresent(tokens);
+        this.tokens.invalidateAll(existed.keySet());
+        // 按索引键分组，每个索引键只更新一次
+        for (TokenIndex index : TokenIndex.values()) {
+            Map<String, Set<String>> grouped = new HashMap<>();
+            existed.forEach((token, entry) -> {
+                String key = index.keyOf(entry.subject);
+                if (key != null) {
+                    grouped.computeIfAbsent(key, k -> new HashSet<>()).add(token);
+                }
+            });
+            grouped.forEach((key, removed) -> removeFromIndex(index, key, removed));
+        }
+        return existed.size();
+    }
+
+    @Override
+    public Map<String, Long> findTokens(TokenIndex index, String key) {
+        Map<String, Long> m = indexes.get(index).getIfPresent(key);
+        if (m == null) {
+            return Collections.emptyMap();
+        }
+        // 返回副本，调用方据此批量删除时不受索引变化影响；尚未淘汰的过期令牌按签发时间过滤
+        long expiredBefore = System.currentTimeMillis() - ttl.toMillis();
+        Map<String, Long> tokens = new HashMap<>(m.size());
+        m.forEach((token, issuedAt) -> {
+            if (issuedAt > expiredBefore) {
+                tokens.put(token, issuedAt);
+            }
+        });
+        return tokens;
+    }
+
+    @Override
+    public int addRevoked(Map<String, Long> revokedIds) {
+        int added = 0;
+        for (String tokenId : revokedIds.keySet()) {
+            if (this.revokedIds.asMap().putIfAbsent(tokenId, revokedIds.get(tokenId)) == null) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public Map<String, Long> findRevoked() {
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        Map<String, Long> revoked = new HashMap<>();
+        revokedIds.asMap().forEach((tokenId, expiresAt) -> {
+            if (expiresAt > nowSeconds) {
+                revoked.put(tokenId, expiresAt);
+            }
+        });
+        return revoked;
+    }
+
+    @Override
+    public Map<String, Long> findGenerations() {
+        return new HashMap<>(generations.asMap());
+    }
+
+    @Override
+    public boolean notifiesRevocation() {
+        return true;
+    }
+
+    @Override
+    public long currentGeneration(String username) {
+        Long generation = generations.getIfPresent(username);
+        return generation == null ? 0 : generation;
+    }
+
+    @Override
+    public long nextGeneration(String username) {
+        long generation = generations.asMap().merge(username, 1L, Long::sum);
+        indexes.get(TokenIndex.USER).invalidate(username);
+        return generation;
+    }
+
+    private long touchGeneration(String username) {
+        Long generation = generations.asMap().computeIfPresent(username, (u, g) -> g);
+        return generation == null ? 0 : generation;
+    }
+
+    private void unindex(Entry entry, Set<String> removed) {
+        for (TokenIndex index : TokenIndex.values()) {
+            String key = index.keyOf(entry.subject);
+            if (key != null) {
+                removeFromIndex(index, key, removed);
+            }
+        }
+    }
+
+    private void removeFromIndex(TokenIndex index, String key, Set<String> removed) {
+        indexes.get(index).asMap().computeIfPresent(key, (k, m) -> {
+            m.keySet().removeAll(removed);
+            return m.isEmpty() ? null : m;
+        });
+    }
+
+    private record Entry(TokenSubject subject, long generation) {}
+}
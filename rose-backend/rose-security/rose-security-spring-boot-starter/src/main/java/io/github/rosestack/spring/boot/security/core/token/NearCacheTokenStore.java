@@ -0,0 +1,233 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 带本地近缓存的令牌存储
+ *
+ * <p>在共享存储之上叠加一层有界的进程内缓存，令牌校验命中时不访问网络。撤销令牌时通过 Redis 发布/订阅广播令牌，
+ * 集群内各节点收到后清除本地缓存；本地缓存的过期时间同时限制了通知丢失时已撤销令牌的最长可用时间。
+ *
+ * <p>用户代数同样缓存在本地。通知消息格式：{@code t:} 加换行分隔的令牌标识表示批量撤销，{@code u:} 加用户名表示代数递增，
+ * 收到后清除该用户的全部本地令牌和代数，{@code r:} 加换行分隔的 {@code 令牌ID 过期时间} 表示新增撤销记录。
+ * 不带前缀的消息按单个令牌标识处理，兼容旧版本节点。消息中只有令牌标识（摘要或签名令牌ID），不含可直接使用的令牌。
+ */
+@Slf4j
+public class NearCacheTokenStore implements TokenStore, MessageListener {
+
+    private static final String TOKENS_PREFIX = "t:";
+    private static final String USER_PREFIX = "u:";
+    private static final String REVOKED_IDS_PREFIX = "r:";
+
+    private final TokenStore delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final Cache<String, String> localCache;
+    private final Cache<String, Long> localGenerations;
+    private final UserKeys userTokens = new UserKeys();
+    private final List<Consumer<String>> revocationListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<String>> generationListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Map<String, Long>>> revokedListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param delegate         共享令牌存储
+     * @param redisTemplate    用于发布撤销通知的 Redis 操作模板
+     * @param channel          撤销通知频道
+     * @param maxSize          本地缓存最大令牌数
+     * @param expireAfterWrite 本地缓存过期时间，不应超过令牌有效期
+     */
+    public NearCacheTokenStore(
+            TokenStore delegate,
+            StringRedisTemplate redisTemplate,
+            String channel,
+            long maxSize,
+            Duration expireAfterWrite) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(Runnable::run)
+                .removalListener(userTokens::onRemoval)
+                .build();
+        this.localGenerations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    @Override
+    public void save(String token, TokenSubject subject, long issuedAt) {
+        delegate.save(token, subject, issuedAt);
+        cache(token, subject.username());
+    }
+
+    @Override
+    public Optional<String> findUsername(String token) {
+        String username = localCache.getIfPresent(token);
+        if (username != null) {
+            return Optional.of(username);
+        }
+        // 不缓存未命中，其他节点新签发的令牌可以立即生效
+        Optional<String> resolved = delegate.findUsername(token);
+        resolved.ifPresent(u -> cache(token, u));
+        return resolved;
+    }
+
+    @Override
+    public Optional<String> remove(String token) {
+        Optional<String> removed = delegate.remove(token);
+        localCache.invalidate(token);
+        if (removed.isPresent()) {
+            publish(token);
+        }
+        return removed;
+    }
+
+    @Override
+    public int removeAll(Collection<String> tokens) {
+        int count = delegate.removeAll(tokens);
+        localCache.invalidateAll(tokens);
+        if (count > 0) {
+            // 一条消息通知全部令牌
+            publish(TOKENS_PREFIX + String.join("\n", tokens));
+        }
+        return count;
+    }
+
+    @Override
+    public Map<String, Long> findTokens(TokenIndex index, String key) {
+        return delegate.findTokens(index, key);
+    }
+
+    @Override
+    public int addRevoked(Map<String, Long> revokedIds) {
+        int count = delegate.addRevoked(revokedIds);
+        if (!revokedIds.isEmpty()) {
+            StringJoiner message = new StringJoiner("\n", REVOKED_IDS_PREFIX, "");
+            revokedIds.forEach((tokenId, expiresAt) -> message.add(tokenId + " " + expiresAt));
+            publish(message.toString());
+        }
+        return count;
+    }
+
+    @Override
+    public Map<String, Long> findRevoked() {
+        return delegate.findRevoked();
+    }
+
+    @Override
+    public Map<String, Long> findGenerations() {
+        return delegate.findGenerations();
+    }
+
+    @Override
+    public long currentGeneration(String username) {
+        return localGenerations.get(username, delegate::currentGeneration);
+    }
+
+    @Override
+    public long nextGeneration(String username) {
+        long generation = delegate.nextGeneration(username);
+        invalidateUser(username);
+        publish(USER_PREFIX + username);
+        return generation;
+    }
+
+    @Override
+    public boolean notifiesRevocation() {
+        return true;
+    }
+
+    @Override
+    public void addRevocationListener(Consumer<String> listener) {
+        revocationListeners.add(listener);
+    }
+
+    @Override
+    public void addGenerationListener(Consumer<String> listener) {
+        generationListeners.add(listener);
+    }
+
+    @Override
+    public void addRevokedListener(Consumer<Map<String, Long>> listener) {
+        revokedListeners.add(listener);
+    }
+
+    /**
+     * 接收撤销通知（包括本节点发布的），清除本地缓存并通知订阅者
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        log.debug("收到令牌撤销通知: channel={}", channel);
+        if (body.startsWith(USER_PREFIX)) {
+            String username = body.substring(USER_PREFIX.length());
+            invalidateUser(username);
+            generationListeners.forEach(listener -> listener.accept(username));
+        } else if (body.startsWith(REVOKED_IDS_PREFIX)) {
+            Map<String, Long> revokedIds = new HashMap<>();
+            for (String line : body.substring(REVOKED_IDS_PREFIX.length()).split("\n")) {
+                int space = line.indexOf(' ');
+                if (space > 0) {
+                    revokedIds.put(line.substring(0, space), Long.parseLong(line.substring(space + 1)));
+                }
+            }
+            revokedListeners.forEach(listener -> listener.accept(revokedIds));
+        } else if (body.startsWith(TOKENS_PREFIX)) {
+            for (String token : body.substring(TOKENS_PREFIX.length()).split("\n")) {
+                revokeLocally(token);
+            }
+        } else {
+            revokeLocally(body);
+        }
+    }
+
+    /**
+     * 获取撤销通知频道
+     *
+     * @return Redis 频道名称
+     */
+    public String getChannel() {
+        return channel;
+    }
+
+    private void revokeLocally(String token) {
+        localCache.invalidate(token);
+        revocationListeners.forEach(listener -> listener.accept(token));
+    }
+
+    private void cache(String token, String username) {
+        localCache.put(token, username);
+        userTokens.add(username, token);
+    }
+
+    private void invalidateUser(String username) {
+        localGenerations.invalidate(username);
+        localCache.invalidateAll(userTokens.removeUser(username));
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            log.error("发布令牌撤销通知失败: channel={}", channel, e);
+        }
+    }
+}
@@ -1,60 +1,70 @@
 package io.github.rosestack.spring.boot.security.core.token;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.rosestack.spring.boot.security.config.SecurityProperties;
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import org.springframework.security.core.Authentication;
 
+/**
+ * 不透明令牌服务
+ *
+ * <p>令牌由 {@link TokenGenerator} 生成，令牌存储中只保存令牌的摘要（SHA-256 前 128 位的 base64url 编码，22 个字符），
+ * 存储内容泄露时无法还原出可用的令牌，且存储键长度固定，与令牌位数无关。
+ */
 public class OpaqueTokenService implements TokenService {
 
-    private final Cache<String, String> tokenToUser;
+    private static final int ID_LENGTH = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * 摘要原型，每次计算克隆一份，不随线程（包括虚拟线程）缓存实例
+     */
+    private static final MessageDigest SHA_256 = newDigest();
+
+    private final TokenStore tokenStore;
+    private final TokenGenerator tokenGenerator;
     private final long ttlSeconds;
-    private final Cache<String, java.util.Map<String, Long>> userToTokens;
 
     public OpaqueTokenService(SecurityProperties props) {
-        Duration ttl = props.getToken().getTtl();
-        this.ttlSeconds = ttl.getSeconds();
-        this.tokenToUser = Caffeine.newBuilder()
-                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
-                .build();
-        this.userToTokens = Caffeine.newBuilder()
-                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
-                .build();
+        this(props, new MemoryTokenStore(props.getToken().getTtl()));
+    }
+
+    public OpaqueTokenService(SecurityProperties props, TokenStore tokenStore) {
+        this(props, tokenStore, new SecureRandomTokenGenerator(props.getToken().getRandomBits()));
+    }
+
+    public OpaqueTokenService(SecurityProperties props, TokenStore tokenStore, TokenGenerator tokenGenerator) {
+        this.ttlSeconds = props.getToken().getTtl().getSeconds();
+        this.tokenStore = tokenStore;
+        this.tokenGenerator = tokenGenerator;
     }
 
     @Override
     public String issue(String username) {
-        String token = UUID.randomUUID().toString();
-        tokenToUser.put(token, username);
-        userToTokens.asMap().compute(username, (u, map) -> {
-            java.util.Map<String, Long> m = (map == null ? new java.util.concurrent.ConcurrentHashMap<>() : map);
-            m.put(token, System.currentTimeMillis());
-            return m;
-        });
-        return token;
+        return issue(TokenSubject.of(username));
+    }
+
+    @Override
+    public String issue(Authentication authentication, String tenant, String client) {
+        return issue(new TokenSubject(authentication.getName(), tenant, client));
     }
 
     @Override
     public Optional<String> resolveUsername(String token) {
-        return Optional.ofNullable(tokenToUser.getIfPresent(token));
+        return tokenStore.findUsername(tokenId(token));
     }
 
     @Override
     public boolean revoke(String token) {
-        String existed = tokenToUser.getIfPresent(token);
-        if (existed != null) {
-            tokenToUser.invalidate(token);
-            java.util.Map<String, Long> m = userToTokens.getIfPresent(existed);
-            if (m != null) {
-                m.remove(token);
-                if (m.isEmpty()) userToTokens.invalidate(existed);
-            }
-            return true;
-        }
-        return false;
+        return tokenStore.remove(tokenId(token)).isPresent();
     }
 
     @Override
@@ -64,38 +74,57 @@ public class OpaqueTokenService implements TokenService {
 
     @Override
     public void revokeAllForUser(String username) {
-        // naive scan; acceptable for in-memory minimal impl
-        java.util.Map<String, Long> m = userToTokens.getIfPresent(username);
-        if (m != null) {
-            for (String token : m.keySet()) {
-                tokenToUser.invalidate(token);
-            }
-            userToTokens.invalidate(username);
-        }
+        tokenStore.nextGeneration(username);
     }
 
     @Override
     public int revokeOthers(String username, String exceptToken) {
-        final int[] count = {0};
-        java.util.Map<String, Long> m = userToTokens.getIfPresent(username);
-        if (m != null) {
-            java.util.Iterator<String> it = m.keySet().iterator();
-            while (it.hasNext()) {
-                String t = it.next();
-                if (!t.equals(exceptToken)) {
-                    tokenToUser.invalidate(t);
-                    it.remove();
-                    count[0]++;
-                }
-            }
-            if (m.isEmpty()) userToTokens.invalidate(username);
+        List<String> tokens =
+                new ArrayList<>(tokenStore.findUserTokens(username).keySet());
+        if (exceptToken != null) {
+            tokens.remove(tokenId(exceptToken));
         }
-        return count[0];
+        return tokenStore.removeAll(tokens);
     }
 
     @Override
-    public java.util.Map<String, Long> findUserTokens(String username) {
-        java.util.Map<String, Long> m = userToTokens.getIfPresent(username);
-        return m == null ? java.util.Collections.emptyMap() : java.util.Collections.unmodifiableMap(m);
+    public int revokeAll(Collection<String> tokens) {
+        return tokenStore.removeAll(tokens);
+    }
+
+    @Override
+    public Map<String, Long> findTokens(TokenIndex index, String key) {
+        return tokenStore.findTokens(index, key);
+    }
+
+    /**
+     * 令牌摘要，作为令牌存储的键
+     */
+    @Override
+    public String tokenId(String token) {
+        byte[] digest = digest().digest(token.getBytes(StandardCharsets.UTF_8));
+        return ENCODER.encodeToString(Arrays.copyOf(digest, ID_LENGTH));
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return (MessageDigest) SHA_256.clone();
+        } catch (CloneNotSupportedException e) {
+            return newDigest();
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("初始化 SHA-256 失败", e);
+        }
+    }
+
+    private String issue(TokenSubject subject) {
+        String token = tokenGenerator.generate();
+        tokenStore.save(tokenId(token), subject, System.currentTimeMillis());
+        return token;
     }
 }
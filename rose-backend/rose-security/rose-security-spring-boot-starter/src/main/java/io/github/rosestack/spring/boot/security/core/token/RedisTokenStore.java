@@ -0,0 +1,311 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Redis 令牌存储，集群内各节点共享
+ *
+ * <p>键结构：
+ *
+ * <ul>
+ *   <li>{@code {prefix}t:{token}} → Hash，字段 u/g/tn/c 分别为用户名、签发时的代数、租户、客户端，TTL 为令牌有效期
+ *   <li>{@code {prefix}u:{username}}、{@code {prefix}tn:{tenant}}、{@code {prefix}c:{client}} → Sorted Set，成员为令牌、分值为
+ *       签发时间，每次签发时续期并删除已过期的成员
+ *   <li>{@code {prefix}g:{username}} → 用户代数，递增时设置 TTL，每次签发时续期
+ *   <li>{@code {prefix}generations} → Sorted Set，成员为递增过代数的用户名、分值为该次递增后令牌全部过期的时间，供加载全部代数
+ *   <li>{@code {prefix}revoked} → Sorted Set，成员为已撤销的令牌ID、分值为令牌过期时间（epoch 秒），新增时删除已过期的成员
+ * </ul>
+ *
+ * 索引中已过期但尚未清理的令牌在读取时按签发时间过滤。签发、校验、删除和代数递增各为一次 Lua 调用，脚本内由令牌中的字段拼出索引键和代数键，
+ * 因此要求全部键位于同一 Redis 节点（单机、主从或哨兵部署）。
+ */
+public class RedisTokenStore implements TokenStore {
+
+    /**
+     * KEYS[1] 令牌键，KEYS[2] 代数键，KEYS[3..] 索引键；ARGV[1] 过期秒数，ARGV[2] 令牌，ARGV[3] 签发时间，
+     * ARGV[4] 过期令牌的签发时间上限，ARGV[5..] 令牌字段
+     */
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>(
+            """
+            local generation = redis.call('GET', KEYS[2]) or '0'
+            redis.call('HMSET', KEYS[1], 'g', generation, unpack(ARGV, 5))
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            for i = 3, #KEYS do
+                redis.call('ZADD', KEYS[i], ARGV[3], ARGV[2])
+                redis.call('ZREMRANGEBYSCORE', KEYS[i], '-inf', ARGV[4])
+                redis.call('EXPIRE', KEYS[i], ARGV[1])
+            end
+            redis.call('EXPIRE', KEYS[2], ARGV[1])
+            return tonumber(generation)
+            """,
+            Long.class);
+
+    /**
+     * KEYS[1] 令牌键；ARGV[1] 代数键前缀。令牌存在且代数不落后时返回用户名
+     */
+    private static final RedisScript<String> FIND_SCRIPT = new DefaultRedisScript<>(
+            """
+            local token = redis.call('HMGET', KEYS[1], 'u', 'g')
+            if not token[1] then
+                return false
+            end
+            local current = redis.call('GET', ARGV[1] .. token[1])
+            if current and tonumber(token[2]) < tonumber(current) then
+                return false
+            end
+            return token[1]
+            """,
+            String.class);
+
+    /**
+     * 删除令牌及其索引，索引字段与 {@link TokenIndex} 的简码一致
+     */
+    private static final String REMOVE_FUNCTION =
+            """
+            local codes = {'u', 'tn', 'c'}
+            local function remove(key, token)
+                local fields = redis.call('HMGET', key, unpack(codes))
+                if not fields[1] then
+                    return false
+                end
+                redis.call('DEL', key)
+                for i, code in ipairs(codes) do
+                    if fields[i] then
+                        redis.call('ZREM', ARGV[1] .. code .. ':' .. fields[i], token)
+                    end
+                end
+                return fields[1]
+            end
+            """;
+
+    /**
+     * KEYS[1] 令牌键；ARGV[1] 键前缀，ARGV[2] 令牌。返回令牌所属用户
+     */
+    private static final RedisScript<String> REMOVE_SCRIPT =
+            new DefaultRedisScript<>(REMOVE_FUNCTION + "return remove(KEYS[1], ARGV[2])", String.class);
+
+    /**
+     * KEYS 令牌键；ARGV[1] 键前缀，ARGV[2..] 与 KEYS 对应的令牌。返回删除数量
+     */
+    private static final RedisScript<Long> REMOVE_ALL_SCRIPT = new DefaultRedisScript<>(
+            REMOVE_FUNCTION
+                    + """
+                    local count = 0
+                    for i, key in ipairs(KEYS) do
+                        if remove(key, ARGV[i + 1]) then
+                            count = count + 1
+                        end
+                    end
+                    return count
+                    """,
+            Long.class);
+
+    /**
+     * KEYS[1] 代数键，KEYS[2] 用户索引键，KEYS[3] 代数集合键；ARGV[1] 过期秒数，ARGV[2] 用户名，ARGV[3] 当前时间（epoch millis）。
+     * 返回递增后的代数
+     */
+    private static final RedisScript<Long> NEXT_GENERATION_SCRIPT = new DefaultRedisScript<>(
+            """
+            local generation = redis.call('INCR', KEYS[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            redis.call('DEL', KEYS[2])
+            redis.call('ZADD', KEYS[3], ARGV[3] + ARGV[1] * 1000, ARGV[2])
+            redis.call('ZREMRANGEBYSCORE', KEYS[3], '-inf', ARGV[3])
+            redis.call('EXPIRE', KEYS[3], ARGV[1])
+            return generation
+            """,
+            Long.class);
+
+    /**
+     * KEYS[1] 撤销集合键；ARGV[1] 当前时间（epoch 秒），ARGV[2] 过期秒数，ARGV[3..] 成对的令牌过期时间和令牌ID。返回新增记录数
+     */
+    private static final RedisScript<Long> ADD_REVOKED_SCRIPT = new DefaultRedisScript<>(
+            """
+            local count = redis.call('ZADD', KEYS[1], unpack(ARGV, 3))
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return count
+            """,
+            Long.class);
+
+    /**
+     * 批量删除时每次脚本调用处理的令牌数，避免单次脚本长时间阻塞 Redis
+     */
+    private static final int REMOVE_BATCH_SIZE = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final Duration ttl;
+
+    public RedisTokenStore(StringRedisTemplate redisTemplate, String keyPrefix, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public void save(String token, TokenSubject subject, long issuedAt) {
+        List<String> keys = new ArrayList<>(5);
+        keys.add(tokenKey(token));
+        keys.add(generationKey(subject.username()));
+        List<String> args = new ArrayList<>(10);
+        args.add(String.valueOf(ttl.getSeconds()));
+        args.add(token);
+        args.add(String.valueOf(issuedAt));
+        args.add(String.valueOf(issuedAt - ttl.toMillis()));
+        for (TokenIndex index : TokenIndex.values()) {
+            String key = index.keyOf(subject);
+            if (key != null) {
+                keys.add(indexKey(index, key));
+                args.add(index.getCode());
+                args.add(key);
+            }
+        }
+        redisTemplate.execute(SAVE_SCRIPT, keys, args.toArray());
+    }
+
+    @Override
+    public Optional<String> findUsername(String token) {
+        return Optional.ofNullable(redisTemplate.execute(FIND_SCRIPT, List.of(tokenKey(token)), keyPrefix + "g:"));
+    }
+
+    @Override
+    public Optional<String> remove(String token) {
+        // 并发撤销同一令牌时只有删除成功的一方返回用户
+        return Optional.ofNullable(redisTemplate.execute(REMOVE_SCRIPT, List.of(tokenKey(token)), keyPrefix, token));
+    }
+
+    @Override
+    public int removeAll(Collection<String> tokens) {
+        List<String> tokenList = new ArrayList<>(tokens);
+        int count = 0;
+        for (int from = 0; from < tokenList.size(); from += REMOVE_BATCH_SIZE) {
+            List<String> batch = tokenList.subList(from, Math.min(from + REMOVE_BATCH_SIZE, tokenList.size()));
+            List<String> keys = new ArrayList<>(batch.size());
+            Object[] args = new Object[batch.size() + 1];
+            args[0] = keyPrefix;
+            for (int i = 0; i < batch.size(); i++) {
+                keys.add(tokenKey(batch.get(i)));
+                args[i + 1] = batch.get(i);
+            }
+            Long removed = redisTemplate.execute(REMOVE_ALL_SCRIPT, keys, args);
+            count += removed == null ? 0 : removed.intValue();
+        }
+        return count;
+    }
+
+    @Override
+    public Map<String, Long> findTokens(TokenIndex index, String key) {
+        long expiredBefore = System.currentTimeMillis() - ttl.toMillis();
+        Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate
+                .opsForZSet()
+                .rangeByScoreWithScores(indexKey(index, key), expiredBefore + 1, Double.MAX_VALUE);
+        if (entries == null || entries.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> tokens = new HashMap<>(entries.size());
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            tokens.put(entry.getValue(), entry.getScore().longValue());
+        }
+        return tokens;
+    }
+
+    @Override
+    public int addRevoked(Map<String, Long> revokedIds) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(revokedIds.entrySet());
+        String nowSeconds = String.valueOf(System.currentTimeMillis() / 1000);
+        int count = 0;
+        for (int from = 0; from < entries.size(); from += REMOVE_BATCH_SIZE) {
+            List<Map.Entry<String, Long>> batch =
+                    entries.subList(from, Math.min(from + REMOVE_BATCH_SIZE, entries.size()));
+            Object[] args = new Object[batch.size() * 2 + 2];
+            args[0] = nowSeconds;
+            args[1] = String.valueOf(ttl.getSeconds());
+            for (int i = 0; i < batch.size(); i++) {
+                args[i * 2 + 2] = String.valueOf(batch.get(i).getValue());
+                args[i * 2 + 3] = batch.get(i).getKey();
+            }
+            Long added = redisTemplate.execute(ADD_REVOKED_SCRIPT, List.of(keyPrefix + "revoked"), args);
+            count += added == null ? 0 : added.intValue();
+        }
+        return count;
+    }
+
+    @Override
+    public Map<String, Long> findRevoked() {
+        Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate
+                .opsForZSet()
+                .rangeByScoreWithScores(keyPrefix + "revoked", System.currentTimeMillis() / 1000 + 1, Double.MAX_VALUE);
+        if (entries == null || entries.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> revoked = new HashMap<>(entries.size());
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            revoked.put(entry.getValue(), entry.getScore().longValue());
+        }
+        return revoked;
+    }
+
+    @Override
+    public Map<String, Long> findGenerations() {
+        Set<String> usernames = redisTemplate
+                .opsForZSet()
+                .rangeByScore(keyPrefix + "generations", System.currentTimeMillis() + 1, Double.MAX_VALUE);
+        if (usernames == null || usernames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> names = new ArrayList<>(usernames);
+        List<String> values = redisTemplate
+                .opsForValue()
+                .multiGet(names.stream().map(this::generationKey).toList());
+        Map<String, Long> generations = new HashMap<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            String generation = values == null ? null : values.get(i);
+            if (generation != null) {
+                generations.put(names.get(i), Long.parseLong(generation));
+            }
+        }
+        return generations;
+    }
+
+    @Override
+    public long currentGeneration(String username) {
+        String generation = redisTemplate.opsForValue().get(generationKey(username));
+        return generation == null ? 0 : Long.parseLong(generation);
+    }
+
+    @Override
+    public long nextGeneration(String username) {
+        Long generation = redisTemplate.execute(
+                NEXT_GENERATION_SCRIPT,
+                List.of(generationKey(username), indexKey(TokenIndex.USER, username), keyPrefix + "generations"),
+                String.valueOf(ttl.getSeconds()),
+                username,
+                String.valueOf(System.currentTimeMillis()));
+        return generation == null ? 0 : generation;
+    }
+
+    private String tokenKey(String token) {
+        return keyPrefix + "t:" + token;
+    }
+
+    private String indexKey(TokenIndex index, String key) {
+        return keyPrefix + index.getCode() + ":" + key;
+    }
+
+    private String generationKey(String username) {
+        return keyPrefix + "g:" + username;
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * 基于 {@link SecureRandom} 的令牌生成器，令牌为 128 或 256 位随机数的 base64url 编码（22 或 43 个字符）
+ *
+ * <p>每个平台线程持有独立的 DRBG 实例和随机字节缓冲，一次填充可生成 {@value #TOKENS_PER_REFILL} 个令牌，线程之间不争用同一个
+ * {@link SecureRandom}。虚拟线程生命周期短，为其创建实例和缓冲得不偿失，改用共享实例直接生成。
+ */
+public class SecureRandomTokenGenerator implements TokenGenerator {
+
+    private static final int TOKENS_PER_REFILL = 64;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final int tokenBytes;
+    private final SecureRandom shared = newRandom();
+    private final ThreadLocal<Buffer> buffers;
+
+    /**
+     * @param bits 随机位数，128 或 256
+     */
+    public SecureRandomTokenGenerator(int bits) {
+        if (bits != 128 && bits != 256) {
+            throw new IllegalArgumentException("令牌随机位数只支持 128 或 256: " + bits);
+        }
+        this.tokenBytes = bits / 8;
+        this.buffers = ThreadLocal.withInitial(() -> new Buffer(tokenBytes * TOKENS_PER_REFILL));
+    }
+
+    @Override
+    public String generate() {
+        if (Thread.currentThread().isVirtual()) {
+            byte[] bytes = new byte[tokenBytes];
+            shared.nextBytes(bytes);
+            return ENCODER.encodeToString(bytes);
+        }
+        return buffers.get().next(tokenBytes);
+    }
+
+    private static SecureRandom newRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
+    private static final class Buffer {
+        private final SecureRandom random = newRandom();
+        private final byte[] bytes;
+        private int position;
+
+        private Buffer(int size) {
+            this.bytes = new byte[size];
+            this.position = size;
+        }
+
+        private String next(int length) {
+            if (position == bytes.length) {
+                random.nextBytes(bytes);
+                position = 0;
+            }
+            int from = position;
+            position += length;
+            String token = ENCODER.encodeToString(Arrays.copyOfRange(bytes, from, position));
+            // 已发出的随机字节不留在缓冲中
+            Arrays.fill(bytes, from, position, (byte) 0);
+            return token;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * HMAC 签名令牌服务
+ *
+ * <p>令牌格式为 {@code base64url(载荷).base64url(HMAC-SHA256(载荷))}，载荷包含令牌ID、过期时间（epoch 秒）、用户代数、用户名和权限。
+ * 校验只需一次 MAC 计算和两次本地集合查询，不访问令牌存储：撤销的令牌ID和递增过代数的用户都保存在进程内，代数落后的令牌视为已撤销。
+ * 旧版本签发的不含代数的令牌按代数 0 处理。
+ *
+ * <p>令牌存储以令牌ID为键保存令牌和索引，并记录撤销的令牌ID和用户代数，供踢出、多会话控制以及重启或新加入的节点使用。
+ * 启动时从令牌存储加载撤销记录和用户代数，之后按刷新间隔重新加载；使用共享存储时，其他节点的撤销和代数递增通过
+ * {@link TokenStore#addRevokedListener} 和 {@link TokenStore#addGenerationListener} 即时同步，通知丢失时最迟在下次刷新后生效。
+ */
+@Slf4j
+public class SignedTokenService implements TokenService, DisposableBean {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final int ID_LENGTH = 16;
+    private static final byte VERSION = 2;
+    private static final byte VERSION_WITHOUT_GENERATION = 1;
+    private static final List<String> DEFAULT_AUTHORITIES = List.of("ROLE_USER");
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * 无效令牌的标识前缀，不会与 base64url 编码的令牌ID冲突
+     */
+    private static final String INVALID_TOKEN_PREFIX = ".";
+
+    private final TokenStore tokenStore;
+    private final long ttlSeconds;
+    private final SecretKeySpec key;
+    private final Mac mac;
+    private final SecureRandom random = new SecureRandom();
+    private final ScheduledExecutorService refresher;
+
+    /**
+     * 已撤销的令牌ID → 令牌过期时间（epoch 秒）
+     */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    /**
+     * 用户名 → 本节点得知的代数递增，写入后保留一个令牌有效期，此前签发的令牌届时全部过期
+     */
+    private final Cache<String, Revocation> generations;
+
+    public SignedTokenService(SecurityProperties props, TokenStore tokenStore) {
+        SecurityProperties.Token.Signed signed = props.getToken().getSigned();
+        byte[] secret =
+                signed.getSecret() == null ? new byte[0] : signed.getSecret().getBytes(StandardCharsets.UTF_8);
+        if (secret.length < MIN_SECRET_LENGTH) {
+            throw new IllegalArgumentException("rose.security.token.signed.secret 至少需要 " + MIN_SECRET_LENGTH + " 字节");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.mac = newMac();
+        this.ttlSeconds = props.getToken().getTtl().getSeconds();
+        this.tokenStore = tokenStore;
+        this.generations = Caffeine.newBuilder()
+                .expireAfterWrite(props.getToken().getTtl())
+                .build();
+        tokenStore.addRevokedListener(revoked::putAll);
+        tokenStore.addGenerationListener(username -> cacheGeneration(username, tokenStore.currentGeneration(username)));
+        refresh();
+
+        long interval = signed.getRefreshInterval().toMillis();
+        this.refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rose-signed-token-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String issue(String username) {
+        return issue(TokenSubject.of(username), DEFAULT_AUTHORITIES);
+    }
+
+    @Override
+    public String issue(Authentication authentication) {
+        return issue(authentication, null, null);
+    }
+
+    @Override
+    public String issue(Authentication authentication, String tenant, String client) {
+        List<String> authorities =
+                new ArrayList<>(authentication.getAuthorities().size());
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            authorities.add(authority.getAuthority());
+        }
+        return issue(new TokenSubject(authentication.getName(), tenant, client), authorities);
+    }
+
+    @Override
+    public Optional<String> resolveUsername(String token) {
+        return resolve(token).map(Claims::username);
+    }
+
+    @Override
+    public Optional<Authentication> resolveAuthentication(String token) {
+        return resolve(token)
+                .map(claims -> new UsernamePasswordAuthenticationToken(
+                        claims.username(), null, GrantedAuthorities.of(claims.authorities())));
+    }
+
+    @Override
+    public boolean revoke(String token) {
+        Optional<Claims> claims = verify(token);
+        if (claims.isEmpty()) {
+            return false;
+        }
+        String id = claims.get().id();
+        revoked.put(id, claims.get().expiresAt());
+        boolean removed = tokenStore.remove(id).isPresent();
+        boolean added = tokenStore.addRevoked(Map.of(id, claims.get().expiresAt())) > 0;
+        return added || removed;
+    }
+
+    @Override
+    public long getExpiresInSeconds() {
+        return ttlSeconds;
+    }
+
+    @Override
+    public void revokeAllForUser(String username) {
+        cacheGeneration(username, tokenStore.nextGeneration(username));
+    }
+
+    @Override
+    public int revokeOthers(String username, String exceptToken) {
+        List<String> ids = new ArrayList<>(tokenStore.findUserTokens(username).keySet());
+        if (exceptToken != null) {
+            ids.remove(tokenId(exceptToken));
+        }
+        return revokeAll(ids);
+    }
+
+    /**
+     * 令牌ID，签名无效或已过期的令牌返回不会与令牌ID冲突的值
+     */
+    @Override
+    public String tokenId(String token) {
+        return verify(token).map(Claims::id).orElse(INVALID_TOKEN_PREFIX + token);
+    }
+
+    /**
+     * 按令牌ID批量撤销，返回从存储删除的数量与新增撤销记录数量中的较大者。
+     * 令牌ID不含过期时间，撤销记录按最长有效期保留
+     */
+    @Override
+    public int revokeAll(Collection<String> ids) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttlSeconds;
+        Map<String, Long> revokedIds = new HashMap<>();
+        for (String id : ids) {
+            if (!id.startsWith(INVALID_TOKEN_PREFIX)) {
+                revokedIds.put(id, expiresAt);
+            }
+        }
+        revoked.putAll(revokedIds);
+        int removed = tokenStore.removeAll(ids);
+        int added = revokedIds.isEmpty() ? 0 : tokenStore.addRevoked(revokedIds);
+        return Math.max(removed, added);
+    }
+
+    @Override
+    public Map<String, Long> findTokens(TokenIndex index, String key) {
+        return tokenStore.findTokens(index, key);
+    }
+
+    /**
+     * 停止定时刷新
+     */
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    private String issue(TokenSubject subject, Collection<String> authorities) {
+        byte[] id = new byte[ID_LENGTH];
+        random.nextBytes(id);
+        long now = System.currentTimeMillis();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.write(id);
+            out.writeLong(now / 1000 + ttlSeconds);
+            out.writeLong(tokenStore.currentGeneration(subject.username()));
+            out.writeUTF(subject.username());
+            out.writeShort(authorities.size());
+            for (String authority : authorities) {
+                out.writeUTF(authority);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String payload = ENCODER.encodeToString(bytes.toByteArray());
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.US_ASCII);
+        String token = payload + "." + ENCODER.encodeToString(mac().doFinal(payloadBytes));
+        tokenStore.save(ENCODER.encodeToString(id), subject, now);
+        return token;
+    }
+
+    private Optional<Claims> resolve(String token) {
+        return verify(token).filter(claims -> !revoked.containsKey(claims.id()) && !isSuperseded(claims));
+    }
+
+    /**
+     * 校验签名和过期时间，不检查是否已撤销
+     */
+    private Optional<Claims> verify(String token) {
+        int dot = token.lastIndexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            byte[] payload = token.substring(0, dot).getBytes(StandardCharsets.US_ASCII);
+            if (!MessageDigest.isEqual(mac().doFinal(payload), signature)) {
+                return Optional.empty();
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(DECODER.decode(payload)));
+            byte version = in.readByte();
+            if (version != VERSION && version != VERSION_WITHOUT_GENERATION) {
+                return Optional.empty();
+            }
+            byte[] id = new byte[ID_LENGTH];
+            in.readFully(id);
+            long expiresAt = in.readLong();
+            if (expiresAt <= System.currentTimeMillis() / 1000) {
+                return Optional.empty();
+            }
+            long generation = version == VERSION ? in.readLong() : 0;
+            String username = in.readUTF();
+            int count = in.readUnsignedShort();
+            List<String> authorities = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                authorities.add(in.readUTF());
+            }
+            return Optional.of(new Claims(ENCODER.encodeToString(id), username, expiresAt, generation, authorities));
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 代数落后且签发于本节点得知代数递增之前的令牌已失效。同时比较签发时间，令牌存储的代数过期归零后新签发的令牌不受旧记录影响
+     */
+    private boolean isSuperseded(Claims claims) {
+        Revocation revocation = generations.getIfPresent(claims.username());
+        return revocation != null
+                && claims.generation() < revocation.generation()
+                && claims.expiresAt() - ttlSeconds <= revocation.since();
+    }
+
+    /**
+     * 记录用户代数递增，代数不高于已知代数时忽略，不延长已有记录的保留时间
+     */
+    private void cacheGeneration(String username, long generation) {
+        Revocation current = generations.getIfPresent(username);
+        if (generation > 0 && (current == null || current.generation() < generation)) {
+            generations.put(username, new Revocation(generation, System.currentTimeMillis() / 1000));
+        }
+    }
+
+    /**
+     * 从令牌存储重新加载撤销记录和用户代数，并清除已过期的撤销记录
+     */
+    private void refresh() {
+        revoked.putAll(tokenStore.findRevoked());
+        tokenStore.findGenerations().forEach(this::cacheGeneration);
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowSeconds);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("刷新签名令牌撤销记录失败", e);
+        }
+    }
+
+    private Mac mac() {
+        try {
+            return (Mac) mac.clone();
+        } catch (CloneNotSupportedException e) {
+            return newMac();
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化 " + ALGORITHM + " 失败", e);
+        }
+    }
+
+    private record Claims(String id, String username, long expiresAt, long generation, List<String> authorities) {}
+
+    /**
+     * 用户代数递增记录
+     *
+     * @param generation 递增后的代数
+     * @param since      本节点得知递增的时间（epoch 秒），不早于实际递增时间
+     */
+    private record Revocation(long generation, long since) {}
+}
@@ -0,0 +1,14 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+/**
+ * 不透明令牌生成器
+ *
+ * <p>生成的令牌必须不可预测，且可直接放入 HTTP Header。
+ */
+public interface TokenGenerator {
+
+    /**
+     * 生成一个新令牌
+     */
+    String generate();
+}
@@ -0,0 +1,43 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+/**
+ * 令牌索引维度，用于按维度批量查询和撤销令牌
+ */
+public enum TokenIndex {
+    /**
+     * 用户名
+     */
+    USER("u"),
+    /**
+     * 租户
+     */
+    TENANT("tn"),
+    /**
+     * 客户端
+     */
+    CLIENT("c");
+
+    private final String code;
+
+    TokenIndex(String code) {
+        this.code = code;
+    }
+
+    /**
+     * 索引简码，用于存储键
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 取令牌主体在该维度上的取值，未设置时返回 null
+     */
+    public String keyOf(TokenSubject subject) {
+        return switch (this) {
+            case USER -> subject.username();
+            case TENANT -> subject.tenant();
+            case CLIENT -> subject.client();
+        };
+    }
+}
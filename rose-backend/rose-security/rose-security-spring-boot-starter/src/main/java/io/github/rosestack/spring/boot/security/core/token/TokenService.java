@@ -1,28 +1,90 @@
 package io.github.rosestack.spring.boot.security.core.token;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 
 public interface TokenService {
     String issue(String username);
 
+    /**
+     * 为登录成功的用户签发令牌，默认只使用用户名
+     */
+    default String issue(Authentication authentication) {
+        return issue(authentication.getName());
+    }
+
+    /**
+     * 为登录成功的用户签发令牌，并按租户和客户端建立索引，默认忽略租户和客户端
+     *
+     * @param tenant 租户，可为 null
+     * @param client 客户端，可为 null
+     */
+    default String issue(Authentication authentication, String tenant, String client) {
+        return issue(authentication);
+    }
+
     Optional<String> resolveUsername(String token);
 
+    /**
+     * 解析令牌对应的认证信息，默认授予 ROLE_USER
+     */
+    default Optional<Authentication> resolveAuthentication(String token) {
+        return resolveUsername(token)
+                .map(username -> new UsernamePasswordAuthenticationToken(
+                        username, null, GrantedAuthorities.of(List.of("ROLE_USER"))));
+    }
+
     boolean revoke(String token);
 
     long getExpiresInSeconds();
 
     /**
-     * 撤销指定用户的所有令牌
+     * 撤销指定用户的所有令牌，通过递增用户代数实现，耗时与令牌数量无关
      */
     void revokeAllForUser(String username);
 
     /**
-     * 撤销指定用户除某个令牌外的其他令牌，返回撤销数量
+     * 撤销指定用户除某个令牌外的其他令牌，返回撤销数量。exceptToken 为 null 时撤销该用户的全部令牌
      */
     int revokeOthers(String username, String exceptToken);
 
     /**
-     * 返回该用户的所有令牌及其签发时间（epoch millis）
+     * 令牌在令牌存储和索引中的标识，{@link #findTokens} 返回的键和 {@link #revokeAll(Collection)} 的参数均为标识。默认为令牌本身
+     */
+    default String tokenId(String token) {
+        return token;
+    }
+
+    /**
+     * 按标识批量撤销令牌，返回撤销数量
+     */
+    int revokeAll(Collection<String> tokens);
+
+    /**
+     * 按索引批量撤销令牌，返回撤销数量；按用户撤销时递增用户代数
+     */
+    default int revokeAll(TokenIndex index, String key) {
+        if (index == TokenIndex.USER) {
+            int count = findTokens(index, key).size();
+            revokeAllForUser(key);
+            return count;
+        }
+        return revokeAll(findTokens(index, key).keySet());
+    }
+
+    /**
+     * 返回该用户的所有令牌标识及其签发时间（epoch millis）
+     */
+    default Map<String, Long> findUserTokens(String username) {
+        return findTokens(TokenIndex.USER, username);
+    }
+
+    /**
+     * 按索引返回令牌标识及其签发时间（epoch millis）
      */
-    java.util.Map<String, Long> findUserTokens(String username);
+    Map<String, Long> findTokens(TokenIndex index, String key);
 }
@@ -0,0 +1,118 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * 令牌存储 SPI
+ *
+ * <p>保存令牌与主体的对应关系以及用户、租户、客户端到令牌的索引，令牌过期时间由实现按配置的 TTL 处理。
+ * 默认使用进程内存储；集群部署时使用共享存储（如 Redis），各节点无需会话粘滞，重启也不会使令牌失效。
+ *
+ * <p>每个用户有一个代数，令牌签发时记录当时的代数，代数递增后此前签发的令牌全部失效，"全部下线"只需一次递增，
+ * 不必逐个删除令牌。代数至少保留到此前签发的令牌全部过期。
+ */
+public interface TokenStore {
+
+    /**
+     * 保存令牌
+     *
+     * @param token    令牌
+     * @param username 用户名
+     * @param issuedAt 签发时间（epoch millis）
+     */
+    default void save(String token, String username, long issuedAt) {
+        save(token, TokenSubject.of(username), issuedAt);
+    }
+
+    /**
+     * 保存令牌并建立索引，令牌记录用户的当前代数
+     *
+     * @param token    令牌
+     * @param subject  令牌主体
+     * @param issuedAt 签发时间（epoch millis）
+     */
+    void save(String token, TokenSubject subject, long issuedAt);
+
+    /**
+     * 查找令牌所属用户，令牌不存在、已过期或代数落后时返回空
+     */
+    Optional<String> findUsername(String token);
+
+    /**
+     * 删除令牌，返回令牌所属用户；令牌不存在时返回空
+     */
+    Optional<String> remove(String token);
+
+    /**
+     * 批量删除令牌，返回实际删除的数量
+     */
+    int removeAll(Collection<String> tokens);
+
+    /**
+     * 返回该用户的所有未过期令牌及其签发时间（epoch millis）
+     */
+    default Map<String, Long> findUserTokens(String username) {
+        return findTokens(TokenIndex.USER, username);
+    }
+
+    /**
+     * 按索引返回未过期令牌及其签发时间（epoch millis）；租户和客户端索引可能包含因用户代数递增而失效的令牌
+     */
+    Map<String, Long> findTokens(TokenIndex index, String key);
+
+    /**
+     * 记录已撤销的令牌ID，保留到令牌过期。自包含令牌（如签名令牌）校验时不查询令牌记录，撤销需要单独记录
+     *
+     * @param revokedIds 令牌ID → 令牌过期时间（epoch 秒）
+     * @return 新增的记录数
+     */
+    int addRevoked(Map<String, Long> revokedIds);
+
+    /**
+     * 返回全部未过期的撤销记录，令牌ID → 令牌过期时间（epoch 秒），供自包含令牌在本地维护撤销集合
+     */
+    Map<String, Long> findRevoked();
+
+    /**
+     * 返回有效期内递增过代数的用户及其当前代数，未列出的用户视为代数 0，供自包含令牌在本地维护代数
+     */
+    Map<String, Long> findGenerations();
+
+    /**
+     * 用户的当前代数，从未递增时为 0
+     */
+    long currentGeneration(String username);
+
+    /**
+     * 递增用户代数并清空用户索引，此前签发的令牌全部失效
+     *
+     * @return 递增后的代数
+     */
+    long nextGeneration(String username);
+
+    /**
+     * 其他节点的撤销和代数递增是否会通过监听器通知到本节点。进程内存储没有其他节点，返回 true；共享存储未订阅通知时返回 false，
+     * 此时不能在本地缓存令牌解析结果
+     */
+    default boolean notifiesRevocation() {
+        return false;
+    }
+
+    /**
+     * 订阅令牌撤销，共享存储在其他节点撤销令牌时回调。进程内存储只有本节点撤销，默认不回调
+     */
+    default void addRevocationListener(Consumer<String> listener) {}
+
+    /**
+     * 订阅用户代数递增，共享存储在其他节点递增代数时回调，参数为用户名。进程内存储默认不回调
+     */
+    default void addGenerationListener(Consumer<String> listener) {}
+
+    /**
+     * 订阅撤销记录新增，共享存储在其他节点新增撤销记录时回调，参数为令牌ID → 令牌过期时间（epoch 秒）。进程内存储默认不回调
+     */
+    default void addRevokedListener(Consumer<Map<String, Long>> listener) {}
+}
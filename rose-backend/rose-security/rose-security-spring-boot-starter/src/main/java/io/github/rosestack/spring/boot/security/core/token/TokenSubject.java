@@ -0,0 +1,15 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+/**
+ * 令牌主体，签发时记录，用于建立用户、租户和客户端索引
+ *
+ * @param username 用户名
+ * @param tenant   租户，可为 null
+ * @param client   客户端，可为 null
+ */
+public record TokenSubject(String username, String tenant, String client) {
+
+    public static TokenSubject of(String username) {
+        return new TokenSubject(username, null, null);
+    }
+}
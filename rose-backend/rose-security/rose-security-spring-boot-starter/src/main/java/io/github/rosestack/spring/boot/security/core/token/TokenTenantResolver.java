@@ -0,0 +1,17 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import org.springframework.security.core.Authentication;
+
+/**
+ * 签发令牌时解析登录用户所属租户，用于按租户索引令牌
+ *
+ * <p>租户应取自认证结果或服务端的租户上下文，不能直接信任登录请求中的 Header。未提供实现时不建立租户索引。
+ */
+@FunctionalInterface
+public interface TokenTenantResolver {
+
+    /**
+     * 解析租户，无法确定时返回 null
+     */
+    String resolveTenant(Authentication authentication);
+}
@@ -0,0 +1,46 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 本地缓存的用户 → 缓存键索引
+ *
+ * <p>按用户清除缓存时只处理该用户的键，不遍历整个缓存。缓存条目移除时通过 {@link #onRemoval} 同步删除索引。
+ */
+final class UserKeys {
+
+    private final Map<String, Set<String>> keys = new ConcurrentHashMap<>();
+
+    void add(String username, String key) {
+        keys.compute(username, (u, set) -> {
+            Set<String> result = set != null ? set : new HashSet<>();
+            result.add(key);
+            return result;
+        });
+    }
+
+    /**
+     * 删除并返回该用户的全部键
+     */
+    Set<String> removeUser(String username) {
+        Set<String> removed = keys.remove(username);
+        return removed != null ? removed : Set.of();
+    }
+
+    /**
+     * 缓存条目移除回调，覆盖写入时键仍在缓存中，不删除索引
+     */
+    void onRemoval(String key, String username, RemovalCause cause) {
+        if (key == null || username == null || cause == RemovalCause.REPLACED) {
+            return;
+        }
+        keys.computeIfPresent(username, (u, set) -> {
+            set.remove(key);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
@@ -3,32 +3,47 @@ package io.github.rosestack.spring.boot.security.protect;
 import io.github.rosestack.spring.boot.security.config.SecurityProperties;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.springframework.beans.factory.ObjectProvider;
 
+/**
+ * 访问名单匹配
+ *
+ * <p>名单加载为不可变快照，IP 名单构建为 {@link IpRangeTrie}，请求时只读取快照引用，不复制名单。存储变更时立即重建快照；
+ * 存储不支持变更通知时按本地缓存 TTL 重新加载，关闭本地缓存则每次请求都重新加载。
+ */
 public class AccessListMatcher {
     private final AccessListStore store;
     private final SecurityProperties.Protect.AccessList props;
+    private final AtomicBoolean reloading = new AtomicBoolean();
 
-    public AccessListMatcher(
-            ObjectProvider<AccessListStore> accessListStoreProvider, SecurityProperties properties) {
+    private volatile Snapshot snapshot;
+
+    public AccessListMatcher(ObjectProvider<AccessListStore> accessListStoreProvider, SecurityProperties properties) {
         this.store = accessListStoreProvider.getIfAvailable();
         this.props = properties.getProtect().getAccessList();
+        this.snapshot = new Snapshot(store);
+        store.addChangeListener(this::reload);
     }
 
     public boolean isAllowed(HttpServletRequest request, String username) {
+        return isAllowed(request.getRemoteAddr(), username);
+    }
+
+    boolean isAllowed(ProtectContext context) {
+        return isAllowed(context.getRemoteAddr(), context.getUsername());
+    }
+
+    private boolean isAllowed(String clientIp, String username) {
         if (!props.isEnabled()) {
             return true;
         }
-        String clientIp = request.getRemoteAddr();
-        Set<String> allowIp = store.allowedIps();
-        Set<String> denyIp = store.deniedIps();
-        Set<String> allowUser = store.allowedUsernames();
-        Set<String> denyUser = store.deniedUsernames();
+        Snapshot current = currentSnapshot();
 
-        boolean ipAllowed = allowIp.isEmpty() || allowIp.contains(clientIp);
-        boolean userAllowed = allowUser.isEmpty() || (username != null && allowUser.contains(username));
-        boolean ipDenied = denyIp.contains(clientIp);
-        boolean userDenied = username != null && denyUser.contains(username);
+        boolean ipAllowed = current.allowIp.isEmpty() || current.allowIp.contains(clientIp);
+        boolean userAllowed = current.allowUser.isEmpty() || (username != null && current.allowUser.contains(username));
+        boolean ipDenied = current.denyIp.contains(clientIp);
+        boolean userDenied = username != null && current.denyUser.contains(username);
 
         if ("ALL".equalsIgnoreCase(props.getCombine())) {
             return ipAllowed && userAllowed && !(ipDenied || userDenied);
@@ -38,4 +53,44 @@ public class AccessListMatcher {
         boolean anyDenied = ipDenied || userDenied;
         return anyAllowed && !anyDenied;
     }
+
+    /**
+     * 重新加载名单并替换快照
+     */
+    public synchronized void reload() {
+        snapshot = new Snapshot(store);
+    }
+
+    private Snapshot currentSnapshot() {
+        if (!props.isCacheEnabled()) {
+            return new Snapshot(store);
+        }
+        Snapshot current = snapshot;
+        if (System.nanoTime() - current.loadedAt > props.getCacheTtl().toNanos()
+                && reloading.compareAndSet(false, true)) {
+            // 仅一个线程重新加载，其余线程继续使用旧快照
+            try {
+                reload();
+                current = snapshot;
+            } finally {
+                reloading.set(false);
+            }
+        }
+        return current;
+    }
+
+    private static final class Snapshot {
+        private final IpRangeTrie allowIp;
+        private final IpRangeTrie denyIp;
+        private final Set<String> allowUser;
+        private final Set<String> denyUser;
+        private final long loadedAt = System.nanoTime();
+
+        private Snapshot(AccessListStore store) {
+            this.allowIp = IpRangeTrie.of(store.allowedIps());
+            this.denyIp = IpRangeTrie.of(store.deniedIps());
+            this.allowUser = Set.copyOf(store.allowedUsernames());
+            this.denyUser = Set.copyOf(store.deniedUsernames());
+        }
+    }
 }
@@ -2,6 +2,11 @@ package io.github.rosestack.spring.boot.security.protect;
 
 import java.util.Set;
 
+/**
+ * 访问名单存储
+ *
+ * <p>IP 名单支持单个地址和 CIDR 地址段，如 {@code 192.168.1.10}、{@code 10.0.0.0/8}、{@code 2001:db8::/32}。
+ */
 public interface AccessListStore {
 
     Set<String> allowedIps();
@@ -11,4 +16,11 @@ public interface AccessListStore {
     Set<String> allowedUsernames();
 
     Set<String> deniedUsernames();
+
+    /**
+     * 注册名单变更监听，名单变更后调用，用于重建匹配快照
+     *
+     * <p>默认不通知，匹配器按本地缓存 TTL 定期重新加载。
+     */
+    default void addChangeListener(Runnable listener) {}
 }
@@ -0,0 +1,250 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collection;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * IP 地址段匹配，基于压缩二叉基数树（Patricia Trie）
+ *
+ * <p>支持 IPv4、IPv6 单个地址及 CIDR 地址段，如 {@code 10.0.0.0/8}、{@code 2001:db8::/32}。每个节点保存一段公共前缀，
+ * 查找时沿地址的二进制位逐层向下，最多比较地址位数（IPv4 32 位，IPv6 128 位），与规则数量无关。
+ * 构建完成后不再修改，可在多线程间共享；规则变更时整体重建。
+ */
+@Slf4j
+final class IpRangeTrie {
+
+    private static final IpRangeTrie EMPTY = new IpRangeTrie();
+
+    private final Node ipv4Root = new Node(new byte[4], 0, false);
+    private final Node ipv6Root = new Node(new byte[16], 0, false);
+    private int size;
+
+    private IpRangeTrie() {}
+
+    /**
+     * 由规则构建，无法解析的规则记录日志后忽略
+     */
+    static IpRangeTrie of(Collection<String> rules) {
+        if (rules.isEmpty()) {
+            return EMPTY;
+        }
+        IpRangeTrie trie = new IpRangeTrie();
+        for (String rule : rules) {
+            if (!trie.add(rule)) {
+                log.warn("忽略无效的 IP 规则: {}", rule);
+            }
+        }
+        return trie;
+    }
+
+    /**
+     * 是否未配置任何规则；配置了规则但全部无效时不为空，避免名单因配置错误而失效
+     */
+    boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    /**
+     * 规则数量
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * 判断 IP 是否落在任一规则内，无法解析的 IP 视为不匹配
+     */
+    boolean contains(String ip) {
+        if (size == 0 || ip == null) {
+            return false;
+        }
+        byte[] address = parseAddress(ip);
+        return address != null && contains(address);
+    }
+
+    private boolean contains(byte[] address) {
+        Node node = address.length == 4 ? ipv4Root : ipv6Root;
+        int maxBits = address.length * 8;
+        while (true) {
+            if (node.terminal) {
+                return true;
+            }
+            if (node.bits == maxBits) {
+                return false;
+            }
+            Node child = node.children[bit(address, node.bits)];
+            if (child == null || commonPrefix(child.address, address, node.bits, child.bits) < child.bits) {
+                return false;
+            }
+            node = child;
+        }
+    }
+
+    private boolean add(String rule) {
+        String trimmed = rule == null ? "" : rule.trim();
+        int slash = trimmed.indexOf('/');
+        byte[] address = parseAddress(slash < 0 ? trimmed : trimmed.substring(0, slash));
+        if (address == null) {
+            return false;
+        }
+        int maxBits = address.length * 8;
+        int bits = maxBits;
+        if (slash >= 0) {
+            try {
+                bits = Integer.parseInt(trimmed.substring(slash + 1));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            if (bits < 0 || bits > maxBits) {
+                return false;
+            }
+        }
+        insert(address.length == 4 ? ipv4Root : ipv6Root, mask(address, bits), bits);
+        size++;
+        return true;
+    }
+
+    private static void insert(Node root, byte[] prefix, int bits) {
+        Node node = root;
+        while (true) {
+            if (node.terminal) {
+                // 已被更短的地址段覆盖
+                return;
+            }
+            if (node.bits == bits) {
+                node.terminal = true;
+                Arrays.fill(node.children, null);
+                return;
+            }
+            int branch = bit(prefix, node.bits);
+            Node child = node.children[branch];
+            if (child == null) {
+                node.children[branch] = new Node(prefix, bits, true);
+                return;
+            }
+            int common = commonPrefix(child.address, prefix, node.bits, Math.min(child.bits, bits));
+            if (common == child.bits) {
+                node = child;
+                continue;
+            }
+            if (common == bits) {
+                // 新地址段覆盖整棵子树
+                node.children[branch] = new Node(prefix, bits, true);
+                return;
+            }
+            Node split = new Node(mask(prefix, common), common, false);
+            split.children[bit(child.address, common)] = child;
+            split.children[bit(prefix, common)] = new Node(prefix, bits, true);
+            node.children[branch] = split;
+            return;
+        }
+    }
+
+    /**
+     * 返回 a、b 在 [from, to) 内第一个不同的位，全部相同时返回 to
+     */
+    private static int commonPrefix(byte[] a, byte[] b, int from, int to) {
+        int i = from;
+        while (i < to) {
+            int index = i >>> 3;
+            int diff = (a[index] ^ b[index]) & (0xFF >>> (i & 7));
+            if (diff != 0) {
+                return Math.min((index << 3) + Integer.numberOfLeadingZeros(diff) - 24, to);
+            }
+            i = (index + 1) << 3;
+        }
+        return to;
+    }
+
+    private static int bit(byte[] address, int index) {
+        return (address[index >>> 3] >>> (7 - (index & 7))) & 1;
+    }
+
+    private static byte[] mask(byte[] address, int bits) {
+        byte[] masked = Arrays.copyOf(address, address.length);
+        for (int i = bits; i < masked.length * 8; i = (i | 7) + 1) {
+            masked[i >>> 3] &= (byte) ~(0xFF >>> (i & 7));
+        }
+        return masked;
+    }
+
+    /**
+     * 解析 IP 字面量，IPv4 映射的 IPv6 地址按 IPv4 处理；不是 IP 字面量时返回 null，不做域名解析
+     */
+    static byte[] parseAddress(String ip) {
+        if (ip.indexOf(':') >= 0) {
+            return parseIpv6(ip);
+        }
+        return parseIpv4(ip);
+    }
+
+    private static byte[] parseIpv4(String ip) {
+        byte[] address = new byte[4];
+        int part = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || part == 3) {
+                    return null;
+                }
+                address[part++] = (byte) value;
+                value = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9' && digits < 3) {
+                value = value * 10 + (c - '0');
+                digits++;
+                if (value > 255) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0 || part != 3) {
+            return null;
+        }
+        address[3] = (byte) value;
+        return address;
+    }
+
+    private static byte[] parseIpv6(String ip) {
+        int zone = ip.indexOf('%');
+        String literal = zone < 0 ? ip : ip.substring(0, zone);
+        if (literal.startsWith("[") && literal.endsWith("]")) {
+            literal = literal.substring(1, literal.length() - 1);
+        }
+        if (literal.isEmpty()) {
+            return null;
+        }
+        // 仅含十六进制数字、冒号和点时 InetAddress 按字面量解析，不会发起 DNS 查询
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c != ':' && c != '.' && Character.digit(c, 16) < 0) {
+                return null;
+            }
+        }
+        try {
+            return InetAddress.getByName(literal).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private static final class Node {
+        private final byte[] address;
+        private final int bits;
+        private final Node[] children = new Node[2];
+        private boolean terminal;
+
+        private Node(byte[] address, int bits, boolean terminal) {
+            this.address = address;
+            this.bits = bits;
+            this.terminal = terminal;
+        }
+    }
+}
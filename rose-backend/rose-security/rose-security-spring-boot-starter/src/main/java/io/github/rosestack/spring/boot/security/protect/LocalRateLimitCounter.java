@@ -0,0 +1,70 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内滑动窗口计数器，仅限制单个节点
+ *
+ * <p>当前窗口使用 {@link LongAdder} 计数，高并发下各线程累加到不同的分段，不争用同一个原子变量；窗口切换时以 CAS 替换计数对象。
+ * 判断与累加之间不加锁，并发请求可能使计数略微超过限额，超出量不超过并发线程数。
+ */
+public class LocalRateLimitCounter implements RateLimitCounter {
+
+    private final long limit;
+    private final long windowMillis;
+    private final Clock clock;
+    private final Cache<String, AtomicReference<Buckets>> counters;
+
+    public LocalRateLimitCounter(long limit, Duration window) {
+        this(limit, window, Clock.systemUTC());
+    }
+
+    LocalRateLimitCounter(long limit, Duration window, Clock clock) {
+        this.limit = limit;
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        // 两个窗口内无请求的计数已不影响估算值
+        this.counters =
+                Caffeine.newBuilder().expireAfterAccess(window.multipliedBy(2)).build();
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        long now = clock.millis();
+        long window = now / windowMillis;
+        AtomicReference<Buckets> ref = counters.get(key, k -> new AtomicReference<>(new Buckets(window, 0)));
+        Buckets buckets = ref.get();
+        // 其他线程可能已切换到更新的窗口，不回退
+        while (buckets.window < window) {
+            long previous = buckets.window == window - 1 ? buckets.current.sum() : 0;
+            Buckets next = new Buckets(window, previous);
+            if (ref.compareAndSet(buckets, next)) {
+                buckets = next;
+            } else {
+                buckets = ref.get();
+            }
+        }
+        double previousWeight = 1.0 - (double) (now % windowMillis) / windowMillis;
+        if ((long) (buckets.previous * previousWeight) + buckets.current.sum() >= limit) {
+            return false;
+        }
+        buckets.current.increment();
+        return true;
+    }
+
+    private static final class Buckets {
+        private final long window;
+        private final long previous;
+        private final LongAdder current = new LongAdder();
+
+        private Buckets(long window, long previous) {
+            this.window = window;
+            this.previous = previous;
+        }
+    }
+}
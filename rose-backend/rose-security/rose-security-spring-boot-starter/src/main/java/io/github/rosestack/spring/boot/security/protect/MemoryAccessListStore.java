@@ -1,27 +1,68 @@
 package io.github.rosestack.spring.boot.security.protect;
 
-import java.util.Collections;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * 进程内访问名单存储，名单整体替换，替换后通知监听者
+ */
 public class MemoryAccessListStore implements AccessListStore {
 
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    private volatile Set<String> allowedIps = Set.of();
+    private volatile Set<String> deniedIps = Set.of();
+    private volatile Set<String> allowedUsernames = Set.of();
+    private volatile Set<String> deniedUsernames = Set.of();
+
     @Override
     public Set<String> allowedIps() {
-        return Collections.emptySet();
+        return allowedIps;
     }
 
     @Override
     public Set<String> deniedIps() {
-        return Collections.emptySet();
+        return deniedIps;
     }
 
     @Override
     public Set<String> allowedUsernames() {
-        return Collections.emptySet();
+        return allowedUsernames;
     }
 
     @Override
     public Set<String> deniedUsernames() {
-        return Collections.emptySet();
+        return deniedUsernames;
+    }
+
+    public void setAllowedIps(Collection<String> ips) {
+        this.allowedIps = Set.copyOf(ips);
+        fireChanged();
+    }
+
+    public void setDeniedIps(Collection<String> ips) {
+        this.deniedIps = Set.copyOf(ips);
+        fireChanged();
+    }
+
+    public void setAllowedUsernames(Collection<String> usernames) {
+        this.allowedUsernames = Set.copyOf(usernames);
+        fireChanged();
+    }
+
+    public void setDeniedUsernames(Collection<String> usernames) {
+        this.deniedUsernames = Set.copyOf(usernames);
+        fireChanged();
+    }
+
+    @Override
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    private void fireChanged() {
+        changeListeners.forEach(Runnable::run);
     }
 }
@@ -0,0 +1,68 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 进程内 Nonce 存储，仅在单个节点内防重放
+ *
+ * <p>按过期时间将 Nonce 分到若干时间桶，桶内全部 Nonce 过期后整桶丢弃，不逐条淘汰。同一 Nonce 可能因时间戳不同落入不同的桶：
+ * 先写入目标桶，再检查其余桶，并发请求至少有一方能看到另一方的写入，不会同时放行。
+ */
+public class MemoryNonceStore implements NonceStore {
+
+    /**
+     * 每个时间窗划分的桶数，Nonce 最多比过期时间多保留一个桶的时长
+     */
+    private static final int BUCKETS_PER_WINDOW = 4;
+
+    private final long bucketMillis;
+    private final Clock clock;
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong purgedBucket = new AtomicLong();
+
+    public MemoryNonceStore(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    MemoryNonceStore(Duration window, Clock clock) {
+        this.bucketMillis = Math.max(1, window.toMillis() / BUCKETS_PER_WINDOW);
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean putIfAbsent(String nonce, Duration ttl) {
+        long now = clock.millis();
+        purge(now);
+        long bucket = (now + ttl.toMillis()) / bucketMillis;
+        if (!buckets.computeIfAbsent(bucket, b -> ConcurrentHashMap.newKeySet()).add(nonce)) {
+            return false;
+        }
+        for (Map.Entry<Long, Set<String>> entry : buckets.entrySet()) {
+            if (entry.getKey() != bucket && entry.getValue().contains(nonce)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 已记录的 Nonce 数
+     */
+    int size() {
+        return buckets.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void purge(long now) {
+        long current = now / bucketMillis;
+        long purged = purgedBucket.get();
+        // 每个桶周期只由一个线程清理一次
+        if (purged < current && purgedBucket.compareAndSet(purged, current)) {
+            buckets.keySet().removeIf(bucket -> bucket < current);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import java.time.Duration;
+
+/**
+ * 防重放 Nonce 存储
+ */
+public interface NonceStore {
+
+    /**
+     * 原子地记录 Nonce，已存在时不覆盖
+     *
+     * @param nonce 请求 Nonce
+     * @param ttl   保留时间，超过后同一 Nonce 的请求已因时间戳超出时间窗而被拒绝，无需再保留
+     * @return 首次记录时返回 true，Nonce 已存在时返回 false
+     */
+    boolean putIfAbsent(String nonce, Duration ttl);
+}
@@ -0,0 +1,40 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import io.github.rosestack.spring.util.ServletUtils;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 一次请求的防护上下文，用户名和客户端 IP 只解析一次，供各项防护共用
+ */
+final class ProtectContext {
+
+    private final HttpServletRequest request;
+    private final String username;
+    private String clientIp;
+
+    ProtectContext(HttpServletRequest request, String username) {
+        this.request = request;
+        this.username = username;
+    }
+
+    String getUsername() {
+        return username;
+    }
+
+    /**
+     * 直连地址，访问名单按此匹配，不受转发头影响
+     */
+    String getRemoteAddr() {
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * 客户端 IP，优先取转发头，首次使用时解析
+     */
+    String getClientIp() {
+        if (clientIp == null) {
+            clientIp = ServletUtils.getClientIp(request);
+        }
+        return clientIp;
+    }
+}
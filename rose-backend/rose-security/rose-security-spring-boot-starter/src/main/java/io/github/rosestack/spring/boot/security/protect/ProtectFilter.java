@@ -0,0 +1,90 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import io.github.rosestack.core.util.ApiResponse;
+import io.github.rosestack.core.util.JsonUtils;
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 组合防护过滤器，一次遍历依次执行访问名单、防重放和限流
+ *
+ * <p>用户名和客户端 IP 每个请求只解析一次；各项防护的生效路径在启动时预编译为 {@link ProtectRoutes}，只执行与请求路径匹配的防护。
+ * 未启用的防护传入 null。
+ */
+public class ProtectFilter extends OncePerRequestFilter {
+
+    private final AccessListMatcher accessListMatcher;
+    private final ReplayProtection replayProtection;
+    private final RateLimiter rateLimiter;
+    private final ProtectRoutes routes;
+
+    public ProtectFilter(
+            SecurityProperties properties,
+            AccessListMatcher accessListMatcher,
+            ReplayProtection replayProtection,
+            RateLimiter rateLimiter) {
+        SecurityProperties.Protect protect = properties.getProtect();
+        this.accessListMatcher = protect.getAccessList().isEnabled() ? accessListMatcher : null;
+        this.replayProtection = replayProtection != null && replayProtection.isEnabled() ? replayProtection : null;
+        this.rateLimiter = rateLimiter != null && rateLimiter.isEnabled() ? rateLimiter : null;
+
+        ProtectRoutes.Builder builder = ProtectRoutes.builder();
+        if (this.accessListMatcher != null) {
+            builder.add(ProtectRoutes.ACCESS_LIST, protect.getAccessList().getPaths());
+        }
+        if (this.replayProtection != null) {
+            builder.add(ProtectRoutes.REPLAY, protect.getReplay().getPaths());
+        }
+        if (this.rateLimiter != null) {
+            builder.add(ProtectRoutes.RATE_LIMIT, protect.getRateLimit().getPaths());
+        }
+        this.routes = builder.build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return accessListMatcher == null && replayProtection == null && rateLimiter == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int guards = routes.match(request);
+        if (guards == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        ProtectContext context = new ProtectContext(request, auth != null ? auth.getName() : null);
+
+        if ((guards & ProtectRoutes.ACCESS_LIST) != 0 && !accessListMatcher.isAllowed(context)) {
+            reject(response, 403, 40300, "forbidden by access list");
+            return;
+        }
+        if ((guards & ProtectRoutes.REPLAY) != 0 && !replayProtection.check(request)) {
+            reject(response, 400, 40010, "replay detected");
+            return;
+        }
+        if ((guards & ProtectRoutes.RATE_LIMIT) != 0 && !rateLimiter.allow(context)) {
+            reject(response, 429, 42900, "too many requests");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response, int status, int code, String message) throws IOException {
+        response.setStatus(status);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(JsonUtils.toString(ApiResponse.error(code, message)));
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * 防护路由匹配
+ *
+ * <p>启动时将各项防护配置的路径模式解析为 {@link PathPattern}，相同的模式只保留一份并合并对应的防护；请求时解析一次路径，
+ * 依次匹配全部模式，得到该请求需要执行的防护位掩码。未配置路径的防护对所有请求生效。
+ */
+final class ProtectRoutes {
+
+    static final int ACCESS_LIST = 1;
+    static final int REPLAY = 1 << 1;
+    static final int RATE_LIMIT = 1 << 2;
+
+    private final int unconditional;
+    private final PathPattern[] patterns;
+    private final int[] guards;
+
+    private ProtectRoutes(int unconditional, Map<PathPattern, Integer> routes) {
+        this.unconditional = unconditional;
+        this.patterns = routes.keySet().toArray(new PathPattern[0]);
+        this.guards = routes.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 请求需要执行的防护
+     */
+    int match(HttpServletRequest request) {
+        if (patterns.length == 0) {
+            return unconditional;
+        }
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        PathContainer path = PathContainer.parsePath(
+                contextPath.isEmpty() || !uri.startsWith(contextPath) ? uri : uri.substring(contextPath.length()));
+        int matched = unconditional;
+        for (int i = 0; i < patterns.length; i++) {
+            // 已包含该模式的全部防护时无需再匹配
+            if ((matched & guards[i]) != guards[i] && patterns[i].matches(path)) {
+                matched |= guards[i];
+            }
+        }
+        return matched;
+    }
+
+    static final class Builder {
+        private final PathPatternParser parser = new PathPatternParser();
+        private final Map<PathPattern, Integer> routes = new LinkedHashMap<>();
+        private int unconditional;
+
+        /**
+         * 添加一项防护
+         *
+         * @param guard 防护标识
+         * @param paths 生效路径，为空时对所有请求生效
+         */
+        Builder add(int guard, String[] paths) {
+            if (paths == null || paths.length == 0) {
+                unconditional |= guard;
+                return this;
+            }
+            for (String path : paths) {
+                routes.merge(parser.parse(parser.initFullPathPattern(path)), guard, (a, b) -> a | b);
+            }
+            return this;
+        }
+
+        ProtectRoutes build() {
+            return new ProtectRoutes(unconditional, routes);
+        }
+    }
+}
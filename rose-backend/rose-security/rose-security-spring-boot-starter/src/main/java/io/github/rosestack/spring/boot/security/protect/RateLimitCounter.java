@@ -0,0 +1,18 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+/**
+ * 限流计数器
+ *
+ * <p>按滑动窗口计数：保留当前窗口和上一窗口两个计数，估算值为 {@code 上一窗口计数 × 上一窗口在滑动窗口内的占比 + 当前窗口计数}，
+ * 避免固定窗口在窗口边界处放行两倍请求。
+ */
+public interface RateLimitCounter {
+
+    /**
+     * 尝试获取一次请求许可
+     *
+     * @param key 限流维度，如用户名或客户端 IP
+     * @return 未超过限额时返回 true
+     */
+    boolean tryAcquire(String key);
+}
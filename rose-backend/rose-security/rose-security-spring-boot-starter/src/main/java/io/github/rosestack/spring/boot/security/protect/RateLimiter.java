@@ -1,21 +1,24 @@
 package io.github.rosestack.spring.boot.security.protect;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.rosestack.spring.boot.security.config.SecurityProperties;
 import io.github.rosestack.spring.util.ServletUtils;
 import jakarta.servlet.http.HttpServletRequest;
-import java.time.Duration;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class RateLimiter {
     private final SecurityProperties.Protect.RateLimit props;
-    private final Cache<String, AtomicInteger> counters;
+    private final RateLimitCounter counter;
 
     public RateLimiter(SecurityProperties properties) {
+        this(
+                properties,
+                new LocalRateLimitCounter(
+                        properties.getProtect().getRateLimit().getLimit(),
+                        properties.getProtect().getRateLimit().getWindow()));
+    }
+
+    public RateLimiter(SecurityProperties properties, RateLimitCounter counter) {
         this.props = properties.getProtect().getRateLimit();
-        Duration window = props.getWindow();
-        this.counters = Caffeine.newBuilder().expireAfterWrite(window).build();
+        this.counter = counter;
     }
 
     public boolean isEnabled() {
@@ -27,8 +30,14 @@ public class RateLimiter {
             return true;
         }
         String key = (username != null ? username : ServletUtils.getClientIp(request));
-        AtomicInteger counter = counters.get(key, k -> new AtomicInteger(0));
-        int v = counter.incrementAndGet();
-        return v <= props.getLimit();
+        return counter.tryAcquire(key);
+    }
+
+    boolean allow(ProtectContext context) {
+        if (!isEnabled()) {
+            return true;
+        }
+        String username = context.getUsername();
+        return counter.tryAcquire(username != null ? username : context.getClientIp());
     }
 }
@@ -0,0 +1,23 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import java.time.Duration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Redis Nonce 存储，集群内各节点共享，以 {@code SET NX PX} 原子写入
+ */
+public class RedisNonceStore implements NonceStore {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    public RedisNonceStore(StringRedisTemplate redisTemplate, String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public boolean putIfAbsent(String nonce, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(keyPrefix + nonce, "1", ttl));
+    }
+}
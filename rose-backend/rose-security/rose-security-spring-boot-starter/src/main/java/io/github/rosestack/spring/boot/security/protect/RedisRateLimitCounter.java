@@ -0,0 +1,118 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Redis 滑动窗口计数器，集群内各节点共享限额
+ *
+ * <p>每个窗口一个计数键 {@code {prefix}{key}:{窗口序号}}，估算与累加在一次 Lua 调用中原子完成。
+ *
+ * <p>预取：prefetch 大于 1 时一次从 Redis 申请至多 prefetch 个许可，在本地逐个消耗，热点 key 每 prefetch 个请求才访问一次 Redis。
+ * 预取的许可在申请时即计入共享计数，窗口结束时未用完的许可作废，因此限流偏保守；prefetch 应远小于限额。
+ */
+public class RedisRateLimitCounter implements RateLimitCounter {
+
+    /**
+     * KEYS[1] 当前窗口计数键，KEYS[2] 上一窗口计数键；ARGV[1] 限额，ARGV[2] 上一窗口权重，ARGV[3] 申请许可数，
+     * ARGV[4] 计数键过期毫秒数。返回实际授予的许可数
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            """
+            local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local previous = tonumber(redis.call('GET', KEYS[2]) or '0')
+            local available = tonumber(ARGV[1]) - math.floor(previous * tonumber(ARGV[2])) - current
+            if available <= 0 then
+                return 0
+            end
+            local granted = math.min(available, tonumber(ARGV[3]))
+            redis.call('INCRBY', KEYS[1], granted)
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return granted
+            """,
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final long limit;
+    private final long windowMillis;
+    private final int prefetch;
+    private final Clock clock;
+
+    /**
+     * 本地预取的许可，仅 prefetch 大于 1 时使用
+     */
+    private final Cache<String, Quota> quotas;
+
+    public RedisRateLimitCounter(
+            StringRedisTemplate redisTemplate, String keyPrefix, long limit, Duration window, int prefetch) {
+        this(redisTemplate, keyPrefix, limit, window, prefetch, Clock.systemUTC());
+    }
+
+    RedisRateLimitCounter(
+            StringRedisTemplate redisTemplate,
+            String keyPrefix,
+            long limit,
+            Duration window,
+            int prefetch,
+            Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.limit = limit;
+        this.windowMillis = window.toMillis();
+        this.prefetch = Math.max(1, prefetch);
+        this.clock = clock;
+        this.quotas = Caffeine.newBuilder().expireAfterWrite(window).build();
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        long now = clock.millis();
+        long window = now / windowMillis;
+        if (prefetch == 1) {
+            return acquire(key, now, window, 1) > 0;
+        }
+        Quota quota = quotas.getIfPresent(key);
+        if (quota != null && quota.window == window && quota.remaining.getAndDecrement() > 0) {
+            return true;
+        }
+        long granted = acquire(key, now, window, prefetch);
+        if (granted <= 0) {
+            return false;
+        }
+        // 本次请求消耗一个，其余留在本地
+        quotas.put(key, new Quota(window, granted - 1));
+        return true;
+    }
+
+    private long acquire(String key, long now, long window, int permits) {
+        String prefix = keyPrefix + key + ":";
+        double previousWeight = 1.0 - (double) (now % windowMillis) / windowMillis;
+        Long granted = redisTemplate.execute(
+                ACQUIRE_SCRIPT,
+                List.of(prefix + window, prefix + (window - 1)),
+                String.valueOf(limit),
+                String.valueOf(previousWeight),
+                String.valueOf(permits),
+                // 计数在下一窗口仍作为上一窗口参与估算
+                String.valueOf(windowMillis * 2));
+        return granted == null ? 0 : granted;
+    }
+
+    private static final class Quota {
+        private final long window;
+        private final AtomicLong remaining;
+
+        private Quota(long window, long remaining) {
+            this.window = window;
+            this.remaining = new AtomicLong(remaining);
+        }
+    }
+}
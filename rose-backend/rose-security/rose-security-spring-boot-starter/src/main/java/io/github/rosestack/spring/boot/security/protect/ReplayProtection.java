@@ -1,20 +1,35 @@
 package io.github.rosestack.spring.boot.security.protect;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.rosestack.spring.boot.security.config.SecurityProperties;
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.Clock;
 import java.time.Duration;
 
+/**
+ * 防重放校验
+ *
+ * <p>请求时间戳与服务器时间相差超过时间窗即拒绝，因此 Nonce 只需保留到其时间戳离开时间窗为止。
+ */
 public class ReplayProtection {
 
     private final SecurityProperties.Protect.Replay props;
-    private final Cache<String, Boolean> nonceCache;
+    private final NonceStore nonceStore;
+    private final Clock clock;
 
     public ReplayProtection(SecurityProperties properties) {
+        this(
+                properties,
+                new MemoryNonceStore(properties.getProtect().getReplay().getWindow()));
+    }
+
+    public ReplayProtection(SecurityProperties properties, NonceStore nonceStore) {
+        this(properties, nonceStore, Clock.systemUTC());
+    }
+
+    ReplayProtection(SecurityProperties properties, NonceStore nonceStore, Clock clock) {
         this.props = properties.getProtect().getReplay();
-        Duration window = props.getWindow();
-        this.nonceCache = Caffeine.newBuilder().expireAfterWrite(window).build();
+        this.nonceStore = nonceStore;
+        this.clock = clock;
     }
 
     public boolean isEnabled() {
@@ -30,10 +45,19 @@ public class ReplayProtection {
         if (nonce == null || ts == null) {
             return false;
         }
-        if (nonceCache.getIfPresent(nonce) != null) {
-            return false; // seen
+        long timestampMillis;
+        try {
+            timestampMillis = Math.multiplyExact(Long.parseLong(ts), 1000L);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return false;
+        }
+        long windowMillis = props.getWindow().toMillis();
+        long now = clock.millis();
+        if (timestampMillis < now - windowMillis || timestampMillis > now + windowMillis) {
+            return false; // expired or skewed
         }
-        nonceCache.put(nonce, Boolean.TRUE);
-        return true;
+        // 保留到 timestamp + window，之后同一请求已被时间戳校验拒绝
+        long ttlMillis = Math.max(1, timestampMillis + windowMillis - now);
+        return nonceStore.putIfAbsent(nonce, Duration.ofMillis(ttlMillis));
     }
 }
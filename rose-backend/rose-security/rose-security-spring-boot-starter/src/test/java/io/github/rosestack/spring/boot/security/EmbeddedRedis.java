@@ -0,0 +1,58 @@
+package io.github.rosestack.spring.boot.security;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import redis.embedded.RedisServer;
+
+/**
+ * 测试用嵌入式 Redis，每个实例使用随机端口
+ */
+public final class EmbeddedRedis implements AutoCloseable {
+
+    private final RedisServer server;
+    private final LettuceConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+
+    public EmbeddedRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = new RedisServer(port);
+        server.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    public StringRedisTemplate redisTemplate() {
+        return redisTemplate;
+    }
+
+    public void flushAll() {
+        redisTemplate.execute(
+                connection -> {
+                    connection.serverCommands().flushAll();
+                    return null;
+                },
+                true);
+    }
+
+    public RedisMessageListenerContainer newListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+        return container;
+    }
+
+    @Override
+    public void close() {
+        connectionFactory.destroy();
+        server.stop();
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.rosestack.spring.boot.security;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * 测试用可推进的时钟
+ */
+public final class MutableClock extends Clock {
+
+    private volatile long millis;
+
+    public MutableClock(long millis) {
+        this.millis = millis;
+    }
+
+    public void advance(Duration duration) {
+        millis += duration.toMillis();
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.rosestack.spring.boot.security.account;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 登录失败计数负载测试，模拟撞库攻击使用大量不同的用户名登录失败
+ */
+@Slf4j
+@DisplayName("登录失败计数负载测试")
+@Disabled("性能测试，仅在需要时手动运行")
+class LoginLockoutLoadTest {
+
+    private static final int USERNAMES = 5_000_000;
+    private static final long MAX_SIZE = 100_000;
+
+    @Test
+    @DisplayName("大量不同用户名")
+    void testDistinctUsernames() {
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        MemoryLoginLockoutStore store = new MemoryLoginLockoutStore(5, Duration.ofMinutes(15), MAX_SIZE);
+        System.gc();
+        long startHeap = memoryBean.getHeapMemoryUsage().getUsed();
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < USERNAMES; i++) {
+            store.recordFailure("user" + i);
+        }
+        long durationNanos = System.nanoTime() - startTime;
+
+        long size = store.size();
+        System.gc();
+        long heapGrowth = memoryBean.getHeapMemoryUsage().getUsed() - startHeap;
+
+        assertThat(size).isLessThanOrEqualTo(MAX_SIZE);
+        log.info(
+                "登录失败计数负载测试结果：{}个用户名耗时{}ms，平均{}μs/次，保留{}个，堆增长{}MB",
+                USERNAMES,
+                TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                String.format("%.2f", durationNanos / 1000.0 / USERNAMES),
+                size,
+                heapGrowth / 1024 / 1024);
+    }
+}
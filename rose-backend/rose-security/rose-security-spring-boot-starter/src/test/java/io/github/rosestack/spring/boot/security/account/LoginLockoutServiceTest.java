@@ -0,0 +1,172 @@
+package io.github.rosestack.spring.boot.security.account;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rosestack.spring.boot.security.EmbeddedRedis;
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoginLockoutServiceTest {
+
+    private static final String KEY_PREFIX = "test:login-lock:";
+    private static final int MAX_FAILURES = 5;
+    private static final Duration COOLDOWN = Duration.ofMinutes(15);
+
+    private static EmbeddedRedis redis;
+
+    private SecurityProperties props;
+    private AtomicLong nanos;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redis = new EmbeddedRedis();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        props = new SecurityProperties();
+        props.getAccount().getLoginLock().setEnabled(true);
+        nanos = new AtomicLong();
+    }
+
+    @Test
+    void locksAfterMaxFailures() {
+        LoginLockoutService service = new LoginLockoutService(props, newMemoryStore(100));
+
+        for (int i = 0; i < MAX_FAILURES - 1; i++) {
+            service.onFailure("alice");
+        }
+        assertThat(service.isLocked("alice")).isFalse();
+
+        service.onFailure("alice");
+        assertThat(service.isLocked("alice")).isTrue();
+        assertThat(service.isLocked("bob")).isFalse();
+    }
+
+    @Test
+    void unlocksAfterCooldownWithoutExtending() {
+        MemoryLoginLockoutStore store = newMemoryStore(100);
+        LoginLockoutService service = new LoginLockoutService(props, store);
+        for (int i = 0; i < MAX_FAILURES; i++) {
+            service.onFailure("alice");
+        }
+
+        // 锁定期间的失败不延长锁定
+        nanos.addAndGet(COOLDOWN.minusMinutes(1).toNanos());
+        service.onFailure("alice");
+        assertThat(service.isLocked("alice")).isTrue();
+
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertThat(service.isLocked("alice")).isFalse();
+        assertThat(store.recordFailure("alice")).isFalse();
+    }
+
+    @Test
+    void successResetsFailures() {
+        LoginLockoutService service = new LoginLockoutService(props, newMemoryStore(100));
+        for (int i = 0; i < MAX_FAILURES - 1; i++) {
+            service.onFailure("alice");
+        }
+
+        service.onSuccess("alice");
+        service.onFailure("alice");
+        assertThat(service.isLocked("alice")).isFalse();
+    }
+
+    @Test
+    void memoryStoreIsBounded() {
+        MemoryLoginLockoutStore store = newMemoryStore(1_000);
+
+        for (int i = 0; i < 100_000; i++) {
+            store.recordFailure("user" + i);
+        }
+        assertThat(store.size()).isLessThanOrEqualTo(1_000);
+
+        // 计数在冷却时间后过期
+        nanos.addAndGet(COOLDOWN.toNanos());
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void memoryStoreCountsConcurrentFailuresAtomically() throws Exception {
+        MemoryLoginLockoutStore store = new MemoryLoginLockoutStore(1_000, COOLDOWN, 100);
+        assertLockedAfterConcurrentFailures(store, 1_000);
+    }
+
+    @Test
+    void redisStoreCountsConcurrentFailuresAtomically() throws Exception {
+        assertLockedAfterConcurrentFailures(newRedisStore(1_000), 1_000);
+    }
+
+    @Test
+    void redisStoreSharesLockoutAcrossNodes() {
+        LoginLockoutService nodeA = new LoginLockoutService(props, newRedisStore(MAX_FAILURES));
+        LoginLockoutService nodeB = new LoginLockoutService(props, newRedisStore(MAX_FAILURES));
+
+        for (int i = 0; i < MAX_FAILURES; i++) {
+            (i % 2 == 0 ? nodeA : nodeB).onFailure("alice");
+        }
+        assertThat(nodeA.isLocked("alice")).isTrue();
+        assertThat(nodeB.isLocked("alice")).isTrue();
+        assertThat(redis.redisTemplate().getExpire(KEY_PREFIX + "alice")).isBetween(1L, COOLDOWN.toSeconds());
+
+        nodeB.onSuccess("alice");
+        assertThat(nodeA.isLocked("alice")).isFalse();
+    }
+
+    private void assertLockedAfterConcurrentFailures(LoginLockoutStore store, int maxFailures) throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    // 合计比上限少一次
+                    for (int i = 0; i < (maxFailures - 1) / threads; i++) {
+                        store.recordFailure("alice");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        int recorded = (maxFailures - 1) / threads * threads;
+        for (int i = recorded; i < maxFailures - 1; i++) {
+            store.recordFailure("alice");
+        }
+        assertThat(store.isLocked("alice")).isFalse();
+        assertThat(store.recordFailure("alice")).isTrue();
+    }
+
+    private MemoryLoginLockoutStore newMemoryStore(long maxSize) {
+        return new MemoryLoginLockoutStore(MAX_FAILURES, COOLDOWN, maxSize, nanos::get);
+    }
+
+    private RedisLoginLockoutStore newRedisStore(int maxFailures) {
+        return new RedisLoginLockoutStore(redis.redisTemplate(), KEY_PREFIX, maxFailures, COOLDOWN);
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.rosestack.spring.boot.security.core.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import io.github.rosestack.spring.boot.security.core.token.CachingTokenService;
+import io.github.rosestack.spring.boot.security.core.token.MemoryTokenStore;
+import io.github.rosestack.spring.boot.security.core.token.SignedTokenService;
+import io.github.rosestack.spring.boot.security.core.token.TokenService;
+import io.github.rosestack.spring.boot.security.core.token.TokenStore;
+import java.lang.management.ManagementFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * 令牌认证过滤器内存分配测试，对比开启与关闭认证信息缓存时每个请求的分配字节数
+ */
+@Slf4j
+@DisplayName("令牌认证过滤器内存分配测试")
+@Disabled("性能测试，仅在需要时手动运行")
+class TokenAuthenticationFilterAllocationTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("关闭认证信息缓存")
+    void testWithoutCache() throws Exception {
+        SecurityProperties props = newProperties();
+        TokenStore tokenStore = new MemoryTokenStore(props.getToken().getTtl());
+        runFilter("关闭认证信息缓存", props, new SignedTokenService(props, tokenStore));
+    }
+
+    @Test
+    @DisplayName("开启认证信息缓存")
+    void testWithCache() throws Exception {
+        SecurityProperties props = newProperties();
+        TokenStore tokenStore = new MemoryTokenStore(props.getToken().getTtl());
+        SecurityProperties.Token.AuthenticationCache cache = props.getToken().getAuthenticationCache();
+        runFilter(
+                "开启认证信息缓存",
+                props,
+                new CachingTokenService(
+                        new SignedTokenService(props, tokenStore), tokenStore, cache.getMaxSize(), cache.getTtl()));
+    }
+
+    private void runFilter(String label, SecurityProperties props, TokenService tokenService) throws Exception {
+        TokenAuthenticationFilter filter = new TokenAuthenticationFilter(tokenService, props);
+        String token = tokenService.issue(new UsernamePasswordAuthenticationToken(
+                "alice", null, AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN", "order:read")));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader(props.getToken().getHeader(), token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        for (int i = 0; i < WARMUP; i++) {
+            doFilter(filter, request, response);
+        }
+        request.clearAttributes();
+        filter.doFilter(request, response, new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName())
+                .isEqualTo("alice");
+
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            doFilter(filter, request, response);
+        }
+        long durationNanos = System.nanoTime() - startTime;
+        long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+        log.info(
+                "{}内存分配测试结果：{}次请求耗时{}ms，平均分配{}字节/次",
+                label,
+                ITERATIONS,
+                durationNanos / 1_000_000,
+                allocatedBytes / ITERATIONS);
+    }
+
+    private static void doFilter(
+            TokenAuthenticationFilter filter, MockHttpServletRequest request, MockHttpServletResponse response)
+            throws Exception {
+        // 过滤器以请求属性标记已执行，每次模拟新请求前清除
+        request.clearAttributes();
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+    }
+
+    private static SecurityProperties newProperties() {
+        SecurityProperties props = new SecurityProperties();
+        props.getToken().getSigned().setSecret("0123456789abcdef0123456789abcdef");
+        return props;
+    }
+}
@@ -0,0 +1,168 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.github.rosestack.spring.boot.security.account.TokenKickoutService;
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+class CachingTokenServiceTest {
+
+    private SecurityProperties props;
+    private ListeningTokenStore tokenStore;
+    private TokenService delegate;
+    private CachingTokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        props = new SecurityProperties();
+        props.getAccount().getKickout().setEnabled(true);
+        tokenStore = new ListeningTokenStore(props.getToken().getTtl());
+        delegate = spy(new OpaqueTokenService(props, tokenStore));
+        tokenService = new CachingTokenService(delegate, tokenStore, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldReuseResolvedAuthentication() {
+        String token = tokenService.issue("alice");
+
+        Authentication first = tokenService.resolveAuthentication(token).orElseThrow();
+        Authentication second = tokenService.resolveAuthentication(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getName()).isEqualTo("alice");
+        verify(delegate, times(1)).resolveAuthentication(token);
+    }
+
+    @Test
+    void shouldShareInternedAuthorities() {
+        Authentication alice =
+                tokenService.resolveAuthentication(tokenService.issue("alice")).orElseThrow();
+        Authentication bob =
+                tokenService.resolveAuthentication(tokenService.issue("bob")).orElseThrow();
+
+        assertThat(bob.getAuthorities().iterator().next())
+                .isSameAs(alice.getAuthorities().iterator().next());
+    }
+
+    @Test
+    void shouldNotCacheUnknownToken() {
+        assertThat(tokenService.resolveAuthentication("unknown")).isEmpty();
+        assertThat(tokenService.resolveAuthentication("unknown")).isEmpty();
+
+        verify(delegate, times(2)).resolveAuthentication("unknown");
+    }
+
+    @Test
+    void shouldEvictOnKickout() {
+        TokenKickoutService kickoutService = new TokenKickoutService(tokenService, props);
+        String token = tokenService.issue("alice");
+        String other = tokenService.issue("bob");
+        tokenService.resolveAuthentication(token);
+        tokenService.resolveAuthentication(other);
+
+        assertThat(kickoutService.kickByToken(token)).isTrue();
+
+        assertThat(tokenService.resolveAuthentication(token)).isEmpty();
+        assertThat(tokenService.resolveAuthentication(other)).isPresent();
+    }
+
+    @Test
+    void shouldEvictOtherSessionsOnSingleSession() {
+        TokenKickoutService kickoutService = new TokenKickoutService(tokenService, props);
+        String old = tokenService.issue("alice");
+        tokenService.resolveAuthentication(old);
+        String current = tokenService.issue("alice");
+
+        assertThat(kickoutService.enforceSingleSession("alice", current)).isEqualTo(1);
+
+        assertThat(tokenService.resolveAuthentication(old)).isEmpty();
+        assertThat(tokenService.resolveAuthentication(current)).isPresent();
+    }
+
+    @Test
+    void shouldEvictOnRevokeAllForUser() {
+        String first = tokenService.issue("alice");
+        String second = tokenService.issue("alice");
+        tokenService.resolveAuthentication(first);
+        tokenService.resolveAuthentication(second);
+
+        tokenService.revokeAllForUser("alice");
+
+        assertThat(tokenService.resolveAuthentication(first)).isEmpty();
+        assertThat(tokenService.resolveAuthentication(second)).isEmpty();
+    }
+
+    @Test
+    void shouldEvictOnlyThatUserOnRevokeAllForUser() {
+        String alice = tokenService.issue("alice");
+        String bob = tokenService.issue("bob");
+        tokenService.resolveAuthentication(alice);
+        Authentication cachedBob = tokenService.resolveAuthentication(bob).orElseThrow();
+
+        tokenService.revokeAllForUser("alice");
+        String again = tokenService.issue("alice");
+        tokenService.resolveAuthentication(again);
+        tokenService.revokeAllForUser("alice");
+
+        assertThat(tokenService.resolveAuthentication(again)).isEmpty();
+        assertThat(tokenService.resolveAuthentication(bob)).get().isSameAs(cachedBob);
+    }
+
+    @Test
+    void shouldEvictOnRevocationFromOtherNode() {
+        String token = tokenService.issue("alice");
+        tokenService.resolveAuthentication(token);
+
+        // 模拟其他节点撤销：共享存储中已删除，并收到撤销通知
+        String tokenId = tokenService.tokenId(token);
+        tokenStore.remove(tokenId);
+        tokenStore.notifyRevoked(tokenId);
+
+        assertThat(tokenService.resolveAuthentication(token)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectStoreWithoutRevocationNotification() {
+        TokenStore silentStore = new MemoryTokenStore(props.getToken().getTtl()) {
+            @Override
+            public boolean notifiesRevocation() {
+                return false;
+            }
+        };
+
+        assertThatThrownBy(() -> new CachingTokenService(
+                        new OpaqueTokenService(props, silentStore), silentStore, 100, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 可手动触发撤销通知的内存存储
+     */
+    static class ListeningTokenStore extends MemoryTokenStore {
+        private final List<Consumer<String>> listeners = new ArrayList<>();
+
+        ListeningTokenStore(Duration ttl) {
+            super(ttl);
+        }
+
+        @Override
+        public void addRevocationListener(Consumer<String> listener) {
+            listeners.add(listener);
+        }
+
+        void notifyRevoked(String token) {
+            listeners.forEach(listener -> listener.accept(token));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rosestack.spring.boot.security.EmbeddedRedis;
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+class RedisTokenStoreTest {
+
+    private static final String KEY_PREFIX = "test:token:";
+
+    private static EmbeddedRedis redis;
+
+    private RedisMessageListenerContainer container;
+    private OpaqueTokenService nodeA;
+    private OpaqueTokenService nodeB;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redis = new EmbeddedRedis();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        SecurityProperties props = new SecurityProperties();
+        Duration ttl = props.getToken().getTtl();
+        container = redis.newListenerContainer();
+        nodeA = new OpaqueTokenService(props, newNode(ttl));
+        nodeB = new OpaqueTokenService(props, newNode(ttl));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        container.destroy();
+    }
+
+    @Test
+    void shouldResolveTokenIssuedOnAnotherNode() {
+        String token = nodeA.issue("alice");
+
+        assertThat(nodeB.resolveUsername(token)).contains("alice");
+        assertThat(nodeB.findUserTokens("alice")).containsOnlyKeys(nodeB.tokenId(token));
+    }
+
+    @Test
+    void shouldKeepTokensAcrossRestart() {
+        String token = nodeA.issue("alice");
+
+        SecurityProperties props = new SecurityProperties();
+        OpaqueTokenService restarted = new OpaqueTokenService(
+                props,
+                new RedisTokenStore(
+                        redis.redisTemplate(), KEY_PREFIX, props.getToken().getTtl()));
+
+        assertThat(restarted.resolveUsername(token)).contains("alice");
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromNearCache() {
+        String token = nodeA.issue("alice");
+        assertThat(nodeB.resolveUsername(token)).contains("alice");
+
+        // 绕过撤销通知直接删除共享存储中的令牌，近缓存仍返回本地结果
+        redis.redisTemplate().delete(KEY_PREFIX + "t:" + nodeB.tokenId(token));
+
+        assertThat(nodeB.resolveUsername(token)).contains("alice");
+    }
+
+    @Test
+    void shouldInvalidateOtherNodesOnRevoke() throws InterruptedException {
+        String token = nodeA.issue("alice");
+        assertThat(nodeB.resolveUsername(token)).contains("alice");
+
+        assertThat(nodeA.revoke(token)).isTrue();
+
+        assertThat(nodeA.resolveUsername(token)).isEmpty();
+        assertThat(awaitRevoked(nodeB, token)).isEmpty();
+        assertThat(nodeB.findUserTokens("alice")).isEmpty();
+        assertThat(nodeB.revoke(token)).isFalse();
+    }
+
+    @Test
+    void shouldRevokeOtherTokensOfUser() {
+        String keep = nodeA.issue("alice");
+        nodeA.issue("alice");
+        nodeB.issue("alice");
+        String other = nodeB.issue("bob");
+
+        assertThat(nodeB.revokeOthers("alice", keep)).isEqualTo(2);
+
+        assertThat(nodeA.findUserTokens("alice")).containsOnlyKeys(nodeA.tokenId(keep));
+        assertThat(nodeA.resolveUsername(other)).contains("bob");
+    }
+
+    @Test
+    void shouldPropagateSignedTokenRevocationToOtherNodes() throws InterruptedException {
+        SecurityProperties props = new SecurityProperties();
+        props.getToken().getSigned().setSecret("0123456789abcdef0123456789abcdef");
+        Duration ttl = props.getToken().getTtl();
+        SignedTokenService signedA = new SignedTokenService(props, newNode(ttl));
+        SignedTokenService signedB = new SignedTokenService(props, newNode(ttl));
+        String token = signedA.issue("alice");
+        assertThat(signedB.resolveUsername(token)).contains("alice");
+
+        assertThat(signedA.revoke(token)).isTrue();
+
+        assertThat(signedA.resolveUsername(token)).isEmpty();
+        assertThat(awaitRevoked(signedB, token)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepSignedTokenRevokedAcrossRestart() {
+        SecurityProperties props = new SecurityProperties();
+        props.getToken().getSigned().setSecret("0123456789abcdef0123456789abcdef");
+        Duration ttl = props.getToken().getTtl();
+        SignedTokenService signed = new SignedTokenService(props, newNode(ttl));
+        String token = signed.issue("alice");
+        assertThat(signed.revoke(token)).isTrue();
+
+        SignedTokenService restarted =
+                new SignedTokenService(props, new RedisTokenStore(redis.redisTemplate(), KEY_PREFIX, ttl));
+
+        assertThat(restarted.resolveUsername(token)).isEmpty();
+        // 存储中只有令牌ID，撤销记录随令牌过期
+        assertThat(redis.redisTemplate().opsForZSet().rangeWithScores(KEY_PREFIX + "revoked", 0, -1))
+                .singleElement()
+                .satisfies(entry -> {
+                    assertThat(entry.getValue()).isEqualTo(signed.tokenId(token));
+                    assertThat(entry.getScore().longValue())
+                            .isGreaterThan(System.currentTimeMillis() / 1000)
+                            .isLessThanOrEqualTo(System.currentTimeMillis() / 1000 + ttl.getSeconds());
+                });
+        assertThat(redis.redisTemplate().getExpire(KEY_PREFIX + "revoked")).isPositive();
+        assertThat(redis.redisTemplate().keys(KEY_PREFIX + "*")).noneMatch(key -> key.contains(token));
+    }
+
+    private static Optional<String> awaitRevoked(TokenService node, String token) throws InterruptedException {
+        Optional<String> username = node.resolveUsername(token);
+        for (int i = 0; i < 50 && username.isPresent(); i++) {
+            Thread.sleep(100);
+            username = node.resolveUsername(token);
+        }
+        return username;
+    }
+
+    /**
+     * 模拟一个集群节点：Redis 存储加本地近缓存，并订阅撤销通知
+     */
+    private NearCacheTokenStore newNode(Duration ttl) {
+        NearCacheTokenStore store = new NearCacheTokenStore(
+                new RedisTokenStore(redis.redisTemplate(), KEY_PREFIX, ttl),
+                redis.redisTemplate(),
+                KEY_PREFIX + "revoked",
+                10_000,
+                ttl);
+        container.addMessageListener(store, new ChannelTopic(store.getChannel()));
+        return store;
+    }
+}
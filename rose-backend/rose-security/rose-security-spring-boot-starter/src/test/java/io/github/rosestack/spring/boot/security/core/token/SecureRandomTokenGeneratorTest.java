@@ -0,0 +1,79 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class SecureRandomTokenGeneratorTest {
+
+    private static final String BASE64URL = "[A-Za-z0-9_-]+";
+
+    @Test
+    void shouldGenerateBase64UrlTokensOfFixedLength() {
+        SecureRandomTokenGenerator bits128 = new SecureRandomTokenGenerator(128);
+        SecureRandomTokenGenerator bits256 = new SecureRandomTokenGenerator(256);
+
+        // 超过一次缓冲填充的数量
+        for (int i = 0; i < 200; i++) {
+            assertThat(bits128.generate()).hasSize(22).matches(BASE64URL);
+            assertThat(bits256.generate()).hasSize(43).matches(BASE64URL);
+        }
+    }
+
+    @Test
+    void shouldRejectUnsupportedBits() {
+        assertThatThrownBy(() -> new SecureRandomTokenGenerator(64)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldNotRepeatAcrossThreads() throws Exception {
+        SecureRandomTokenGenerator generator = new SecureRandomTokenGenerator(128);
+        Set<String> tokens = ConcurrentHashMap.newKeySet();
+        try (ExecutorService platform = Executors.newFixedThreadPool(8);
+                ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor()) {
+            // 平台线程使用线程本地缓冲，虚拟线程使用共享实例
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add((i % 2 == 0 ? platform : virtual).submit(() -> {
+                    for (int j = 0; j < 1_000; j++) {
+                        tokens.add(generator.generate());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(tokens).hasSize(16_000);
+    }
+
+    @Test
+    void shouldStoreTokenDigestInsteadOfToken() {
+        MemoryTokenStore store =
+                new MemoryTokenStore(new SecurityProperties().getToken().getTtl());
+        OpaqueTokenService tokenService = new OpaqueTokenService(new SecurityProperties(), store);
+        Set<String> tokens = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            tokens.add(tokenService.issue("alice"));
+        }
+
+        assertThat(store.findUserTokens("alice").keySet())
+                .hasSize(10)
+                .allSatisfy(id -> assertThat(id).hasSize(22))
+                .doesNotContainAnyElementsOf(tokens);
+        assertThat(store.findUsername(tokens.iterator().next())).isEmpty();
+        assertThat(tokens).allSatisfy(token -> assertThat(tokenService.resolveUsername(token))
+                .contains("alice"));
+    }
+}
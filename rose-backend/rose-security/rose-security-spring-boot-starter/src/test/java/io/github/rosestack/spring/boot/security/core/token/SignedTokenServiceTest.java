@@ -0,0 +1,138 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+class SignedTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private SecurityProperties props;
+    private SignedTokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        props = new SecurityProperties();
+        props.getToken().getSigned().setSecret(SECRET);
+        tokenService = new SignedTokenService(
+                props, new MemoryTokenStore(props.getToken().getTtl()));
+    }
+
+    @Test
+    void shouldCarryUsernameAndAuthorities() {
+        String token = tokenService.issue(new UsernamePasswordAuthenticationToken(
+                "alice", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN", "order:read")));
+
+        Optional<Authentication> authentication = tokenService.resolveAuthentication(token);
+
+        assertThat(authentication).isPresent();
+        assertThat(authentication.get().getName()).isEqualTo("alice");
+        assertThat(AuthorityUtils.authorityListToSet(authentication.get().getAuthorities()))
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "order:read");
+        assertThat(tokenService.findUserTokens("alice")).containsOnlyKeys(tokenService.tokenId(token));
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        String token = tokenService.issue("alice");
+        String other = tokenService.issue("bob");
+        String forged = token.substring(0, token.indexOf('.')) + other.substring(other.indexOf('.'));
+
+        assertThat(tokenService.resolveUsername(forged)).isEmpty();
+        assertThat(tokenService.resolveUsername("not-a-token")).isEmpty();
+        assertThat(tokenService.resolveUsername("a.b")).isEmpty();
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherSecret() {
+        SecurityProperties otherProps = new SecurityProperties();
+        otherProps.getToken().getSigned().setSecret(SECRET.toUpperCase());
+        SignedTokenService other = new SignedTokenService(
+                otherProps, new MemoryTokenStore(otherProps.getToken().getTtl()));
+
+        assertThat(tokenService.resolveUsername(other.issue("alice"))).isEmpty();
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        props.getToken().setTtl(Duration.ZERO);
+        SignedTokenService expiring = new SignedTokenService(props, new MemoryTokenStore(Duration.ofSeconds(1)));
+
+        assertThat(expiring.resolveUsername(expiring.issue("alice"))).isEmpty();
+    }
+
+    @Test
+    void shouldRejectRevokedToken() {
+        String token = tokenService.issue("alice");
+        String keep = tokenService.issue("alice");
+
+        assertThat(tokenService.revoke(token)).isTrue();
+        assertThat(tokenService.revoke(token)).isFalse();
+
+        assertThat(tokenService.resolveUsername(token)).isEmpty();
+        assertThat(tokenService.resolveUsername(keep)).contains("alice");
+        assertThat(tokenService.findUserTokens("alice")).containsOnlyKeys(tokenService.tokenId(keep));
+    }
+
+    @Test
+    void shouldKeepTokenRevokedAfterRestart() {
+        MemoryTokenStore store = new MemoryTokenStore(props.getToken().getTtl());
+        SignedTokenService before = new SignedTokenService(props, store);
+        String token = before.issue("alice");
+        String other = before.issue("alice");
+        assertThat(before.revokeAll(List.of(before.tokenId(token), before.tokenId(other))))
+                .isEqualTo(2);
+        before.revokeAllForUser("bob");
+        String bobToken = before.issue("bob");
+
+        // 新实例启动时从令牌存储加载撤销记录和用户代数
+        SignedTokenService restarted = new SignedTokenService(props, store);
+
+        assertThat(restarted.resolveUsername(token)).isEmpty();
+        assertThat(restarted.resolveUsername(other)).isEmpty();
+        assertThat(restarted.revoke(token)).isFalse();
+        assertThat(restarted.resolveUsername(bobToken)).contains("bob");
+    }
+
+    @Test
+    void shouldIndexTokensByIdOnly() {
+        String token = tokenService.issue("alice");
+
+        String id = tokenService.tokenId(token);
+
+        assertThat(id).isNotEqualTo(token).doesNotContain(".");
+        assertThat(tokenService.findUserTokens("alice")).containsOnlyKeys(id);
+        assertThat(tokenService.tokenId("a.b")).isNotEqualTo(id).startsWith(".");
+    }
+
+    @Test
+    void shouldRejectOnlyTokensIssuedBeforeRevokeAll() {
+        MemoryTokenStore store = new MemoryTokenStore(props.getToken().getTtl());
+        SignedTokenService service = new SignedTokenService(props, store);
+        String old = service.issue("alice");
+        service.revokeAllForUser("alice");
+        String current = service.issue("alice");
+
+        assertThat(service.resolveUsername(old)).isEmpty();
+        assertThat(service.resolveUsername(current)).contains("alice");
+        service.destroy();
+    }
+
+    @Test
+    void shouldRequireLongEnoughSecret() {
+        props.getToken().getSigned().setSecret("short");
+
+        assertThatThrownBy(() -> new SignedTokenService(props, new MemoryTokenStore(Duration.ofMinutes(1))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
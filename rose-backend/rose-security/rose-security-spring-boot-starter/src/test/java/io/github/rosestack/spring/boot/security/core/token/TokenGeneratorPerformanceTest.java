@@ -0,0 +1,125 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 令牌生成性能测试，对比 UUID 与线程本地缓冲的 {@link SecureRandomTokenGenerator} 在多线程下的生成速度，以及 100 万个会话的内存占用
+ */
+@Slf4j
+@DisplayName("令牌生成性能测试")
+@Disabled("性能测试，仅在需要时手动运行")
+class TokenGeneratorPerformanceTest {
+
+    private static final int THREADS = 64;
+    private static final int TOKENS_PER_THREAD = 100_000;
+    private static final int SESSIONS = 1_000_000;
+    private static final int USERS = 100_000;
+
+    private final Duration ttl = new SecurityProperties().getToken().getTtl();
+
+    @Test
+    @DisplayName("64线程生成")
+    void testConcurrentGenerate() throws Exception {
+        TokenGenerator uuid = () -> UUID.randomUUID().toString();
+        TokenGenerator bits128 = new SecureRandomTokenGenerator(128);
+        TokenGenerator bits256 = new SecureRandomTokenGenerator(256);
+        // 预热
+        runGenerate(uuid);
+        runGenerate(bits128);
+        runGenerate(bits256);
+
+        printGenerate("UUID", runGenerate(uuid));
+        printGenerate("128位", runGenerate(bits128));
+        printGenerate("256位", runGenerate(bits256));
+    }
+
+    @Test
+    @DisplayName("100万会话内存占用")
+    void testSessionFootprint() {
+        long uuidBytes = measureFootprint(() -> {
+            // 旧实现：UUID 原文作为存储键
+            MemoryTokenStore store = new MemoryTokenStore(ttl);
+            for (int i = 0; i < SESSIONS; i++) {
+                store.save(UUID.randomUUID().toString(), "user" + i % USERS, System.currentTimeMillis());
+            }
+            return store;
+        });
+        long digestBytes = measureFootprint(() -> {
+            MemoryTokenStore store = new MemoryTokenStore(ttl);
+            OpaqueTokenService service = new OpaqueTokenService(new SecurityProperties(), store);
+            for (int i = 0; i < SESSIONS; i++) {
+                service.issue("user" + i % USERS);
+            }
+            return store;
+        });
+
+        log.info("令牌内存占用测试结果：{}个会话，UUID原文{}MB，令牌摘要{}MB", SESSIONS, uuidBytes / 1024 / 1024, digestBytes / 1024 / 1024);
+    }
+
+    private long runGenerate(TokenGenerator generator) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int length = 0;
+                    for (int j = 0; j < TOKENS_PER_THREAD; j++) {
+                        length += generator.generate().length();
+                    }
+                    return length;
+                }));
+            }
+            long startTime = System.nanoTime();
+            start.countDown();
+            for (Future<Integer> future : futures) {
+                assertThat(future.get()).isPositive();
+            }
+            return System.nanoTime() - startTime;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void printGenerate(String label, long durationNanos) {
+        long total = (long) THREADS * TOKENS_PER_THREAD;
+        log.info(
+                "{}令牌生成测试结果：{}线程生成{}个耗时{}ms，{}个/秒",
+                label,
+                THREADS,
+                total,
+                TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                Math.round(total * 1_000_000_000.0 / durationNanos));
+    }
+
+    private static long measureFootprint(Supplier<TokenStore> fill) {
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long startHeap = memoryBean.getHeapMemoryUsage().getUsed();
+        TokenStore store = fill.get();
+        System.gc();
+        long heapGrowth = memoryBean.getHeapMemoryUsage().getUsed() - startHeap;
+        // 测量期间保持存储可达
+        assertThat(store.findUserTokens("user0")).isNotEmpty();
+        return heapGrowth;
+    }
+}
@@ -0,0 +1,238 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rosestack.spring.boot.security.EmbeddedRedis;
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+/**
+ * 批量撤销测试：单个用户持有数千个会话时的全部下线、保留当前会话，以及按租户、客户端撤销
+ */
+class TokenRevocationTest {
+
+    private static final String KEY_PREFIX = "test:revocation:";
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final int SESSIONS = 5_000;
+
+    private static EmbeddedRedis redis;
+
+    private SecurityProperties props;
+    private Duration ttl;
+    private RedisMessageListenerContainer container;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redis = new EmbeddedRedis();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        props = new SecurityProperties();
+        props.getToken().getSigned().setSecret(SECRET);
+        ttl = props.getToken().getTtl();
+        container = redis.newListenerContainer();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        container.destroy();
+    }
+
+    @Test
+    void shouldRevokeThousandsOfSessionsInMemoryWithOneGeneration() {
+        MemoryTokenStore store = new MemoryTokenStore(ttl);
+        OpaqueTokenService tokenService = new OpaqueTokenService(props, store);
+        List<String> tokens = issue(tokenService, "alice", SESSIONS);
+        String other = tokenService.issue("bob");
+
+        tokenService.revokeAllForUser("alice");
+
+        assertThat(store.currentGeneration("alice")).isEqualTo(1);
+        assertThat(tokens).allSatisfy(token -> assertThat(tokenService.resolveUsername(token))
+                .isEmpty());
+        assertThat(tokenService.findUserTokens("alice")).isEmpty();
+        assertThat(tokenService.resolveUsername(other)).contains("bob");
+        // 递增后签发的令牌不受影响
+        assertThat(tokenService.resolveUsername(tokenService.issue("alice"))).contains("alice");
+    }
+
+    @Test
+    void shouldRevokeThousandsOfSessionsAcrossNodes() throws InterruptedException {
+        OpaqueTokenService nodeA = new OpaqueTokenService(props, newNode());
+        OpaqueTokenService nodeB = new OpaqueTokenService(props, newNode());
+        List<String> tokens = issue(nodeA, "alice", SESSIONS);
+        // 节点 B 的近缓存持有部分令牌
+        tokens.subList(0, 100)
+                .forEach(token -> assertThat(nodeB.resolveUsername(token)).contains("alice"));
+
+        nodeA.revokeAllForUser("alice");
+
+        assertThat(nodeA.findUserTokens("alice")).isEmpty();
+        assertThat(nodeA.resolveUsername(tokens.get(SESSIONS - 1))).isEmpty();
+        assertThat(awaitRevoked(nodeB, tokens.get(0))).isEmpty();
+        assertThat(tokens)
+                .allSatisfy(token -> assertThat(nodeB.resolveUsername(token)).isEmpty());
+        assertThat(nodeB.resolveUsername(nodeB.issue("alice"))).contains("alice");
+    }
+
+    @Test
+    void shouldRevokeOthersAmongThousandsOfSessionsInOneBatch() {
+        OpaqueTokenService tokenService = new OpaqueTokenService(props, newNode());
+        List<String> tokens = issue(tokenService, "alice", SESSIONS);
+        String keep = tokens.get(SESSIONS / 2);
+
+        assertThat(tokenService.revokeOthers("alice", keep)).isEqualTo(SESSIONS - 1);
+
+        assertThat(tokenService.findUserTokens("alice")).containsOnlyKeys(tokenService.tokenId(keep));
+        assertThat(tokenService.resolveUsername(keep)).contains("alice");
+        assertThat(tokenService.resolveUsername(tokens.get(0))).isEmpty();
+        assertThat(tokenService.revokeAll(
+                        tokens.stream().map(tokenService::tokenId).toList()))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldRevokeAllWhenNoTokenIsKept() {
+        MemoryTokenStore store = new MemoryTokenStore(ttl);
+        TokenService tokenService = new CachingTokenService(new OpaqueTokenService(props, store), store, 10_000, ttl);
+        List<String> tokens = issue(tokenService, "alice", 3);
+
+        assertThat(tokenService.revokeOthers("alice", null)).isEqualTo(3);
+
+        assertThat(tokenService.findUserTokens("alice")).isEmpty();
+        assertThat(tokens).allSatisfy(token -> assertThat(tokenService.resolveUsername(token))
+                .isEmpty());
+    }
+
+    @Test
+    void shouldRevokeByTenantAndClientInMemory() {
+        assertRevokeByTenantAndClient(new OpaqueTokenService(props, new MemoryTokenStore(ttl)));
+    }
+
+    @Test
+    void shouldRevokeByTenantAndClientInRedis() {
+        assertRevokeByTenantAndClient(new OpaqueTokenService(props, newNode()));
+    }
+
+    @Test
+    void shouldRevokeSignedTokensByTenantAndClient() {
+        assertRevokeByTenantAndClient(new SignedTokenService(props, newNode()));
+    }
+
+    @Test
+    void shouldRevokeSignedTokensByGeneration() throws InterruptedException {
+        SignedTokenService nodeA = new SignedTokenService(props, newNode());
+        TokenStore storeB = newNode();
+        CachingTokenService nodeB = new CachingTokenService(new SignedTokenService(props, storeB), storeB, 10_000, ttl);
+        List<String> tokens = issue(nodeA, "alice", 1_000);
+        tokens.forEach(token -> assertThat(nodeB.resolveAuthentication(token)).isPresent());
+
+        nodeA.revokeAllForUser("alice");
+
+        assertThat(nodeA.resolveUsername(tokens.get(0))).isEmpty();
+        assertThat(awaitRevoked(nodeB, tokens.get(0))).isEmpty();
+        assertThat(tokens).allSatisfy(token -> assertThat(nodeB.resolveAuthentication(token))
+                .isEmpty());
+        assertThat(nodeB.resolveUsername(nodeB.issue("alice"))).contains("alice");
+    }
+
+    @Test
+    void shouldPruneExpiredTokensFromRedisIndexes() {
+        RedisTokenStore store = new RedisTokenStore(redis.redisTemplate(), KEY_PREFIX, ttl);
+        long now = System.currentTimeMillis();
+        store.save("expired", new TokenSubject("alice", "acme", "web"), now - ttl.toMillis() - 1_000);
+
+        store.save("active", new TokenSubject("bob", "acme", "web"), now);
+
+        assertThat(redis.redisTemplate().opsForZSet().size(KEY_PREFIX + "tn:acme"))
+                .isEqualTo(1);
+        assertThat(redis.redisTemplate().opsForZSet().size(KEY_PREFIX + "c:web"))
+                .isEqualTo(1);
+        assertThat(store.findTokens(TokenIndex.TENANT, "acme")).containsOnlyKeys("active");
+    }
+
+    @Test
+    void shouldSkipExpiredTokensInMemoryIndexes() {
+        MemoryTokenStore store = new MemoryTokenStore(ttl);
+        long now = System.currentTimeMillis();
+        store.save("expired", new TokenSubject("alice", "acme", "web"), now - ttl.toMillis() - 1_000);
+        store.save("active", new TokenSubject("bob", "acme", "web"), now);
+
+        assertThat(store.findTokens(TokenIndex.TENANT, "acme")).containsOnlyKeys("active");
+        assertThat(store.findTokens(TokenIndex.CLIENT, "web")).containsOnlyKeys("active");
+    }
+
+    private void assertRevokeByTenantAndClient(TokenService tokenService) {
+        String webOfAcme = tokenService.issue(login("alice"), "acme", "web");
+        String appOfAcme = tokenService.issue(login("bob"), "acme", "app");
+        String webOfOther = tokenService.issue(login("carol"), "other", "web");
+        String appOfOther = tokenService.issue(login("carol"), "other", "app");
+
+        assertThat(tokenService.findTokens(TokenIndex.TENANT, "acme"))
+                .containsOnlyKeys(tokenService.tokenId(webOfAcme), tokenService.tokenId(appOfAcme));
+        assertThat(tokenService.revokeAll(TokenIndex.TENANT, "acme")).isEqualTo(2);
+        assertThat(tokenService.resolveUsername(webOfAcme)).isEmpty();
+        assertThat(tokenService.resolveUsername(appOfAcme)).isEmpty();
+        assertThat(tokenService.findTokens(TokenIndex.CLIENT, "web"))
+                .containsOnlyKeys(tokenService.tokenId(webOfOther));
+
+        assertThat(tokenService.revokeAll(TokenIndex.CLIENT, "web")).isEqualTo(1);
+        assertThat(tokenService.resolveUsername(webOfOther)).isEmpty();
+        assertThat(tokenService.resolveUsername(appOfOther)).contains("carol");
+        assertThat(tokenService.findUserTokens("carol")).containsOnlyKeys(tokenService.tokenId(appOfOther));
+    }
+
+    private static List<String> issue(TokenService tokenService, String username, int count) {
+        List<String> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tokens.add(tokenService.issue(username));
+        }
+        return tokens;
+    }
+
+    private static Authentication login(String username) {
+        return new UsernamePasswordAuthenticationToken(username, null, List.of());
+    }
+
+    private static Optional<String> awaitRevoked(TokenService node, String token) throws InterruptedException {
+        Optional<String> username = node.resolveUsername(token);
+        for (int i = 0; i < 50 && username.isPresent(); i++) {
+            Thread.sleep(100);
+            username = node.resolveUsername(token);
+        }
+        return username;
+    }
+
+    /**
+     * 模拟一个集群节点：Redis 存储加本地近缓存，并订阅撤销通知
+     */
+    private NearCacheTokenStore newNode() {
+        NearCacheTokenStore store = new NearCacheTokenStore(
+                new RedisTokenStore(redis.redisTemplate(), KEY_PREFIX, ttl),
+                redis.redisTemplate(),
+                KEY_PREFIX + "revoked",
+                10_000,
+                ttl);
+        container.addMessageListener(store, new ChannelTopic(store.getChannel()));
+        return store;
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.rosestack.spring.boot.security.core.token;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rosestack.spring.boot.security.EmbeddedRedis;
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 令牌校验延迟测试，对比 Redis 存储开启与关闭本地近缓存时的校验耗时，以及签名令牌的校验耗时
+ */
+@Slf4j
+@DisplayName("令牌校验延迟测试")
+@Disabled("性能测试，仅在需要时手动运行")
+class TokenValidatePerformanceTest {
+
+    private static final String KEY_PREFIX = "perf:token:";
+    private static final int TOKENS = 1_000;
+    private static final int ITERATIONS = 100_000;
+
+    private static EmbeddedRedis redis;
+
+    private final Duration ttl = new SecurityProperties().getToken().getTtl();
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redis = new EmbeddedRedis();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+    }
+
+    @Test
+    @DisplayName("关闭近缓存")
+    void testWithoutNearCache() {
+        runValidate(
+                "关闭近缓存",
+                new OpaqueTokenService(
+                        new SecurityProperties(), new RedisTokenStore(redis.redisTemplate(), KEY_PREFIX, ttl)));
+    }
+
+    @Test
+    @DisplayName("开启近缓存")
+    void testWithNearCache() {
+        TokenStore store = new NearCacheTokenStore(
+                new RedisTokenStore(redis.redisTemplate(), KEY_PREFIX, ttl),
+                redis.redisTemplate(),
+                KEY_PREFIX + "revoked",
+                10_000,
+                ttl);
+        runValidate("开启近缓存", new OpaqueTokenService(new SecurityProperties(), store));
+    }
+
+    @Test
+    @DisplayName("签名令牌")
+    void testSignedToken() {
+        SecurityProperties props = new SecurityProperties();
+        props.getToken().getSigned().setSecret("0123456789abcdef0123456789abcdef");
+        runValidate("签名", new SignedTokenService(props, new RedisTokenStore(redis.redisTemplate(), KEY_PREFIX, ttl)));
+    }
+
+    private void runValidate(String label, TokenService tokenService) {
+        List<String> tokens = new ArrayList<>(TOKENS);
+        for (int i = 0; i < TOKENS; i++) {
+            tokens.add(tokenService.issue("user" + i));
+        }
+        // 预热
+        for (String token : tokens) {
+            tokenService.resolveAuthentication(token);
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertThat(tokenService.resolveAuthentication(tokens.get(i % TOKENS)))
+                    .isPresent();
+        }
+        long durationNanos = System.nanoTime() - startTime;
+
+        log.info(
+                "{}令牌校验测试结果：{}次校验耗时{}ms，平均{}μs/次",
+                label,
+                ITERATIONS,
+                TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                String.format("%.2f", durationNanos / 1000.0 / ITERATIONS));
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * 访问名单匹配性能测试，10 万条 IPv4/IPv6 地址段规则
+ */
+@Slf4j
+@DisplayName("访问名单匹配性能测试")
+@Disabled("性能测试，仅在需要时手动运行")
+class AccessListMatcherPerformanceTest {
+
+    private static final int RULES = 100_000;
+    private static final int ADDRESSES = 1_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    @Test
+    @DisplayName("10万条规则")
+    void testMatchWithRules() {
+        Random random = new Random(42);
+        Set<String> rules = new HashSet<>(RULES);
+        while (rules.size() < RULES) {
+            if (random.nextInt(4) == 0) {
+                rules.add(String.format(
+                        "2001:db8:%x:%x::/%d",
+                        random.nextInt(0x10000), random.nextInt(0x10000), 48 + random.nextInt(17)));
+            } else {
+                rules.add(toIp(random.nextInt()) + "/" + (16 + random.nextInt(17)));
+            }
+        }
+        MemoryAccessListStore store = new MemoryAccessListStore();
+        SecurityProperties props = new SecurityProperties();
+        props.getProtect().getAccessList().setEnabled(true);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("accessListStore", store);
+        AccessListMatcher matcher = new AccessListMatcher(beanFactory.getBeanProvider(AccessListStore.class), props);
+
+        long buildStart = System.nanoTime();
+        store.setDeniedIps(rules);
+        long buildNanos = System.nanoTime() - buildStart;
+
+        MockHttpServletRequest[] requests = new MockHttpServletRequest[ADDRESSES];
+        for (int i = 0; i < ADDRESSES; i++) {
+            requests[i] = new MockHttpServletRequest();
+            requests[i].setRemoteAddr(
+                    i % 4 == 0
+                            ? String.format("2001:db8:%x:%x::1", random.nextInt(0x10000), random.nextInt(0x10000))
+                            : toIp(random.nextInt()));
+        }
+        // 预热
+        int denied = 0;
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            matcher.isAllowed(requests[i % ADDRESSES], null);
+        }
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (!matcher.isAllowed(requests[i % ADDRESSES], null)) {
+                denied++;
+            }
+        }
+        long durationNanos = System.nanoTime() - startTime;
+
+        assertThat(denied).isPositive();
+        log.info(
+                "{}条规则访问名单匹配测试结果：构建耗时{}ms，{}次匹配耗时{}ms，平均{}ns/次",
+                RULES,
+                TimeUnit.NANOSECONDS.toMillis(buildNanos),
+                ITERATIONS,
+                TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                Math.round((double) durationNanos / ITERATIONS));
+    }
+
+    private static String toIp(int address) {
+        return (address >>> 24) + "." + ((address >>> 16) & 0xFF) + "." + ((address >>> 8) & 0xFF) + "."
+                + (address & 0xFF);
+    }
+}
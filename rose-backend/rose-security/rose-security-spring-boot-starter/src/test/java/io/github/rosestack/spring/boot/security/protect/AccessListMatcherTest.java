@@ -0,0 +1,136 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class AccessListMatcherTest {
+
+    private SecurityProperties props;
+    private MemoryAccessListStore store;
+    private AccessListMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        props = new SecurityProperties();
+        props.getProtect().getAccessList().setEnabled(true);
+        store = new MemoryAccessListStore();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("accessListStore", store);
+        matcher = new AccessListMatcher(beanFactory.getBeanProvider(AccessListStore.class), props);
+    }
+
+    @Test
+    void matchesIpv4Ranges() {
+        IpRangeTrie trie = IpRangeTrie.of(List.of("10.0.0.0/8", "192.168.1.10", "172.16.0.0/12"));
+
+        assertThat(trie.contains("10.1.2.3")).isTrue();
+        assertThat(trie.contains("192.168.1.10")).isTrue();
+        assertThat(trie.contains("192.168.1.11")).isFalse();
+        assertThat(trie.contains("172.31.255.255")).isTrue();
+        assertThat(trie.contains("172.32.0.0")).isFalse();
+        assertThat(trie.contains("11.0.0.0")).isFalse();
+    }
+
+    @Test
+    void matchesIpv6Ranges() {
+        IpRangeTrie trie = IpRangeTrie.of(List.of("2001:db8::/32", "fe80::1", "::ffff:10.0.0.0/104"));
+
+        assertThat(trie.contains("2001:db8:ffff::1")).isTrue();
+        assertThat(trie.contains("2001:db9::1")).isFalse();
+        assertThat(trie.contains("fe80:0:0:0:0:0:0:1")).isTrue();
+        assertThat(trie.contains("fe80::2")).isFalse();
+        assertThat(trie.contains("[2001:db8::1]")).isTrue();
+        // IPv4 映射地址与 IPv4 地址互通
+        assertThat(trie.contains("::ffff:1.2.3.4")).isFalse();
+        assertThat(IpRangeTrie.of(List.of("1.2.3.0/24")).contains("::ffff:1.2.3.4"))
+                .isTrue();
+    }
+
+    @Test
+    void handlesOverlappingRanges() {
+        IpRangeTrie trie = IpRangeTrie.of(List.of("10.1.2.3", "10.1.0.0/16", "10.1.2.0/24", "0.0.0.0/0"));
+
+        assertThat(trie.contains("10.1.2.3")).isTrue();
+        assertThat(trie.contains("8.8.8.8")).isTrue();
+        assertThat(trie.contains("::1")).isFalse();
+    }
+
+    @Test
+    void ignoresInvalidRules() {
+        IpRangeTrie trie = IpRangeTrie.of(List.of("10.0.0.0/33", "300.1.1.1", "localhost", "1.2.3", "10.0.0.0/x"));
+
+        assertThat(trie.isEmpty()).isFalse();
+        assertThat(trie.size()).isZero();
+        assertThat(trie.contains("10.0.0.1")).isFalse();
+        assertThat(trie.contains("localhost")).isFalse();
+        assertThat(trie.contains("not-an-ip")).isFalse();
+    }
+
+    @Test
+    void matchesSameAsLinearScan() {
+        Random random = new Random(42);
+        List<int[]> ranges = new ArrayList<>();
+        List<String> rules = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int address = random.nextInt();
+            int bits = 8 + random.nextInt(25);
+            ranges.add(new int[] {address, bits});
+            rules.add(toIp(address) + "/" + bits);
+        }
+        IpRangeTrie trie = IpRangeTrie.of(rules);
+
+        for (int i = 0; i < 20_000; i++) {
+            // 一半取自规则附近，一半随机
+            int address = i % 2 == 0
+                    ? ranges.get(random.nextInt(ranges.size()))[0] ^ random.nextInt(1 << 12)
+                    : random.nextInt();
+            boolean expected = ranges.stream().anyMatch(range -> {
+                int mask = -1 << (32 - range[1]);
+                return (range[0] & mask) == (address & mask);
+            });
+            assertThat(trie.contains(toIp(address))).as(toIp(address)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void deniesIpInDeniedRange() {
+        store.setDeniedIps(Set.of("10.0.0.0/8"));
+
+        assertThat(matcher.isAllowed(request("10.2.3.4"), null)).isFalse();
+        assertThat(matcher.isAllowed(request("192.168.1.1"), null)).isTrue();
+    }
+
+    @Test
+    void reloadsWhenStoreChanges() {
+        props.getProtect().getAccessList().setCombine("ALL");
+        assertThat(matcher.isAllowed(request("192.168.1.1"), "alice")).isTrue();
+
+        store.setAllowedIps(Set.of("10.0.0.0/8"));
+        assertThat(matcher.isAllowed(request("192.168.1.1"), "alice")).isFalse();
+        assertThat(matcher.isAllowed(request("10.0.0.1"), "alice")).isTrue();
+
+        store.setDeniedUsernames(Set.of("alice"));
+        assertThat(matcher.isAllowed(request("10.0.0.1"), "alice")).isFalse();
+        assertThat(matcher.isAllowed(request("10.0.0.1"), "bob")).isTrue();
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static String toIp(int address) {
+        return (address >>> 24) + "." + ((address >>> 16) & 0xFF) + "." + ((address >>> 8) & 0xFF) + "."
+                + (address & 0xFF);
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.time.Instant;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ProtectFilterTest {
+
+    private SecurityProperties props;
+    private MemoryAccessListStore accessListStore;
+
+    @BeforeEach
+    void setUp() {
+        props = new SecurityProperties();
+        props.getProtect().getAccessList().setEnabled(true);
+        props.getProtect().getReplay().setEnabled(true);
+        props.getProtect().getRateLimit().setEnabled(true);
+        props.getProtect().getRateLimit().setLimit(2);
+        accessListStore = new MemoryAccessListStore();
+    }
+
+    @Test
+    void runsGuardsOnlyOnMatchedPaths() throws Exception {
+        props.getProtect().getReplay().setPaths(new String[] {"/api/orders/**"});
+        props.getProtect().getRateLimit().setPaths(new String[] {"/api/orders/**", "/api/payments/*"});
+        ProtectFilter filter = newFilter();
+
+        // 未匹配防重放和限流路径，不需要 Nonce，也不计数
+        for (int i = 0; i < 5; i++) {
+            assertThat(doFilter(filter, request("/api/users")).getStatus()).isEqualTo(200);
+        }
+        assertThat(doFilter(filter, request("/api/orders/1")).getStatus()).isEqualTo(400);
+        assertThat(doFilter(filter, signed(request("/api/orders/1"), "n1")).getStatus())
+                .isEqualTo(200);
+
+        assertThat(doFilter(filter, request("/api/payments/1")).getStatus()).isEqualTo(200);
+        assertThat(doFilter(filter, request("/api/payments/1")).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void rejectsInOrder() throws Exception {
+        accessListStore.setDeniedIps(Set.of("10.0.0.0/8"));
+        ProtectFilter filter = newFilter();
+
+        MockHttpServletRequest denied = signed(request("/api/orders"), "n1");
+        denied.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = doFilter(filter, denied);
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getContentAsString()).contains("40300");
+
+        assertThat(doFilter(filter, signed(request("/api/orders"), "n2")).getStatus())
+                .isEqualTo(200);
+        assertThat(doFilter(filter, signed(request("/api/orders"), "n2")).getStatus())
+                .isEqualTo(400);
+        assertThat(doFilter(filter, signed(request("/api/orders"), "n3")).getStatus())
+                .isEqualTo(200);
+        // 重放被拒绝的请求不计入限流
+        assertThat(doFilter(filter, signed(request("/api/orders"), "n4")).getStatus())
+                .isEqualTo(429);
+    }
+
+    @Test
+    void skipsDisabledGuards() throws Exception {
+        props.getProtect().getAccessList().setEnabled(false);
+        props.getProtect().getReplay().setEnabled(false);
+        accessListStore.setDeniedIps(Set.of("127.0.0.1"));
+        ProtectFilter filter = newFilter();
+
+        assertThat(doFilter(filter, request("/api/orders")).getStatus()).isEqualTo(200);
+        assertThat(doFilter(filter, request("/api/orders")).getStatus()).isEqualTo(200);
+        assertThat(doFilter(filter, request("/api/orders")).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void runsOnceWhenInvokedFromSecurityChainAndServletContainer() throws Exception {
+        props.getProtect().getReplay().setEnabled(false);
+        ProtectFilter filter = newFilter();
+
+        // 安全过滤器链内执行后，Servlet 容器中的注册不再重复计数
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(
+                    request("/api/orders"),
+                    response,
+                    (request, nested) -> filter.doFilter(request, nested, new MockFilterChain()));
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+        assertThat(doFilter(filter, request("/api/orders")).getStatus()).isEqualTo(429);
+    }
+
+    private ProtectFilter newFilter() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("accessListStore", accessListStore);
+        return new ProtectFilter(
+                props,
+                new AccessListMatcher(beanFactory.getBeanProvider(AccessListStore.class), props),
+                new ReplayProtection(props),
+                new RateLimiter(props));
+    }
+
+    private static MockHttpServletResponse doFilter(ProtectFilter filter, MockHttpServletRequest request)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private MockHttpServletRequest signed(MockHttpServletRequest request, String nonce) {
+        request.addHeader(props.getProtect().getReplay().getNonceHeader(), nonce);
+        request.addHeader(
+                props.getProtect().getReplay().getTimestampHeader(),
+                String.valueOf(Instant.now().getEpochSecond()));
+        return request;
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import jakarta.servlet.Filter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 防护过滤器吞吐量测试，对比各自独立的过滤器与组合防护过滤器每个请求的额外开销
+ */
+@Slf4j
+@DisplayName("防护过滤器吞吐量测试")
+@Disabled("性能测试，仅在需要时手动运行")
+class ProtectFilterThroughputTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+    private static final int ROUNDS = 5;
+
+    private SecurityProperties props;
+
+    @BeforeEach
+    void setUp() {
+        props = new SecurityProperties();
+        props.getProtect().getAccessList().setEnabled(true);
+        props.getProtect().getReplay().setEnabled(true);
+        props.getProtect().getReplay().setPaths(new String[] {"/api/orders/**"});
+        props.getProtect().getRateLimit().setEnabled(true);
+        props.getProtect().getRateLimit().setLimit(Integer.MAX_VALUE);
+        props.getProtect().getRateLimit().setPaths(new String[] {"/api/**"});
+    }
+
+    @Test
+    @DisplayName("吞吐量对比")
+    void testThroughput() throws Exception {
+        MemoryAccessListStore store = new MemoryAccessListStore();
+        List<String> deniedIps = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            deniedIps.add("10." + (i >> 8) + "." + (i & 0xFF) + ".0/24");
+        }
+        store.setDeniedIps(deniedIps);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("accessListStore", store);
+        AccessListMatcher matcher = new AccessListMatcher(beanFactory.getBeanProvider(AccessListStore.class), props);
+
+        String[] labels = {"无防护", "独立过滤器", "组合防护过滤器"};
+        MockMvc[] mockMvcs = {
+            newMockMvc(),
+            newMockMvc(
+                    new AccessListFilter(matcher, props),
+                    new ReplayFilter(new ReplayProtection(props), props),
+                    new RateLimitFilter(new RateLimiter(props), props)),
+            newMockMvc(new ProtectFilter(props, matcher, new ReplayProtection(props), new RateLimiter(props)))
+        };
+        for (int i = 0; i < mockMvcs.length; i++) {
+            for (int j = 0; j < WARMUP; j++) {
+                perform(mockMvcs[i], "w" + j, j);
+            }
+        }
+        // 多轮交替执行，取每种配置的最好成绩，减少 JIT 和 GC 的干扰
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < mockMvcs.length; i++) {
+                best[i] = Math.min(best[i], run(mockMvcs[i], labels[i] + round + "-"));
+            }
+        }
+        for (int i = 0; i < mockMvcs.length; i++) {
+            log.info(
+                    "{}吞吐量测试结果：{}次请求平均{}ns/次，吞吐量{}次/秒",
+                    labels[i],
+                    ITERATIONS,
+                    best[i],
+                    Math.round(1_000_000_000.0 / best[i]));
+        }
+        log.info("防护过滤器额外开销测试结果：独立过滤器{}ns/次，组合防护过滤器{}ns/次", best[1] - best[0], best[2] - best[0]);
+    }
+
+    /**
+     * 交替请求需要防重放和不需要防重放的路径，返回平均每个请求的纳秒数
+     */
+    private long run(MockMvc mockMvc, String noncePrefix) throws Exception {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            perform(mockMvc, noncePrefix + i, i);
+        }
+        return (System.nanoTime() - startTime) / ITERATIONS;
+    }
+
+    private void perform(MockMvc mockMvc, String nonce, int i) throws Exception {
+        // 独立过滤器不区分路径，未配置路径的请求同样需要携带 Nonce
+        mockMvc.perform(get(i % 2 == 0 ? "/api/orders/1" : "/api/users/1")
+                        .header(props.getProtect().getReplay().getNonceHeader(), nonce)
+                        .header(
+                                props.getProtect().getReplay().getTimestampHeader(),
+                                String.valueOf(Instant.now().getEpochSecond())))
+                .andExpect(status().isOk());
+    }
+
+    private static MockMvc newMockMvc(Filter... filters) {
+        return MockMvcBuilders.standaloneSetup(new PingController())
+                .addFilters(filters)
+                .build();
+    }
+
+    @RestController
+    static class PingController {
+
+        @GetMapping({"/api/orders/{id}", "/api/users/{id}"})
+        String ping() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rosestack.spring.boot.security.EmbeddedRedis;
+import io.github.rosestack.spring.boot.security.MutableClock;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RateLimitCounterTest {
+
+    private static final String KEY_PREFIX = "test:rate-limit:";
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    private static EmbeddedRedis redis;
+
+    private MutableClock clock;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redis = new EmbeddedRedis();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        // 从窗口起点开始
+        clock = new MutableClock(WINDOW.toMillis() * 1000);
+    }
+
+    @Test
+    void localCounterRejectsOverLimit() {
+        LocalRateLimitCounter counter = new LocalRateLimitCounter(10, WINDOW, clock);
+
+        assertThat(acquire(counter, "alice", 15)).isEqualTo(10);
+        assertThat(counter.tryAcquire("bob")).isTrue();
+    }
+
+    @Test
+    void localCounterWeightsPreviousWindow() {
+        assertPreviousWindowWeighted(new LocalRateLimitCounter(10, WINDOW, clock));
+    }
+
+    @Test
+    void redisCounterWeightsPreviousWindow() {
+        assertPreviousWindowWeighted(
+                new RedisRateLimitCounter(redis.redisTemplate(), KEY_PREFIX, 10, WINDOW, 1, clock));
+    }
+
+    @Test
+    void redisCounterSharesLimitAcrossNodes() {
+        RateLimitCounter nodeA = new RedisRateLimitCounter(redis.redisTemplate(), KEY_PREFIX, 10, WINDOW, 1, clock);
+        RateLimitCounter nodeB = new RedisRateLimitCounter(redis.redisTemplate(), KEY_PREFIX, 10, WINDOW, 1, clock);
+
+        assertThat(acquire(nodeA, "alice", 6)).isEqualTo(6);
+        assertThat(acquire(nodeB, "alice", 6)).isEqualTo(4);
+        assertThat(nodeA.tryAcquire("alice")).isFalse();
+    }
+
+    @Test
+    void redisCounterPrefetchesPermits() {
+        RateLimitCounter nodeA = new RedisRateLimitCounter(redis.redisTemplate(), KEY_PREFIX, 10, WINDOW, 4, clock);
+        RateLimitCounter nodeB = new RedisRateLimitCounter(redis.redisTemplate(), KEY_PREFIX, 10, WINDOW, 4, clock);
+
+        // A 预取 4 个，消耗 1 个
+        assertThat(nodeA.tryAcquire("alice")).isTrue();
+        assertThat(redis.redisTemplate().opsForValue().get(redisKey("alice"))).isEqualTo("4");
+        // 本地剩余 3 个，不访问 Redis
+        assertThat(acquire(nodeA, "alice", 3)).isEqualTo(3);
+        assertThat(redis.redisTemplate().opsForValue().get(redisKey("alice"))).isEqualTo("4");
+
+        // B 预取 4 个后只剩 2 个可申请，合计不超过限额
+        assertThat(acquire(nodeB, "alice", 10)).isEqualTo(6);
+        assertThat(nodeA.tryAcquire("alice")).isFalse();
+    }
+
+    private void assertPreviousWindowWeighted(RateLimitCounter counter) {
+        assertThat(acquire(counter, "alice", 10)).isEqualTo(10);
+
+        // 下一窗口开始 6 秒：上一窗口仍占 90%，估算值 9，只放行 1 个，而非固定窗口的 10 个
+        clock.advance(WINDOW.plusSeconds(6));
+        assertThat(acquire(counter, "alice", 10)).isEqualTo(1);
+
+        // 下一窗口过半：估算值 floor(10 × 0.5) + 1 = 6，再放行 4 个
+        clock.advance(Duration.ofSeconds(24));
+        assertThat(acquire(counter, "alice", 10)).isEqualTo(4);
+
+        // 两个窗口之后计数全部过期
+        clock.advance(WINDOW.multipliedBy(2));
+        assertThat(acquire(counter, "alice", 15)).isEqualTo(10);
+    }
+
+    private String redisKey(String key) {
+        return KEY_PREFIX + key + ":" + clock.millis() / WINDOW.toMillis();
+    }
+
+    private static int acquire(RateLimitCounter counter, String key, int times) {
+        int allowed = 0;
+        for (int i = 0; i < times; i++) {
+            if (counter.tryAcquire(key)) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
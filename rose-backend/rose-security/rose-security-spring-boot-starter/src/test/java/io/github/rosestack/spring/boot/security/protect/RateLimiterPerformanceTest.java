@@ -0,0 +1,117 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rosestack.spring.boot.security.EmbeddedRedis;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 限流计数器性能测试，多线程并发访问同一个热点 key
+ */
+@Slf4j
+@DisplayName("限流计数器性能测试")
+@Disabled("性能测试，仅在需要时手动运行")
+class RateLimiterPerformanceTest {
+
+    private static final String KEY_PREFIX = "perf:rate-limit:";
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 20_000;
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+    // 限额足够大，测试期间全部放行
+    private static final long LIMIT = Long.MAX_VALUE / 4;
+
+    private static EmbeddedRedis redis;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redis = new EmbeddedRedis();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+    }
+
+    @Test
+    @DisplayName("本地计数")
+    void testLocalCounter() throws Exception {
+        runAcquire("本地计数", new LocalRateLimitCounter(LIMIT, WINDOW), REQUESTS_PER_THREAD * 50);
+    }
+
+    @Test
+    @DisplayName("Redis 计数")
+    void testRedisCounter() throws Exception {
+        runAcquire(
+                "Redis计数",
+                new RedisRateLimitCounter(redis.redisTemplate(), KEY_PREFIX, LIMIT, WINDOW, 1),
+                REQUESTS_PER_THREAD);
+    }
+
+    @Test
+    @DisplayName("Redis 计数预取")
+    void testRedisCounterWithPrefetch() throws Exception {
+        runAcquire(
+                "Redis计数预取",
+                new RedisRateLimitCounter(redis.redisTemplate(), KEY_PREFIX, LIMIT, WINDOW, 100),
+                REQUESTS_PER_THREAD);
+    }
+
+    private void runAcquire(String label, RateLimitCounter counter, int requestsPerThread) throws Exception {
+        // 预热
+        for (int i = 0; i < 1_000; i++) {
+            counter.tryAcquire("hot");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(THREADS);
+            long startTime = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    int allowed = 0;
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        if (counter.tryAcquire("hot")) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            int allowed = 0;
+            for (Future<Integer> future : futures) {
+                allowed += future.get();
+            }
+            long durationNanos = System.nanoTime() - startTime;
+
+            long total = (long) THREADS * requestsPerThread;
+            assertThat(allowed).isEqualTo(total);
+            log.info(
+                    "{}限流测试结果：{}线程共{}次请求耗时{}ms，吞吐量{}次/秒",
+                    label,
+                    THREADS,
+                    total,
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                    Math.round(total * 1_000_000_000.0 / durationNanos));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
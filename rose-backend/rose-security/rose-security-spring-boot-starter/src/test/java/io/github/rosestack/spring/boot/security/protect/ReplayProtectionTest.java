@@ -0,0 +1,173 @@
+package io.github.rosestack.spring.boot.security.protect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.rosestack.spring.boot.security.EmbeddedRedis;
+import io.github.rosestack.spring.boot.security.MutableClock;
+import io.github.rosestack.spring.boot.security.config.SecurityProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class ReplayProtectionTest {
+
+    private static final String KEY_PREFIX = "test:nonce:";
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private static EmbeddedRedis redis;
+
+    private SecurityProperties props;
+    private Clock clock;
+
+    @BeforeAll
+    static void startRedis() throws Exception {
+        redis = new EmbeddedRedis();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis.flushAll();
+        props = new SecurityProperties();
+        props.getProtect().getReplay().setEnabled(true);
+        clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    }
+
+    @Test
+    void rejectsMissingOrMalformedHeaders() {
+        ReplayProtection protection = newProtection(new MemoryNonceStore(window(), clock));
+
+        assertThat(protection.check(new MockHttpServletRequest())).isFalse();
+        assertThat(protection.check(request("n1", "abc"))).isFalse();
+        assertThat(protection.check(request("n1", String.valueOf(Long.MIN_VALUE))))
+                .isFalse();
+    }
+
+    @Test
+    void rejectsTimestampOutsideWindow() {
+        ReplayProtection protection = newProtection(new MemoryNonceStore(window(), clock));
+        long now = NOW.getEpochSecond();
+        long window = window().toSeconds();
+
+        assertThat(protection.check(request("n1", String.valueOf(now - window - 1))))
+                .isFalse();
+        assertThat(protection.check(request("n2", String.valueOf(now + window + 1))))
+                .isFalse();
+        assertThat(protection.check(request("n3", String.valueOf(now - window))))
+                .isTrue();
+        assertThat(protection.check(request("n4", String.valueOf(now + window))))
+                .isTrue();
+    }
+
+    @Test
+    void rejectsReplayedNonce() {
+        ReplayProtection protection = newProtection(new MemoryNonceStore(window(), clock));
+        String ts = String.valueOf(NOW.getEpochSecond());
+
+        assertThat(protection.check(request("n1", ts))).isTrue();
+        assertThat(protection.check(request("n1", ts))).isFalse();
+        // 相同 Nonce 换一个时间戳也不能重放
+        assertThat(protection.check(request("n1", String.valueOf(NOW.getEpochSecond() + 60))))
+                .isFalse();
+    }
+
+    @Test
+    void memoryStoreDropsExpiredBuckets() {
+        MutableClock mutableClock = new MutableClock(NOW.toEpochMilli());
+        MemoryNonceStore store = new MemoryNonceStore(window(), mutableClock);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(store.putIfAbsent("n" + i, window())).isTrue();
+        }
+        assertThat(store.size()).isEqualTo(100);
+
+        // 过期后再多一个桶的时长，整桶丢弃
+        mutableClock.advance(window().plus(window().dividedBy(2)));
+        assertThat(store.putIfAbsent("n0", window())).isTrue();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void memoryStoreAllowsOnlyOneConcurrentNonce() throws Exception {
+        assertOnlyOneConcurrentPasses(new MemoryNonceStore(window(), clock));
+    }
+
+    @Test
+    void redisStoreAllowsOnlyOneConcurrentNonce() throws Exception {
+        assertOnlyOneConcurrentPasses(new RedisNonceStore(redis.redisTemplate(), KEY_PREFIX));
+    }
+
+    @Test
+    void redisStoreSharesNoncesAcrossNodes() {
+        ReplayProtection nodeA = newProtection(new RedisNonceStore(redis.redisTemplate(), KEY_PREFIX));
+        ReplayProtection nodeB = newProtection(new RedisNonceStore(redis.redisTemplate(), KEY_PREFIX));
+        String ts = String.valueOf(NOW.getEpochSecond());
+
+        assertThat(nodeA.check(request("n1", ts))).isTrue();
+        assertThat(nodeB.check(request("n1", ts))).isFalse();
+        // 保留到时间戳离开时间窗
+        assertThat(redis.redisTemplate().getExpire(KEY_PREFIX + "n1")).isBetween(1L, window().toSeconds());
+    }
+
+    private void assertOnlyOneConcurrentPasses(NonceStore store) throws Exception {
+        int threads = 32;
+        ReplayProtection protection = newProtection(store);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 20; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> futures = new ArrayList<>(threads);
+                for (int t = 0; t < threads; t++) {
+                    // 同一 Nonce 使用不同的时间戳，落入不同的时间桶
+                    String ts = String.valueOf(NOW.getEpochSecond() - t * 10L);
+                    String nonce = "n" + round;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return protection.check(request(nonce, ts));
+                    }));
+                }
+                start.countDown();
+                int passed = 0;
+                for (Future<Boolean> future : futures) {
+                    if (future.get()) {
+                        passed++;
+                    }
+                }
+                assertThat(passed).isLessThanOrEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ReplayProtection newProtection(NonceStore store) {
+        return new ReplayProtection(props, store, clock);
+    }
+
+    private Duration window() {
+        return props.getProtect().getReplay().getWindow();
+    }
+
+    private MockHttpServletRequest request(String nonce, String ts) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(props.getProtect().getReplay().getNonceHeader(), nonce);
+        request.addHeader(props.getProtect().getReplay().getTimestampHeader(), ts);
+        return request;
+    }
+}
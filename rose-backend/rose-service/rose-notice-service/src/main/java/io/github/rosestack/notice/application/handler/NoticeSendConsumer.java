@@ -1,7 +1,10 @@
 package io.github.rosestack.notice.application.handler;
 
-import io.github.rosestack.notify.SendRequest;
+import java.util.List;
 
+/**
+ * 通知发送任务消费，消息中只携带任务ID，任务内容以任务表为准
+ */
 public interface NoticeSendConsumer {
-    void consume(SendRequest sendRequest);
+    void consume(List<String> jobIds);
 }
@@ -1,7 +1,13 @@
 package io.github.rosestack.notice.application.handler;
 
-import io.github.rosestack.notify.SendRequest;
+import io.github.rosestack.notice.domain.entity.NoticeSendJob;
+import java.util.List;
 
+/**
+ * 通知发送任务投递
+ *
+ * <p>任务在投递前已经持久化，投递失败或丢失的任务由轮询补偿，因此实现只需尽力投递。
+ */
 public interface NoticeSendProducer {
-    void send(SendRequest sendRequest);
+    void send(List<NoticeSendJob> jobs);
 }
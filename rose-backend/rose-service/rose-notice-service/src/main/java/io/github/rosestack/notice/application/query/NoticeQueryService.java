@@ -2,11 +2,16 @@ package io.github.rosestack.notice.application.query;
 
 import io.github.rosestack.notice.domain.entity.Notice;
 import io.github.rosestack.notice.domain.repository.NoticeRepository;
+import io.github.rosestack.notice.domain.value.NoticeKeyset;
+import io.github.rosestack.notice.domain.value.NoticeStatus;
 import io.github.rosestack.notice.shared.constant.NoticeConstants;
 import io.github.rosestack.notice.shared.exception.NoticeException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * 通知查询服务
@@ -20,6 +25,11 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class NoticeQueryService {
 
+    /**
+     * 单页最大数量
+     */
+    private static final int MAX_PAGE_SIZE = 500;
+
     /**
      * 通知仓储
      */
@@ -39,45 +49,70 @@ public class NoticeQueryService {
     }
 
     /**
-     * 根据租户ID查询通知列表
+     * 键集分页查询租户的通知，按发送时间倒序
      *
      * @param tenantId 租户ID
+     * @param after    上一页最后一条通知的位置，为空时查询第一页
+     * @param size     每页大小
      * @return 通知列表
      */
-    public List<Notice> findByTenantId(String tenantId) {
-        return noticeRepository.findByTenantId(tenantId);
+    public List<Notice> findByTenantId(String tenantId, NoticeKeyset after, int size) {
+        return noticeRepository.findByTenantId(tenantId, after, limit(size));
     }
 
     /**
-     * 根据目标查询通知列表
+     * 键集分页查询目标的通知，按发送时间倒序
      *
      * @param target 通知目标
+     * @param after  上一页最后一条通知的位置，为空时查询第一页
+     * @param size   每页大小
      * @return 通知列表
      */
-    public List<Notice> findByTarget(String target) {
-        return noticeRepository.findByTarget(target);
+    public List<Notice> findByTarget(String target, NoticeKeyset after, int size) {
+        return noticeRepository.findByTarget(target, after, limit(size));
     }
 
     /**
-     * 根据状态查询通知列表
+     * 键集分页查询指定状态的通知，按发送时间倒序
      *
      * @param status 通知状态
+     * @param after  上一页最后一条通知的位置，为空时查询第一页
+     * @param size   每页大小
      * @return 通知列表
      */
-    public List<Notice> findByStatus(String status) {
-        return noticeRepository.findByStatus(status);
+    public List<Notice> findByStatus(NoticeStatus status, NoticeKeyset after, int size) {
+        return noticeRepository.findByStatus(status, after, limit(size));
     }
 
     /**
      * 分页查询通知
      *
+     * <p>用于需要跳页的场景，偏移量越大代价越高，连续翻页请使用 {@link #findByTenantId(String, NoticeKeyset, int)}。
+     *
      * @param tenantId 租户ID
      * @param page     页码（从0开始）
      * @param size     每页大小
      * @return 通知列表
      */
     public List<Notice> findByTenantIdWithPaging(String tenantId, int page, int size) {
-        // TODO: 实现分页查询逻辑
-        return noticeRepository.findByTenantId(tenantId);
+        int limit = limit(size);
+        return noticeRepository.findPageByTenantId(tenantId, (long) Math.max(0, page) * limit, limit);
+    }
+
+    /**
+     * 导出租户在发送时间范围内的通知，逐条回调，不在内存中保留结果
+     *
+     * @param tenantId 租户ID
+     * @param from     发送时间下限（含）
+     * @param to       发送时间上限（不含）
+     * @param action   逐条处理通知
+     */
+    @Transactional(readOnly = true)
+    public void exportByTenantId(String tenantId, LocalDateTime from, LocalDateTime to, Consumer<Notice> action) {
+        noticeRepository.streamByTenantId(tenantId, from, to, action);
+    }
+
+    private static int limit(int size) {
+        return Math.min(Math.max(1, size), MAX_PAGE_SIZE);
     }
 }
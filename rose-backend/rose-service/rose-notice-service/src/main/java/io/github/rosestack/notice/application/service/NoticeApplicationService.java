@@ -1,22 +1,29 @@
 package io.github.rosestack.notice.application.service;
 
-import io.github.rosestack.notify.NotifyService;
-import io.github.rosestack.notify.SendRequest;
-import io.github.rosestack.notify.SendResult;
-import io.github.rosestack.notify.SenderConfiguration;
 import io.github.rosestack.notice.application.command.SendNoticeCommand;
-import io.github.rosestack.notice.domain.entity.Notice;
+import io.github.rosestack.notice.application.handler.NoticeSendProducer;
 import io.github.rosestack.notice.domain.entity.NoticeChannel;
+import io.github.rosestack.notice.domain.entity.NoticePreference;
+import io.github.rosestack.notice.domain.entity.NoticeSendJob;
 import io.github.rosestack.notice.domain.entity.NoticeTemplate;
 import io.github.rosestack.notice.domain.entity.NoticeTemplateChannel;
 import io.github.rosestack.notice.domain.repository.NoticeChannelRepository;
-import io.github.rosestack.notice.domain.repository.NoticeRepository;
+import io.github.rosestack.notice.domain.repository.NoticePreferenceRepository;
+import io.github.rosestack.notice.domain.repository.NoticeSendJobRepository;
 import io.github.rosestack.notice.domain.repository.NoticeTemplateChannelRepository;
 import io.github.rosestack.notice.domain.repository.NoticeTemplateRepository;
+import io.github.rosestack.notice.domain.value.NoticeChannelType;
+import io.github.rosestack.notice.domain.value.NoticeStatus;
+import io.github.rosestack.notice.domain.value.TargetType;
+import io.github.rosestack.notice.domain.value.TimeWindow;
 import io.github.rosestack.notice.shared.constant.NoticeConstants;
 import io.github.rosestack.notice.shared.exception.NoticeException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,20 +31,22 @@ import org.slf4j.MDC;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * 通知应用服务（Application Service）
  *
- * <p>负责通知发送用例的编排，包括参数校验、模板和渠道查找、组装发送上下文、调用发送服务等。 不直接处理发送动作、事件、重试、日志等横切逻辑，这些由
- * NoticeSendService 负责。
+ * <p>负责通知发送用例的编排，包括参数校验、模板和渠道查找、组装发送任务等。发送请求落库为任务后立即返回，
+ * 实际发送由 {@link NoticeDispatchService} 在消费者中批量完成。
  *
  * <p>典型职责：
  *
  * <ul>
  *   <li>参数和幂等校验
  *   <li>查找通知模板和渠道
- *   <li>组装 NoticeSendContext
- *   <li>调用 NoticeSendService 完成实际发送
+ *   <li>按接收人免打扰时段计算投递时间，保存发送任务
+ *   <li>事务提交后通过 {@link NoticeSendProducer} 投递任务
  *   <li>只暴露用例入口方法，内部细节私有化
  * </ul>
  *
@@ -48,11 +57,12 @@ import org.springframework.transaction.annotation.Transactional;
 public class NoticeApplicationService {
     private static final Logger log = LoggerFactory.getLogger(NoticeApplicationService.class);
 
-    private final NoticeRepository noticeRepository;
     private final NoticeTemplateRepository templateRepository;
     private final NoticeTemplateChannelRepository noticeTemplateChannelRepository;
     private final NoticeChannelRepository noticeChannelRepository;
-    private final NotifyService notifyService;
+    private final NoticePreferenceRepository noticePreferenceRepository;
+    private final NoticeSendJobRepository noticeSendJobRepository;
+    private final NoticeSendProducer noticeSendProducer;
 
     @Transactional(rollbackFor = Exception.class)
     public void sendNotice(SendNoticeCommand cmd) {
@@ -74,38 +84,91 @@ public class NoticeApplicationService {
             throw new NoticeException(NoticeConstants.ErrorCode.CHANNEL_NOT_FOUND);
         }
 
+        Map<NoticeChannelType, TimeWindow> quietPeriods = findQuietPeriods(cmd);
+        LocalDateTime now = LocalDateTime.now();
+        List<NoticeSendJob> jobs = new ArrayList<>(noticeTemplateChannels.size());
         for (NoticeTemplateChannel noticeTemplateChannel : noticeTemplateChannels) {
             String channelId = noticeTemplateChannel.getChannelId();
-            NoticeChannel channel = noticeChannelRepository
-                    .findById(channelId)
-                    .orElseThrow(() -> {
-                        log.warn("渠道不存在，channelId={}", channelId);
-                        throw new NoticeException(NoticeConstants.ErrorCode.CHANNEL_NOT_FOUND);
-                    });
+            NoticeChannel channel = noticeChannelRepository.findById(channelId).orElseThrow(() -> {
+                log.warn("渠道不存在，channelId={}", channelId);
+                throw new NoticeException(NoticeConstants.ErrorCode.CHANNEL_NOT_FOUND);
+            });
 
-            SendRequest sendRequest = SendRequest.builder()
-                    .target(cmd.getTarget())
-                    .requestId(cmd.getRequestId())
-                    .templateContent(template.getContent())
-                    .build();
-            SenderConfiguration configuration = SenderConfiguration.builder()
-                    .channelType(channel.getChannelType().name())
-                    .config(channel.getConfig())
-                    .templateType(template.getType())
-                    .build();
-            SendResult sendResult = notifyService.send(sendRequest, configuration);
+            NoticeSendJob job = new NoticeSendJob();
+            job.setId(UUID.randomUUID().toString());
+            job.setTenantId(channel.getTenantId());
+            job.setRequestId(cmd.getRequestId());
+            job.setTemplateId(cmd.getTemplateId());
+            job.setTemplateType(template.getType());
+            job.setTemplateContent(template.getContent());
+            job.setVariables(cmd.getVariables());
+            job.setChannelId(channelId);
+            job.setChannelType(channel.getChannelType());
+            job.setTarget(cmd.getTarget());
+            job.setTargetType(cmd.getTargetType());
+            job.setStatus(NoticeStatus.PENDING);
+            job.setDeliverAt(deliverAt(quietPeriods.get(channel.getChannelType()), now));
+            job.setTraceId(MDC.get("traceId"));
+            job.setCreateTime(now);
+            jobs.add(job);
+        }
+        noticeSendJobRepository.saveAll(jobs);
+
+        // 事务提交后再投递，避免消费者读不到任务；投递失败的任务由轮询补偿
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(jobs);
+                }
+            });
+        } else {
+            publish(jobs);
+        }
+    }
 
-            Notice notice = new Notice();
-            notice.setChannelId(channelId);
-            notice.setTemplateId(cmd.getTemplateId());
-            notice.setTarget(cmd.getTarget());
-            notice.setChannelType(channel.getChannelType());
-            notice.setSendTime(LocalDateTime.now());
-            notice.setRequestId(sendRequest.getRequestId());
-            notice.setFailReason(sendResult.getMessage());
-            notice.setTraceId(MDC.get("traceId"));
+    private void publish(List<NoticeSendJob> jobs) {
+        try {
+            noticeSendProducer.send(jobs);
+        } catch (Exception e) {
+            log.warn("投递通知任务失败，等待轮询补偿，requestId={}", jobs.get(0).getRequestId(), e);
+        }
+    }
+
+    /**
+     * 查找接收人各渠道的免打扰时段，未指定渠道的偏好作用于所有渠道
+     */
+    private Map<NoticeChannelType, TimeWindow> findQuietPeriods(SendNoticeCommand cmd) {
+        Map<NoticeChannelType, TimeWindow> quietPeriods = new HashMap<>();
+        if (cmd.getTargetType() != TargetType.USERNAME) {
+            return quietPeriods;
+        }
+        TimeWindow defaultPeriod = null;
+        for (NoticePreference preference : noticePreferenceRepository.findByUserId(cmd.getTarget())) {
+            if (preference.getQuietPeriod() == null) {
+                continue;
+            }
+            if (preference.getChannelType() == null) {
+                defaultPeriod = preference.getQuietPeriod();
+            } else {
+                quietPeriods.put(preference.getChannelType(), preference.getQuietPeriod());
+            }
+        }
+        if (defaultPeriod != null) {
+            for (NoticeChannelType channelType : NoticeChannelType.values()) {
+                quietPeriods.putIfAbsent(channelType, defaultPeriod);
+            }
+        }
+        return quietPeriods;
+    }
 
-            noticeRepository.save(notice);
+    /**
+     * 处于免打扰时段的消息延后到时段结束投递，同一时段的消息到期后一起批量发送
+     */
+    private LocalDateTime deliverAt(TimeWindow quietPeriod, LocalDateTime now) {
+        if (quietPeriod == null || !quietPeriod.isWithin(now.toLocalTime())) {
+            return now;
         }
+        return quietPeriod.endAfter(now);
     }
 }
@@ -0,0 +1,202 @@
+package io.github.rosestack.notice.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.rosestack.notice.domain.entity.Notice;
+import io.github.rosestack.notice.domain.entity.NoticeChannel;
+import io.github.rosestack.notice.domain.entity.NoticeSendJob;
+import io.github.rosestack.notice.domain.repository.NoticeChannelRepository;
+import io.github.rosestack.notice.domain.repository.NoticeRepository;
+import io.github.rosestack.notice.domain.repository.NoticeSendJobRepository;
+import io.github.rosestack.notice.domain.value.NoticeStatus;
+import io.github.rosestack.notice.shared.constant.NoticeConstants;
+import io.github.rosestack.notify.NotifyService;
+import io.github.rosestack.notify.SendRequest;
+import io.github.rosestack.notify.SendResult;
+import io.github.rosestack.notify.SenderConfiguration;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 通知任务分发服务
+ *
+ * <p>消费者拿到任务ID后调用本服务：认领任务 → 按渠道和模板类型分组批量发送 → 在一个事务中批量写入通知结果并删除任务。
+ * 发送在事务之外进行，不占用数据库连接；写入结果前宕机的任务在认领超时后重新投递，由 requestId:channelId 幂等保证不重复发送，
+ * 幂等命中说明渠道已受理过该请求，记为已发送，重复的通知结果在写入时跳过。
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+public class NoticeDispatchService {
+    private static final Logger log = LoggerFactory.getLogger(NoticeDispatchService.class);
+
+    /**
+     * 可重试失败的重新投递间隔，按已发送次数线性递增
+     */
+    private static final Duration RETRY_BACKOFF = Duration.ofMinutes(1);
+
+    private final NoticeSendJobRepository noticeSendJobRepository;
+    private final NoticeRepository noticeRepository;
+    private final NoticeChannelRepository noticeChannelRepository;
+    private final NotifyService notifyService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 预构建的发送配置，key 为 channelId:templateType。复用同一配置对象，渠道实例缓存不必每次发送都重新计算配置 key
+     */
+    private final Cache<String, ChannelConfiguration> senderConfigurations =
+            Caffeine.newBuilder().maximumSize(1024).build();
+
+    /**
+     * 分发任务，未到期或已被其他消费者认领的任务会被忽略
+     *
+     * @param jobIds 任务ID
+     */
+    public void dispatch(List<String> jobIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<NoticeSendJob> jobs =
+                noticeSendJobRepository.claim(jobIds, UUID.randomUUID().toString(), now);
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<NoticeSendJob>> groups = new LinkedHashMap<>();
+        for (NoticeSendJob job : jobs) {
+            groups.computeIfAbsent(job.getChannelId() + ":" + job.getTemplateType(), k -> new ArrayList<>())
+                    .add(job);
+        }
+
+        // 各分组并发发送，分组内由 NotifyService 按渠道分片并发
+        List<List<NoticeSendJob>> batches = new ArrayList<>(groups.values());
+        List<List<SendRequest>> requests = new ArrayList<>(batches.size());
+        List<CompletableFuture<List<SendResult>>> futures = new ArrayList<>(batches.size());
+        for (List<NoticeSendJob> group : batches) {
+            List<SendRequest> groupRequests =
+                    group.stream().map(this::toSendRequest).toList();
+            requests.add(groupRequests);
+            futures.add(sendGroup(group.get(0), groupRequests));
+        }
+
+        List<Notice> notices = new ArrayList<>(jobs.size());
+        List<String> finished = new ArrayList<>(jobs.size());
+        List<NoticeSendJob> retries = new ArrayList<>();
+        for (int g = 0; g < batches.size(); g++) {
+            List<NoticeSendJob> group = batches.get(g);
+            List<SendResult> results = futures.get(g).join();
+            for (int i = 0; i < group.size(); i++) {
+                NoticeSendJob job = group.get(i);
+                SendResult result = results.get(i);
+                job.setAttempts(job.getAttempts() + 1);
+                if (!result.isSuccess()
+                        && result.isRetryable()
+                        && job.getAttempts() < NoticeConstants.MAX_RETRY_COUNT) {
+                    job.setDeliverAt(now.plus(RETRY_BACKOFF.multipliedBy(job.getAttempts())));
+                    retries.add(job);
+                    continue;
+                }
+                notices.add(toNotice(job, requests.get(g).get(i), result, now));
+                finished.add(job.getId());
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            noticeRepository.saveAll(notices);
+            noticeSendJobRepository.deleteAll(finished);
+            noticeSendJobRepository.reschedule(retries);
+        });
+        log.debug("分发通知任务完成，claimed={}, finished={}, retries={}", jobs.size(), finished.size(), retries.size());
+    }
+
+    private CompletableFuture<List<SendResult>> sendGroup(NoticeSendJob first, List<SendRequest> requests) {
+        try {
+            Optional<NoticeChannel> channel = noticeChannelRepository.findById(first.getChannelId());
+            if (channel.isEmpty()) {
+                log.warn("渠道不存在，channelId={}", first.getChannelId());
+                return CompletableFuture.completedFuture(requests.stream()
+                        .map(request ->
+                                SendResult.fail(NoticeConstants.ErrorCode.CHANNEL_NOT_FOUND, request.getRequestId()))
+                        .toList());
+            }
+            SenderConfiguration configuration = senderConfiguration(channel.get(), first.getTemplateType());
+            return notifyService
+                    .sendBatchAsync(requests, configuration)
+                    .exceptionally(e -> failAll(first, requests, e));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(failAll(first, requests, e));
+        }
+    }
+
+    private List<SendResult> failAll(NoticeSendJob first, List<SendRequest> requests, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        log.error("批量发送通知失败，channelId={}", first.getChannelId(), cause);
+        Exception ex = cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+        return requests.stream()
+                .map(request -> SendResult.failed(request.getRequestId(), ex))
+                .toList();
+    }
+
+    private SenderConfiguration senderConfiguration(NoticeChannel channel, String templateType) {
+        String key = channel.getId() + ":" + templateType;
+        ChannelConfiguration cached = senderConfigurations.getIfPresent(key);
+        // 渠道仓储在渠道更新前返回同一实例，实例不同说明渠道已更新
+        if (cached == null || cached.channel() != channel) {
+            cached = new ChannelConfiguration(
+                    channel,
+                    SenderConfiguration.builder()
+                            .channelType(channel.getChannelType().name())
+                            .config(channel.getConfig())
+                            .templateType(templateType)
+                            .build());
+            senderConfigurations.put(key, cached);
+        }
+        return cached.configuration();
+    }
+
+    private SendRequest toSendRequest(NoticeSendJob job) {
+        // 以 requestId:channelId 作为幂等ID，重复提交的同一请求在同一渠道只发送一次，多个渠道互不影响
+        String requestId = job.getRequestId() != null ? job.getRequestId() + ":" + job.getChannelId() : job.getId();
+        return SendRequest.builder()
+                .requestId(requestId)
+                .target(job.getTarget())
+                .templateContent(job.getTemplateContent())
+                .variables(job.getVariables())
+                .build();
+    }
+
+    private Notice toNotice(NoticeSendJob job, SendRequest request, SendResult result, LocalDateTime sendTime) {
+        Notice notice = new Notice();
+        notice.setTenantId(job.getTenantId());
+        notice.setChannelId(job.getChannelId());
+        notice.setTemplateId(job.getTemplateId());
+        notice.setTarget(job.getTarget());
+        notice.setTargetType(job.getTargetType());
+        notice.setChannelType(job.getChannelType());
+        // 发送时已就地渲染
+        notice.setContent(request.getTemplateContent());
+        notice.setRequestId(job.getRequestId());
+        // 重新投递时幂等命中，说明上次发送已被渠道受理，只是结果未写入
+        boolean sent = result.isSuccess() || result.isDuplicate();
+        notice.setStatus(sent ? NoticeStatus.SENT : NoticeStatus.FAILED);
+        notice.setFailReason(sent ? null : result.getMessage());
+        notice.setSendTime(sendTime);
+        notice.setTraceId(job.getTraceId());
+        return notice;
+    }
+
+    private record ChannelConfiguration(NoticeChannel channel, SenderConfiguration configuration) {}
+}
@@ -0,0 +1,60 @@
+package io.github.rosestack.notice.domain.entity;
+
+import io.github.rosestack.notice.domain.value.NoticeChannelType;
+import io.github.rosestack.notice.domain.value.NoticeStatus;
+import io.github.rosestack.notice.domain.value.TargetType;
+import java.time.LocalDateTime;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * 通知发送任务
+ *
+ * <p>发送请求先落库为任务再异步投递，每个模板渠道对应一个任务。任务保存模板内容快照，发送时不再查询模板。
+ *
+ * <ul>
+ *   <li>PENDING：待投递，deliverAt 之前不会被投递
+ *   <li>MQ_DELIVERED：已被 claimedBy 对应的消费者认领，正在发送
+ * </ul>
+ *
+ * 发送完成后任务删除，结果记录为 {@link Notice}。
+ */
+@Data
+public class NoticeSendJob {
+    private String id;
+    private String tenantId;
+
+    /**
+     * 调用方请求ID，一次请求的多个渠道任务共享
+     */
+    private String requestId;
+
+    private String templateId;
+    private String templateType;
+    private String templateContent;
+    private Map<String, Object> variables;
+
+    private String channelId;
+    private NoticeChannelType channelType;
+
+    private String target;
+    private TargetType targetType;
+
+    private NoticeStatus status;
+
+    /**
+     * 最早投递时间，处于接收人免打扰时段的任务延后到时段结束
+     */
+    private LocalDateTime deliverAt;
+
+    /**
+     * 已发送次数
+     */
+    private int attempts;
+
+    private String claimedBy;
+    private LocalDateTime claimedAt;
+
+    private String traceId;
+    private LocalDateTime createTime;
+}
@@ -1,6 +1,7 @@
 package io.github.rosestack.notice.domain.repository;
 
 import io.github.rosestack.notice.domain.entity.NoticePreference;
+import java.util.List;
 import java.util.Optional;
 
 public interface NoticePreferenceRepository {
@@ -11,4 +12,6 @@ public interface NoticePreferenceRepository {
     void update(NoticePreference preference);
 
     void delete(String id);
+
+    List<NoticePreference> findByUserId(String userId);
 }
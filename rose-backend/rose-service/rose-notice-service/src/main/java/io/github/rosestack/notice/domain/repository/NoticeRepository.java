@@ -1,8 +1,12 @@
 package io.github.rosestack.notice.domain.repository;
 
 import io.github.rosestack.notice.domain.entity.Notice;
+import io.github.rosestack.notice.domain.value.NoticeKeyset;
+import io.github.rosestack.notice.domain.value.NoticeStatus;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * 通知仓储接口
@@ -29,6 +33,13 @@ public interface NoticeRepository {
      */
     void save(Notice notice);
 
+    /**
+     * 批量保存通知，相同 requestId 与渠道的通知已存在时跳过
+     *
+     * @param notices 通知列表
+     */
+    void saveAll(List<Notice> notices);
+
     /**
      * 更新通知
      *
@@ -52,26 +63,52 @@ public interface NoticeRepository {
     Optional<Notice> findByRequestId(String requestId);
 
     /**
-     * 根据租户ID查找通知列表
+     * 按发送时间倒序查找租户的通知
      *
      * @param tenantId 租户ID
+     * @param after    分页位置，为空时从最新的通知开始
+     * @param limit    最大数量
      * @return 通知列表
      */
-    List<Notice> findByTenantId(String tenantId);
+    List<Notice> findByTenantId(String tenantId, NoticeKeyset after, int limit);
 
     /**
-     * 根据目标查找通知列表
+     * 按发送时间倒序分页查找租户的通知，先在覆盖索引上定位当前页的ID再回表
+     *
+     * @param tenantId 租户ID
+     * @param offset   偏移量
+     * @param limit    最大数量
+     * @return 通知列表
+     */
+    List<Notice> findPageByTenantId(String tenantId, long offset, int limit);
+
+    /**
+     * 按发送时间倒序查找目标的通知
      *
      * @param target 通知目标
+     * @param after  分页位置，为空时从最新的通知开始
+     * @param limit  最大数量
      * @return 通知列表
      */
-    List<Notice> findByTarget(String target);
+    List<Notice> findByTarget(String target, NoticeKeyset after, int limit);
 
     /**
-     * 根据状态查找通知列表
+     * 按发送时间倒序查找指定状态的通知
      *
      * @param status 通知状态
+     * @param after  分页位置，为空时从最新的通知开始
+     * @param limit  最大数量
      * @return 通知列表
      */
-    List<Notice> findByStatus(String status);
+    List<Notice> findByStatus(NoticeStatus status, NoticeKeyset after, int limit);
+
+    /**
+     * 流式遍历租户在发送时间范围内的通知，结果不会整体加载到内存，需在事务内调用
+     *
+     * @param tenantId 租户ID
+     * @param from     发送时间下限（含）
+     * @param to       发送时间上限（不含）
+     * @param action   逐条处理通知
+     */
+    void streamByTenantId(String tenantId, LocalDateTime from, LocalDateTime to, Consumer<Notice> action);
 }
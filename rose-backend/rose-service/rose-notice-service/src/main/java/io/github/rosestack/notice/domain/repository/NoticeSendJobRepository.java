@@ -0,0 +1,65 @@
+package io.github.rosestack.notice.domain.repository;
+
+import io.github.rosestack.notice.domain.entity.NoticeSendJob;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 通知发送任务仓储接口
+ *
+ * <p>任务表即持久化队列，消费者通过条件更新认领任务，同一任务只会被一个消费者发送。
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 1.0.0
+ */
+public interface NoticeSendJobRepository {
+
+    /**
+     * 批量保存任务
+     *
+     * @param jobs 任务列表
+     */
+    void saveAll(List<NoticeSendJob> jobs);
+
+    /**
+     * 查找到期的待投递任务，按投递时间升序
+     *
+     * @param deliverBefore 投递时间上限
+     * @param limit         最大数量
+     * @return 任务列表
+     */
+    List<NoticeSendJob> findDue(LocalDateTime deliverBefore, int limit);
+
+    /**
+     * 认领待投递的任务，已被其他消费者认领或尚未到期的任务会被跳过
+     *
+     * @param ids       任务ID
+     * @param claimedBy 认领标识，每次认领唯一
+     * @param now       当前时间
+     * @return 认领成功的任务
+     */
+    List<NoticeSendJob> claim(Collection<String> ids, String claimedBy, LocalDateTime now);
+
+    /**
+     * 重新排期任务，任务回到待投递状态
+     *
+     * @param jobs 任务列表，需设置新的 deliverAt 与 attempts
+     */
+    void reschedule(List<NoticeSendJob> jobs);
+
+    /**
+     * 释放认领超时的任务，用于消费者宕机后恢复
+     *
+     * @param claimedBefore 认领时间上限
+     * @return 释放的任务数
+     */
+    int releaseStale(LocalDateTime claimedBefore);
+
+    /**
+     * 批量删除任务
+     *
+     * @param ids 任务ID
+     */
+    void deleteAll(Collection<String> ids);
+}
@@ -7,6 +7,7 @@ import io.github.rosestack.notice.domain.repository.NoticeChannelRepository;
 import io.github.rosestack.notice.domain.repository.NoticeTemplateRepository;
 import io.github.rosestack.notice.shared.constant.NoticeConstants;
 import io.github.rosestack.notice.shared.exception.NoticeException;
+import io.github.rosestack.notify.render.SimpleVariableTemplateContentRender;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -33,6 +34,11 @@ public class NoticeDomainService {
      */
     private final NoticeChannelRepository noticeChannelRepository;
 
+    /**
+     * 模板渲染器，编译后的模板在所有渲染器间共享缓存
+     */
+    private final SimpleVariableTemplateContentRender contentRender = new SimpleVariableTemplateContentRender();
+
     /**
      * 渲染通知内容
      *
@@ -46,13 +52,7 @@ public class NoticeDomainService {
                 .findByIdAndLang(templateId, lang)
                 .orElseThrow(() -> new RuntimeException("Template not found: " + templateId));
 
-        // 简单的模板渲染逻辑
-        String content = template.getContent();
-        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
-            content = content.replace("${" + entry.getKey() + "}", String.valueOf(entry.getValue()));
-        }
-
-        return content;
+        return contentRender.doRender(template.getContent(), parameters);
     }
 
     /**
@@ -64,8 +64,7 @@ public class NoticeDomainService {
      * @throws NoticeException 当参数无效时抛出异常
      */
     public void validateNotice(Notice notice) {
-        if (notice.getTemplateId() == null
-                || notice.getTemplateId().trim().isEmpty()) {
+        if (notice.getTemplateId() == null || notice.getTemplateId().trim().isEmpty()) {
             throw new NoticeException(NoticeConstants.ErrorCode.TEMPLATE_NOT_FOUND);
         }
 
@@ -0,0 +1,25 @@
+package io.github.rosestack.notice.domain.value;
+
+import io.github.rosestack.notice.domain.entity.Notice;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 通知键集分页位置值对象
+ *
+ * <p>通知按 (send_time, id) 倒序排列，下一页从上一页最后一条通知之后开始查询，查询代价与翻页深度无关。
+ */
+@Data
+@AllArgsConstructor
+public class NoticeKeyset {
+    private LocalDateTime sendTime;
+    private String id;
+
+    /**
+     * 以通知作为分页位置，下一页从该通知之后开始
+     */
+    public static NoticeKeyset of(Notice notice) {
+        return new NoticeKeyset(notice.getSendTime(), notice.getId());
+    }
+}
@@ -1,10 +1,11 @@
 package io.github.rosestack.notice.domain.value;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import lombok.Data;
 
 /**
- * 时间窗口值对象
+ * 时间窗口值对象，左闭右开，start 晚于 end 时表示跨越零点的窗口（如 22:00-07:00 的免打扰时段）
  */
 @Data
 public class TimeWindow {
@@ -22,6 +23,20 @@ public class TimeWindow {
     }
 
     public boolean isWithin(LocalTime time) {
-        return time.isAfter(start) && time.isBefore(end);
+        if (start.isAfter(end)) {
+            return !time.isBefore(start) || time.isBefore(end);
+        }
+        return !time.isBefore(start) && time.isBefore(end);
+    }
+
+    /**
+     * 计算窗口在给定时刻之后的结束时间
+     *
+     * @param time 处于窗口内的时刻
+     * @return 窗口结束时刻
+     */
+    public LocalDateTime endAfter(LocalDateTime time) {
+        LocalDateTime end = time.toLocalDate().atTime(this.end);
+        return end.isAfter(time) ? end : end.plusDays(1);
     }
 }
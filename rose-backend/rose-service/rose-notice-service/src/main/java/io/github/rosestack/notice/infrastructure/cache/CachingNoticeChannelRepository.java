@@ -0,0 +1,54 @@
+package io.github.rosestack.notice.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.github.rosestack.notice.domain.entity.NoticeChannel;
+import io.github.rosestack.notice.domain.repository.NoticeChannelRepository;
+import io.github.rosestack.notice.infrastructure.mybatis.mapper.NoticeChannelMapper;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 带读缓存的渠道配置仓储，按渠道ID缓存
+ *
+ * <p>失效前同一渠道始终返回同一实例，调用方可以按实例缓存由渠道派生的数据（如发送配置），实例变化即说明渠道已更新。
+ */
+@Primary
+@Repository
+@RequiredArgsConstructor
+public class CachingNoticeChannelRepository implements NoticeChannelRepository {
+    private final NoticeChannelMapper noticeChannelMapper;
+    private final Cache<String, Optional<NoticeChannel>> channels = NoticeCaches.newCache();
+
+    @Override
+    public Optional<NoticeChannel> findById(String id) {
+        return channels.get(id, noticeChannelMapper::findById);
+    }
+
+    @Override
+    public void save(NoticeChannel channel) {
+        noticeChannelMapper.save(channel);
+        if (channel.getId() != null) {
+            channels.invalidate(channel.getId());
+        }
+    }
+
+    @Override
+    public void update(NoticeChannel channel) {
+        noticeChannelMapper.update(channel);
+        channels.invalidate(channel.getId());
+    }
+
+    @Override
+    public void delete(String id) {
+        noticeChannelMapper.delete(id);
+        channels.invalidate(id);
+    }
+
+    @Override
+    public List<NoticeChannel> findByTypeAndTenantId(String type, String tenantId) {
+        return noticeChannelMapper.findByTypeAndTenantId(type, tenantId);
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.rosestack.notice.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.github.rosestack.notice.domain.entity.NoticeTemplateChannel;
+import io.github.rosestack.notice.domain.repository.NoticeTemplateChannelRepository;
+import io.github.rosestack.notice.domain.value.NoticeChannelType;
+import io.github.rosestack.notice.infrastructure.mybatis.mapper.NoticeTemplateChannelMapper;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 带读缓存的模板渠道绑定仓储，按模板ID缓存
+ */
+@Primary
+@Repository
+@RequiredArgsConstructor
+public class CachingNoticeTemplateChannelRepository implements NoticeTemplateChannelRepository {
+    private final NoticeTemplateChannelMapper noticeTemplateChannelMapper;
+    private final Cache<String, List<NoticeTemplateChannel>> bindings = NoticeCaches.newCache();
+
+    @Override
+    public List<NoticeTemplateChannel> findByTemplateId(String templateId) {
+        return bindings.get(templateId, key -> List.copyOf(noticeTemplateChannelMapper.findByTemplateId(key)));
+    }
+
+    @Override
+    public List<NoticeTemplateChannel> findByChannelType(NoticeChannelType channelType) {
+        return noticeTemplateChannelMapper.findByChannelType(channelType);
+    }
+
+    @Override
+    public void save(NoticeTemplateChannel noticeTemplateChannel) {
+        noticeTemplateChannelMapper.save(noticeTemplateChannel);
+        bindings.invalidate(noticeTemplateChannel.getTemplateId());
+    }
+
+    @Override
+    public void update(NoticeTemplateChannel noticeTemplateChannel) {
+        noticeTemplateChannelMapper.update(noticeTemplateChannel);
+        // 绑定可能从其他模板改绑过来，无法确定原模板
+        bindings.invalidateAll();
+    }
+
+    @Override
+    public void delete(String templateId, NoticeChannelType channelType) {
+        noticeTemplateChannelMapper.delete(templateId, channelType);
+        bindings.invalidate(templateId);
+    }
+}
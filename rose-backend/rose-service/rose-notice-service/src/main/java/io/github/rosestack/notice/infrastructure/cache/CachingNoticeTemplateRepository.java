@@ -0,0 +1,60 @@
+package io.github.rosestack.notice.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.github.rosestack.notice.domain.entity.NoticeTemplate;
+import io.github.rosestack.notice.domain.repository.NoticeTemplateRepository;
+import io.github.rosestack.notice.infrastructure.mybatis.mapper.NoticeTemplateMapper;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 带读缓存的通知模板仓储，按模板ID和语言缓存，返回的模板应视为只读
+ */
+@Primary
+@Repository
+@RequiredArgsConstructor
+public class CachingNoticeTemplateRepository implements NoticeTemplateRepository {
+    private final NoticeTemplateMapper noticeTemplateMapper;
+    private final Cache<TemplateKey, Optional<NoticeTemplate>> templates = NoticeCaches.newCache();
+
+    @Override
+    public Optional<NoticeTemplate> findById(String id) {
+        return noticeTemplateMapper.findById(id);
+    }
+
+    @Override
+    public Optional<NoticeTemplate> findByIdAndLang(String id, String lang) {
+        return templates.get(new TemplateKey(id, lang), key -> noticeTemplateMapper.findByIdAndLang(id, lang));
+    }
+
+    @Override
+    public void save(NoticeTemplate template) {
+        noticeTemplateMapper.save(template);
+        evict(template.getId());
+    }
+
+    @Override
+    public void update(NoticeTemplate template) {
+        noticeTemplateMapper.update(template);
+        evict(template.getId());
+    }
+
+    @Override
+    public void delete(String id) {
+        noticeTemplateMapper.delete(id);
+        evict(id);
+    }
+
+    private void evict(String id) {
+        if (id == null) {
+            // 未指定ID的新模板可能命中此前缓存的空结果
+            templates.invalidateAll();
+            return;
+        }
+        templates.asMap().keySet().removeIf(key -> id.equals(key.id()));
+    }
+
+    private record TemplateKey(String id, String lang) {}
+}
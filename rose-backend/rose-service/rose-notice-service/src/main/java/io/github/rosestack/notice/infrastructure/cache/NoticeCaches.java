@@ -0,0 +1,25 @@
+package io.github.rosestack.notice.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+
+/**
+ * 通知配置缓存工厂
+ *
+ * <p>模板、模板渠道绑定与渠道配置很少变化，经由本服务仓储的写操作会立即失效对应缓存；
+ * 其他实例或直接改库的变更依赖过期时间兜底。
+ */
+final class NoticeCaches {
+    private static final long MAXIMUM_SIZE = 10_000;
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(5);
+
+    private NoticeCaches() {}
+
+    static <K, V> Cache<K, V> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(EXPIRE_AFTER_WRITE)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.rosestack.notice.infrastructure.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.context.annotation.Conditional;
+
+/**
+ * 按 {@code rose.notice.send.queue} 选择队列实现，未配置时为进程内队列
+ *
+ * <p>配置值与 {@link NoticeSendProperties#getQueue()} 一样按宽松规则绑定为枚举，{@code in-process}、{@code in_process}、
+ * {@code IN_PROCESS} 都能匹配。
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 1.0.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Conditional(OnNoticeSendQueueCondition.class)
+public @interface ConditionalOnNoticeSendQueue {
+
+    NoticeSendProperties.QueueType value();
+}
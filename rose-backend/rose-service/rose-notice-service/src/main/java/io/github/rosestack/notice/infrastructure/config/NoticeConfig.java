@@ -1,8 +1,10 @@
 package io.github.rosestack.notice.infrastructure.config;
 
 import io.github.rosestack.notify.NotifyService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 通知服务配置类
@@ -13,6 +15,8 @@ import org.springframework.context.annotation.Configuration;
  * @since 1.0.0
  */
 @Configuration
+@EnableScheduling
+@EnableConfigurationProperties(NoticeSendProperties.class)
 public class NoticeConfig {
     @Bean
     public NotifyService noticeService() {
@@ -0,0 +1,85 @@
+package io.github.rosestack.notice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 通知发送队列配置
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "rose.notice.send")
+public class NoticeSendProperties {
+
+    /**
+     * 队列实现
+     */
+    private QueueType queue = QueueType.IN_PROCESS;
+
+    /**
+     * 单次分发的最大任务数
+     */
+    private int batchSize = 100;
+
+    /**
+     * 轮询到期任务的间隔（毫秒），用于投递延后的任务及补偿投递失败的任务
+     */
+    private long pollIntervalMillis = 5000;
+
+    /**
+     * 任务认领超时（毫秒），超时未完成的任务重新投递
+     */
+    private long claimTimeoutMillis = 300000;
+
+    /**
+     * 进程内队列延后任务的时间桶大小（秒）
+     */
+    private long bucketSeconds = 60;
+
+    /**
+     * 进程内队列最多缓存的延后任务数，超出的任务留在任务表中由轮询投递
+     */
+    private int maxDeferred = 10000;
+
+    /**
+     * RabbitMQ 批量消费配置
+     */
+    private Rabbit rabbit = new Rabbit();
+
+    @Data
+    public static class Rabbit {
+        /**
+         * 每个消费者未确认消息数上限，应不小于 consumerBatchSize
+         */
+        private int prefetch = 250;
+
+        /**
+         * 单次批量消费的最大消息数，同一批消息的任务一起发送、一起写入结果后再确认
+         */
+        private int consumerBatchSize = 50;
+
+        /**
+         * 凑批等待时间（毫秒），超时后不足一批也会交给监听器
+         */
+        private long receiveTimeoutMillis = 200;
+
+        /**
+         * 消费者数量
+         */
+        private int concurrency = 1;
+    }
+
+    public enum QueueType {
+        /**
+         * 进程内队列，单实例部署使用
+         */
+        IN_PROCESS,
+
+        /**
+         * RabbitMQ 队列
+         */
+        RABBIT
+    }
+}
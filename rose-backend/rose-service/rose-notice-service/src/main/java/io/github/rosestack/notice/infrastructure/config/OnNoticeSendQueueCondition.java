@@ -0,0 +1,31 @@
+package io.github.rosestack.notice.infrastructure.config;
+
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * {@link ConditionalOnNoticeSendQueue} 的条件实现
+ *
+ * @author <a href="mailto:ichensoul@gmail.com">chensoul</a>
+ * @since 1.0.0
+ */
+class OnNoticeSendQueueCondition extends SpringBootCondition {
+    private static final String PROPERTY = "rose.notice.send.queue";
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnNoticeSendQueue.class.getName());
+        NoticeSendProperties.QueueType required = (NoticeSendProperties.QueueType) attributes.get("value");
+        NoticeSendProperties.QueueType queue = Binder.get(context.getEnvironment())
+                .bind(PROPERTY, NoticeSendProperties.QueueType.class)
+                .orElse(NoticeSendProperties.QueueType.IN_PROCESS);
+        if (queue == required) {
+            return ConditionOutcome.match(PROPERTY + " is " + queue);
+        }
+        return ConditionOutcome.noMatch(PROPERTY + " is " + queue + ", required " + required);
+    }
+}
@@ -1,13 +1,41 @@
 package io.github.rosestack.notice.infrastructure.mq;
 
+import io.github.rosestack.notice.infrastructure.config.ConditionalOnNoticeSendQueue;
+import io.github.rosestack.notice.infrastructure.config.NoticeSendProperties;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnNoticeSendQueue(NoticeSendProperties.QueueType.RABBIT)
 public class RabbitMQConfig {
+    public static final String BATCH_CONTAINER_FACTORY = "noticeSendBatchContainerFactory";
+
     @Bean
     public Queue noticeSendQueue() {
         return new Queue(RabbitNoticeSendProducer.QUEUE, true);
     }
+
+    /**
+     * 批量消费容器：凑满一批或等待超时后整批交给监听器，监听器正常返回后整批确认
+     */
+    @Bean(BATCH_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory noticeSendBatchContainerFactory(
+            ConnectionFactory connectionFactory, NoticeSendProperties properties) {
+        NoticeSendProperties.Rabbit rabbit = properties.getRabbit();
+        int batchSize = Math.max(1, rabbit.getConsumerBatchSize());
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(Math.max(batchSize, rabbit.getPrefetch()));
+        factory.setReceiveTimeout(rabbit.getReceiveTimeoutMillis());
+        factory.setConcurrentConsumers(Math.max(1, rabbit.getConcurrency()));
+        return factory;
+    }
 }
@@ -1,8 +1,11 @@
 package io.github.rosestack.notice.infrastructure.mq;
 
-import io.github.rosestack.notify.NotifyService;
-import io.github.rosestack.notify.SendRequest;
 import io.github.rosestack.notice.application.handler.NoticeSendConsumer;
+import io.github.rosestack.notice.application.service.NoticeDispatchService;
+import io.github.rosestack.notice.infrastructure.config.ConditionalOnNoticeSendQueue;
+import io.github.rosestack.notice.infrastructure.config.NoticeSendProperties;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
@@ -10,20 +13,32 @@ import org.springframework.stereotype.Component;
 
 /**
  * 通知发送消息消费者
+ *
+ * <p>批量监听：一批消息中的任务合并为一次分发，发送完成并批量写入结果后监听器返回，容器再整批确认。
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnNoticeSendQueue(NoticeSendProperties.QueueType.RABBIT)
 public class RabbitNoticeSendConsumer implements NoticeSendConsumer {
-    private final NotifyService notifyService;
+    private final NoticeDispatchService noticeDispatchService;
 
-    @RabbitListener(queues = RabbitNoticeSendProducer.QUEUE)
-    public void consume(SendRequest sendRequest) {
+    @RabbitListener(queues = RabbitNoticeSendProducer.QUEUE, containerFactory = RabbitMQConfig.BATCH_CONTAINER_FACTORY)
+    public void onMessages(List<List<String>> messages) {
+        List<String> jobIds = new ArrayList<>();
+        for (List<String> message : messages) {
+            jobIds.addAll(message);
+        }
+        consume(jobIds);
+    }
+
+    @Override
+    public void consume(List<String> jobIds) {
         try {
-            notifyService.send(sendRequest, null);
+            noticeDispatchService.dispatch(jobIds);
         } catch (Exception e) {
-            log.error("[通知异步发送] 失败, requestId={},error={}", sendRequest.getRequestId(), e.getMessage(), e);
-            // 可扩展：失败重试、死信队列等
+            log.error("[通知异步发送] 失败, size={},error={}", jobIds.size(), e.getMessage(), e);
+            // 已认领的任务在认领超时后由轮询重新投递
         }
     }
 }
@@ -1,21 +1,45 @@
 package io.github.rosestack.notice.infrastructure.mq;
 
-import io.github.rosestack.notify.SendRequest;
 import io.github.rosestack.notice.application.handler.NoticeSendProducer;
+import io.github.rosestack.notice.domain.entity.NoticeSendJob;
+import io.github.rosestack.notice.infrastructure.config.ConditionalOnNoticeSendQueue;
+import io.github.rosestack.notice.infrastructure.config.NoticeSendProperties;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
 /**
  * 通知发送消息生产者
+ *
+ * <p>每条消息携带一批到期任务的ID；未到期的延后任务留在任务表中，到期后由轮询投递。
  */
 @Component
 @RequiredArgsConstructor
+@ConditionalOnNoticeSendQueue(NoticeSendProperties.QueueType.RABBIT)
 public class RabbitNoticeSendProducer implements NoticeSendProducer {
     public static final String QUEUE = "notice.send.queue";
     private final RabbitTemplate rabbitTemplate;
+    private final NoticeSendProperties properties;
 
-    public void send(SendRequest sendRequest) {
-        rabbitTemplate.convertAndSend(QUEUE, sendRequest);
+    public void send(List<NoticeSendJob> jobs) {
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = Math.max(1, properties.getBatchSize());
+        ArrayList<String> batch = new ArrayList<>(Math.min(batchSize, jobs.size()));
+        for (NoticeSendJob job : jobs) {
+            if (job.getDeliverAt() != null && job.getDeliverAt().isAfter(now)) {
+                continue;
+            }
+            batch.add(job.getId());
+            if (batch.size() == batchSize) {
+                rabbitTemplate.convertAndSend(QUEUE, batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            rabbitTemplate.convertAndSend(QUEUE, batch);
+        }
     }
 }
@@ -11,6 +11,7 @@ public class NoticeConvert {
         domain.setTenantId(entity.getTenantId());
         domain.setChannelId(entity.getChannelId());
         domain.setTarget(entity.getTarget());
+        domain.setTargetType(entity.getTargetType());
         domain.setContent(entity.getContent());
         domain.setTemplateId(entity.getTemplateId());
         domain.setStatus(entity.getStatus() == null ? null : entity.getStatus());
@@ -30,6 +31,7 @@ public class NoticeConvert {
         entity.setTenantId(domain.getTenantId());
         entity.setChannelId(domain.getChannelId());
         entity.setTarget(domain.getTarget());
+        entity.setTargetType(domain.getTargetType());
         entity.setContent(domain.getContent());
         entity.setTemplateId(domain.getTemplateId());
         entity.setStatus(domain.getStatus() == null ? null : domain.getStatus());
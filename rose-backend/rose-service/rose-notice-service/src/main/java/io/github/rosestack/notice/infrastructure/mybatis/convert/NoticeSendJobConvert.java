@@ -0,0 +1,54 @@
+package io.github.rosestack.notice.infrastructure.mybatis.convert;
+
+import io.github.rosestack.notice.domain.entity.NoticeSendJob;
+import io.github.rosestack.notice.infrastructure.mybatis.entity.NoticeSendJobEntity;
+
+public class NoticeSendJobConvert {
+    public static NoticeSendJob toDomain(NoticeSendJobEntity entity) {
+        if (entity == null) return null;
+        NoticeSendJob domain = new NoticeSendJob();
+        domain.setId(entity.getId());
+        domain.setTenantId(entity.getTenantId());
+        domain.setRequestId(entity.getRequestId());
+        domain.setTemplateId(entity.getTemplateId());
+        domain.setTemplateType(entity.getTemplateType());
+        domain.setTemplateContent(entity.getTemplateContent());
+        domain.setVariables(entity.getVariables());
+        domain.setChannelId(entity.getChannelId());
+        domain.setChannelType(entity.getChannelType());
+        domain.setTarget(entity.getTarget());
+        domain.setTargetType(entity.getTargetType());
+        domain.setStatus(entity.getStatus());
+        domain.setDeliverAt(entity.getDeliverAt());
+        domain.setAttempts(entity.getAttempts());
+        domain.setClaimedBy(entity.getClaimedBy());
+        domain.setClaimedAt(entity.getClaimedAt());
+        domain.setTraceId(entity.getTraceId());
+        domain.setCreateTime(entity.getCreateTime());
+        return domain;
+    }
+
+    public static NoticeSendJobEntity toEntity(NoticeSendJob domain) {
+        if (domain == null) return null;
+        NoticeSendJobEntity entity = new NoticeSendJobEntity();
+        entity.setId(domain.getId());
+        entity.setTenantId(domain.getTenantId());
+        entity.setRequestId(domain.getRequestId());
+        entity.setTemplateId(domain.getTemplateId());
+        entity.setTemplateType(domain.getTemplateType());
+        entity.setTemplateContent(domain.getTemplateContent());
+        entity.setVariables(domain.getVariables());
+        entity.setChannelId(domain.getChannelId());
+        entity.setChannelType(domain.getChannelType());
+        entity.setTarget(domain.getTarget());
+        entity.setTargetType(domain.getTargetType());
+        entity.setStatus(domain.getStatus());
+        entity.setDeliverAt(domain.getDeliverAt());
+        entity.setAttempts(domain.getAttempts());
+        entity.setClaimedBy(domain.getClaimedBy());
+        entity.setClaimedAt(domain.getClaimedAt());
+        entity.setTraceId(domain.getTraceId());
+        entity.setCreateTime(domain.getCreateTime());
+        return entity;
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.rosestack.notice.infrastructure.mybatis.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler;
+import io.github.rosestack.notice.domain.value.NoticeChannelType;
+import io.github.rosestack.notice.domain.value.NoticeStatus;
+import io.github.rosestack.notice.domain.value.TargetType;
+import io.github.rosestack.notice.infrastructure.mybatis.typehandler.NoticeChannelTypeHandler;
+import io.github.rosestack.notice.infrastructure.mybatis.typehandler.NoticeStatusTypeHandler;
+import io.github.rosestack.notice.infrastructure.mybatis.typehandler.TargetTypeTypeHandler;
+import java.time.LocalDateTime;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * NoticeSendJob 持久化对象
+ */
+@Data
+@TableName(value = "notice_send_job", autoResultMap = true)
+public class NoticeSendJobEntity {
+    private String id;
+    private String tenantId;
+    private String requestId;
+    private String templateId;
+    private String templateType;
+    private String templateContent;
+
+    @TableField(typeHandler = JacksonTypeHandler.class)
+    private Map<String, Object> variables;
+
+    private String channelId;
+
+    @TableField(typeHandler = NoticeChannelTypeHandler.class)
+    private NoticeChannelType channelType;
+
+    private String target;
+
+    @TableField(typeHandler = TargetTypeTypeHandler.class)
+    private TargetType targetType;
+
+    @TableField(typeHandler = NoticeStatusTypeHandler.class)
+    private NoticeStatus status;
+
+    private LocalDateTime deliverAt;
+    private int attempts;
+    private String claimedBy;
+    private LocalDateTime claimedAt;
+    private String traceId;
+    private LocalDateTime createTime;
+}
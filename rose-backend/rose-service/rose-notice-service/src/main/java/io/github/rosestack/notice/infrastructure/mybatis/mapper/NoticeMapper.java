@@ -1,15 +1,34 @@
 package io.github.rosestack.notice.infrastructure.mybatis.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import io.github.rosestack.notice.domain.entity.Notice;
 import io.github.rosestack.notice.domain.repository.NoticeRepository;
+import io.github.rosestack.notice.domain.value.NoticeKeyset;
 import io.github.rosestack.notice.domain.value.NoticeStatus;
 import io.github.rosestack.notice.infrastructure.mybatis.convert.NoticeConvert;
 import io.github.rosestack.notice.infrastructure.mybatis.entity.NoticeEntity;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.springframework.dao.DuplicateKeyException;
 
 @Mapper
 public interface NoticeMapper extends BaseMapper<NoticeEntity>, NoticeRepository {
@@ -22,6 +41,29 @@ public interface NoticeMapper extends BaseMapper<NoticeEntity>, NoticeRepository
         insert(NoticeConvert.toEntity(notice));
     }
 
+    /**
+     * 批量保存通知，跳过 (request_id, channel_id) 已存在的通知，一条重复不影响同批其他通知
+     */
+    default void saveAll(List<Notice> notices) {
+        List<NoticeEntity> entities = excludeExisting(notices);
+        if (entities.isEmpty()) {
+            return;
+        }
+        try {
+            // 批量执行器单次提交
+            insert(entities);
+        } catch (RuntimeException e) {
+            // 并发写入了相同的 (request_id, channel_id)，逐条写入并跳过重复
+            for (NoticeEntity entity : entities) {
+                try {
+                    insert(entity);
+                } catch (DuplicateKeyException ignored) {
+                    // 已由其他消费者写入
+                }
+            }
+        }
+    }
+
     default void update(Notice notice) {
         updateById(NoticeConvert.toEntity(notice));
     }
@@ -37,21 +79,114 @@ public interface NoticeMapper extends BaseMapper<NoticeEntity>, NoticeRepository
         return entity != null ? Optional.of(NoticeConvert.toDomain(entity)) : Optional.empty();
     }
 
-    default List<Notice> findByTenantId(String tenantId) {
+    default List<Notice> findByTenantId(String tenantId, NoticeKeyset after, int limit) {
         LambdaQueryWrapper<NoticeEntity> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(NoticeEntity::getTenantId, tenantId);
-        return selectList(wrapper).stream().map(NoticeConvert::toDomain).toList();
+        return selectAfter(wrapper, after, limit);
+    }
+
+    default List<Notice> findPageByTenantId(String tenantId, long offset, int limit) {
+        // 只查询ID时由 (tenant_id, send_time, id) 索引覆盖，跳过的行不回表
+        LambdaQueryWrapper<NoticeEntity> idWrapper = new LambdaQueryWrapper<>();
+        idWrapper
+                .select(NoticeEntity::getId)
+                .eq(NoticeEntity::getTenantId, tenantId)
+                .orderByDesc(NoticeEntity::getSendTime, NoticeEntity::getId)
+                .last("LIMIT " + offset + "," + limit);
+        List<String> ids = selectObjs(idWrapper);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, NoticeEntity> entities = new HashMap<>();
+        for (NoticeEntity entity : selectByIds(ids)) {
+            entities.put(entity.getId(), entity);
+        }
+        return ids.stream()
+                .map(entities::get)
+                .filter(Objects::nonNull)
+                .map(NoticeConvert::toDomain)
+                .toList();
     }
 
-    default List<Notice> findByTarget(String target) {
+    default List<Notice> findByTarget(String target, NoticeKeyset after, int limit) {
         LambdaQueryWrapper<NoticeEntity> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(NoticeEntity::getTarget, target);
-        return selectList(wrapper).stream().map(NoticeConvert::toDomain).toList();
+        return selectAfter(wrapper, after, limit);
     }
 
-    default List<Notice> findByStatus(NoticeStatus status) {
+    default List<Notice> findByStatus(NoticeStatus status, NoticeKeyset after, int limit) {
         LambdaQueryWrapper<NoticeEntity> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(NoticeEntity::getStatus, status);
+        return selectAfter(wrapper, after, limit);
+    }
+
+    default void streamByTenantId(String tenantId, LocalDateTime from, LocalDateTime to, Consumer<Notice> action) {
+        LambdaQueryWrapper<NoticeEntity> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(NoticeEntity::getTenantId, tenantId)
+                .ge(NoticeEntity::getSendTime, from)
+                .lt(NoticeEntity::getSendTime, to)
+                .orderByAsc(NoticeEntity::getSendTime, NoticeEntity::getId);
+        try (Cursor<NoticeEntity> cursor = selectCursor(wrapper)) {
+            for (NoticeEntity entity : cursor) {
+                action.accept(NoticeConvert.toDomain(entity));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 去除批内重复及库中已存在的 (request_id, channel_id)，批内重复时保留发送成功的通知
+     */
+    private List<NoticeEntity> excludeExisting(List<Notice> notices) {
+        Map<String, Notice> unique = new LinkedHashMap<>();
+        List<NoticeEntity> entities = new ArrayList<>(notices.size());
+        for (Notice notice : notices) {
+            if (notice.getRequestId() == null) {
+                entities.add(NoticeConvert.toEntity(notice));
+                continue;
+            }
+            unique.merge(
+                    notice.getRequestId() + ":" + notice.getChannelId(),
+                    notice,
+                    (first, second) -> first.getStatus() != NoticeStatus.SENT ? second : first);
+        }
+        if (unique.isEmpty()) {
+            return entities;
+        }
+
+        LambdaQueryWrapper<NoticeEntity> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(NoticeEntity::getRequestId, NoticeEntity::getChannelId)
+                .in(
+                        NoticeEntity::getRequestId,
+                        unique.values().stream()
+                                .map(Notice::getRequestId)
+                                .distinct()
+                                .toList());
+        for (NoticeEntity existing : selectList(wrapper)) {
+            unique.remove(existing.getRequestId() + ":" + existing.getChannelId());
+        }
+        unique.values().forEach(notice -> entities.add(NoticeConvert.toEntity(notice)));
+        return entities;
+    }
+
+    /**
+     * 流式查询，MySQL 驱动在 fetchSize 为 Integer.MIN_VALUE 时逐行读取结果集
+     */
+    @Select("SELECT * FROM notice ${ew.customSqlSegment}")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<NoticeEntity> selectCursor(@Param(Constants.WRAPPER) Wrapper<NoticeEntity> wrapper);
+
+    /**
+     * 键集分页：从分页位置之后按 (send_time, id) 倒序取 limit 条
+     */
+    private List<Notice> selectAfter(LambdaQueryWrapper<NoticeEntity> wrapper, NoticeKeyset after, int limit) {
+        if (after != null) {
+            wrapper.and(w -> w.lt(NoticeEntity::getSendTime, after.getSendTime())
+                    .or(o -> o.eq(NoticeEntity::getSendTime, after.getSendTime())
+                            .lt(NoticeEntity::getId, after.getId())));
+        }
+        wrapper.orderByDesc(NoticeEntity::getSendTime, NoticeEntity::getId).last("LIMIT " + limit);
         return selectList(wrapper).stream().map(NoticeConvert::toDomain).toList();
     }
 }
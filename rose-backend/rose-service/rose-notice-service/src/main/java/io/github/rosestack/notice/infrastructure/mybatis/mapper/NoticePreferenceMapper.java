@@ -6,12 +6,12 @@ import io.github.rosestack.notice.domain.entity.NoticePreference;
 import io.github.rosestack.notice.domain.repository.NoticePreferenceRepository;
 import io.github.rosestack.notice.infrastructure.mybatis.convert.NoticePreferenceConvert;
 import io.github.rosestack.notice.infrastructure.mybatis.entity.NoticePreferenceEntity;
+import java.util.List;
 import java.util.Optional;
 import org.apache.ibatis.annotations.Mapper;
 
 @Mapper
-public interface NoticePreferenceMapper
-        extends BaseMapper<NoticePreferenceEntity>, NoticePreferenceRepository {
+public interface NoticePreferenceMapper extends BaseMapper<NoticePreferenceEntity>, NoticePreferenceRepository {
     default Optional<NoticePreference> findById(String id) {
         NoticePreferenceEntity entity = selectById(id);
         return entity != null ? Optional.of(NoticePreferenceConvert.toDomain(entity)) : Optional.empty();
@@ -29,9 +29,11 @@ public interface NoticePreferenceMapper
         deleteById(id);
     }
 
-    default NoticePreference findByUserId(String id) {
-        NoticePreferenceEntity entity = selectOne(Wrappers.lambdaQuery(NoticePreferenceEntity.class)
-                .eq(NoticePreferenceEntity::getUserId, id));
-        return NoticePreferenceConvert.toDomain(entity);
+    default List<NoticePreference> findByUserId(String userId) {
+        return selectList(Wrappers.lambdaQuery(NoticePreferenceEntity.class)
+                        .eq(NoticePreferenceEntity::getUserId, userId))
+                .stream()
+                .map(NoticePreferenceConvert::toDomain)
+                .toList();
     }
 }
@@ -0,0 +1,84 @@
+package io.github.rosestack.notice.infrastructure.mybatis.mapper;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import io.github.rosestack.notice.domain.entity.NoticeSendJob;
+import io.github.rosestack.notice.domain.repository.NoticeSendJobRepository;
+import io.github.rosestack.notice.domain.value.NoticeStatus;
+import io.github.rosestack.notice.infrastructure.mybatis.convert.NoticeSendJobConvert;
+import io.github.rosestack.notice.infrastructure.mybatis.entity.NoticeSendJobEntity;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface NoticeSendJobMapper extends BaseMapper<NoticeSendJobEntity>, NoticeSendJobRepository {
+
+    default void saveAll(List<NoticeSendJob> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        insert(jobs.stream().map(NoticeSendJobConvert::toEntity).toList());
+    }
+
+    default List<NoticeSendJob> findDue(LocalDateTime deliverBefore, int limit) {
+        LambdaQueryWrapper<NoticeSendJobEntity> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(NoticeSendJobEntity::getStatus, NoticeStatus.PENDING)
+                .le(NoticeSendJobEntity::getDeliverAt, deliverBefore)
+                .orderByAsc(NoticeSendJobEntity::getDeliverAt)
+                .last("LIMIT " + limit);
+        return selectList(wrapper).stream().map(NoticeSendJobConvert::toDomain).toList();
+    }
+
+    default List<NoticeSendJob> claim(Collection<String> ids, String claimedBy, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // 条件更新认领，并发认领同一批任务时每个任务只有一个消费者更新成功
+        LambdaUpdateWrapper<NoticeSendJobEntity> update = new LambdaUpdateWrapper<>();
+        update.set(NoticeSendJobEntity::getStatus, NoticeStatus.MQ_DELIVERED)
+                .set(NoticeSendJobEntity::getClaimedBy, claimedBy)
+                .set(NoticeSendJobEntity::getClaimedAt, now)
+                .in(NoticeSendJobEntity::getId, ids)
+                .eq(NoticeSendJobEntity::getStatus, NoticeStatus.PENDING)
+                .le(NoticeSendJobEntity::getDeliverAt, now);
+        if (update(update) == 0) {
+            return Collections.emptyList();
+        }
+        LambdaQueryWrapper<NoticeSendJobEntity> query = new LambdaQueryWrapper<>();
+        query.eq(NoticeSendJobEntity::getClaimedBy, claimedBy);
+        return selectList(query).stream().map(NoticeSendJobConvert::toDomain).toList();
+    }
+
+    default void reschedule(List<NoticeSendJob> jobs) {
+        for (NoticeSendJob job : jobs) {
+            LambdaUpdateWrapper<NoticeSendJobEntity> update = new LambdaUpdateWrapper<>();
+            update.set(NoticeSendJobEntity::getStatus, NoticeStatus.PENDING)
+                    .set(NoticeSendJobEntity::getDeliverAt, job.getDeliverAt())
+                    .set(NoticeSendJobEntity::getAttempts, job.getAttempts())
+                    .set(NoticeSendJobEntity::getClaimedBy, null)
+                    .set(NoticeSendJobEntity::getClaimedAt, null)
+                    .eq(NoticeSendJobEntity::getId, job.getId());
+            update(update);
+        }
+    }
+
+    default int releaseStale(LocalDateTime claimedBefore) {
+        LambdaUpdateWrapper<NoticeSendJobEntity> update = new LambdaUpdateWrapper<>();
+        update.set(NoticeSendJobEntity::getStatus, NoticeStatus.PENDING)
+                .set(NoticeSendJobEntity::getClaimedBy, null)
+                .set(NoticeSendJobEntity::getClaimedAt, null)
+                .eq(NoticeSendJobEntity::getStatus, NoticeStatus.MQ_DELIVERED)
+                .lt(NoticeSendJobEntity::getClaimedAt, claimedBefore);
+        return update(update);
+    }
+
+    default void deleteAll(Collection<String> ids) {
+        if (!ids.isEmpty()) {
+            deleteByIds(ids);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.rosestack.notice.infrastructure.queue;
+
+import io.github.rosestack.notice.application.handler.NoticeSendConsumer;
+import io.github.rosestack.notice.application.handler.NoticeSendProducer;
+import io.github.rosestack.notice.application.service.NoticeDispatchService;
+import io.github.rosestack.notice.domain.entity.NoticeSendJob;
+import io.github.rosestack.notice.infrastructure.config.ConditionalOnNoticeSendQueue;
+import io.github.rosestack.notice.infrastructure.config.NoticeSendProperties;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * 进程内通知发送队列
+ *
+ * <p>到期任务进入就绪队列，由工作线程每次取出至多 batchSize 个批量分发；未到期的任务按投递时间放入时间桶，
+ * 同一时间桶的任务到期后一起进入就绪队列，免打扰时段结束时的大量消息因此可以合并为少量批次发送。
+ *
+ * <p>队列只缓存任务ID，任务本身已持久化，进程重启或超出缓存上限的任务由 {@link NoticeSendJobPoller} 重新投递。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnNoticeSendQueue(NoticeSendProperties.QueueType.IN_PROCESS)
+public class InProcessNoticeSendQueue
+        implements NoticeSendProducer, NoticeSendConsumer, InitializingBean, DisposableBean {
+    private final NoticeDispatchService noticeDispatchService;
+    private final NoticeSendProperties properties;
+
+    private final BlockingQueue<String> ready = new LinkedBlockingQueue<>();
+
+    /**
+     * 延后任务，key 为时间桶的结束时间（epoch 秒），访问需持有自身锁
+     */
+    private final TreeMap<Long, List<String>> buckets = new TreeMap<>();
+
+    private int deferred;
+    private volatile boolean running;
+    private Thread worker;
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        worker = Thread.ofPlatform().name("notice-send-worker").daemon().unstarted(this::run);
+        worker.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @Override
+    public void send(List<NoticeSendJob> jobs) {
+        long now = epochSecond(LocalDateTime.now());
+        long bucketSeconds = Math.max(1L, properties.getBucketSeconds());
+        for (NoticeSendJob job : jobs) {
+            LocalDateTime deliverTime = job.getDeliverAt();
+            // 不足一秒的部分向上取整，避免任务在到期前出桶
+            long deliverAt = deliverTime == null ? now : epochSecond(deliverTime) + (deliverTime.getNano() > 0 ? 1 : 0);
+            if (deliverAt <= now) {
+                ready.add(job.getId());
+                continue;
+            }
+            // 向上取整到时间桶边界，保证出桶时任务已经到期
+            long bucket = (deliverAt + bucketSeconds - 1) / bucketSeconds * bucketSeconds;
+            synchronized (buckets) {
+                if (deferred >= properties.getMaxDeferred()) {
+                    continue;
+                }
+                buckets.computeIfAbsent(bucket, k -> new ArrayList<>()).add(job.getId());
+                deferred++;
+            }
+        }
+    }
+
+    @Override
+    public void consume(List<String> jobIds) {
+        try {
+            noticeDispatchService.dispatch(jobIds);
+        } catch (Exception e) {
+            // 已认领的任务在认领超时后重新投递
+            log.error("[通知异步发送] 分发失败, size={}, error={}", jobIds.size(), e.getMessage(), e);
+        }
+    }
+
+    private void run() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        while (running) {
+            try {
+                long waitMillis = promoteDueBuckets();
+                String first = ready.poll(waitMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<String> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                ready.drainTo(batch, batchSize - 1);
+                consume(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 将到期的时间桶移入就绪队列
+     *
+     * @return 距离下一个时间桶到期的毫秒数
+     */
+    private long promoteDueBuckets() {
+        long now = epochSecond(LocalDateTime.now());
+        synchronized (buckets) {
+            Map.Entry<Long, List<String>> entry;
+            while ((entry = buckets.firstEntry()) != null && entry.getKey() <= now) {
+                buckets.pollFirstEntry();
+                ready.addAll(entry.getValue());
+                deferred -= entry.getValue().size();
+            }
+            long pollMillis = Math.max(1L, properties.getPollIntervalMillis());
+            return entry == null ? pollMillis : Math.min(pollMillis, TimeUnit.SECONDS.toMillis(entry.getKey() - now));
+        }
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.rosestack.notice.infrastructure.queue;
+
+import io.github.rosestack.notice.application.handler.NoticeSendProducer;
+import io.github.rosestack.notice.domain.entity.NoticeSendJob;
+import io.github.rosestack.notice.domain.repository.NoticeSendJobRepository;
+import io.github.rosestack.notice.infrastructure.config.NoticeSendProperties;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 通知发送任务轮询
+ *
+ * <p>任务表是唯一可信的队列：定时释放认领超时的任务，并重新投递已到期但仍未发送的任务，
+ * 覆盖投递失败、进程重启、延后任务未进入内存时间桶等情况。重复投递的任务在认领时被过滤。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NoticeSendJobPoller {
+    private final NoticeSendJobRepository noticeSendJobRepository;
+    private final NoticeSendProducer noticeSendProducer;
+    private final NoticeSendProperties properties;
+
+    @Scheduled(fixedDelayString = "${rose.notice.send.poll-interval-millis:5000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            int released = noticeSendJobRepository.releaseStale(
+                    now.minus(Duration.ofMillis(properties.getClaimTimeoutMillis())));
+            if (released > 0) {
+                log.warn("释放认领超时的通知任务 {} 个", released);
+            }
+            // 只补偿到期超过一个轮询周期的任务，刚到期的任务由队列自身投递
+            List<NoticeSendJob> jobs = noticeSendJobRepository.findDue(
+                    now.minus(Duration.ofMillis(properties.getPollIntervalMillis())), properties.getBatchSize());
+            if (!jobs.isEmpty()) {
+                noticeSendProducer.send(jobs);
+            }
+        } catch (Exception e) {
+            log.error("轮询通知任务失败, error={}", e.getMessage(), e);
+        }
+    }
+}
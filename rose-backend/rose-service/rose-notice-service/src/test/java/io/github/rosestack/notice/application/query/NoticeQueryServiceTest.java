@@ -0,0 +1,47 @@
+package io.github.rosestack.notice.application.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.rosestack.notice.domain.entity.Notice;
+import io.github.rosestack.notice.domain.repository.NoticeRepository;
+import io.github.rosestack.notice.domain.value.NoticeKeyset;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class NoticeQueryServiceTest {
+
+    @Mock
+    private NoticeRepository noticeRepository;
+
+    @InjectMocks
+    private NoticeQueryService noticeQueryService;
+
+    @Test
+    void testPagingUsesOffsetAndCapsSize() {
+        noticeQueryService.findByTenantIdWithPaging("tenant-1", 3, 20);
+        verify(noticeRepository).findPageByTenantId("tenant-1", 60L, 20);
+
+        noticeQueryService.findByTenantIdWithPaging("tenant-1", 1, 100_000);
+        verify(noticeRepository).findPageByTenantId("tenant-1", 500L, 500);
+    }
+
+    @Test
+    void testKeysetContinuesAfterLastNotice() {
+        Notice last = new Notice();
+        last.setId("n-20");
+        last.setSendTime(LocalDateTime.of(2025, 1, 1, 12, 0));
+        NoticeKeyset after = NoticeKeyset.of(last);
+        when(noticeRepository.findByTenantId("tenant-1", after, 20)).thenReturn(List.of());
+
+        assertThat(noticeQueryService.findByTenantId("tenant-1", after, 20)).isEmpty();
+        verify(noticeRepository).findByTenantId("tenant-1", new NoticeKeyset(last.getSendTime(), "n-20"), 20);
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.rosestack.notice.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.rosestack.notice.domain.entity.Notice;
+import io.github.rosestack.notice.domain.entity.NoticeChannel;
+import io.github.rosestack.notice.domain.entity.NoticeSendJob;
+import io.github.rosestack.notice.domain.repository.NoticeChannelRepository;
+import io.github.rosestack.notice.domain.repository.NoticeRepository;
+import io.github.rosestack.notice.domain.repository.NoticeSendJobRepository;
+import io.github.rosestack.notice.domain.value.NoticeChannelType;
+import io.github.rosestack.notice.domain.value.NoticeStatus;
+import io.github.rosestack.notify.NotifyService;
+import io.github.rosestack.notify.SendRequest;
+import io.github.rosestack.notify.SenderConfiguration;
+import io.github.rosestack.notify.sender.SenderFactory;
+import io.github.rosestack.notify.spi.AbstractConfigure;
+import io.github.rosestack.notify.spi.Sender;
+import io.github.rosestack.notify.support.InMemoryIdempotencyStore;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DisplayName("通知任务分发测试")
+class NoticeDispatchServiceTest {
+    private static final AtomicInteger SENT = new AtomicInteger();
+
+    private final NoticeSendJobRepository jobRepository = mock(NoticeSendJobRepository.class);
+    private final NoticeRepository noticeRepository = mock(NoticeRepository.class);
+    private final InMemoryIdempotencyStore idempotencyStore = new InMemoryIdempotencyStore();
+    private NotifyService notifyService;
+    private NoticeDispatchService dispatchService;
+
+    @BeforeEach
+    void setUp() {
+        SENT.set(0);
+        SenderFactory.register("sms", new CountingSmsSender());
+        notifyService = new NotifyService();
+        notifyService.setIdempotencyStore(idempotencyStore);
+
+        NoticeChannel channel = new NoticeChannel();
+        channel.setId("ch-sms");
+        channel.setChannelType(NoticeChannelType.SMS);
+        channel.setConfig(Map.of());
+        NoticeChannelRepository channelRepository = mock(NoticeChannelRepository.class);
+        when(channelRepository.findById("ch-sms")).thenReturn(Optional.of(channel));
+
+        dispatchService = new NoticeDispatchService(
+                jobRepository,
+                noticeRepository,
+                channelRepository,
+                notifyService,
+                new TransactionTemplate(new NoticeDispatchThroughputTest.NoopTransactionManager()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        notifyService.destroy();
+    }
+
+    @Test
+    @DisplayName("发送后写入结果前宕机，重新投递时幂等命中记为已发送")
+    void shouldRecordRedeliveredDuplicateAsSent() {
+        NoticeSendJob job = job();
+        when(jobRepository.claim(eq(List.of(job.getId())), any(), any())).thenReturn(List.of(job));
+        // 上次投递已被渠道受理，幂等记录已写入，但通知结果未写入
+        idempotencyStore.put("req-1:ch-sms");
+
+        dispatchService.dispatch(List.of(job.getId()));
+
+        assertThat(SENT.get()).isZero();
+        Notice notice = savedNotices().get(0);
+        assertThat(notice.getStatus()).isEqualTo(NoticeStatus.SENT);
+        assertThat(notice.getFailReason()).isNull();
+        verify(jobRepository).deleteAll(List.of(job.getId()));
+    }
+
+    @Test
+    @DisplayName("首次投递发送成功记为已发送")
+    void shouldRecordSentResult() {
+        NoticeSendJob job = job();
+        when(jobRepository.claim(eq(List.of(job.getId())), any(), any())).thenReturn(List.of(job));
+
+        dispatchService.dispatch(List.of(job.getId()));
+
+        assertThat(SENT.get()).isEqualTo(1);
+        assertThat(savedNotices().get(0).getStatus()).isEqualTo(NoticeStatus.SENT);
+        assertThat(idempotencyStore.exists("req-1:ch-sms")).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Notice> savedNotices() {
+        ArgumentCaptor<List<Notice>> captor = ArgumentCaptor.forClass(List.class);
+        verify(noticeRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        return captor.getValue();
+    }
+
+    private static NoticeSendJob job() {
+        NoticeSendJob job = new NoticeSendJob();
+        job.setId("job-1");
+        job.setRequestId("req-1");
+        job.setChannelId("ch-sms");
+        job.setChannelType(NoticeChannelType.SMS);
+        job.setTarget("13800000000");
+        job.setTemplateContent("hello");
+        job.setStatus(NoticeStatus.PENDING);
+        job.setDeliverAt(LocalDateTime.now());
+        return job;
+    }
+
+    public static class CountingSmsSender extends AbstractConfigure implements Sender {
+        @Override
+        public String getChannelType() {
+            return Sender.SMS;
+        }
+
+        @Override
+        public void doConfigure(SenderConfiguration config) {}
+
+        @Override
+        public String send(SendRequest request) {
+            SENT.incrementAndGet();
+            return "ok-" + request.getRequestId();
+        }
+
+        @Override
+        public void destroy() {}
+    }
+}
@@ -0,0 +1,250 @@
+package io.github.rosestack.notice.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.rosestack.notice.domain.entity.NoticeChannel;
+import io.github.rosestack.notice.domain.entity.NoticeSendJob;
+import io.github.rosestack.notice.domain.repository.NoticeChannelRepository;
+import io.github.rosestack.notice.domain.repository.NoticeRepository;
+import io.github.rosestack.notice.domain.repository.NoticeSendJobRepository;
+import io.github.rosestack.notice.domain.value.NoticeChannelType;
+import io.github.rosestack.notice.domain.value.NoticeStatus;
+import io.github.rosestack.notice.infrastructure.config.NoticeSendProperties;
+import io.github.rosestack.notice.infrastructure.queue.InProcessNoticeSendQueue;
+import io.github.rosestack.notify.NotifyService;
+import io.github.rosestack.notify.SendRequest;
+import io.github.rosestack.notify.SenderConfiguration;
+import io.github.rosestack.notify.sender.SenderFactory;
+import io.github.rosestack.notify.spi.AbstractConfigure;
+import io.github.rosestack.notify.spi.Sender;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 通知分发吞吐测试，以进程内队列代替 RabbitMQ，对比逐条消费与批量消费的耗时及数据库往返次数
+ */
+@Slf4j
+@DisplayName("通知分发吞吐测试")
+@Disabled("性能测试，仅在需要时手动运行")
+class NoticeDispatchThroughputTest {
+
+    private static final int JOBS = 1_000;
+    private static final long DB_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SEND_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final AtomicInteger ROUND_TRIPS = new AtomicInteger();
+
+    private InMemoryNoticeSendJobRepository jobRepository;
+    private NotifyService notifyService;
+    private NoticeDispatchService dispatchService;
+    private final AtomicInteger recorded = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        SenderFactory.register("sms", new SlowSmsSender());
+        notifyService = new NotifyService();
+        notifyService.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        notifyService.setChannelMaxConcurrency(256);
+
+        NoticeChannel channel = new NoticeChannel();
+        channel.setId("ch-sms");
+        channel.setChannelType(NoticeChannelType.SMS);
+        channel.setConfig(Map.of());
+        NoticeChannelRepository channelRepository = mock(NoticeChannelRepository.class);
+        when(channelRepository.findById("ch-sms")).thenReturn(Optional.of(channel));
+
+        NoticeRepository noticeRepository = mock(NoticeRepository.class);
+        doAnswer(invocation -> {
+                    List<?> notices = invocation.getArgument(0);
+                    if (!notices.isEmpty()) {
+                        roundTrip();
+                        recorded.addAndGet(notices.size());
+                    }
+                    return null;
+                })
+                .when(noticeRepository)
+                .saveAll(anyList());
+
+        jobRepository = new InMemoryNoticeSendJobRepository();
+        dispatchService = new NoticeDispatchService(
+                jobRepository,
+                noticeRepository,
+                channelRepository,
+                notifyService,
+                new TransactionTemplate(new NoopTransactionManager()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        notifyService.destroy();
+    }
+
+    @Test
+    @DisplayName("逐条消费")
+    void testSingleMessage() throws Exception {
+        runThroughput("逐条消费", 1);
+    }
+
+    @Test
+    @DisplayName("批量消费")
+    void testBatch() throws Exception {
+        runThroughput("批量消费", 100);
+    }
+
+    private void runThroughput(String label, int batchSize) throws Exception {
+        NoticeSendProperties properties = new NoticeSendProperties();
+        properties.setBatchSize(batchSize);
+        InProcessNoticeSendQueue queue = new InProcessNoticeSendQueue(dispatchService, properties);
+        queue.afterPropertiesSet();
+
+        List<NoticeSendJob> jobs = new ArrayList<>(JOBS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < JOBS; i++) {
+            NoticeSendJob job = new NoticeSendJob();
+            job.setId(label + "-" + i);
+            job.setRequestId("req-" + i);
+            job.setChannelId("ch-sms");
+            job.setChannelType(NoticeChannelType.SMS);
+            job.setTarget("13800000000");
+            job.setTemplateContent("hello");
+            job.setStatus(NoticeStatus.PENDING);
+            job.setDeliverAt(now);
+            jobs.add(job);
+        }
+        jobRepository.saveAll(jobs);
+        ROUND_TRIPS.set(0);
+
+        long startTime = System.nanoTime();
+        queue.send(jobs);
+        while (recorded.get() < JOBS) {
+            Thread.sleep(5);
+        }
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        queue.destroy();
+
+        assertThat(jobRepository.jobs).isEmpty();
+        log.info("{}吞吐测试结果：{}个任务耗时{}ms，数据库往返{}次", label, JOBS, durationMs, ROUND_TRIPS.get());
+    }
+
+    private static void roundTrip() {
+        ROUND_TRIPS.incrementAndGet();
+        LockSupport.parkNanos(DB_LATENCY_NANOS);
+    }
+
+    /**
+     * 内存任务表，每次调用模拟一次数据库往返
+     */
+    static class InMemoryNoticeSendJobRepository implements NoticeSendJobRepository {
+        private final Map<String, NoticeSendJob> jobs = new ConcurrentHashMap<>();
+
+        @Override
+        public void saveAll(List<NoticeSendJob> jobs) {
+            roundTrip();
+            jobs.forEach(job -> this.jobs.put(job.getId(), job));
+        }
+
+        @Override
+        public List<NoticeSendJob> findDue(LocalDateTime deliverBefore, int limit) {
+            roundTrip();
+            return jobs.values().stream()
+                    .filter(job -> job.getStatus() == NoticeStatus.PENDING
+                            && !job.getDeliverAt().isAfter(deliverBefore))
+                    .limit(limit)
+                    .toList();
+        }
+
+        @Override
+        public synchronized List<NoticeSendJob> claim(Collection<String> ids, String claimedBy, LocalDateTime now) {
+            roundTrip();
+            List<NoticeSendJob> claimed = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                NoticeSendJob job = jobs.get(id);
+                if (job != null
+                        && job.getStatus() == NoticeStatus.PENDING
+                        && !job.getDeliverAt().isAfter(now)) {
+                    job.setStatus(NoticeStatus.MQ_DELIVERED);
+                    job.setClaimedBy(claimedBy);
+                    job.setClaimedAt(now);
+                    claimed.add(job);
+                }
+            }
+            return claimed;
+        }
+
+        @Override
+        public void reschedule(List<NoticeSendJob> jobs) {
+            for (NoticeSendJob job : jobs) {
+                roundTrip();
+                job.setStatus(NoticeStatus.PENDING);
+            }
+        }
+
+        @Override
+        public int releaseStale(LocalDateTime claimedBefore) {
+            return 0;
+        }
+
+        @Override
+        public void deleteAll(Collection<String> ids) {
+            if (!ids.isEmpty()) {
+                roundTrip();
+                ids.forEach(jobs::remove);
+            }
+        }
+    }
+
+    static class NoopTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {}
+
+        @Override
+        public void rollback(TransactionStatus status) {}
+    }
+
+    public static class SlowSmsSender extends AbstractConfigure implements Sender {
+        @Override
+        public String getChannelType() {
+            return Sender.SMS;
+        }
+
+        @Override
+        public void doConfigure(SenderConfiguration config) {}
+
+        @Override
+        public String send(SendRequest request) {
+            LockSupport.parkNanos(SEND_LATENCY_NANOS);
+            return "ok-" + request.getRequestId();
+        }
+
+        @Override
+        public void destroy() {}
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.rosestack.notice.domain.value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import org.junit.jupiter.api.Test;
+
+public class TimeWindowTest {
+
+    @Test
+    void testDaytimeWindow() {
+        TimeWindow window = new TimeWindow(LocalTime.of(8, 0), LocalTime.of(18, 0));
+
+        assertThat(window.isWithin(LocalTime.of(8, 0))).isTrue();
+        assertThat(window.isWithin(LocalTime.of(12, 30))).isTrue();
+        assertThat(window.isWithin(LocalTime.of(18, 0))).isFalse();
+        assertThat(window.isWithin(LocalTime.of(7, 59))).isFalse();
+        assertThat(window.endAfter(LocalDateTime.of(2025, 1, 1, 9, 0))).isEqualTo(LocalDateTime.of(2025, 1, 1, 18, 0));
+    }
+
+    @Test
+    void testOvernightWindow() {
+        // 跨零点的免打扰时段
+        TimeWindow window = new TimeWindow(LocalTime.of(22, 0), LocalTime.of(7, 0));
+
+        assertThat(window.isWithin(LocalTime.of(23, 0))).isTrue();
+        assertThat(window.isWithin(LocalTime.of(6, 59))).isTrue();
+        assertThat(window.isWithin(LocalTime.of(7, 0))).isFalse();
+        assertThat(window.isWithin(LocalTime.of(12, 0))).isFalse();
+        assertThat(window.endAfter(LocalDateTime.of(2025, 1, 1, 23, 0))).isEqualTo(LocalDateTime.of(2025, 1, 2, 7, 0));
+        assertThat(window.endAfter(LocalDateTime.of(2025, 1, 2, 1, 0))).isEqualTo(LocalDateTime.of(2025, 1, 2, 7, 0));
+    }
+}
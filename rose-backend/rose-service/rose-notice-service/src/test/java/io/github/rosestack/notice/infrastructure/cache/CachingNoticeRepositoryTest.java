@@ -0,0 +1,60 @@
+package io.github.rosestack.notice.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.rosestack.notice.domain.entity.NoticeChannel;
+import io.github.rosestack.notice.domain.entity.NoticeTemplate;
+import io.github.rosestack.notice.infrastructure.mybatis.mapper.NoticeChannelMapper;
+import io.github.rosestack.notice.infrastructure.mybatis.mapper.NoticeTemplateMapper;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingNoticeRepositoryTest {
+
+    @Mock
+    private NoticeTemplateMapper noticeTemplateMapper;
+
+    @Mock
+    private NoticeChannelMapper noticeChannelMapper;
+
+    @Test
+    void testTemplateReadThroughAndEvict() {
+        NoticeTemplate template = new NoticeTemplate();
+        template.setId("tpl-1");
+        when(noticeTemplateMapper.findByIdAndLang("tpl-1", "zh")).thenReturn(Optional.of(template));
+        CachingNoticeTemplateRepository repository = new CachingNoticeTemplateRepository(noticeTemplateMapper);
+
+        assertThat(repository.findByIdAndLang("tpl-1", "zh")).contains(template);
+        assertThat(repository.findByIdAndLang("tpl-1", "zh")).contains(template);
+        verify(noticeTemplateMapper, times(1)).findByIdAndLang("tpl-1", "zh");
+
+        // 更新模板后重新加载
+        repository.update(template);
+        repository.findByIdAndLang("tpl-1", "zh");
+        verify(noticeTemplateMapper, times(2)).findByIdAndLang("tpl-1", "zh");
+    }
+
+    @Test
+    void testChannelInstanceStableUntilUpdate() {
+        NoticeChannel channel = new NoticeChannel();
+        channel.setId("ch-1");
+        NoticeChannel updated = new NoticeChannel();
+        updated.setId("ch-1");
+        when(noticeChannelMapper.findById("ch-1")).thenReturn(Optional.of(channel), Optional.of(updated));
+        CachingNoticeChannelRepository repository = new CachingNoticeChannelRepository(noticeChannelMapper);
+
+        assertThat(repository.findById("ch-1").get()).isSameAs(channel);
+        assertThat(repository.findById("ch-1").get()).isSameAs(channel);
+
+        repository.update(updated);
+        assertThat(repository.findById("ch-1").get()).isSameAs(updated);
+        verify(noticeChannelMapper, times(2)).findById("ch-1");
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.rosestack.notice.infrastructure.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@DisplayName("通知发送队列条件测试")
+class OnNoticeSendQueueConditionTest {
+    private final ApplicationContextRunner contextRunner =
+            new ApplicationContextRunner().withUserConfiguration(QueueConfig.class);
+
+    @Test
+    @DisplayName("未配置时使用进程内队列")
+    void shouldDefaultToInProcess() {
+        contextRunner.run(context -> assertThat(context).hasBean("inProcess").doesNotHaveBean("rabbit"));
+    }
+
+    @Test
+    @DisplayName("进程内队列的各种写法都能匹配")
+    void shouldMatchRelaxedInProcessValues() {
+        for (String value : new String[] {"in-process", "in_process", "IN_PROCESS", "inProcess"}) {
+            contextRunner
+                    .withPropertyValues("rose.notice.send.queue=" + value)
+                    .run(context -> assertThat(context).hasBean("inProcess").doesNotHaveBean("rabbit"));
+        }
+    }
+
+    @Test
+    @DisplayName("配置 rabbit 时使用 RabbitMQ 队列")
+    void shouldMatchRabbit() {
+        contextRunner
+                .withPropertyValues("rose.notice.send.queue=rabbit")
+                .run(context -> assertThat(context).hasBean("rabbit").doesNotHaveBean("inProcess"));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class QueueConfig {
+        @Bean
+        @ConditionalOnNoticeSendQueue(NoticeSendProperties.QueueType.IN_PROCESS)
+        String inProcess() {
+            return "inProcess";
+        }
+
+        @Bean
+        @ConditionalOnNoticeSendQueue(NoticeSendProperties.QueueType.RABBIT)
+        String rabbit() {
+            return "rabbit";
+        }
+    }
+}
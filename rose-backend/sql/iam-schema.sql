@@ -25,7 +25,35 @@ CREATE TABLE notice (
     retry_count INT default -1,
     trace_id VARCHAR(64),
     request_id VARCHAR(64),
-    CONSTRAINT uk_notice_request_id UNIQUE (request_id)
+    CONSTRAINT uk_notice_request_channel UNIQUE (request_id, channel_id),
+    -- 键集分页：等值条件 + (send_time, id) 排序与定位，只查 ID 时为覆盖索引
+    INDEX idx_notice_tenant_send (tenant_id, send_time, id),
+    INDEX idx_notice_target_send (target, send_time, id),
+    INDEX idx_notice_status_send (status, send_time, id)
+);
+
+-- 通知发送任务表
+CREATE TABLE `notice_send_job` (
+    id VARCHAR(64) PRIMARY KEY,
+    tenant_id VARCHAR(64),
+    request_id VARCHAR(64),
+    template_id VARCHAR(64),
+    template_type VARCHAR(32),
+    template_content TEXT,
+    variables TEXT,
+    channel_id VARCHAR(64),
+    channel_type VARCHAR(32),
+    target VARCHAR(128),
+    target_type VARCHAR(32),
+    status VARCHAR(32),
+    deliver_at DATETIME(3),
+    attempts INT DEFAULT 0,
+    claimed_by VARCHAR(64),
+    claimed_at DATETIME(3),
+    trace_id VARCHAR(64),
+    create_time DATETIME,
+    INDEX idx_notice_send_job_status_deliver (status, deliver_at),
+    INDEX idx_notice_send_job_claimed_by (claimed_by)
 );
 
 -- 通知模板表